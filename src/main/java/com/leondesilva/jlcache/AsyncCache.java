@@ -0,0 +1,117 @@
+package com.leondesilva.jlcache;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Interface to represent the cache whose operations do not block the calling thread.
+ * Every operation returns a future which is completed with the result, or completed exceptionally with a
+ * {@link com.leondesilva.jlcache.exceptions.CacheException} if the operation fails.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public interface AsyncCache<K extends Serializable, V extends Serializable> {
+
+    /**
+     * Method to put the key and value to the cache.
+     *
+     * @param key   the key
+     * @param value the value
+     * @return the future which is completed once the entry is put
+     */
+    CompletableFuture<Void> put(K key, V value);
+
+    /**
+     * Method to put the key and value to the cache with a lifetime of its own.
+     *
+     * @param key      the key
+     * @param value    the value
+     * @param duration the duration after which the entry expires
+     * @param timeUnit the time unit of the duration
+     * @return the future which is completed once the entry is put
+     */
+    CompletableFuture<Void> put(K key, V value, long duration, TimeUnit timeUnit);
+
+    /**
+     * Method to put many keys and values to the cache.
+     *
+     * @param entries the keys and the values
+     * @return the future which is completed once the entries are put
+     */
+    CompletableFuture<Void> putAll(Map<? extends K, ? extends V> entries);
+
+    /**
+     * Method to get the value for a given key.
+     *
+     * @param key the key to retrieve
+     * @return the future of the value, which is completed with null if the key does not exist
+     */
+    CompletableFuture<V> get(K key);
+
+    /**
+     * Method to get the value for a given key, loading it with the loader and putting it to the cache if it is
+     * missing.
+     *
+     * @param key    the key to retrieve
+     * @param loader the loader of the value
+     * @return the future of the value
+     */
+    CompletableFuture<V> get(K key, CacheLoader<? super K, ? extends V> loader);
+
+    /**
+     * Method to get the values for many keys.
+     *
+     * @param keys the keys to retrieve
+     * @return the future of the values of the keys which are in the cache, in the order of the given keys
+     */
+    CompletableFuture<Map<K, V>> getAll(Collection<? extends K> keys);
+
+    /**
+     * Method to delete the key.
+     *
+     * @param key the key to be deleted
+     * @return the future which is completed once the key is deleted
+     */
+    CompletableFuture<Void> delete(K key);
+
+    /**
+     * Method to delete many keys.
+     *
+     * @param keys the keys to be deleted
+     * @return the future which is completed once the keys are deleted
+     */
+    CompletableFuture<Void> deleteAll(Collection<? extends K> keys);
+
+    /**
+     * Method to delete all the keys and values
+     *
+     * @return the future which is completed once the keys are deleted
+     */
+    CompletableFuture<Void> deleteAll();
+
+    /**
+     * Method to check whether the key does contain in the cache.
+     *
+     * @param key the key
+     * @return the future which is completed with true if contains and false if not
+     */
+    CompletableFuture<Boolean> containsKey(K key);
+
+    /**
+     * Method to get the cache size.
+     *
+     * @return the future of the cache size
+     */
+    CompletableFuture<Integer> getSize();
+
+    /**
+     * Method to get the cache which runs the operations.
+     *
+     * @return the synchronous cache
+     */
+    Cache<K, V> synchronous();
+}
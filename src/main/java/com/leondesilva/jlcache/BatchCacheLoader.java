@@ -0,0 +1,51 @@
+package com.leondesilva.jlcache;
+
+import com.leondesilva.jlcache.exceptions.CacheException;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Interface to represent a function which loads the values of many keys which are not in the cache with a single
+ * call, such as a single query to a database or a single request to a service.
+ *
+ * @param <K> the type of the key
+ * @param <V> the type of the value
+ */
+@FunctionalInterface
+public interface BatchCacheLoader<K extends Serializable, V extends Serializable> {
+    /**
+     * Method to load the values of many keys.
+     *
+     * @param keys the keys
+     * @return the values of the keys which have a value. Keys which are missing from the map have no value.
+     * @throws Exception if the values cannot be loaded
+     */
+    Map<K, V> loadAll(Collection<? extends K> keys) throws Exception;
+
+    /**
+     * Method to load the values of many keys and report a failure as a cache exception.
+     *
+     * @param keys the keys
+     * @return the values of the keys which have a value
+     * @throws CacheException if the values cannot be loaded
+     */
+    default Map<K, V> loadAllValues(Collection<? extends K> keys) throws CacheException {
+        Map<K, V> values;
+
+        try {
+            values = loadAll(keys);
+        } catch (CacheException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CacheException("Error occurred when trying to load the values of " + keys.size() + " keys", e);
+        }
+
+        if (values == null) {
+            throw new CacheException("The batch cache loader returned null instead of a map of values.");
+        }
+
+        return values;
+    }
+}
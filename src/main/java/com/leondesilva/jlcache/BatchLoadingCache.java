@@ -0,0 +1,401 @@
+package com.leondesilva.jlcache;
+
+import com.leondesilva.jlcache.exceptions.CacheException;
+import com.leondesilva.jlcache.pojo.MetaData;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class to represent a cache which loads missed keys in batches with a {@link BatchCacheLoader}.
+ * <p>
+ * A get of a key which is not in the wrapped cache adds the key to the open batch and waits for its value. The first
+ * thread which adds a key to a batch waits for the batch window and then loads the whole batch with a single call to
+ * the loader. A batch which reaches the max batch size before the window ends is loaded right away by the thread which
+ * filled it. A key which is already in an open or running batch is not added again, so threads which miss the same key
+ * share its load. The loaded values are put to the wrapped cache as one batch, and keys the loader has no value for
+ * are returned as null and are not cached. A failed load is reported to every thread waiting for the batch.
+ * <p>
+ * Any cache can be wrapped, such as a {@link TwoLevelCache}. The wrapped cache must be thread safe if this cache is
+ * used from many threads.
+ *
+ * @param <K> the type of the key
+ * @param <V> the type of the value
+ */
+public class BatchLoadingCache<K extends Serializable, V extends Serializable> implements Cache<K, V> {
+    private final Cache<K, V> cache;
+    private final BatchCacheLoader<K, V> batchCacheLoader;
+    private final int maxBatchSize;
+    private final long batchWindowNanos;
+    private final ConcurrentMap<K, CompletableFuture<V>> loads = new ConcurrentHashMap<>();
+    private final Object batchLock = new Object();
+    private Batch<K, V> openBatch;
+    private volatile MetaData metaData;
+
+    /**
+     * Constructor to instantiate the batch loading cache.
+     *
+     * @param cache            the cache to be wrapped
+     * @param batchCacheLoader the loader of the missed keys
+     * @param maxBatchSize     the max number of keys which are loaded with a single call
+     * @param batchWindow      the duration for which the missed keys are collected before they are loaded
+     * @param timeUnit         the time unit of the batch window
+     */
+    public BatchLoadingCache(Cache<K, V> cache, BatchCacheLoader<K, V> batchCacheLoader, int maxBatchSize,
+                             long batchWindow, TimeUnit timeUnit) {
+        this.cache = cache;
+        this.batchCacheLoader = batchCacheLoader;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.batchWindowNanos = timeUnit.toNanos(Math.max(0, batchWindow));
+    }
+
+    /**
+     * Method to put the key and value to the cache.
+     *
+     * @param key   the key
+     * @param value the value
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public void put(K key, V value) throws CacheException {
+        cache.put(key, value);
+    }
+
+    /**
+     * Method to put the key and value to the cache with a lifetime of its own.
+     *
+     * @param key      the key
+     * @param value    the value
+     * @param duration the duration after which the entry expires
+     * @param timeUnit the time unit of the duration
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public void put(K key, V value, long duration, TimeUnit timeUnit) throws CacheException {
+        cache.put(key, value, duration, timeUnit);
+    }
+
+    /**
+     * Method to put many keys and values to the cache.
+     *
+     * @param entries the keys and the values
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public void putAll(Map<? extends K, ? extends V> entries) throws CacheException {
+        cache.putAll(entries);
+    }
+
+    /**
+     * Method to get the value for a given key, loading it in a batch if it is missing.
+     *
+     * @param key the key to retrieve
+     * @return the value for the given key or null if the loader has no value for it
+     * @throws CacheException if an error occurs when trying to run a caching related task or to load the value
+     */
+    @Override
+    public V get(K key) throws CacheException {
+        V value = cache.get(key);
+
+        if (value != null) {
+            return value;
+        }
+
+        return await(key, load(Collections.singletonList(key)).get(key));
+    }
+
+    /**
+     * Method to get the values for many keys. The keys which are not in the wrapped cache are added to the open batch
+     * together.
+     *
+     * @param keys the keys to retrieve
+     * @return the values of the keys which are in the cache or were loaded, in the order of the given keys
+     * @throws CacheException if an error occurs when trying to run a caching related task or to load the values
+     */
+    @Override
+    public Map<K, V> getAll(Collection<? extends K> keys) throws CacheException {
+        Map<K, V> cachedValues = cache.getAll(keys);
+        List<K> missedKeys = new ArrayList<>();
+
+        for (K key : keys) {
+            if (!cachedValues.containsKey(key)) {
+                missedKeys.add(key);
+            }
+        }
+
+        if (missedKeys.isEmpty()) {
+            return cachedValues;
+        }
+
+        Map<K, CompletableFuture<V>> missedLoads = load(missedKeys);
+        Map<K, V> values = new LinkedHashMap<>();
+
+        for (K key : keys) {
+            V value = cachedValues.containsKey(key) ? cachedValues.get(key) : await(key, missedLoads.get(key));
+
+            if (value != null) {
+                values.put(key, value);
+            }
+        }
+
+        return values;
+    }
+
+    /**
+     * Method to delete the key.
+     *
+     * @param key the key to be deleted
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public void delete(K key) throws CacheException {
+        cache.delete(key);
+    }
+
+    /**
+     * Method to delete many keys.
+     *
+     * @param keys the keys to be deleted
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public void deleteAll(Collection<? extends K> keys) throws CacheException {
+        cache.deleteAll(keys);
+    }
+
+    /**
+     * Method to delete all the keys and values
+     *
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public void deleteAll() throws CacheException {
+        cache.deleteAll();
+    }
+
+    /**
+     * Method to check whether the key does contain in the cache. This does not load the key.
+     *
+     * @param key the key
+     * @return true if contains and false if not
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public boolean containsKey(K key) throws CacheException {
+        return cache.containsKey(key);
+    }
+
+    /**
+     * Method to get the cache size.
+     *
+     * @return the cache size
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public int getSize() throws CacheException {
+        return cache.getSize();
+    }
+
+    /**
+     * Method to close the wrapped cache.
+     *
+     * @throws IOException if an error occurs when trying to close the wrapped cache
+     */
+    @Override
+    public void close() throws IOException {
+        cache.close();
+    }
+
+    /**
+     * Method to store meta data.
+     *
+     * @param metaData the meta data
+     */
+    @Override
+    public void storeMetaData(MetaData metaData) {
+        this.metaData = metaData;
+    }
+
+    /**
+     * Method to get the meta data.
+     *
+     * @return the meta data
+     */
+    @Override
+    public MetaData getMetaData() {
+        return metaData;
+    }
+
+    /**
+     * Method to add missed keys to the open batch, unless they are already being loaded, and wait for the batch
+     * window if this thread opened the batch.
+     *
+     * @param keys the missed keys
+     * @return the loads of the keys
+     */
+    private Map<K, CompletableFuture<V>> load(List<K> keys) {
+        Map<K, CompletableFuture<V>> keyLoads = new HashMap<>();
+        List<Batch<K, V>> fullBatches = new ArrayList<>();
+        Batch<K, V> openedBatch = null;
+
+        synchronized (batchLock) {
+            for (K key : keys) {
+                CompletableFuture<V> load = loads.get(key);
+
+                if (load == null) {
+                    if (openBatch == null) {
+                        openBatch = new Batch<>();
+                        openedBatch = openBatch;
+                    }
+
+                    load = new CompletableFuture<>();
+                    loads.put(key, load);
+                    openBatch.loads.put(key, load);
+
+                    if (openBatch.loads.size() >= maxBatchSize) {
+                        fullBatches.add(openBatch);
+                        openBatch.closed.countDown();
+                        openBatch = null;
+                    }
+                }
+
+                keyLoads.put(key, load);
+            }
+        }
+
+        for (Batch<K, V> batch : fullBatches) {
+            dispatch(batch);
+        }
+
+        if (openedBatch != null && !fullBatches.contains(openedBatch)) {
+            awaitBatchWindow(openedBatch);
+        }
+
+        return keyLoads;
+    }
+
+    /**
+     * Method to wait until the batch window of a batch ends or the batch is filled, and load the batch if it was not
+     * filled.
+     *
+     * @param batch the batch which was opened by this thread
+     */
+    private void awaitBatchWindow(Batch<K, V> batch) {
+        boolean interrupted = false;
+
+        try {
+            batch.closed.await(batchWindowNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            // The batch is loaded right away, so the threads waiting for it are not left behind.
+            interrupted = true;
+        }
+
+        synchronized (batchLock) {
+            if (openBatch != batch) {
+                batch = null;
+            } else {
+                openBatch = null;
+            }
+        }
+
+        if (batch != null) {
+            dispatch(batch);
+        }
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Method to load a batch with a single call to the loader, put the loaded values to the wrapped cache and complete
+     * the loads of the batch. Keys which were put to the wrapped cache after they were missed are not loaded.
+     *
+     * @param batch the batch
+     */
+    private void dispatch(Batch<K, V> batch) {
+        List<K> keys = new ArrayList<>(batch.loads.keySet());
+
+        try {
+            Map<K, V> values = new HashMap<>(cache.getAll(keys));
+            List<K> missedKeys = new ArrayList<>();
+
+            for (K key : keys) {
+                if (!values.containsKey(key)) {
+                    missedKeys.add(key);
+                }
+            }
+
+            if (!missedKeys.isEmpty()) {
+                Map<K, V> loadedValues = batchCacheLoader.loadAllValues(missedKeys);
+                Map<K, V> valuesToCache = new LinkedHashMap<>();
+
+                for (K key : missedKeys) {
+                    V value = loadedValues.get(key);
+
+                    if (value != null) {
+                        valuesToCache.put(key, value);
+                    }
+                }
+
+                cache.putAll(valuesToCache);
+                values.putAll(valuesToCache);
+            }
+
+            for (K key : keys) {
+                batch.loads.get(key).complete(values.get(key));
+            }
+        } catch (CacheException | RuntimeException | Error e) {
+            for (CompletableFuture<V> load : batch.loads.values()) {
+                load.completeExceptionally(e);
+            }
+        } finally {
+            for (Map.Entry<K, CompletableFuture<V>> load : batch.loads.entrySet()) {
+                loads.remove(load.getKey(), load.getValue());
+            }
+        }
+    }
+
+    /**
+     * Method to wait for the load of a key.
+     *
+     * @param key  the key
+     * @param load the load
+     * @return the loaded value
+     * @throws CacheException if the load failed or the thread was interrupted
+     */
+    private V await(K key, CompletableFuture<V> load) throws CacheException {
+        try {
+            return load.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CacheException("Interrupted when waiting for the value of key : " + key, e);
+        } catch (ExecutionException e) {
+            throw new CacheException("Error occurred when trying to load the batch of key : " + key, e.getCause());
+        }
+    }
+
+    /**
+     * Inner class to represent a batch of missed keys which are loaded together.
+     *
+     * @param <K> the type of the key
+     * @param <V> the type of the value
+     */
+    private static class Batch<K, V> {
+        private final Map<K, CompletableFuture<V>> loads = new LinkedHashMap<>();
+        private final CountDownLatch closed = new CountDownLatch(1);
+    }
+}
@@ -3,15 +3,26 @@ package com.leondesilva.jlcache;
 import com.leondesilva.jlcache.exceptions.CacheException;
 import com.leondesilva.jlcache.pojo.MetaData;
 
+import java.io.Closeable;
+import java.io.IOException;
 import java.io.Serializable;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 /**
  * Interface to represent the cache.
+ * <p>
+ * A cache is closed to release the files, threads and memory it holds. Caches which wrap other caches close the caches
+ * they wrap, so closing the cache returned by a builder closes every layer of it. By default closing does nothing.
  *
  * @param <K> the key type
  * @param <V> the value type
  */
-public interface Cache<K extends Serializable, V extends Serializable> {
+public interface Cache<K extends Serializable, V extends Serializable> extends Closeable {
 
     /**
      * Method to put the key and value to the cache.
@@ -22,6 +33,22 @@ public interface Cache<K extends Serializable, V extends Serializable> {
      */
     void put(K key, V value) throws CacheException;
 
+    /**
+     * Method to put the key and value to the cache with a lifetime of its own. Once the duration has passed the entry
+     * is reported as a miss and is deleted. Caches which do not support per entry expiration throw an exception.
+     *
+     * @param key      the key
+     * @param value    the value
+     * @param duration the duration after which the entry expires
+     * @param timeUnit the time unit of the duration
+     * @throws CacheException if per entry expiration is not supported or if an error occurs when trying to run a
+     *                        caching related task
+     */
+    default void put(K key, V value, long duration, TimeUnit timeUnit) throws CacheException {
+        throw new CacheException("Per entry expiration is not supported by " + getClass().getSimpleName()
+                + ". Set an expiration in the cache builder to wrap the cache with an expiring cache.");
+    }
+
     /**
      * Method to get the value for a given key.
      *
@@ -31,6 +58,56 @@ public interface Cache<K extends Serializable, V extends Serializable> {
      */
     V get(K key) throws CacheException;
 
+    /**
+     * Method to look up a key with a single probe, instead of a {@link #containsKey(Serializable)} followed by a
+     * {@link #get(Serializable)} which reads the cache twice. A key which maps to a null value is reported as absent.
+     *
+     * @param key the key to retrieve
+     * @return the value for the given key or an empty optional if the key is absent
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    default Optional<V> getIfPresent(K key) throws CacheException {
+        return Optional.ofNullable(get(key));
+    }
+
+    /**
+     * Method to get the value for a given key, loading it with the loader and putting it to the cache if it is
+     * missing. Caches which can be used from many threads at the same time share a single load between the threads
+     * which miss the same key.
+     *
+     * @param key    the key to retrieve
+     * @param loader the loader of the value
+     * @return the value for the given key or null if the loader has no value for it
+     * @throws CacheException if an error occurs when trying to run a caching related task or to load the value
+     */
+    default V get(K key, CacheLoader<? super K, ? extends V> loader) throws CacheException {
+        V value = get(key);
+
+        if (value == null) {
+            value = loader.loadValue(key);
+
+            if (value != null) {
+                put(key, value);
+            }
+        }
+
+        return value;
+    }
+
+    /**
+     * Method to get the value for a given key, computing it with the function and putting it to the cache if it is
+     * missing. This is the same as {@link #get(Serializable, CacheLoader)} for a function which does not throw
+     * checked exceptions.
+     *
+     * @param key             the key to retrieve
+     * @param mappingFunction the function which computes the value
+     * @return the value for the given key or null if the function has no value for it
+     * @throws CacheException if an error occurs when trying to run a caching related task or to compute the value
+     */
+    default V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) throws CacheException {
+        return get(key, mappingFunction::apply);
+    }
+
     /**
      * Method to delete the key.
      *
@@ -39,6 +116,53 @@ public interface Cache<K extends Serializable, V extends Serializable> {
      */
     void delete(K key) throws CacheException;
 
+    /**
+     * Method to put many keys and values to the cache. Caches which keep their entries outside the heap write the whole
+     * batch at once instead of one entry at a time.
+     *
+     * @param entries the keys and the values
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    default void putAll(Map<? extends K, ? extends V> entries) throws CacheException {
+        for (Map.Entry<? extends K, ? extends V> entry : entries.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Method to get the values for many keys. Caches which keep their entries outside the heap read the whole batch
+     * at once instead of one entry at a time.
+     *
+     * @param keys the keys to retrieve
+     * @return the values of the keys which are in the cache, in the order of the given keys
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    default Map<K, V> getAll(Collection<? extends K> keys) throws CacheException {
+        Map<K, V> values = new LinkedHashMap<>();
+
+        for (K key : keys) {
+            V value = get(key);
+
+            if (value != null) {
+                values.put(key, value);
+            }
+        }
+
+        return values;
+    }
+
+    /**
+     * Method to delete many keys.
+     *
+     * @param keys the keys to be deleted
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    default void deleteAll(Collection<? extends K> keys) throws CacheException {
+        for (K key : keys) {
+            delete(key);
+        }
+    }
+
     /**
      * Method to delete all the keys and values
      *
@@ -63,6 +187,17 @@ public interface Cache<K extends Serializable, V extends Serializable> {
      */
     int getSize() throws CacheException;
 
+    /**
+     * Method to check whether the cache keeps its entries in memory, so that its operations can run on the calling
+     * thread without waiting for I/O. An {@link ExecutorAsyncCache} uses this to complete the operations of such a
+     * cache without scheduling a task.
+     *
+     * @return true if the operations of the cache never wait for I/O and false if not
+     */
+    default boolean isInMemory() {
+        return false;
+    }
+
     /**
      * Method to store meta data.
      *
@@ -78,4 +213,14 @@ public interface Cache<K extends Serializable, V extends Serializable> {
      * @throws CacheException if an error occurs when trying to run a caching related task
      */
     MetaData getMetaData() throws CacheException;
+
+    /**
+     * Method to close the cache.
+     *
+     * @throws IOException if an error occurs when trying to close the cache
+     */
+    @Override
+    default void close() throws IOException {
+        // Nothing to release by default.
+    }
 }
@@ -1,11 +1,21 @@
 package com.leondesilva.jlcache;
 
 import com.leondesilva.jlcache.enumeration.CacheEvictionType;
+import com.leondesilva.jlcache.enumeration.CacheStorageType;
 import com.leondesilva.jlcache.exceptions.CacheBuilderException;
 import com.leondesilva.jlcache.exceptions.CacheException;
+import com.leondesilva.jlcache.serialization.Serializer;
+import com.leondesilva.jlcache.storage.LogStructuredStore;
+import com.leondesilva.jlcache.storage.OffHeapStore;
+import com.leondesilva.jlcache.strategy.EvictionStrategy;
+import com.leondesilva.jlcache.strategy.EvictionStrategyFactory;
+import com.leondesilva.jlcache.strategy.WeightedEvictionStrategy;
+import com.leondesilva.jlcache.util.SerializationUtils;
+import com.leondesilva.jlcache.util.Ticker;
 
 import java.io.Serializable;
 import java.nio.file.FileSystems;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Class to represent the cache builder.
@@ -13,6 +23,17 @@ import java.nio.file.FileSystems;
 public class CacheBuilder {
     private int maxEntrySize;
     private CacheEvictionType cacheEvictionType;
+    private boolean concurrent;
+    private long maximumWeight;
+    private Weigher<?, ?> weigher;
+    private long expireAfterWriteNanos;
+    private long expireAfterAccessNanos;
+    private Expiry<?, ?> expiry;
+    private long refreshAfterWriteNanos;
+    private CacheLoader<?, ?> refreshLoader;
+    private Ticker ticker = Ticker.systemTicker();
+    private Serializer<Object> serializer = SerializationUtils.getDefaultSerializer();
+    private Cache<?, ?> demotionCache;
 
     /**
      * Method to create an in-memory cache.
@@ -23,17 +44,13 @@ public class CacheBuilder {
      * @throws CacheBuilderException if an error occurs when building the cache
      */
     public <K extends Serializable, V extends Serializable> Cache<K, V> buildInMemoryCache() throws CacheBuilderException {
-        InMemoryCache<K, V> inMemoryCache = new InMemoryCache<>();
+        Cache<K, V> inMemoryCache = isConcurrent() ? new ConcurrentInMemoryCache<>() : new InMemoryCache<>();
 
-        if (cacheEvictionType == null) {
-            return inMemoryCache;
+        if (cacheEvictionType == null && maximumWeight <= 0) {
+            return buildRefreshingCache(inMemoryCache);
         }
 
-        try {
-            return new EvictableCache<>(inMemoryCache, this.maxEntrySize, this.cacheEvictionType);
-        } catch (CacheException e) {
-            throw new CacheBuilderException("Error occurred when building evictable cache.", e);
-        }
+        return buildRefreshingCache(buildEvictableCache(inMemoryCache, (key, value) -> 1, maximumWeight));
     }
 
     /**
@@ -49,19 +66,81 @@ public class CacheBuilder {
         FileSystemCache<K, V> fileSystemCache;
 
         try {
-            fileSystemCache = new FileSystemCache<>(folderPath);
+            fileSystemCache = new FileSystemCache<>(folderPath, LogStructuredStore.DEFAULT_MAX_SEGMENT_SIZE, serializer);
         } catch (CacheException e) {
             throw new CacheBuilderException("Error occurred when building file system cache.", e);
         }
 
+        if (cacheEvictionType == null && maximumWeight <= 0) {
+            return buildRefreshingCache(fileSystemCache);
+        }
+
+        return buildRefreshingCache(buildEvictableCache(fileSystemCache, (key, value) -> fileSystemCache.getEntrySize(key), maximumWeight));
+    }
+
+    /**
+     * Method to build a memory mapped cache.
+     *
+     * @param folderPath the folder path
+     * @param <K>        the type of the key
+     * @param <V>        the type of the value
+     * @return the memory mapped cache that is built
+     * @throws CacheBuilderException if an error occurs when building the cache
+     */
+    public <K extends Serializable, V extends Serializable> Cache<K, V> buildMemoryMappedCache(String folderPath) throws CacheBuilderException {
+        MemoryMappedCache<K, V> memoryMappedCache;
+
+        try {
+            memoryMappedCache = new MemoryMappedCache<>(folderPath, LogStructuredStore.DEFAULT_MAX_SEGMENT_SIZE, serializer);
+        } catch (CacheException e) {
+            throw new CacheBuilderException("Error occurred when building memory mapped cache.", e);
+        }
+
+        if (cacheEvictionType == null && maximumWeight <= 0) {
+            return buildRefreshingCache(memoryMappedCache);
+        }
+
+        return buildRefreshingCache(buildEvictableCache(memoryMappedCache, (key, value) -> memoryMappedCache.getEntrySize(key), maximumWeight));
+    }
+
+    /**
+     * Method to build an off heap cache, which keeps the serialized entries in direct memory.
+     * Unless a maximum weight is set, the cache is bounded by its capacity less one page, and entries are weighed by
+     * the direct memory they take unless a weigher is set. The page is kept free because entries are evicted after a
+     * put, so the put itself must still find memory.
+     *
+     * @param capacity the maximum number of bytes of direct memory to use
+     * @param <K>      the type of the key
+     * @param <V>      the type of the value
+     * @return the off heap cache that is built
+     * @throws CacheBuilderException if an error occurs when building the cache
+     */
+    public <K extends Serializable, V extends Serializable> Cache<K, V> buildOffHeapCache(long capacity) throws CacheBuilderException {
+        OffHeapCache<K, V> offHeapCache = new OffHeapCache<>(capacity, OffHeapStore.DEFAULT_PAGE_SIZE, serializer);
+        long offHeapMaximumWeight = maximumWeight > 0
+                ? maximumWeight
+                : Math.max(capacity - OffHeapStore.DEFAULT_PAGE_SIZE, capacity / 2);
+        return buildRefreshingCache(buildEvictableCache(offHeapCache, (key, value) -> offHeapCache.getEntrySize(key),
+                offHeapMaximumWeight));
+    }
+
+    /**
+     * Method to build an in memory cache of primitive long keys, which does not box the keys.
+     * Only the eviction settings apply to it.
+     *
+     * @param <V> the type of the value
+     * @return the long key cache that is built
+     * @throws CacheBuilderException if an error occurs when building the cache
+     */
+    public <V extends Serializable> LongKeyCache<V> buildLongKeyCache() throws CacheBuilderException {
         if (cacheEvictionType == null) {
-            return fileSystemCache;
+            return new LongKeyInMemoryCache<>();
         }
 
         try {
-            return new EvictableCache<>(fileSystemCache, this.maxEntrySize, this.cacheEvictionType);
+            return new LongKeyEvictableCache<>(maxEntrySize, cacheEvictionType);
         } catch (CacheException e) {
-            throw new CacheBuilderException("Error occurred when building evictable cache.", e);
+            throw new CacheBuilderException("Error occurred when building long key cache.", e);
         }
     }
 
@@ -78,6 +157,219 @@ public class CacheBuilder {
         return this;
     }
 
+    /**
+     * Method to bound the cache by the total weight of its entries instead of only their number. The entries are
+     * evicted in the order of the eviction policy, or in least recently used order if no eviction policy is set.
+     * If the weigher is null, an in-memory entry weighs 1 and a file system or memory mapped entry weighs the number
+     * of bytes it takes on disk.
+     *
+     * @param maximumWeight the maximum total weight of the entries
+     * @param weigher       the weigher of the entries or null to use the default weight
+     * @return the cache builder
+     */
+    public CacheBuilder setMaximumWeight(long maximumWeight, Weigher<?, ?> weigher) {
+        this.maximumWeight = maximumWeight;
+        this.weigher = weigher;
+        return this;
+    }
+
+    /**
+     * Method to set whether the cache should be safe to use from many threads without external locking.
+     * An in-memory cache is built as a {@link ConcurrentInMemoryCache} and eviction is done by a
+     * {@link ConcurrentEvictableCache}.
+     *
+     * @param concurrent true to build a thread safe cache and false if not
+     * @return the cache builder
+     */
+    public CacheBuilder setConcurrent(boolean concurrent) {
+        this.concurrent = concurrent;
+        return this;
+    }
+
+    /**
+     * Method to set the duration after a write at which an entry expires.
+     *
+     * @param duration the duration
+     * @param timeUnit the time unit of the duration
+     * @return the cache builder
+     */
+    public CacheBuilder setExpireAfterWrite(long duration, TimeUnit timeUnit) {
+        this.expireAfterWriteNanos = timeUnit.toNanos(duration);
+        return this;
+    }
+
+    /**
+     * Method to set the duration after the last read or write at which an entry expires.
+     *
+     * @param duration the duration
+     * @param timeUnit the time unit of the duration
+     * @return the cache builder
+     */
+    public CacheBuilder setExpireAfterAccess(long duration, TimeUnit timeUnit) {
+        this.expireAfterAccessNanos = timeUnit.toNanos(duration);
+        return this;
+    }
+
+    /**
+     * Method to set the policy which decides the lifetime of each entry. This replaces the expire after write and
+     * expire after access durations.
+     *
+     * @param expiry the expiry policy
+     * @return the cache builder
+     */
+    public CacheBuilder setExpiry(Expiry<?, ?> expiry) {
+        this.expiry = expiry;
+        return this;
+    }
+
+    /**
+     * Method to set the duration after a write at which a read of an entry reloads it in the background. The read
+     * returns the current value without waiting for the reload. If expiration is set as well, an expired entry is a
+     * miss and is not reloaded, so the refresh duration should be shorter than the expiration. The cache is made
+     * thread safe, as the reloads write to it in the background while other threads use it.
+     *
+     * @param duration the duration
+     * @param timeUnit the time unit of the duration
+     * @param loader   the loader of the values
+     * @return the cache builder
+     */
+    public CacheBuilder setRefreshAfterWrite(long duration, TimeUnit timeUnit, CacheLoader<?, ?> loader) {
+        this.refreshAfterWriteNanos = timeUnit.toNanos(duration);
+        this.refreshLoader = loader;
+        return this;
+    }
+
+    /**
+     * Method to set the ticker to read the time from for expiration and refresh. If this is not set, the system time
+     * is used.
+     *
+     * @param ticker the ticker
+     * @return the cache builder
+     */
+    public CacheBuilder setTicker(Ticker ticker) {
+        this.ticker = ticker;
+        return this;
+    }
+
+    /**
+     * Method to set the serializer of the keys and the values of disk based and off heap caches.
+     * If this is not set, a {@link com.leondesilva.jlcache.serialization.SerializerRegistry} with the built-in
+     * serializers will be used.
+     *
+     * @param serializer the serializer
+     * @return the cache builder
+     */
+    public CacheBuilder setSerializer(Serializer<Object> serializer) {
+        this.serializer = serializer;
+        return this;
+    }
+
+    /**
+     * Method to wrap the level 1 cache of an exclusive two level cache right below its eviction strategy, so the
+     * entries it evicts are demoted to the level 2 cache.
+     *
+     * @param cache the cache
+     * @param <K>   the type of the key
+     * @param <V>   the type of the value
+     * @return the demoting cache or the given cache if it is not the level 1 cache of an exclusive two level cache
+     */
+    @SuppressWarnings("unchecked")
+    private <K extends Serializable, V extends Serializable> Cache<K, V> buildDemotingCache(Cache<K, V> cache) {
+        return demotionCache == null ? cache : new DemotingCache<>(cache, (Cache<K, V>) demotionCache);
+    }
+
+    /**
+     * Method to wrap a cache with the expiration policy if expiration is set.
+     *
+     * @param cache the cache
+     * @param <K>   the type of the key
+     * @param <V>   the type of the value
+     * @return the expiring cache or the given cache if expiration is not set
+     */
+    @SuppressWarnings("unchecked")
+    private <K extends Serializable, V extends Serializable> Cache<K, V> buildExpiringCache(Cache<K, V> cache) {
+        if (expiry != null) {
+            return new ExpiringCache<>(cache, (Expiry<K, V>) expiry, ticker);
+        }
+
+        if (expireAfterWriteNanos <= 0 && expireAfterAccessNanos <= 0) {
+            return cache;
+        }
+
+        return new ExpiringCache<>(cache, expireAfterWriteNanos, expireAfterAccessNanos, TimeUnit.NANOSECONDS, ticker);
+    }
+
+    /**
+     * Method to wrap a cache with the expiration policy and then with the refresh policy, if they are set.
+     *
+     * @param cache the cache
+     * @param <K>   the type of the key
+     * @param <V>   the type of the value
+     * @return the refreshing cache or the expiring cache if refresh is not set
+     */
+    @SuppressWarnings("unchecked")
+    private <K extends Serializable, V extends Serializable> Cache<K, V> buildRefreshingCache(Cache<K, V> cache) {
+        Cache<K, V> expiringCache = buildExpiringCache(cache);
+
+        if (refreshAfterWriteNanos <= 0 || refreshLoader == null) {
+            return expiringCache;
+        }
+
+        return new RefreshingCache<>(expiringCache, refreshAfterWriteNanos, TimeUnit.NANOSECONDS,
+                (CacheLoader<K, V>) refreshLoader, ExecutorAsyncCache.DEFAULT_IO_EXECUTOR, ticker);
+    }
+
+    /**
+     * Method to check whether a thread safe cache should be built. A refreshing cache is always thread safe, as the
+     * reloads write to it in the background.
+     *
+     * @return true to build a thread safe cache and false if not
+     */
+    private boolean isConcurrent() {
+        return concurrent || (refreshAfterWriteNanos > 0 && refreshLoader != null);
+    }
+
+    /**
+     * Method to wrap a cache with the eviction policy.
+     *
+     * @param cache          the cache
+     * @param defaultWeigher the weigher to use if the maximum weight is set without a weigher
+     * @param maximumWeight  the maximum total weight of the entries or 0 to bound only the number of entries
+     * @param <K>            the type of the key
+     * @param <V>            the type of the value
+     * @return the evictable cache
+     * @throws CacheBuilderException if an error occurs when building the cache
+     */
+    @SuppressWarnings("unchecked")
+    private <K extends Serializable, V extends Serializable> Cache<K, V> buildEvictableCache(Cache<K, V> cache,
+                                                                                             Weigher<K, V> defaultWeigher,
+                                                                                             long maximumWeight) throws CacheBuilderException {
+        try {
+            if (maximumWeight <= 0) {
+                if (isConcurrent()) {
+                    return new ConcurrentEvictableCache<>(buildDemotingCache(cache), this.maxEntrySize, this.cacheEvictionType);
+                }
+
+                return new EvictableCache<>(buildDemotingCache(cache), this.maxEntrySize, this.cacheEvictionType);
+            }
+
+            WeighedCache<K, V> weighedCache = new WeighedCache<>(cache, weigher == null ? defaultWeigher : (Weigher<K, V>) weigher);
+            Cache<K, V> strategyCache = buildDemotingCache(weighedCache);
+            EvictionStrategy<K, V> evictionStrategy = cacheEvictionType == null
+                    ? EvictionStrategyFactory.create(strategyCache, Integer.MAX_VALUE, CacheEvictionType.LRU)
+                    : EvictionStrategyFactory.create(strategyCache, this.maxEntrySize, this.cacheEvictionType);
+            evictionStrategy = new WeightedEvictionStrategy<>(evictionStrategy, weighedCache, maximumWeight);
+
+            if (isConcurrent()) {
+                return new ConcurrentEvictableCache<>(weighedCache, evictionStrategy);
+            }
+
+            return new EvictableCache<>(weighedCache, evictionStrategy);
+        } catch (CacheException e) {
+            throw new CacheBuilderException("Error occurred when building evictable cache.", e);
+        }
+    }
+
     /**
      * Method to get the builder for two level cache.
      *
@@ -97,6 +389,23 @@ public class CacheBuilder {
         private int level2CacheMaxEntrySize;
         private CacheEvictionType level2CacheEvictionType;
         private String level2CacheFolderPath;
+        private long level1CacheMaximumWeight;
+        private long level1CacheOffHeapCapacity;
+        private Weigher<?, ?> level1CacheWeigher;
+        private long level2CacheMaximumWeight;
+        private CacheStorageType level2CacheStorageType = CacheStorageType.FILE_SYSTEM;
+        private Serializer<Object> level2CacheSerializer = SerializationUtils.getDefaultSerializer();
+        private long expireAfterWriteNanos;
+        private long expireAfterAccessNanos;
+        private Expiry<?, ?> expiry;
+        private long refreshAfterWriteNanos;
+        private CacheLoader<?, ?> refreshLoader;
+        private PromotionPolicy<?> promotionPolicy = PromotionPolicy.always();
+        private boolean exclusive;
+        private boolean concurrent;
+        private int level2CacheMaxPendingWrites;
+        private int level2CacheMaxWriteBatchSize;
+        private Ticker ticker = Ticker.systemTicker();
 
         /**
          * Method to set the level 1 cache eviction policy.
@@ -124,6 +433,43 @@ public class CacheBuilder {
             return this;
         }
 
+        /**
+         * Method to bound the level 1 cache by the total weight of its entries.
+         *
+         * @param maximumWeight the maximum total weight of the entries
+         * @param weigher       the weigher of the entries or null to weigh each entry as 1, or by the direct memory
+         *                      it takes if the level 1 cache is off heap
+         * @return the two level cache builder
+         */
+        public TwoLevelCacheBuilder setLevel1CacheMaximumWeight(long maximumWeight, Weigher<?, ?> weigher) {
+            this.level1CacheMaximumWeight = maximumWeight;
+            this.level1CacheWeigher = weigher;
+            return this;
+        }
+
+        /**
+         * Method to keep the level 1 cache in direct memory instead of the heap. The entries are serialized with the
+         * level 2 cache serializer.
+         *
+         * @param capacity the maximum number of bytes of direct memory to use
+         * @return the two level cache builder
+         */
+        public TwoLevelCacheBuilder setLevel1CacheOffHeap(long capacity) {
+            this.level1CacheOffHeapCapacity = capacity;
+            return this;
+        }
+
+        /**
+         * Method to bound the level 2 cache by the number of bytes its entries take on disk.
+         *
+         * @param maximumBytes the maximum number of bytes
+         * @return the two level cache builder
+         */
+        public TwoLevelCacheBuilder setLevel2CacheMaximumWeight(long maximumBytes) {
+            this.level2CacheMaximumWeight = maximumBytes;
+            return this;
+        }
+
         /**
          * Method to set the level 2 cache folder path. If this is not set, the current directory will be used.
          *
@@ -135,6 +481,146 @@ public class CacheBuilder {
             return this;
         }
 
+        /**
+         * Method to set the level 2 cache storage type. If this is not set, the file system storage will be used.
+         *
+         * @param cacheStorageType the cache storage type
+         * @return the two level cache builder
+         */
+        public TwoLevelCacheBuilder setLevel2CacheStorageType(CacheStorageType cacheStorageType) {
+            this.level2CacheStorageType = cacheStorageType;
+            return this;
+        }
+
+        /**
+         * Method to set the serializer of the keys and the values of the level 2 cache.
+         *
+         * @param serializer the serializer
+         * @return the two level cache builder
+         */
+        public TwoLevelCacheBuilder setLevel2CacheSerializer(Serializer<Object> serializer) {
+            this.level2CacheSerializer = serializer;
+            return this;
+        }
+
+        /**
+         * Method to set the duration after a write at which an entry expires from both levels.
+         *
+         * @param duration the duration
+         * @param timeUnit the time unit of the duration
+         * @return the two level cache builder
+         */
+        public TwoLevelCacheBuilder setExpireAfterWrite(long duration, TimeUnit timeUnit) {
+            this.expireAfterWriteNanos = timeUnit.toNanos(duration);
+            return this;
+        }
+
+        /**
+         * Method to set the duration after the last read or write at which an entry expires from both levels.
+         *
+         * @param duration the duration
+         * @param timeUnit the time unit of the duration
+         * @return the two level cache builder
+         */
+        public TwoLevelCacheBuilder setExpireAfterAccess(long duration, TimeUnit timeUnit) {
+            this.expireAfterAccessNanos = timeUnit.toNanos(duration);
+            return this;
+        }
+
+        /**
+         * Method to set the policy which decides the lifetime of each entry in both levels. This replaces the expire
+         * after write and expire after access durations.
+         *
+         * @param expiry the expiry policy
+         * @return the two level cache builder
+         */
+        public TwoLevelCacheBuilder setExpiry(Expiry<?, ?> expiry) {
+            this.expiry = expiry;
+            return this;
+        }
+
+        /**
+         * Method to set the policy which decides whether a key read from the level 2 cache is put to the level 1
+         * cache. If this is not set, every key read from the level 2 cache is promoted.
+         *
+         * @param promotionPolicy the promotion policy
+         * @return the two level cache builder
+         */
+        public TwoLevelCacheBuilder setPromotionPolicy(PromotionPolicy<?> promotionPolicy) {
+            this.promotionPolicy = promotionPolicy;
+            return this;
+        }
+
+        /**
+         * Method to write to the level 2 cache behind the writes to the level 1 cache. Writes to the level 2 cache are
+         * queued in memory, writes to the same key are coalesced, and a background thread flushes them in batches.
+         * Once the max number of queued keys is reached, a write of a new key waits for the next batch. The level 2
+         * cache is made thread safe, as the background thread writes to it while other threads read it.
+         *
+         * @param maxPendingWrites the max number of queued keys
+         * @param maxBatchSize     the max number of writes flushed at a time
+         * @return the two level cache builder
+         */
+        public TwoLevelCacheBuilder setLevel2CacheWriteBehind(int maxPendingWrites, int maxBatchSize) {
+            this.level2CacheMaxPendingWrites = maxPendingWrites;
+            this.level2CacheMaxWriteBatchSize = maxBatchSize;
+            return this;
+        }
+
+        /**
+         * Method to set whether each key is kept in only one level. In exclusive mode writes go only to the level 1
+         * cache, the entries it evicts are moved to the level 2 cache and promoted keys are moved out of the level 2
+         * cache, so the capacity of the cache is the sum of both levels. If this is not set, every write goes to both
+         * levels.
+         *
+         * @param exclusive true to keep each key in only one level and false if not
+         * @return the two level cache builder
+         */
+        public TwoLevelCacheBuilder setExclusive(boolean exclusive) {
+            this.exclusive = exclusive;
+            return this;
+        }
+
+        /**
+         * Method to set whether the cache should be safe to use from many threads without external locking, such as
+         * from an {@link ExecutorAsyncCache}. Both levels are built as thread safe caches.
+         *
+         * @param concurrent true to build a thread safe cache and false if not
+         * @return the two level cache builder
+         */
+        public TwoLevelCacheBuilder setConcurrent(boolean concurrent) {
+            this.concurrent = concurrent;
+            return this;
+        }
+
+        /**
+         * Method to set the duration after a write at which a read of an entry reloads it in the background into
+         * both levels. The read returns the current value without waiting for the reload. Both levels are made
+         * thread safe, as the reloads write to them in the background while other threads use the cache.
+         *
+         * @param duration the duration
+         * @param timeUnit the time unit of the duration
+         * @param loader   the loader of the values
+         * @return the two level cache builder
+         */
+        public TwoLevelCacheBuilder setRefreshAfterWrite(long duration, TimeUnit timeUnit, CacheLoader<?, ?> loader) {
+            this.refreshAfterWriteNanos = timeUnit.toNanos(duration);
+            this.refreshLoader = loader;
+            return this;
+        }
+
+        /**
+         * Method to set the ticker to read the time from for expiration and refresh. If this is not set, the system
+         * time is used.
+         *
+         * @param ticker the ticker
+         * @return the two level cache builder
+         */
+        public TwoLevelCacheBuilder setTicker(Ticker ticker) {
+            this.ticker = ticker;
+            return this;
+        }
+
         /**
          * Method to build to two level cache.
          *
@@ -143,18 +629,52 @@ public class CacheBuilder {
          * @return the two level cache that is built
          * @throws CacheBuilderException if an error occurs when building the cache
          */
+        @SuppressWarnings("unchecked")
         public <K extends Serializable, V extends Serializable> Cache<K, V> build() throws CacheBuilderException {
             CacheBuilder level1CacheBuilder = new CacheBuilder();
             CacheBuilder level2CacheBuilder = new CacheBuilder();
+            boolean threadSafe = concurrent || (refreshAfterWriteNanos > 0 && refreshLoader != null);
 
             if (level2CacheFolderPath == null) {
                 level2CacheFolderPath = FileSystems.getDefault().getPath(".").toString();
             }
 
-            Cache<K, V> level1Cache = level1CacheBuilder.setEviction(level1CacheMaxEntrySize, level1CacheEvictionType).buildInMemoryCache();
-            Cache<K, V> level2Cache = level2CacheBuilder.setEviction(level2CacheMaxEntrySize, level2CacheEvictionType).buildFileSystemCache(level2CacheFolderPath);
+            level2CacheBuilder.setEviction(level2CacheMaxEntrySize, level2CacheEvictionType)
+                    .setMaximumWeight(level2CacheMaximumWeight, null)
+                    .setConcurrent(threadSafe || level2CacheMaxPendingWrites > 0)
+                    .setSerializer(level2CacheSerializer);
+            Cache<K, V> level2Cache = level2CacheStorageType == CacheStorageType.MEMORY_MAPPED
+                    ? level2CacheBuilder.buildMemoryMappedCache(level2CacheFolderPath)
+                    : level2CacheBuilder.buildFileSystemCache(level2CacheFolderPath);
+
+            if (level2CacheMaxPendingWrites > 0) {
+                level2Cache = new WriteBehindCache<>(level2Cache, level2CacheMaxPendingWrites, level2CacheMaxWriteBatchSize);
+            }
+
+            level1CacheBuilder.setEviction(level1CacheMaxEntrySize, level1CacheEvictionType)
+                    .setMaximumWeight(level1CacheMaximumWeight, level1CacheWeigher)
+                    .setConcurrent(threadSafe)
+                    .setSerializer(level2CacheSerializer);
+            level1CacheBuilder.demotionCache = exclusive ? level2Cache : null;
+            Cache<K, V> level1Cache = level1CacheOffHeapCapacity > 0
+                    ? level1CacheBuilder.buildOffHeapCache(level1CacheOffHeapCapacity)
+                    : level1CacheBuilder.buildInMemoryCache();
+
+            Cache<K, V> twoLevelCache = new TwoLevelCache<>(level1Cache, level2Cache, (PromotionPolicy<K>) promotionPolicy,
+                    exclusive);
+
+            if (expiry != null) {
+                twoLevelCache = new ExpiringCache<>(twoLevelCache, (Expiry<K, V>) expiry, ticker);
+            } else if (expireAfterWriteNanos > 0 || expireAfterAccessNanos > 0) {
+                twoLevelCache = new ExpiringCache<>(twoLevelCache, expireAfterWriteNanos, expireAfterAccessNanos, TimeUnit.NANOSECONDS, ticker);
+            }
+
+            if (refreshAfterWriteNanos <= 0 || refreshLoader == null) {
+                return twoLevelCache;
+            }
 
-            return new TwoLevelCache<>(level1Cache, level2Cache);
+            return new RefreshingCache<>(twoLevelCache, refreshAfterWriteNanos, TimeUnit.NANOSECONDS,
+                    (CacheLoader<K, V>) refreshLoader, ExecutorAsyncCache.DEFAULT_IO_EXECUTOR, ticker);
         }
     }
 }
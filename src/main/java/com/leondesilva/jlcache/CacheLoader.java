@@ -0,0 +1,41 @@
+package com.leondesilva.jlcache;
+
+import com.leondesilva.jlcache.exceptions.CacheException;
+
+import java.io.Serializable;
+
+/**
+ * Interface to represent a function which loads the value of a key which is not in the cache, such as by reading it
+ * from a database.
+ *
+ * @param <K> the type of the key
+ * @param <V> the type of the value
+ */
+@FunctionalInterface
+public interface CacheLoader<K extends Serializable, V extends Serializable> {
+    /**
+     * Method to load the value of a key.
+     *
+     * @param key the key
+     * @return the value or null if the key has no value
+     * @throws Exception if the value cannot be loaded
+     */
+    V load(K key) throws Exception;
+
+    /**
+     * Method to load the value of a key and report a failure as a cache exception.
+     *
+     * @param key the key
+     * @return the value or null if the key has no value
+     * @throws CacheException if the value cannot be loaded
+     */
+    default V loadValue(K key) throws CacheException {
+        try {
+            return load(key);
+        } catch (CacheException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CacheException("Error occurred when trying to load the value of key : " + key, e);
+        }
+    }
+}
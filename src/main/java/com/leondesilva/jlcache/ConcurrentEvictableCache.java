@@ -0,0 +1,329 @@
+package com.leondesilva.jlcache;
+
+import com.leondesilva.jlcache.enumeration.CacheEvictionType;
+import com.leondesilva.jlcache.exceptions.CacheException;
+import com.leondesilva.jlcache.pojo.MetaData;
+import com.leondesilva.jlcache.strategy.EvictionStrategy;
+import com.leondesilva.jlcache.strategy.EvictionStrategyFactory;
+import com.leondesilva.jlcache.util.SingleFlightLoader;
+import com.leondesilva.jlcache.util.StripedRingBuffer;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Class to represent the thread safe evictable cache.
+ * <p>
+ * A get reads the value straight from the cache and records the access in a {@link StripedRingBuffer} instead of
+ * updating the eviction order, so reads never wait for the eviction bookkeeping. The recorded accesses are applied
+ * to the eviction strategy in batches by whichever thread manages to take the eviction lock, either when a buffer
+ * stripe is full or before a write. Accesses are dropped when the buffer is full, which only makes the eviction
+ * order slightly less precise.
+ * <p>
+ * Writes go through the eviction strategy under the eviction lock, so the strategy is only ever used by one thread
+ * at a time. The given cache must be safe to read while it is being written, such as a {@link ConcurrentInMemoryCache}
+ * or a {@link FileSystemCache}.
+ *
+ * @param <K> the type of the key
+ * @param <V> the type of the value
+ */
+public class ConcurrentEvictableCache<K extends Serializable, V extends Serializable> implements Cache<K, V> {
+    private final Cache<K, V> cache;
+    private final EvictionStrategy<K, V> cacheEvictionStrategy;
+    private final StripedRingBuffer<K> readBuffer = new StripedRingBuffer<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private volatile MetaData metaData;
+    private final SingleFlightLoader<K, V> singleFlightLoader = new SingleFlightLoader<>();
+
+    /**
+     * Constructor to instantiate the concurrent evictable cache.
+     *
+     * @param cache             the thread safe cache to be used with the eviction strategy
+     * @param maxEntrySize      the max entry size
+     * @param cacheEvictionType the cache eviction type
+     * @throws CacheException if the eviction type is invalid or if the cache initialization fails
+     */
+    public ConcurrentEvictableCache(Cache<K, V> cache, int maxEntrySize, CacheEvictionType cacheEvictionType) throws CacheException {
+        this(cache, EvictionStrategyFactory.create(cache, maxEntrySize, cacheEvictionType));
+    }
+
+    /**
+     * Constructor to instantiate the concurrent evictable cache with an already created eviction strategy.
+     *
+     * @param cache                 the thread safe cache which is wrapped by the eviction strategy
+     * @param cacheEvictionStrategy the eviction strategy which wraps the cache
+     */
+    public ConcurrentEvictableCache(Cache<K, V> cache, EvictionStrategy<K, V> cacheEvictionStrategy) {
+        this.cache = cache;
+        this.cacheEvictionStrategy = cacheEvictionStrategy;
+    }
+
+    /**
+     * Method to put the key and value to the cache.
+     *
+     * @param key   the key
+     * @param value the value
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public void put(K key, V value) throws CacheException {
+        evictionLock.lock();
+
+        try {
+            drainReadBuffer();
+            cacheEvictionStrategy.put(key, value);
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Method to put the key and value to the cache with a lifetime of its own. The key is tracked by the eviction
+     * strategy like any other put and the wrapped cache expires the entry.
+     *
+     * @param key      the key
+     * @param value    the value
+     * @param duration the duration after which the entry expires
+     * @param timeUnit the time unit of the duration
+     * @throws CacheException if per entry expiration is not supported by the wrapped cache or if an error occurs when
+     *                        trying to run a caching related task
+     */
+    @Override
+    public void put(K key, V value, long duration, TimeUnit timeUnit) throws CacheException {
+        evictionLock.lock();
+
+        try {
+            drainReadBuffer();
+            cacheEvictionStrategy.put(key, value, duration, timeUnit);
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Method to get the value for a given key. This method does not wait for the eviction lock.
+     *
+     * @param key the key to retrieve
+     * @return the value for the given key
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public V get(K key) throws CacheException {
+        V value = cache.get(key);
+
+        if (!readBuffer.offer(key) && evictionLock.tryLock()) {
+            try {
+                drainReadBuffer();
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+
+        return value;
+    }
+
+    /**
+     * Method to get the value for a given key, loading it if it is missing. Threads which miss the same key at the
+     * same time share a single load.
+     *
+     * @param key    the key to retrieve
+     * @param loader the loader of the value
+     * @return the value for the given key or null if the loader has no value for it
+     * @throws CacheException if an error occurs when trying to run a caching related task or to load the value
+     */
+    @Override
+    public V get(K key, CacheLoader<? super K, ? extends V> loader) throws CacheException {
+        return singleFlightLoader.get(this, key, loader);
+    }
+
+    /**
+     * Method to delete the key.
+     *
+     * @param key the key to be deleted
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public void delete(K key) throws CacheException {
+        evictionLock.lock();
+
+        try {
+            drainReadBuffer();
+            cacheEvictionStrategy.delete(key);
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Method to put many keys and values to the cache. The whole batch goes through the eviction strategy under a
+     * single hold of the eviction lock.
+     *
+     * @param entries the keys and the values
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public void putAll(Map<? extends K, ? extends V> entries) throws CacheException {
+        evictionLock.lock();
+
+        try {
+            drainReadBuffer();
+            cacheEvictionStrategy.putAll(entries);
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Method to get the values for many keys. This method does not wait for the eviction lock.
+     *
+     * @param keys the keys to retrieve
+     * @return the values of the keys which are in the cache, in the order of the given keys
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public Map<K, V> getAll(Collection<? extends K> keys) throws CacheException {
+        Map<K, V> values = cache.getAll(keys);
+        boolean bufferFull = false;
+
+        for (K key : values.keySet()) {
+            bufferFull |= !readBuffer.offer(key);
+        }
+
+        if (bufferFull && evictionLock.tryLock()) {
+            try {
+                drainReadBuffer();
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+
+        return values;
+    }
+
+    /**
+     * Method to delete many keys under a single hold of the eviction lock.
+     *
+     * @param keys the keys to be deleted
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public void deleteAll(Collection<? extends K> keys) throws CacheException {
+        evictionLock.lock();
+
+        try {
+            drainReadBuffer();
+            cacheEvictionStrategy.deleteAll(keys);
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Method to delete all the keys and values
+     *
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public void deleteAll() throws CacheException {
+        evictionLock.lock();
+
+        try {
+            // The buffered accesses are of keys which are about to be deleted.
+            readBuffer.drainTo(key -> {
+            });
+            cacheEvictionStrategy.deleteAll();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Method to check whether the key does contain in the cache.
+     *
+     * @param key the key
+     * @return true if contains and false if not
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public boolean containsKey(K key) throws CacheException {
+        return cache.containsKey(key);
+    }
+
+    /**
+     * Method to get the cache size.
+     *
+     * @return the cache size
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public int getSize() throws CacheException {
+        return cache.getSize();
+    }
+
+    /**
+     * Method to check whether the wrapped cache keeps its entries in memory.
+     *
+     * @return true if the wrapped cache never waits for I/O and false if not
+     */
+    @Override
+    public boolean isInMemory() {
+        return cache.isInMemory();
+    }
+
+    /**
+     * Method to close the wrapped cache.
+     *
+     * @throws IOException if an error occurs when trying to close the wrapped cache
+     */
+    @Override
+    public void close() throws IOException {
+        cache.close();
+    }
+
+    /**
+     * Method to store meta data.
+     *
+     * @param metaData the meta data
+     */
+    @Override
+    public void storeMetaData(MetaData metaData) {
+        this.metaData = metaData;
+    }
+
+    /**
+     * Method to get the meta data.
+     *
+     * @return the meta data
+     */
+    @Override
+    public MetaData getMetaData() {
+        return metaData;
+    }
+
+    /**
+     * Method to apply the buffered accesses to the eviction strategy. This must be called under the eviction lock.
+     *
+     * @throws CacheException if an error occurs when trying to record an access
+     */
+    private void drainReadBuffer() throws CacheException {
+        CacheException[] firstException = new CacheException[1];
+
+        readBuffer.drainTo(key -> {
+            try {
+                cacheEvictionStrategy.recordAccess(key);
+            } catch (CacheException e) {
+                if (firstException[0] == null) {
+                    firstException[0] = e;
+                }
+            }
+        });
+
+        if (firstException[0] != null) {
+            throw firstException[0];
+        }
+    }
+}
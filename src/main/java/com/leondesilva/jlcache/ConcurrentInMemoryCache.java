@@ -0,0 +1,140 @@
+package com.leondesilva.jlcache;
+
+import com.leondesilva.jlcache.exceptions.CacheException;
+import com.leondesilva.jlcache.pojo.MetaData;
+import com.leondesilva.jlcache.util.SingleFlightLoader;
+
+import java.io.Serializable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Class to represent the thread safe in memory cache.
+ * The entries are kept in a {@link ConcurrentHashMap}, so reads are lock free and writes only lock a single bin
+ * of the map, which lets many threads use the cache at the same time without a global lock.
+ *
+ * @param <K> the type of the key
+ * @param <V> the type of the value
+ */
+public class ConcurrentInMemoryCache<K extends Serializable, V extends Serializable> implements Cache<K, V> {
+    // The concurrent map does not allow null values, so they are replaced with this marker.
+    private static final Object NULL_VALUE = new Object();
+    private final ConcurrentMap<K, Object> cacheMap;
+    private volatile MetaData metaData;
+    private final SingleFlightLoader<K, V> singleFlightLoader = new SingleFlightLoader<>();
+
+    /**
+     * Constructor to instantiate the concurrent in memory cache.
+     */
+    public ConcurrentInMemoryCache() {
+        this.cacheMap = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Constructor to instantiate the concurrent in memory cache with an expected number of entries and writer threads.
+     *
+     * @param initialCapacity  the expected number of entries
+     * @param concurrencyLevel the expected number of threads which update the cache at the same time
+     */
+    public ConcurrentInMemoryCache(int initialCapacity, int concurrencyLevel) {
+        this.cacheMap = new ConcurrentHashMap<>(initialCapacity, 0.75f, concurrencyLevel);
+    }
+
+    /**
+     * Method to put the key and value to the cache.
+     *
+     * @param key   the key
+     * @param value the value
+     */
+    public void put(K key, V value) {
+        this.cacheMap.put(key, value == null ? NULL_VALUE : value);
+    }
+
+    /**
+     * Method to get the value for a given key.
+     *
+     * @param key the key to retrieve
+     * @return the value for the given key
+     */
+    public V get(K key) {
+        Object value = cacheMap.get(key);
+        return value == NULL_VALUE ? null : (V) value;
+    }
+
+    /**
+     * Method to get the value for a given key, loading it if it is missing. Threads which miss the same key at the
+     * same time share a single load.
+     *
+     * @param key    the key to retrieve
+     * @param loader the loader of the value
+     * @return the value for the given key or null if the loader has no value for it
+     * @throws CacheException if an error occurs when trying to run a caching related task or to load the value
+     */
+    @Override
+    public V get(K key, CacheLoader<? super K, ? extends V> loader) throws CacheException {
+        return singleFlightLoader.get(this, key, loader);
+    }
+
+    /**
+     * Method to delete the key.
+     *
+     * @param key the key to be deleted
+     */
+    public void delete(K key) {
+        cacheMap.remove(key);
+    }
+
+    /**
+     * Method to delete all the keys and values
+     */
+    public void deleteAll() {
+        cacheMap.clear();
+    }
+
+    /**
+     * Method to check whether the key does contain in the cache.
+     *
+     * @param key the key
+     * @return true if contains and false if not
+     */
+    public boolean containsKey(K key) {
+        return cacheMap.containsKey(key);
+    }
+
+    /**
+     * Method to get the cache size.
+     *
+     * @return the cache size
+     */
+    public int getSize() {
+        return cacheMap.size();
+    }
+
+    /**
+     * Method to check whether the cache keeps its entries in memory. This cache never waits for I/O.
+     *
+     * @return true
+     */
+    @Override
+    public boolean isInMemory() {
+        return true;
+    }
+
+    /**
+     * Method to store meta data.
+     *
+     * @param metaData the meta data
+     */
+    public void storeMetaData(MetaData metaData) {
+        this.metaData = metaData;
+    }
+
+    /**
+     * Method to get the meta data.
+     *
+     * @return the meta data
+     */
+    public MetaData getMetaData() {
+        return this.metaData;
+    }
+}
@@ -0,0 +1,246 @@
+package com.leondesilva.jlcache;
+
+import com.leondesilva.jlcache.exceptions.CacheException;
+import com.leondesilva.jlcache.pojo.MetaData;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class to represent the level 1 cache of an exclusive {@link TwoLevelCache}, which moves the entries deleted from it
+ * to the level 2 cache.
+ * <p>
+ * Eviction strategies delete the entries they evict through the cache they wrap, so wrapping the level 1 cache with
+ * this cache right below its eviction policy demotes every evicted entry to the level 2 cache instead of dropping it.
+ * Entries which a batch of puts evicts before they reach the cache are handed over by the eviction strategy through
+ * {@link #demoteAll(Map)}. The explicit deletes and the expirations of an exclusive {@link TwoLevelCache} are not
+ * demoted, as it deletes them from the level 1 cache with demotion skipped on the calling thread.
+ *
+ * @param <K> the type of the key
+ * @param <V> the type of the value
+ */
+public class DemotingCache<K extends Serializable, V extends Serializable> implements Cache<K, V> {
+    private static final ThreadLocal<Boolean> DEMOTION_SKIPPED = ThreadLocal.withInitial(() -> Boolean.FALSE);
+    private final Cache<K, V> cache;
+    private final Cache<K, V> level2Cache;
+
+    /**
+     * Constructor to instantiate the demoting cache.
+     *
+     * @param cache       the level 1 cache to be wrapped
+     * @param level2Cache the level 2 cache to move the deleted entries to
+     */
+    public DemotingCache(Cache<K, V> cache, Cache<K, V> level2Cache) {
+        this.cache = cache;
+        this.level2Cache = level2Cache;
+    }
+
+    /**
+     * Method to put the key and value to the cache.
+     *
+     * @param key   the key
+     * @param value the value
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public void put(K key, V value) throws CacheException {
+        cache.put(key, value);
+    }
+
+    /**
+     * Method to put the key and value to the cache with a lifetime of its own.
+     *
+     * @param key      the key
+     * @param value    the value
+     * @param duration the duration after which the entry expires
+     * @param timeUnit the time unit of the duration
+     * @throws CacheException if per entry expiration is not supported by the wrapped cache or if an error occurs when
+     *                        trying to run a caching related task
+     */
+    @Override
+    public void put(K key, V value, long duration, TimeUnit timeUnit) throws CacheException {
+        cache.put(key, value, duration, timeUnit);
+    }
+
+    /**
+     * Method to put many keys and values to the cache.
+     *
+     * @param entries the keys and the values
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public void putAll(Map<? extends K, ? extends V> entries) throws CacheException {
+        cache.putAll(entries);
+    }
+
+    /**
+     * Method to get the value for a given key.
+     *
+     * @param key the key to retrieve
+     * @return the value for the given key
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public V get(K key) throws CacheException {
+        return cache.get(key);
+    }
+
+    /**
+     * Method to get the values for many keys.
+     *
+     * @param keys the keys to retrieve
+     * @return the values of the keys which are in the cache, in the order of the given keys
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public Map<K, V> getAll(Collection<? extends K> keys) throws CacheException {
+        return cache.getAll(keys);
+    }
+
+    /**
+     * Method to delete the key and put its value to the level 2 cache, unless demotion is skipped on this thread.
+     *
+     * @param key the key to be deleted
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public void delete(K key) throws CacheException {
+        if (DEMOTION_SKIPPED.get()) {
+            cache.delete(key);
+            return;
+        }
+
+        V value = cache.get(key);
+        cache.delete(key);
+
+        if (value != null) {
+            level2Cache.put(key, value);
+        }
+    }
+
+    /**
+     * Method to delete many keys and put their values to the level 2 cache as one batch, unless demotion is skipped
+     * on this thread.
+     *
+     * @param keys the keys to be deleted
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public void deleteAll(Collection<? extends K> keys) throws CacheException {
+        if (DEMOTION_SKIPPED.get()) {
+            cache.deleteAll(keys);
+            return;
+        }
+
+        Map<K, V> values = cache.getAll(keys);
+        cache.deleteAll(keys);
+
+        if (!values.isEmpty()) {
+            level2Cache.putAll(values);
+        }
+    }
+
+    /**
+     * Method to put entries which were evicted before they reached this cache to the level 2 cache as one batch.
+     *
+     * @param entries the evicted keys and values
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    public void demoteAll(Map<? extends K, ? extends V> entries) throws CacheException {
+        if (!entries.isEmpty()) {
+            level2Cache.putAll(entries);
+        }
+    }
+
+    /**
+     * Method to skip or resume the demotion of the entries deleted on the calling thread.
+     *
+     * @param skipped true to delete entries without demoting them and false to demote them
+     * @return whether demotion was skipped before
+     */
+    static boolean skipDemotion(boolean skipped) {
+        boolean wasSkipped = DEMOTION_SKIPPED.get();
+        DEMOTION_SKIPPED.set(skipped);
+        return wasSkipped;
+    }
+
+    /**
+     * Method to delete all the keys and values without demoting them.
+     *
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public void deleteAll() throws CacheException {
+        cache.deleteAll();
+    }
+
+    /**
+     * Method to check whether the key does contain in the cache.
+     *
+     * @param key the key
+     * @return true if contains and false if not
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public boolean containsKey(K key) throws CacheException {
+        return cache.containsKey(key);
+    }
+
+    /**
+     * Method to get the cache size.
+     *
+     * @return the cache size
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public int getSize() throws CacheException {
+        return cache.getSize();
+    }
+
+    /**
+     * Method to check whether the wrapped cache keeps its entries in memory. Only the reads of this cache are sure not
+     * to wait for I/O, as a delete writes to the level 2 cache, which is why an exclusive two level cache only reads
+     * its level 1 cache on the calling thread of an {@link ExecutorAsyncCache}.
+     *
+     * @return true if the wrapped cache keeps its entries in memory and false if not
+     */
+    @Override
+    public boolean isInMemory() {
+        return cache.isInMemory();
+    }
+
+    /**
+     * Method to close the wrapped cache. The level 2 cache is closed by the two level cache.
+     *
+     * @throws IOException if an error occurs when trying to close the wrapped cache
+     */
+    @Override
+    public void close() throws IOException {
+        cache.close();
+    }
+
+    /**
+     * Method to store meta data.
+     *
+     * @param metaData the meta data
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public void storeMetaData(MetaData metaData) throws CacheException {
+        cache.storeMetaData(metaData);
+    }
+
+    /**
+     * Method to get the meta data.
+     *
+     * @return the meta data
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public MetaData getMetaData() throws CacheException {
+        return cache.getMetaData();
+    }
+}
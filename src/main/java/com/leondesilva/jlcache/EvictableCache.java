@@ -5,8 +5,13 @@ import com.leondesilva.jlcache.exceptions.CacheException;
 import com.leondesilva.jlcache.pojo.MetaData;
 import com.leondesilva.jlcache.strategy.EvictionStrategy;
 import com.leondesilva.jlcache.strategy.EvictionStrategyFactory;
+import com.leondesilva.jlcache.util.SingleFlightLoader;
 
+import java.io.IOException;
 import java.io.Serializable;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Class to represent the implementation of the evictable cache.
@@ -16,7 +21,10 @@ import java.io.Serializable;
  */
 public class EvictableCache<K extends Serializable, V extends Serializable> implements Cache<K, V> {
     private EvictionStrategy<K, V> cacheEvictionStrategy;
+    private Cache<K, V> cache;
     private MetaData metaData;
+    private boolean inMemory;
+    private final SingleFlightLoader<K, V> singleFlightLoader = new SingleFlightLoader<>();
 
     /**
      * Constructor to instantiate the evictable cache.
@@ -28,6 +36,32 @@ public class EvictableCache<K extends Serializable, V extends Serializable> impl
      */
     public EvictableCache(Cache<K, V> cache, int maxEntrySize, CacheEvictionType cacheEvictionType) throws CacheException {
         this.cacheEvictionStrategy = EvictionStrategyFactory.create(cache, maxEntrySize, cacheEvictionType);
+        this.cache = cache;
+        this.inMemory = cache.isInMemory();
+    }
+
+    /**
+     * Constructor to instantiate the evictable cache with an already created eviction strategy and the cache it wraps,
+     * so that closing this cache closes the wrapped cache.
+     *
+     * @param cache                 the cache which is wrapped by the eviction strategy
+     * @param cacheEvictionStrategy the eviction strategy which wraps the cache
+     */
+    public EvictableCache(Cache<K, V> cache, EvictionStrategy<K, V> cacheEvictionStrategy) {
+        this.cacheEvictionStrategy = cacheEvictionStrategy;
+        this.cache = cache;
+        this.inMemory = cache.isInMemory();
+    }
+
+    /**
+     * Constructor to instantiate the evictable cache with an already created eviction strategy.
+     * This can be used when the strategy needs options which are not available through the eviction type,
+     * such as the frequency aging period of the LFU strategy.
+     *
+     * @param cacheEvictionStrategy the eviction strategy which wraps the cache
+     */
+    public EvictableCache(EvictionStrategy<K, V> cacheEvictionStrategy) {
+        this.cacheEvictionStrategy = cacheEvictionStrategy;
     }
 
     /**
@@ -41,6 +75,22 @@ public class EvictableCache<K extends Serializable, V extends Serializable> impl
         cacheEvictionStrategy.put(key, value);
     }
 
+    /**
+     * Method to put the key and value to the cache with a lifetime of its own. The key is tracked by the eviction
+     * strategy like any other put and the wrapped cache expires the entry.
+     *
+     * @param key      the key
+     * @param value    the value
+     * @param duration the duration after which the entry expires
+     * @param timeUnit the time unit of the duration
+     * @throws CacheException if per entry expiration is not supported by the wrapped cache or if an error occurs when
+     *                        trying to run a caching related task
+     */
+    @Override
+    public void put(K key, V value, long duration, TimeUnit timeUnit) throws CacheException {
+        cacheEvictionStrategy.put(key, value, duration, timeUnit);
+    }
+
     /**
      * Method to get the value for a given key.
      *
@@ -52,6 +102,20 @@ public class EvictableCache<K extends Serializable, V extends Serializable> impl
         return cacheEvictionStrategy.get(key);
     }
 
+    /**
+     * Method to get the value for a given key, loading it if it is missing. Threads which miss the same key at the
+     * same time share a single load.
+     *
+     * @param key    the key to retrieve
+     * @param loader the loader of the value
+     * @return the value for the given key or null if the loader has no value for it
+     * @throws CacheException if an error occurs when trying to run a caching related task or to load the value
+     */
+    @Override
+    public V get(K key, CacheLoader<? super K, ? extends V> loader) throws CacheException {
+        return singleFlightLoader.get(this, key, loader);
+    }
+
     /**
      * Method to delete the key.
      *
@@ -62,6 +126,40 @@ public class EvictableCache<K extends Serializable, V extends Serializable> impl
         cacheEvictionStrategy.delete(key);
     }
 
+    /**
+     * Method to put many keys and values to the cache.
+     *
+     * @param entries the keys and the values
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public void putAll(Map<? extends K, ? extends V> entries) throws CacheException {
+        cacheEvictionStrategy.putAll(entries);
+    }
+
+    /**
+     * Method to get the values for many keys.
+     *
+     * @param keys the keys to retrieve
+     * @return the values of the keys which are in the cache, in the order of the given keys
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public Map<K, V> getAll(Collection<? extends K> keys) throws CacheException {
+        return cacheEvictionStrategy.getAll(keys);
+    }
+
+    /**
+     * Method to delete many keys.
+     *
+     * @param keys the keys to be deleted
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public void deleteAll(Collection<? extends K> keys) throws CacheException {
+        cacheEvictionStrategy.deleteAll(keys);
+    }
+
     /**
      * Method to delete all the keys and values
      *
@@ -92,6 +190,28 @@ public class EvictableCache<K extends Serializable, V extends Serializable> impl
         return cacheEvictionStrategy.getSize();
     }
 
+    /**
+     * Method to check whether the cache keeps its entries in memory.
+     *
+     * @return true if the cache given to the eviction strategy never waits for I/O and false if not
+     */
+    @Override
+    public boolean isInMemory() {
+        return inMemory;
+    }
+
+    /**
+     * Method to close the cache wrapped by the eviction strategy, if it was given.
+     *
+     * @throws IOException if an error occurs when trying to close the wrapped cache
+     */
+    @Override
+    public void close() throws IOException {
+        if (cache != null) {
+            cache.close();
+        }
+    }
+
     /**
      * Method to store meta data.
      *
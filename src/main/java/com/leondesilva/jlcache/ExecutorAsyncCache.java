@@ -0,0 +1,395 @@
+package com.leondesilva.jlcache;
+
+import com.leondesilva.jlcache.exceptions.CacheException;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class to represent the asynchronous cache which runs the operations of a cache on an I/O executor.
+ * <p>
+ * The operations run concurrently on the executor and on the calling threads, so the cache must be thread safe, such
+ * as a cache built with {@code setConcurrent(true)}.
+ * <p>
+ * Operations of a cache which keeps its entries in memory, as reported by {@link Cache#isInMemory()}, run on the
+ * calling thread and return a completed future, because they never wait for I/O. For a {@link TwoLevelCache} whose
+ * level 1 cache is in memory, reads are first tried on the level 1 cache on the calling thread, and only a miss is
+ * read from the level 2 cache on the executor. Every other operation, such as any operation of a
+ * {@link FileSystemCache}, runs on the executor.
+ * <p>
+ * By default the executor starts a virtual thread for each operation when the Java runtime supports them, and
+ * otherwise uses a shared pool of daemon threads.
+ *
+ * @param <K> the type of the key
+ * @param <V> the type of the value
+ */
+public class ExecutorAsyncCache<K extends Serializable, V extends Serializable> implements AsyncCache<K, V> {
+    static final Executor DEFAULT_IO_EXECUTOR = createDefaultIoExecutor();
+
+    private final Cache<K, V> cache;
+    private final Cache<K, V> memoryCache;
+    private final Executor ioExecutor;
+
+    /**
+     * Constructor to instantiate the executor async cache with the default I/O executor.
+     *
+     * @param cache the cache which runs the operations
+     */
+    public ExecutorAsyncCache(Cache<K, V> cache) {
+        this(cache, DEFAULT_IO_EXECUTOR);
+    }
+
+    /**
+     * Constructor to instantiate the executor async cache with a given I/O executor.
+     *
+     * @param cache      the cache which runs the operations
+     * @param ioExecutor the executor to run the operations which can wait for I/O
+     */
+    public ExecutorAsyncCache(Cache<K, V> cache, Executor ioExecutor) {
+        this.cache = cache;
+        this.ioExecutor = ioExecutor;
+
+        if (cache.isInMemory()) {
+            this.memoryCache = cache;
+        } else if (cache instanceof TwoLevelCache && ((TwoLevelCache<K, V>) cache).getLevel1Cache().isInMemory()) {
+            this.memoryCache = ((TwoLevelCache<K, V>) cache).getLevel1Cache();
+        } else {
+            this.memoryCache = null;
+        }
+    }
+
+    /**
+     * Method to put the key and value to the cache.
+     *
+     * @param key   the key
+     * @param value the value
+     * @return the future which is completed once the entry is put
+     */
+    @Override
+    public CompletableFuture<Void> put(K key, V value) {
+        return run(() -> {
+            cache.put(key, value);
+            return null;
+        });
+    }
+
+    /**
+     * Method to put the key and value to the cache with a lifetime of its own.
+     *
+     * @param key      the key
+     * @param value    the value
+     * @param duration the duration after which the entry expires
+     * @param timeUnit the time unit of the duration
+     * @return the future which is completed once the entry is put
+     */
+    @Override
+    public CompletableFuture<Void> put(K key, V value, long duration, TimeUnit timeUnit) {
+        return run(() -> {
+            cache.put(key, value, duration, timeUnit);
+            return null;
+        });
+    }
+
+    /**
+     * Method to put many keys and values to the cache.
+     *
+     * @param entries the keys and the values
+     * @return the future which is completed once the entries are put
+     */
+    @Override
+    public CompletableFuture<Void> putAll(Map<? extends K, ? extends V> entries) {
+        return run(() -> {
+            cache.putAll(entries);
+            return null;
+        });
+    }
+
+    /**
+     * Method to get the value for a given key. A hit in a memory cache completes the future on the calling thread.
+     *
+     * @param key the key to retrieve
+     * @return the future of the value, which is completed with null if the key does not exist
+     */
+    @Override
+    public CompletableFuture<V> get(K key) {
+        if (memoryCache == cache) {
+            return runInMemory(() -> cache.get(key));
+        }
+
+        V value = getFromMemory(key);
+        return value != null ? CompletableFuture.completedFuture(value) : run(() -> cache.get(key));
+    }
+
+    /**
+     * Method to get the value for a given key, loading it if it is missing. A hit in a memory cache completes the
+     * future on the calling thread. A miss runs on the I/O executor even for a memory cache, because the loader can
+     * wait for I/O.
+     *
+     * @param key    the key to retrieve
+     * @param loader the loader of the value
+     * @return the future of the value
+     */
+    @Override
+    public CompletableFuture<V> get(K key, CacheLoader<? super K, ? extends V> loader) {
+        V value = getFromMemory(key);
+        return value != null ? CompletableFuture.completedFuture(value) : runOnIoExecutor(() -> cache.get(key, loader));
+    }
+
+    /**
+     * Method to get the values for many keys. If every key is a hit in a memory cache the future is completed on the
+     * calling thread, and otherwise only the missed keys are read on the I/O executor.
+     *
+     * @param keys the keys to retrieve
+     * @return the future of the values of the keys which are in the cache, in the order of the given keys
+     */
+    @Override
+    public CompletableFuture<Map<K, V>> getAll(Collection<? extends K> keys) {
+        if (memoryCache == null) {
+            return run(() -> cache.getAll(keys));
+        }
+
+        if (memoryCache == cache) {
+            return runInMemory(() -> cache.getAll(keys));
+        }
+
+        Map<K, V> memoryValues;
+
+        try {
+            memoryValues = memoryCache.getAll(keys);
+        } catch (CacheException | RuntimeException e) {
+            return run(() -> cache.getAll(keys));
+        }
+
+        if (memoryValues.size() == keys.size()) {
+            return CompletableFuture.completedFuture(memoryValues);
+        }
+
+        List<K> missedKeys = new ArrayList<>();
+
+        for (K key : keys) {
+            if (!memoryValues.containsKey(key)) {
+                missedKeys.add(key);
+            }
+        }
+
+        return run(() -> {
+            Map<K, V> missedValues = cache.getAll(missedKeys);
+            Map<K, V> values = new LinkedHashMap<>();
+
+            for (K key : keys) {
+                V value = memoryValues.containsKey(key) ? memoryValues.get(key) : missedValues.get(key);
+
+                if (value != null) {
+                    values.put(key, value);
+                }
+            }
+
+            return values;
+        });
+    }
+
+    /**
+     * Method to delete the key.
+     *
+     * @param key the key to be deleted
+     * @return the future which is completed once the key is deleted
+     */
+    @Override
+    public CompletableFuture<Void> delete(K key) {
+        return run(() -> {
+            cache.delete(key);
+            return null;
+        });
+    }
+
+    /**
+     * Method to delete many keys.
+     *
+     * @param keys the keys to be deleted
+     * @return the future which is completed once the keys are deleted
+     */
+    @Override
+    public CompletableFuture<Void> deleteAll(Collection<? extends K> keys) {
+        return run(() -> {
+            cache.deleteAll(keys);
+            return null;
+        });
+    }
+
+    /**
+     * Method to delete all the keys and values
+     *
+     * @return the future which is completed once the keys are deleted
+     */
+    @Override
+    public CompletableFuture<Void> deleteAll() {
+        return run(() -> {
+            cache.deleteAll();
+            return null;
+        });
+    }
+
+    /**
+     * Method to check whether the key does contain in the cache. A key found in a memory cache completes the future
+     * on the calling thread.
+     *
+     * @param key the key
+     * @return the future which is completed with true if contains and false if not
+     */
+    @Override
+    public CompletableFuture<Boolean> containsKey(K key) {
+        if (memoryCache == cache) {
+            return runInMemory(() -> cache.containsKey(key));
+        }
+
+        try {
+            if (memoryCache != null && memoryCache.containsKey(key)) {
+                return CompletableFuture.completedFuture(true);
+            }
+        } catch (CacheException | RuntimeException e) {
+            // The key is looked up in the whole cache on the executor instead.
+        }
+
+        return run(() -> cache.containsKey(key));
+    }
+
+    /**
+     * Method to get the cache size.
+     *
+     * @return the future of the cache size
+     */
+    @Override
+    public CompletableFuture<Integer> getSize() {
+        return run(cache::getSize);
+    }
+
+    /**
+     * Method to get the cache which runs the operations.
+     *
+     * @return the synchronous cache
+     */
+    @Override
+    public Cache<K, V> synchronous() {
+        return cache;
+    }
+
+    /**
+     * Method to get the value of a key from the memory cache on the calling thread.
+     *
+     * @param key the key
+     * @return the value or null if there is no memory cache, the key is missing or the memory cache failed
+     */
+    private V getFromMemory(K key) {
+        if (memoryCache == null) {
+            return null;
+        }
+
+        try {
+            return memoryCache.get(key);
+        } catch (CacheException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Method to run an operation on the I/O executor, or on the calling thread if the cache is in memory.
+     *
+     * @param operation the operation
+     * @param <T>       the type of the result
+     * @return the future of the result
+     */
+    private <T> CompletableFuture<T> run(Operation<T> operation) {
+        return memoryCache == cache ? runInMemory(operation) : runOnIoExecutor(operation);
+    }
+
+    /**
+     * Method to run an operation on the I/O executor.
+     *
+     * @param operation the operation
+     * @param <T>       the type of the result
+     * @return the future of the result
+     */
+    private <T> CompletableFuture<T> runOnIoExecutor(Operation<T> operation) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+
+        try {
+            ioExecutor.execute(() -> complete(future, operation));
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(new CacheException("The I/O executor rejected the cache operation.", e));
+        }
+
+        return future;
+    }
+
+    /**
+     * Method to run an operation on the calling thread.
+     *
+     * @param operation the operation
+     * @param <T>       the type of the result
+     * @return the completed future of the result
+     */
+    private <T> CompletableFuture<T> runInMemory(Operation<T> operation) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        complete(future, operation);
+        return future;
+    }
+
+    /**
+     * Method to run an operation and complete the future with its result or failure.
+     *
+     * @param future    the future
+     * @param operation the operation
+     * @param <T>       the type of the result
+     */
+    private static <T> void complete(CompletableFuture<T> future, Operation<T> operation) {
+        try {
+            future.complete(operation.run());
+        } catch (CacheException | RuntimeException | Error e) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Method to create the default I/O executor, which starts a virtual thread for each task when the Java runtime
+     * supports them and otherwise uses a pool of daemon threads which are stopped when they are idle.
+     *
+     * @return the executor
+     */
+    private static Executor createDefaultIoExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "jlcache-io");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Interface to represent a cache operation.
+     *
+     * @param <T> the type of the result
+     */
+    @FunctionalInterface
+    private interface Operation<T> {
+        /**
+         * Method to run the operation.
+         *
+         * @return the result
+         * @throws CacheException if an error occurs when trying to run a caching related task
+         */
+        T run() throws CacheException;
+    }
+}
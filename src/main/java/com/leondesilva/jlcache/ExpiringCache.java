@@ -0,0 +1,602 @@
+package com.leondesilva.jlcache;
+
+import com.leondesilva.jlcache.exceptions.CacheException;
+import com.leondesilva.jlcache.pojo.MetaData;
+import com.leondesilva.jlcache.util.SingleFlightLoader;
+import com.leondesilva.jlcache.util.Ticker;
+import com.leondesilva.jlcache.util.TimingWheel;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Class to represent a cache whose entries expire after a duration since they were written or last accessed.
+ * <p>
+ * Any cache can be wrapped. The expiration time of every key is kept in memory and scheduled in a
+ * {@link TimingWheel}, which is advanced on each write and whenever an expired key is read, so expired entries are
+ * deleted from the wrapped cache without scanning. A key whose expiration time has passed is reported as a miss by
+ * {@link #get(Serializable)} and {@link #containsKey(Serializable)} even before it is deleted.
+ * <p>
+ * The entries which the wrapped cache evicts on its own are not reported to this cache, so their expiration times are
+ * dropped once there are twice as many of them as entries in the wrapped cache, or when a read misses the key. This
+ * keeps the memory bounded by the capacity of the wrapped cache instead of the rate of writes.
+ * <p>
+ * Reads do not take a lock; an access only moves the expiration time of the key forward and the wheel picks up the
+ * new time when it reaches the old one. Writes and expiration are done under a lock. The wrapped cache must be
+ * thread safe if this cache is used from many threads.
+ *
+ * @param <K> the type of the key
+ * @param <V> the type of the value
+ */
+public class ExpiringCache<K extends Serializable, V extends Serializable> implements Cache<K, V> {
+    private static final int MIN_PRUNE_THRESHOLD = 16;
+    private final Cache<K, V> cache;
+    private final long expireAfterWriteNanos;
+    private final long expireAfterAccessNanos;
+    private final Expiry<K, V> expiry;
+    private final Ticker ticker;
+    private final long startTime;
+    private final ConcurrentMap<K, ExpirationNode<K>> expirationNodes = new ConcurrentHashMap<>();
+    private final TimingWheel<K> timingWheel;
+    private final ReentrantLock expirationLock = new ReentrantLock();
+    private int pruneThreshold = MIN_PRUNE_THRESHOLD;
+    private volatile MetaData metaData;
+    private final SingleFlightLoader<K, V> singleFlightLoader = new SingleFlightLoader<>();
+
+    /**
+     * Constructor to instantiate the expiring cache.
+     *
+     * @param cache             the cache to be wrapped
+     * @param expireAfterWrite  the duration after a write at which an entry expires, or 0 to not expire after write
+     * @param expireAfterAccess the duration after a read or write at which an entry expires, or 0 to not expire
+     *                          after access
+     * @param timeUnit          the time unit of the durations
+     */
+    public ExpiringCache(Cache<K, V> cache, long expireAfterWrite, long expireAfterAccess, TimeUnit timeUnit) {
+        this(cache, expireAfterWrite, expireAfterAccess, timeUnit, Ticker.systemTicker());
+    }
+
+    /**
+     * Constructor to instantiate the expiring cache with a given ticker.
+     *
+     * @param cache             the cache to be wrapped
+     * @param expireAfterWrite  the duration after a write at which an entry expires, or 0 to not expire after write
+     * @param expireAfterAccess the duration after a read or write at which an entry expires, or 0 to not expire
+     *                          after access
+     * @param timeUnit          the time unit of the durations
+     * @param ticker            the ticker to read the time from
+     */
+    public ExpiringCache(Cache<K, V> cache, long expireAfterWrite, long expireAfterAccess, TimeUnit timeUnit, Ticker ticker) {
+        this.cache = cache;
+        this.expireAfterWriteNanos = expireAfterWrite > 0 ? timeUnit.toNanos(expireAfterWrite) : Long.MAX_VALUE;
+        this.expireAfterAccessNanos = expireAfterAccess > 0 ? timeUnit.toNanos(expireAfterAccess) : Long.MAX_VALUE;
+        this.expiry = null;
+        this.ticker = ticker;
+        this.startTime = ticker.read();
+        this.timingWheel = new TimingWheel<>(0);
+    }
+
+    /**
+     * Constructor to instantiate the expiring cache with a policy which decides the lifetime of each entry.
+     *
+     * @param cache  the cache to be wrapped
+     * @param expiry the expiry policy
+     * @param ticker the ticker to read the time from
+     */
+    public ExpiringCache(Cache<K, V> cache, Expiry<K, V> expiry, Ticker ticker) {
+        this.cache = cache;
+        this.expireAfterWriteNanos = Long.MAX_VALUE;
+        this.expireAfterAccessNanos = Long.MAX_VALUE;
+        this.expiry = expiry;
+        this.ticker = ticker;
+        this.startTime = ticker.read();
+        this.timingWheel = new TimingWheel<>(0);
+    }
+
+    /**
+     * Method to put the key and value to the cache.
+     *
+     * @param key   the key
+     * @param value the value
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public void put(K key, V value) throws CacheException {
+        write(key, value, false, 0);
+    }
+
+    /**
+     * Method to put the key and value to the cache with a lifetime of its own, which replaces the expire after write
+     * duration or the expiry policy for this write.
+     *
+     * @param key      the key
+     * @param value    the value
+     * @param duration the duration after which the entry expires
+     * @param timeUnit the time unit of the duration
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public void put(K key, V value, long duration, TimeUnit timeUnit) throws CacheException {
+        write(key, value, true, timeUnit.toNanos(duration));
+    }
+
+    /**
+     * Method to put many keys and values to the cache as one batch and schedule their expiration.
+     *
+     * @param entries the keys and the values
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public void putAll(Map<? extends K, ? extends V> entries) throws CacheException {
+        expirationLock.lock();
+
+        try {
+            long now = currentTime();
+            expire(now);
+            cache.putAll(entries);
+
+            for (Map.Entry<? extends K, ? extends V> entry : entries.entrySet()) {
+                schedule(entry.getKey(), entry.getValue(), false, 0, now);
+            }
+        } finally {
+            expirationLock.unlock();
+        }
+    }
+
+    /**
+     * Method to get the values for many keys. The keys which have not expired are read from the wrapped cache as one
+     * batch.
+     *
+     * @param keys the keys to retrieve
+     * @return the values of the keys which exist and have not expired, in the order of the given keys
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public Map<K, V> getAll(Collection<? extends K> keys) throws CacheException {
+        long now = currentTime();
+        List<K> liveKeys = new ArrayList<>(keys.size());
+        boolean expiredKeyFound = false;
+
+        for (K key : keys) {
+            ExpirationNode<K> node = expirationNodes.get(key);
+
+            if (node != null) {
+                if (isExpired(node, now)) {
+                    expiredKeyFound = true;
+                } else {
+                    liveKeys.add(key);
+                }
+            }
+        }
+
+        if (expiredKeyFound) {
+            tryExpire(now);
+        }
+
+        Map<K, V> values = cache.getAll(liveKeys);
+
+        for (Map.Entry<K, V> entry : values.entrySet()) {
+            ExpirationNode<K> node = expirationNodes.get(entry.getKey());
+
+            if (node != null) {
+                recordRead(node, entry.getKey(), entry.getValue(), now);
+            }
+        }
+
+        return values;
+    }
+
+    /**
+     * Method to get the value for a given key.
+     *
+     * @param key the key to retrieve
+     * @return the value for the given key or null if the key does not exist or has expired
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public V get(K key) throws CacheException {
+        long now = currentTime();
+        ExpirationNode<K> node = expirationNodes.get(key);
+
+        if (node == null) {
+            return null;
+        }
+
+        if (isExpired(node, now)) {
+            tryExpire(now);
+            return null;
+        }
+
+        V value = cache.get(key);
+
+        if (value == null) {
+            tryDropEvicted(key, node);
+            return null;
+        }
+
+        recordRead(node, key, value, now);
+        return value;
+    }
+
+    /**
+     * Method to get the value for a given key, loading it if it is missing. Threads which miss the same key at the
+     * same time share a single load.
+     *
+     * @param key    the key to retrieve
+     * @param loader the loader of the value
+     * @return the value for the given key or null if the loader has no value for it
+     * @throws CacheException if an error occurs when trying to run a caching related task or to load the value
+     */
+    @Override
+    public V get(K key, CacheLoader<? super K, ? extends V> loader) throws CacheException {
+        return singleFlightLoader.get(this, key, loader);
+    }
+
+    /**
+     * Method to delete the key.
+     *
+     * @param key the key to be deleted
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public void delete(K key) throws CacheException {
+        expirationLock.lock();
+
+        try {
+            cache.delete(key);
+            ExpirationNode<K> node = expirationNodes.remove(key);
+
+            if (node != null) {
+                timingWheel.deschedule(node);
+            }
+        } finally {
+            expirationLock.unlock();
+        }
+    }
+
+    /**
+     * Method to delete many keys from the wrapped cache as one batch.
+     *
+     * @param keys the keys to be deleted
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public void deleteAll(Collection<? extends K> keys) throws CacheException {
+        expirationLock.lock();
+
+        try {
+            cache.deleteAll(keys);
+
+            for (K key : keys) {
+                ExpirationNode<K> node = expirationNodes.remove(key);
+
+                if (node != null) {
+                    timingWheel.deschedule(node);
+                }
+            }
+        } finally {
+            expirationLock.unlock();
+        }
+    }
+
+    /**
+     * Method to delete all the keys and values
+     *
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public void deleteAll() throws CacheException {
+        expirationLock.lock();
+
+        try {
+            cache.deleteAll();
+            expirationNodes.clear();
+            timingWheel.clear();
+        } finally {
+            expirationLock.unlock();
+        }
+    }
+
+    /**
+     * Method to check whether the key does contain in the cache.
+     *
+     * @param key the key
+     * @return true if contains and has not expired and false if not
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public boolean containsKey(K key) throws CacheException {
+        ExpirationNode<K> node = expirationNodes.get(key);
+        return node != null && !isExpired(node, currentTime()) && cache.containsKey(key);
+    }
+
+    /**
+     * Method to get the cache size. The entries which have expired are deleted first.
+     *
+     * @return the cache size
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public int getSize() throws CacheException {
+        expirationLock.lock();
+
+        try {
+            expire(currentTime());
+        } finally {
+            expirationLock.unlock();
+        }
+
+        return cache.getSize();
+    }
+
+    /**
+     * Method to check whether the wrapped cache keeps its entries in memory.
+     *
+     * @return true if the wrapped cache never waits for I/O and false if not
+     */
+    @Override
+    public boolean isInMemory() {
+        return cache.isInMemory();
+    }
+
+    /**
+     * Method to close the wrapped cache.
+     *
+     * @throws IOException if an error occurs when trying to close the wrapped cache
+     */
+    @Override
+    public void close() throws IOException {
+        cache.close();
+    }
+
+    /**
+     * Method to store meta data.
+     *
+     * @param metaData the meta data
+     */
+    @Override
+    public void storeMetaData(MetaData metaData) {
+        this.metaData = metaData;
+    }
+
+    /**
+     * Method to get the meta data.
+     *
+     * @return the meta data
+     */
+    @Override
+    public MetaData getMetaData() {
+        return metaData;
+    }
+
+    /**
+     * Method to put the key and value and schedule its expiration.
+     *
+     * @param key         the key
+     * @param value       the value
+     * @param hasDuration true if the entry has a lifetime of its own
+     * @param duration    the lifetime of the entry in nanoseconds
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    private void write(K key, V value, boolean hasDuration, long duration) throws CacheException {
+        expirationLock.lock();
+
+        try {
+            long now = currentTime();
+            // The wheel is advanced first, because it places new nodes relative to its current time.
+            expire(now);
+            cache.put(key, value);
+            schedule(key, value, hasDuration, duration, now);
+        } finally {
+            expirationLock.unlock();
+        }
+    }
+
+    /**
+     * Method to schedule the expiration of a key which was written. This must be called under the expiration lock.
+     *
+     * @param key         the key
+     * @param value       the value
+     * @param hasDuration true if the entry has a lifetime of its own
+     * @param duration    the lifetime of the entry in nanoseconds
+     * @param now         the current time
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    private void schedule(K key, V value, boolean hasDuration, long duration, long now) throws CacheException {
+        ExpirationNode<K> node = expirationNodes.get(key);
+        long writeDuration;
+
+        if (hasDuration) {
+            writeDuration = duration;
+        } else if (expiry == null) {
+            writeDuration = expireAfterWriteNanos;
+        } else if (node == null) {
+            writeDuration = expiry.expireAfterCreate(key, value);
+        } else {
+            writeDuration = expiry.expireAfterUpdate(key, value, node.getExpirationTime() - now);
+        }
+
+        long writeDeadline = add(now, writeDuration);
+        long expirationTime = Math.min(writeDeadline, add(now, expireAfterAccessNanos));
+
+        if (node == null) {
+            node = new ExpirationNode<>(key, writeDeadline, expirationTime);
+            expirationNodes.put(key, node);
+            timingWheel.schedule(node);
+
+            if (expirationNodes.size() > pruneThreshold) {
+                pruneEvicted();
+            }
+        } else {
+            node.writeDeadline = writeDeadline;
+            node.setExpirationTime(expirationTime);
+            timingWheel.reschedule(node);
+        }
+    }
+
+    /**
+     * Method to drop the expiration times of the keys which the wrapped cache no longer holds. The next prune is done
+     * once the number of expiration times doubles, so the cost is constant per write on average. This must be called
+     * under the expiration lock.
+     *
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    private void pruneEvicted() throws CacheException {
+        for (ExpirationNode<K> node : expirationNodes.values()) {
+            if (!cache.containsKey(node.getKey())) {
+                expirationNodes.remove(node.getKey());
+                timingWheel.deschedule(node);
+            }
+        }
+
+        pruneThreshold = Math.max(MIN_PRUNE_THRESHOLD, 2 * expirationNodes.size());
+    }
+
+    /**
+     * Method to drop the expiration time of a key which the wrapped cache missed, if the expiration lock is free and
+     * the key was not written again in the meantime.
+     *
+     * @param key  the key
+     * @param node the expiration node of the key
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    private void tryDropEvicted(K key, ExpirationNode<K> node) throws CacheException {
+        if (expirationLock.tryLock()) {
+            try {
+                if (expirationNodes.get(key) == node && !cache.containsKey(key)) {
+                    expirationNodes.remove(key);
+                    timingWheel.deschedule(node);
+                }
+            } finally {
+                expirationLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Method to move the expiration time of a key forward after it was read.
+     *
+     * @param node  the expiration node of the key
+     * @param key   the key
+     * @param value the value which was read
+     * @param now   the current time
+     */
+    private void recordRead(ExpirationNode<K> node, K key, V value, long now) {
+        if (expiry != null && value != null) {
+            long currentDuration = node.getExpirationTime() - now;
+            long duration = expiry.expireAfterRead(key, value, currentDuration);
+
+            if (duration != currentDuration) {
+                node.setExpirationTime(add(now, duration));
+            }
+        } else if (expireAfterAccessNanos != Long.MAX_VALUE) {
+            node.setExpirationTime(Math.min(add(now, expireAfterAccessNanos), node.writeDeadline));
+        }
+    }
+
+    /**
+     * Method to expire the entries if the expiration lock is free.
+     *
+     * @param now the current time
+     * @throws CacheException if an error occurs when trying to delete an expired entry
+     */
+    private void tryExpire(long now) throws CacheException {
+        if (expirationLock.tryLock()) {
+            try {
+                expire(now);
+            } finally {
+                expirationLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Method to advance the timing wheel and delete the expired entries. This must be called under the expiration lock.
+     *
+     * @param now the current time
+     * @throws CacheException if an error occurs when trying to delete an expired entry
+     */
+    private void expire(long now) throws CacheException {
+        CacheException[] firstException = new CacheException[1];
+
+        timingWheel.advance(now, node -> {
+            try {
+                expirationNodes.remove(node.getKey(), node);
+                cache.delete(node.getKey());
+            } catch (CacheException e) {
+                if (firstException[0] == null) {
+                    firstException[0] = e;
+                }
+            }
+        });
+
+        if (firstException[0] != null) {
+            throw firstException[0];
+        }
+    }
+
+    /**
+     * Method to check whether a node has expired.
+     *
+     * @param node the node
+     * @param now  the current time
+     * @return true if expired and false if not
+     */
+    private static boolean isExpired(TimingWheel.Node<?> node, long now) {
+        return node.getExpirationTime() - now <= 0;
+    }
+
+    /**
+     * Method to get the current time relative to the creation of the cache, so that it is never negative.
+     *
+     * @return the current time in nanoseconds
+     */
+    private long currentTime() {
+        return ticker.read() - startTime;
+    }
+
+    /**
+     * Method to add a duration to a time without overflowing.
+     *
+     * @param time     the time
+     * @param duration the duration
+     * @return the sum or {@link Long#MAX_VALUE} if it overflows
+     */
+    private static long add(long time, long duration) {
+        if (duration <= 0) {
+            return time;
+        }
+
+        long sum = time + duration;
+        return sum < time ? Long.MAX_VALUE : sum;
+    }
+
+    /**
+     * Inner class to represent the expiration of a key, which remembers when the key expires regardless of reads.
+     *
+     * @param <K> the type of the key
+     */
+    private static class ExpirationNode<K> extends TimingWheel.Node<K> {
+        private volatile long writeDeadline;
+
+        /**
+         * Constructor to instantiate the expiration node.
+         *
+         * @param key            the key
+         * @param writeDeadline  the time after which the key expires regardless of reads
+         * @param expirationTime the expiration time
+         */
+        ExpirationNode(K key, long writeDeadline, long expirationTime) {
+            super(key, expirationTime);
+            this.writeDeadline = writeDeadline;
+        }
+    }
+}
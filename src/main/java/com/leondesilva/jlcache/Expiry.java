@@ -0,0 +1,47 @@
+package com.leondesilva.jlcache;
+
+import java.io.Serializable;
+
+/**
+ * Interface to represent a policy which decides how long each entry lives.
+ * The durations are in nanoseconds, and {@link Long#MAX_VALUE} means that the entry does not expire.
+ *
+ * @param <K> the type of the key
+ * @param <V> the type of the value
+ */
+public interface Expiry<K extends Serializable, V extends Serializable> {
+    /**
+     * Method to get the duration after which a new entry expires.
+     *
+     * @param key   the key
+     * @param value the value
+     * @return the duration in nanoseconds
+     */
+    long expireAfterCreate(K key, V value);
+
+    /**
+     * Method to get the duration after which an overwritten entry expires.
+     * By default this is the same as for a new entry.
+     *
+     * @param key             the key
+     * @param value           the new value
+     * @param currentDuration the remaining duration of the entry in nanoseconds
+     * @return the duration in nanoseconds
+     */
+    default long expireAfterUpdate(K key, V value, long currentDuration) {
+        return expireAfterCreate(key, value);
+    }
+
+    /**
+     * Method to get the duration after which an entry expires once it was read.
+     * By default a read does not change the duration.
+     *
+     * @param key             the key
+     * @param value           the value
+     * @param currentDuration the remaining duration of the entry in nanoseconds
+     * @return the duration in nanoseconds
+     */
+    default long expireAfterRead(K key, V value, long currentDuration) {
+        return currentDuration;
+    }
+}
@@ -1,26 +1,44 @@
 package com.leondesilva.jlcache;
 
 import com.leondesilva.jlcache.exceptions.CacheException;
-import com.leondesilva.jlcache.exceptions.SerializationException;
 import com.leondesilva.jlcache.pojo.MetaData;
+import com.leondesilva.jlcache.serialization.Serializer;
+import com.leondesilva.jlcache.storage.LogStructuredStore;
+import com.leondesilva.jlcache.storage.MetaDataCheckpointer;
 import com.leondesilva.jlcache.util.SerializationUtils;
+import com.leondesilva.jlcache.util.SingleFlightLoader;
 
 import java.io.IOException;
 import java.io.Serializable;
 import java.nio.file.Files;
 import java.nio.file.Paths;
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Class to represent the file system cache.
+ * The entries are kept in a {@link LogStructuredStore}, so a put is a single append to a segment file
+ * and a get is a single positioned read, regardless of the number of entries.
+ * <p>
+ * The meta data of the eviction strategy is kept in memory and written to the meta data file by a
+ * {@link MetaDataCheckpointer} in the background, after a number of changes or an interval, so the eviction
+ * bookkeeping of a put or a get does not write to the disk. The store discards the segments left in the folder when
+ * it starts, so the meta data file is truncated as well and the meta data of a new cache starts empty. The meta data
+ * file is therefore only a diagnostic dump of the meta data and is never read back.
+ * <p>
+ * The cache holds the segment files open until it is closed, and closing it writes a last checkpoint of the meta data.
  *
  * @param <K> the type of the key
  * @param <V> the type of the value
  */
 public class FileSystemCache<K extends Serializable, V extends Serializable> implements Cache<K, V> {
     private String folderPath;
-    private static final String CACHE_FILE_NAME = "cache";
+    private LogStructuredStore<K, V> store;
     private static final String META_INFO_FILE_NAME = "meta";
+    private final SingleFlightLoader<K, V> singleFlightLoader = new SingleFlightLoader<>();
+    private final MetaDataCheckpointer metaDataCheckpointer;
+    private volatile MetaData metaData;
 
     /**
      * Constructor to instantiate FileSystemCache.
@@ -29,6 +47,42 @@ public class FileSystemCache<K extends Serializable, V extends Serializable> imp
      * @throws CacheException if an error occurs when trying to instantiate
      */
     public FileSystemCache(String folderPath) throws CacheException {
+        this(folderPath, LogStructuredStore.DEFAULT_MAX_SEGMENT_SIZE);
+    }
+
+    /**
+     * Constructor to instantiate FileSystemCache with a given segment size.
+     *
+     * @param folderPath     the folder path to write the cache data
+     * @param maxSegmentSize the size in bytes after which a new segment file is started
+     * @throws CacheException if an error occurs when trying to instantiate
+     */
+    public FileSystemCache(String folderPath, long maxSegmentSize) throws CacheException {
+        this(folderPath, maxSegmentSize, SerializationUtils.getDefaultSerializer());
+    }
+
+    /**
+     * Constructor to instantiate FileSystemCache with a given segment size and serializer.
+     *
+     * @param folderPath     the folder path to write the cache data
+     * @param maxSegmentSize the size in bytes after which a new segment file is started
+     * @param serializer     the serializer of the keys and the values
+     * @throws CacheException if an error occurs when trying to instantiate
+     */
+    public FileSystemCache(String folderPath, long maxSegmentSize, Serializer<Object> serializer) throws CacheException {
+        this(folderPath, maxSegmentSize, false, serializer);
+    }
+
+    /**
+     * Constructor to instantiate FileSystemCache with memory mapped or file channel segments.
+     *
+     * @param folderPath     the folder path to write the cache data
+     * @param maxSegmentSize the size in bytes after which a new segment file is started
+     * @param memoryMapped   true to map the segment files in to memory and false to use file channels
+     * @param serializer     the serializer of the keys and the values
+     * @throws CacheException if an error occurs when trying to instantiate
+     */
+    protected FileSystemCache(String folderPath, long maxSegmentSize, boolean memoryMapped, Serializer<Object> serializer) throws CacheException {
         this.folderPath = folderPath;
 
         try {
@@ -36,18 +90,14 @@ public class FileSystemCache<K extends Serializable, V extends Serializable> imp
                 Files.createDirectories(Paths.get(folderPath));
             }
 
-            if (!Paths.get(folderPath, CACHE_FILE_NAME).toFile().exists()) {
-                Files.createFile(Paths.get(folderPath, CACHE_FILE_NAME));
-            }
-
-            if (!Paths.get(folderPath, META_INFO_FILE_NAME).toFile().exists()) {
-                Files.createFile(Paths.get(folderPath, META_INFO_FILE_NAME));
-            }
-
-            writeCacheFile(new HashMap<>());
+            // The meta data of the entries of a previous cache would not match the empty store.
+            Files.write(Paths.get(folderPath, META_INFO_FILE_NAME), new byte[0]);
         } catch (IOException e) {
             throw new CacheException("Error occurred when trying to initialize file system cache.", e);
         }
+
+        this.metaDataCheckpointer = new MetaDataCheckpointer(Paths.get(folderPath, META_INFO_FILE_NAME).toFile());
+        this.store = new LogStructuredStore<>(folderPath, maxSegmentSize, memoryMapped, serializer);
     }
 
     /**
@@ -58,9 +108,22 @@ public class FileSystemCache<K extends Serializable, V extends Serializable> imp
      * @throws CacheException if an error occurs when trying to run a caching related task
      */
     public void put(K key, V value) throws CacheException {
-        HashMap<K, V> map = readCacheFileAsMap();
-        map.put(key, value);
-        writeCacheFile(map);
+        store.put(key, value);
+    }
+
+    /**
+     * Method to put the key and value to the cache with a lifetime of its own. The expiration time is kept in memory
+     * with the index of the records.
+     *
+     * @param key      the key
+     * @param value    the value
+     * @param duration the duration after which the entry expires
+     * @param timeUnit the time unit of the duration
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public void put(K key, V value, long duration, TimeUnit timeUnit) throws CacheException {
+        store.put(key, value, duration, timeUnit);
     }
 
     /**
@@ -71,20 +134,65 @@ public class FileSystemCache<K extends Serializable, V extends Serializable> imp
      * @throws CacheException if an error occurs when trying to run a caching related task
      */
     public V get(K key) throws CacheException {
-        HashMap<K, V> map = readCacheFileAsMap();
-        return map.get(key);
+        return store.get(key);
+    }
+
+    /**
+     * Method to get the value for a given key, loading it if it is missing. Threads which miss the same key at the
+     * same time share a single load.
+     *
+     * @param key    the key to retrieve
+     * @param loader the loader of the value
+     * @return the value for the given key or null if the loader has no value for it
+     * @throws CacheException if an error occurs when trying to run a caching related task or to load the value
+     */
+    @Override
+    public V get(K key, CacheLoader<? super K, ? extends V> loader) throws CacheException {
+        return singleFlightLoader.get(this, key, loader);
     }
 
     /**
      * Method to delete the key.
      *
      * @param key the key to be deleted
+     */
+    public void delete(K key) {
+        store.delete(key);
+    }
+
+    /**
+     * Method to put many keys and values to the cache. The records are appended to the segment file with a single
+     * write.
+     *
+     * @param entries the keys and the values
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public void putAll(Map<? extends K, ? extends V> entries) throws CacheException {
+        store.putAll(entries);
+    }
+
+    /**
+     * Method to get the values for many keys. Records which are close to each other in a segment file are read with a
+     * single read.
+     *
+     * @param keys the keys to retrieve
+     * @return the values of the keys which are in the cache, in the order of the given keys
      * @throws CacheException if an error occurs when trying to run a caching related task
      */
-    public void delete(K key) throws CacheException {
-        HashMap<K, V> map = readCacheFileAsMap();
-        map.remove(key);
-        writeCacheFile(map);
+    @Override
+    public Map<K, V> getAll(Collection<? extends K> keys) throws CacheException {
+        return store.getAll(keys);
+    }
+
+    /**
+     * Method to delete many keys.
+     *
+     * @param keys the keys to be deleted
+     */
+    @Override
+    public void deleteAll(Collection<? extends K> keys) {
+        store.deleteAll(keys);
     }
 
     /**
@@ -93,9 +201,7 @@ public class FileSystemCache<K extends Serializable, V extends Serializable> imp
      * @throws CacheException if an error occurs when trying to run a caching related task
      */
     public void deleteAll() throws CacheException {
-        HashMap<K, V> map = readCacheFileAsMap();
-        map.clear();
-        writeCacheFile(map);
+        store.clear();
     }
 
     /**
@@ -103,97 +209,82 @@ public class FileSystemCache<K extends Serializable, V extends Serializable> imp
      *
      * @param key the key
      * @return true if contains and false if not
-     * @throws CacheException if an error occurs when trying to run a caching related task
      */
-    public boolean containsKey(K key) throws CacheException {
-        HashMap<K, V> map = readCacheFileAsMap();
-        return map.containsKey(key);
+    public boolean containsKey(K key) {
+        return store.containsKey(key);
     }
 
     /**
      * Method to get the cache size.
      *
      * @return the cache size
-     * @throws CacheException if an error occurs when trying to run a caching related task
      */
-    public int getSize() throws CacheException {
-        HashMap<K, V> map = readCacheFileAsMap();
-        return map.size();
+    public int getSize() {
+        return store.size();
     }
 
     /**
-     * Method to store meta data.
+     * Method to get the number of bytes an entry takes on disk, including the record header.
+     * This can be used as the weigher of a cache which is bounded by the bytes on disk.
      *
-     * @param metaData the meta data
-     * @throws CacheException if an error occurs when trying to run a caching related task
+     * @param key the key
+     * @return the number of bytes or 0 if the key does not exist
      */
-    public void storeMetaData(MetaData metaData) throws CacheException {
-        writeMetaFile(metaData);
+    public int getEntrySize(K key) {
+        return store.getRecordSize(key);
     }
 
     /**
-     * Method to get the meta data.
+     * Method to store meta data. The meta data is kept in memory and a checkpoint is written in the background once
+     * enough changes have been stored.
      *
-     * @return the meta data
-     * @throws CacheException if an error occurs when trying to run a caching related task
+     * @param metaData the meta data
+     * @throws CacheException if a background checkpoint failed or if the meta data cannot be serialized
      */
-    public MetaData getMetaData() throws CacheException {
-        return readMetaFile();
+    public void storeMetaData(MetaData metaData) throws CacheException {
+        this.metaData = metaData;
+        metaDataCheckpointer.recordMutation(metaData);
     }
 
     /**
-     * Method to read the cache file as a hash map.
+     * Method to get the meta data which is kept in memory.
      *
-     * @return the map by reading the cache file
-     * @throws CacheException if an error occurs when trying to run a caching related task
+     * @return the meta data
      */
-    private HashMap<K, V> readCacheFileAsMap() throws CacheException {
-        try {
-            return SerializationUtils.readFileAndDeserialize(Paths.get(folderPath, CACHE_FILE_NAME).toFile());
-        } catch (SerializationException e) {
-            throw new CacheException("Error occurred when trying to read cache file : " + Paths.get(folderPath, CACHE_FILE_NAME).toString(), e);
-        }
+    public MetaData getMetaData() {
+        return metaData;
     }
 
     /**
-     * Method to write the hash map to a cache file.
+     * Method to write a checkpoint of the meta data to the meta data file and wait for it to be written. This can be
+     * called before shutting down so that the file holds the latest meta data.
      *
-     * @param map the map to be written
-     * @throws CacheException if an error occurs when trying to run a caching related task
+     * @throws CacheException if an error occurs when trying to write the meta data file
      */
-    private void writeCacheFile(HashMap<K, V> map) throws CacheException {
-        try {
-            SerializationUtils.serializeAndWriteToFile(map, Paths.get(folderPath, CACHE_FILE_NAME).toFile());
-        } catch (SerializationException e) {
-            throw new CacheException("Error occurred when trying to write to cache file : " + Paths.get(folderPath, CACHE_FILE_NAME).toString(), e);
-        }
-    }
+    public void checkpointMetaData() throws CacheException {
+        MetaData current = metaData;
 
-    /**
-     * Method to read the meta data file and get the meta data.
-     *
-     * @return the meta data
-     * @throws CacheException if an error occurs when trying to run a caching related task
-     */
-    private MetaData readMetaFile() throws CacheException {
-        try {
-            return SerializationUtils.readFileAndDeserialize(Paths.get(folderPath, META_INFO_FILE_NAME).toFile());
-        } catch (SerializationException e) {
-            throw new CacheException("Error occurred when trying to read cache meta data file : " + Paths.get(folderPath, META_INFO_FILE_NAME).toString(), e);
+        if (current != null) {
+            metaDataCheckpointer.checkpoint(current);
+        } else {
+            metaDataCheckpointer.flush();
         }
     }
 
     /**
-     * Method to write meta data in to a meta data file.
+     * Method to write a checkpoint of the meta data and close the segment files. The cache cannot be written after
+     * this.
      *
-     * @param metaData the meta data to be written
-     * @throws CacheException if an error occurs when trying to run a caching related task
+     * @throws IOException if the checkpoint of the meta data cannot be written
      */
-    private void writeMetaFile(MetaData metaData) throws CacheException {
+    @Override
+    public void close() throws IOException {
         try {
-            SerializationUtils.serializeAndWriteToFile(metaData, Paths.get(folderPath, META_INFO_FILE_NAME).toFile());
-        } catch (SerializationException e) {
-            throw new CacheException("Error occurred when trying to write to cache meta data file : " + Paths.get(folderPath, META_INFO_FILE_NAME).toString(), e);
+            checkpointMetaData();
+        } catch (CacheException e) {
+            throw new IOException("Error occurred when writing the meta data checkpoint.", e);
+        } finally {
+            store.close();
         }
     }
 }
@@ -1,26 +1,50 @@
 package com.leondesilva.jlcache;
 
+import com.leondesilva.jlcache.exceptions.CacheException;
 import com.leondesilva.jlcache.pojo.MetaData;
+import com.leondesilva.jlcache.util.SingleFlightLoader;
+import com.leondesilva.jlcache.util.Ticker;
+import com.leondesilva.jlcache.util.TimingWheel;
 
 import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Class to represent the in memory cache.
+ * Entries which are put with a duration are scheduled in a {@link TimingWheel}, which deletes them once they expire.
  *
  * @param <K> the type of the key
  * @param <V> the type of the value
  */
 public class InMemoryCache<K extends Serializable, V extends Serializable> implements Cache<K, V> {
     private Map<K, V> cacheMap;
+    private Map<K, TimingWheel.Node<K>> expirationNodes;
+    private TimingWheel<K> timingWheel;
+    private Ticker ticker;
+    private long startTime;
     private MetaData metaData;
+    private final SingleFlightLoader<K, V> singleFlightLoader = new SingleFlightLoader<>();
 
     /**
      * Constructor to instantiate in memory cache.
      */
     public InMemoryCache() {
+        this(Ticker.systemTicker());
+    }
+
+    /**
+     * Constructor to instantiate in memory cache with a given ticker for per entry expiration.
+     *
+     * @param ticker the ticker to read the time from
+     */
+    public InMemoryCache(Ticker ticker) {
         this.cacheMap = new HashMap<>();
+        this.expirationNodes = new HashMap<>();
+        this.timingWheel = new TimingWheel<>(0);
+        this.ticker = ticker;
+        this.startTime = ticker.read();
     }
 
     /**
@@ -31,6 +55,35 @@ public class InMemoryCache<K extends Serializable, V extends Serializable> imple
      */
     public void put(K key, V value) {
         this.cacheMap.put(key, value);
+        removeExpiration(key);
+    }
+
+    /**
+     * Method to put the key and value to the cache with a lifetime of its own.
+     *
+     * @param key      the key
+     * @param value    the value
+     * @param duration the duration after which the entry expires
+     * @param timeUnit the time unit of the duration
+     */
+    @Override
+    public void put(K key, V value, long duration, TimeUnit timeUnit) {
+        long now = currentTime();
+        long expirationTime = now + Math.min(timeUnit.toNanos(duration), Long.MAX_VALUE - now);
+        // The wheel is advanced first, because it places new nodes relative to its current time.
+        expire(now);
+        this.cacheMap.put(key, value);
+
+        TimingWheel.Node<K> node = expirationNodes.get(key);
+
+        if (node == null) {
+            node = new TimingWheel.Node<>(key, expirationTime);
+            expirationNodes.put(key, node);
+            timingWheel.schedule(node);
+        } else {
+            node.setExpirationTime(expirationTime);
+            timingWheel.reschedule(node);
+        }
     }
 
     /**
@@ -40,9 +93,28 @@ public class InMemoryCache<K extends Serializable, V extends Serializable> imple
      * @return the value for the given key
      */
     public V get(K key) {
+        if (isExpired(key)) {
+            expire(currentTime());
+            return null;
+        }
+
         return cacheMap.get(key);
     }
 
+    /**
+     * Method to get the value for a given key, loading it if it is missing. Threads which miss the same key at the
+     * same time share a single load.
+     *
+     * @param key    the key to retrieve
+     * @param loader the loader of the value
+     * @return the value for the given key or null if the loader has no value for it
+     * @throws CacheException if an error occurs when trying to run a caching related task or to load the value
+     */
+    @Override
+    public V get(K key, CacheLoader<? super K, ? extends V> loader) throws CacheException {
+        return singleFlightLoader.get(this, key, loader);
+    }
+
     /**
      * Method to delete the key.
      *
@@ -50,6 +122,7 @@ public class InMemoryCache<K extends Serializable, V extends Serializable> imple
      */
     public void delete(K key) {
         cacheMap.remove(key);
+        removeExpiration(key);
     }
 
     /**
@@ -57,6 +130,8 @@ public class InMemoryCache<K extends Serializable, V extends Serializable> imple
      */
     public void deleteAll() {
         cacheMap.clear();
+        expirationNodes.clear();
+        timingWheel.clear();
     }
 
     /**
@@ -66,7 +141,7 @@ public class InMemoryCache<K extends Serializable, V extends Serializable> imple
      * @return true if contains and false if not
      */
     public boolean containsKey(K key) {
-        return cacheMap.containsKey(key);
+        return !isExpired(key) && cacheMap.containsKey(key);
     }
 
     /**
@@ -75,9 +150,20 @@ public class InMemoryCache<K extends Serializable, V extends Serializable> imple
      * @return the cache size
      */
     public int getSize() {
+        expire(currentTime());
         return cacheMap.size();
     }
 
+    /**
+     * Method to check whether the cache keeps its entries in memory. This cache never waits for I/O.
+     *
+     * @return true
+     */
+    @Override
+    public boolean isInMemory() {
+        return true;
+    }
+
     /**
      * Method to store meta data.
      *
@@ -95,4 +181,57 @@ public class InMemoryCache<K extends Serializable, V extends Serializable> imple
     public MetaData getMetaData() {
         return this.metaData;
     }
+
+    /**
+     * Method to check whether the key was put with a duration which has passed.
+     *
+     * @param key the key
+     * @return true if expired and false if not
+     */
+    private boolean isExpired(K key) {
+        if (expirationNodes.isEmpty()) {
+            return false;
+        }
+
+        TimingWheel.Node<K> node = expirationNodes.get(key);
+        return node != null && node.getExpirationTime() - currentTime() <= 0;
+    }
+
+    /**
+     * Method to advance the timing wheel and delete the expired entries.
+     *
+     * @param now the current time
+     */
+    private void expire(long now) {
+        timingWheel.advance(now, node -> {
+            cacheMap.remove(node.getKey());
+            expirationNodes.remove(node.getKey());
+        });
+    }
+
+    /**
+     * Method to remove the expiration of a key.
+     *
+     * @param key the key
+     */
+    private void removeExpiration(K key) {
+        if (expirationNodes.isEmpty()) {
+            return;
+        }
+
+        TimingWheel.Node<K> node = expirationNodes.remove(key);
+
+        if (node != null) {
+            timingWheel.deschedule(node);
+        }
+    }
+
+    /**
+     * Method to get the current time relative to the creation of the cache, so that it is never negative.
+     *
+     * @return the current time in nanoseconds
+     */
+    private long currentTime() {
+        return ticker.read() - startTime;
+    }
 }
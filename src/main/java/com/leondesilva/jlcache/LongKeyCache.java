@@ -0,0 +1,55 @@
+package com.leondesilva.jlcache;
+
+import java.io.Serializable;
+
+/**
+ * Interface to represent an in memory cache whose keys are primitive longs, such as numeric ids.
+ * Unlike a {@link Cache} with {@link Long} keys, the keys are never boxed, so a lookup does not allocate.
+ *
+ * @param <V> the value type
+ */
+public interface LongKeyCache<V extends Serializable> {
+
+    /**
+     * Method to put the key and value to the cache.
+     *
+     * @param key   the key
+     * @param value the value
+     */
+    void put(long key, V value);
+
+    /**
+     * Method to get the value for a given key.
+     *
+     * @param key the key to retrieve
+     * @return the value for the given key or null if the key does not exist
+     */
+    V get(long key);
+
+    /**
+     * Method to delete the key.
+     *
+     * @param key the key to be deleted
+     */
+    void delete(long key);
+
+    /**
+     * Method to delete all the keys and values
+     */
+    void deleteAll();
+
+    /**
+     * Method to check whether the key does contain in the cache.
+     *
+     * @param key the key
+     * @return true if contains and false if not
+     */
+    boolean containsKey(long key);
+
+    /**
+     * Method to get the cache size.
+     *
+     * @return the cache size
+     */
+    int getSize();
+}
@@ -0,0 +1,126 @@
+package com.leondesilva.jlcache;
+
+import com.leondesilva.jlcache.enumeration.CacheEvictionType;
+import com.leondesilva.jlcache.exceptions.CacheException;
+import com.leondesilva.jlcache.strategy.EvictionStrategyFactory;
+import com.leondesilva.jlcache.strategy.LongKeyEvictionPolicy;
+import com.leondesilva.jlcache.util.LongKeyTable;
+
+import java.io.Serializable;
+
+/**
+ * Class to represent the evictable cache of primitive long keys.
+ * <p>
+ * It supports the same eviction types as the {@link EvictableCache}. The eviction policy keeps its state in primitive
+ * arrays indexed by the entries of the {@link LongKeyTable}, so a get neither boxes the key nor allocates, and all the
+ * arrays are allocated once for the max entry size. This class is not thread safe.
+ *
+ * @param <V> the type of the value
+ */
+public class LongKeyEvictableCache<V extends Serializable> implements LongKeyCache<V> {
+    private final LongKeyTable<V> table;
+    private final LongKeyEvictionPolicy evictionPolicy;
+    private final int maxEntrySize;
+
+    /**
+     * Constructor to instantiate the long key evictable cache.
+     *
+     * @param maxEntrySize      the max entry size
+     * @param cacheEvictionType the cache eviction type
+     * @throws CacheException if the eviction type is invalid
+     */
+    public LongKeyEvictableCache(int maxEntrySize, CacheEvictionType cacheEvictionType) throws CacheException {
+        this.maxEntrySize = Math.max(1, maxEntrySize);
+        this.table = new LongKeyTable<>(this.maxEntrySize);
+        this.evictionPolicy = EvictionStrategyFactory.createLongKeyEvictionPolicy(table, this.maxEntrySize, cacheEvictionType);
+    }
+
+    /**
+     * Method to put the key and value to the cache. A new key evicts the entry chosen by the eviction policy if the
+     * cache is full.
+     *
+     * @param key   the key
+     * @param value the value
+     */
+    @Override
+    public void put(long key, V value) {
+        int entry = table.find(key);
+
+        if (entry != LongKeyTable.NO_ENTRY) {
+            table.setValue(entry, value);
+            evictionPolicy.recordAccess(entry);
+            return;
+        }
+
+        int victim = evictionPolicy.admit(key, table.size() >= maxEntrySize);
+
+        if (victim != LongKeyTable.NO_ENTRY) {
+            table.remove(victim);
+        }
+
+        evictionPolicy.recordInsert(table.insert(key, value));
+    }
+
+    /**
+     * Method to get the value for a given key.
+     *
+     * @param key the key to retrieve
+     * @return the value for the given key
+     */
+    @Override
+    public V get(long key) {
+        int entry = table.find(key);
+
+        if (entry == LongKeyTable.NO_ENTRY) {
+            return null;
+        }
+
+        evictionPolicy.recordAccess(entry);
+        return table.getValue(entry);
+    }
+
+    /**
+     * Method to delete the key.
+     *
+     * @param key the key to be deleted
+     */
+    @Override
+    public void delete(long key) {
+        int entry = table.find(key);
+        evictionPolicy.remove(key, entry);
+
+        if (entry != LongKeyTable.NO_ENTRY) {
+            table.remove(entry);
+        }
+    }
+
+    /**
+     * Method to delete all the keys and values
+     */
+    @Override
+    public void deleteAll() {
+        evictionPolicy.clear();
+        table.clear();
+    }
+
+    /**
+     * Method to check whether the key does contain in the cache.
+     *
+     * @param key the key
+     * @return true if contains and false if not
+     */
+    @Override
+    public boolean containsKey(long key) {
+        return table.find(key) != LongKeyTable.NO_ENTRY;
+    }
+
+    /**
+     * Method to get the cache size.
+     *
+     * @return the cache size
+     */
+    @Override
+    public int getSize() {
+        return table.size();
+    }
+}
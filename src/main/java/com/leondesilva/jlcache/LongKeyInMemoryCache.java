@@ -0,0 +1,106 @@
+package com.leondesilva.jlcache;
+
+import com.leondesilva.jlcache.util.LongKeyTable;
+
+import java.io.Serializable;
+
+/**
+ * Class to represent the in memory cache of primitive long keys.
+ * The entries are kept in a {@link LongKeyTable}, so a key costs a long and a few bytes of table slots instead of a
+ * boxed key and a map node. This class is not thread safe.
+ *
+ * @param <V> the type of the value
+ */
+public class LongKeyInMemoryCache<V extends Serializable> implements LongKeyCache<V> {
+    private static final int DEFAULT_EXPECTED_ENTRY_SIZE = 16;
+
+    private final LongKeyTable<V> table;
+
+    /**
+     * Constructor to instantiate the long key in memory cache.
+     */
+    public LongKeyInMemoryCache() {
+        this(DEFAULT_EXPECTED_ENTRY_SIZE);
+    }
+
+    /**
+     * Constructor to instantiate the long key in memory cache with room for a given number of entries.
+     *
+     * @param expectedEntrySize the number of entries the cache can hold before it has to grow
+     */
+    public LongKeyInMemoryCache(int expectedEntrySize) {
+        this.table = new LongKeyTable<>(expectedEntrySize);
+    }
+
+    /**
+     * Method to put the key and value to the cache.
+     *
+     * @param key   the key
+     * @param value the value
+     */
+    @Override
+    public void put(long key, V value) {
+        int entry = table.find(key);
+
+        if (entry == LongKeyTable.NO_ENTRY) {
+            table.insert(key, value);
+        } else {
+            table.setValue(entry, value);
+        }
+    }
+
+    /**
+     * Method to get the value for a given key.
+     *
+     * @param key the key to retrieve
+     * @return the value for the given key
+     */
+    @Override
+    public V get(long key) {
+        int entry = table.find(key);
+        return entry == LongKeyTable.NO_ENTRY ? null : table.getValue(entry);
+    }
+
+    /**
+     * Method to delete the key.
+     *
+     * @param key the key to be deleted
+     */
+    @Override
+    public void delete(long key) {
+        int entry = table.find(key);
+
+        if (entry != LongKeyTable.NO_ENTRY) {
+            table.remove(entry);
+        }
+    }
+
+    /**
+     * Method to delete all the keys and values
+     */
+    @Override
+    public void deleteAll() {
+        table.clear();
+    }
+
+    /**
+     * Method to check whether the key does contain in the cache.
+     *
+     * @param key the key
+     * @return true if contains and false if not
+     */
+    @Override
+    public boolean containsKey(long key) {
+        return table.find(key) != LongKeyTable.NO_ENTRY;
+    }
+
+    /**
+     * Method to get the cache size.
+     *
+     * @return the cache size
+     */
+    @Override
+    public int getSize() {
+        return table.size();
+    }
+}
@@ -0,0 +1,52 @@
+package com.leondesilva.jlcache;
+
+import com.leondesilva.jlcache.exceptions.CacheException;
+import com.leondesilva.jlcache.serialization.Serializer;
+import com.leondesilva.jlcache.storage.LogStructuredStore;
+import com.leondesilva.jlcache.util.SerializationUtils;
+
+import java.io.Serializable;
+
+/**
+ * Class to represent the memory mapped cache.
+ * The entries are kept in segment files which are mapped in to memory, so a get is an index lookup and a copy out of
+ * the page cache without any stream. The operating system decides which pages stay resident, which allows the cache
+ * to hold data sets that are larger than the heap.
+ *
+ * @param <K> the type of the key
+ * @param <V> the type of the value
+ */
+public class MemoryMappedCache<K extends Serializable, V extends Serializable> extends FileSystemCache<K, V> {
+    /**
+     * Constructor to instantiate MemoryMappedCache.
+     *
+     * @param folderPath the folder path to write the cache data
+     * @throws CacheException if an error occurs when trying to instantiate
+     */
+    public MemoryMappedCache(String folderPath) throws CacheException {
+        this(folderPath, LogStructuredStore.DEFAULT_MAX_SEGMENT_SIZE);
+    }
+
+    /**
+     * Constructor to instantiate MemoryMappedCache with a given segment size.
+     *
+     * @param folderPath     the folder path to write the cache data
+     * @param maxSegmentSize the number of bytes to map for each segment file
+     * @throws CacheException if an error occurs when trying to instantiate
+     */
+    public MemoryMappedCache(String folderPath, long maxSegmentSize) throws CacheException {
+        this(folderPath, maxSegmentSize, SerializationUtils.getDefaultSerializer());
+    }
+
+    /**
+     * Constructor to instantiate MemoryMappedCache with a given segment size and serializer.
+     *
+     * @param folderPath     the folder path to write the cache data
+     * @param maxSegmentSize the number of bytes to map for each segment file
+     * @param serializer     the serializer of the keys and the values
+     * @throws CacheException if an error occurs when trying to instantiate
+     */
+    public MemoryMappedCache(String folderPath, long maxSegmentSize, Serializer<Object> serializer) throws CacheException {
+        super(folderPath, maxSegmentSize, true, serializer);
+    }
+}
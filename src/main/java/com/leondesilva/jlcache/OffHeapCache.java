@@ -0,0 +1,196 @@
+package com.leondesilva.jlcache;
+
+import com.leondesilva.jlcache.exceptions.CacheException;
+import com.leondesilva.jlcache.exceptions.CacheFullException;
+import com.leondesilva.jlcache.pojo.MetaData;
+import com.leondesilva.jlcache.serialization.Serializer;
+import com.leondesilva.jlcache.storage.OffHeapStore;
+import com.leondesilva.jlcache.util.SerializationUtils;
+import com.leondesilva.jlcache.util.SingleFlightLoader;
+
+import java.io.Serializable;
+import java.util.Map;
+
+/**
+ * Class to represent the off heap cache.
+ * The keys and values are serialized in to direct memory in an {@link OffHeapStore}, so a large cache does not make
+ * the heap larger or the garbage collection pauses longer. Every get deserializes the value, so the returned value is
+ * a copy. A put of an entry which does not fit in the free direct memory fails with an exception and deletes the old
+ * value of the key, so the cache is normally bounded with a maximum weight of {@link #getEntrySize(Serializable)},
+ * which the cache builder does by default.
+ *
+ * @param <K> the type of the key
+ * @param <V> the type of the value
+ */
+public class OffHeapCache<K extends Serializable, V extends Serializable> implements Cache<K, V> {
+    private final OffHeapStore<K, V> store;
+    private volatile MetaData metaData;
+    private final SingleFlightLoader<K, V> singleFlightLoader = new SingleFlightLoader<>();
+
+    /**
+     * Constructor to instantiate the off heap cache.
+     *
+     * @param capacity the maximum number of bytes of direct memory to use
+     */
+    public OffHeapCache(long capacity) {
+        this(capacity, OffHeapStore.DEFAULT_PAGE_SIZE, SerializationUtils.getDefaultSerializer());
+    }
+
+    /**
+     * Constructor to instantiate the off heap cache with a given page size and serializer.
+     *
+     * @param capacity   the maximum number of bytes of direct memory to use
+     * @param pageSize   the size in bytes of the pages in which the direct memory is allocated
+     * @param serializer the serializer of the keys and the values
+     */
+    public OffHeapCache(long capacity, int pageSize, Serializer<Object> serializer) {
+        this.store = new OffHeapStore<>(capacity, pageSize, serializer);
+    }
+
+    /**
+     * Method to put the key and value to the cache.
+     *
+     * @param key   the key
+     * @param value the value
+     * @throws CacheFullException if there is not enough free direct memory for the entry
+     * @throws CacheException     if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public void put(K key, V value) throws CacheException {
+        if (!store.put(key, value)) {
+            throw new CacheFullException("Not enough free direct memory to cache the entry of key : " + key);
+        }
+    }
+
+    /**
+     * Method to put many keys and values to the cache. Every entry which fits in the free direct memory is cached
+     * even if an earlier one does not.
+     *
+     * @param entries the keys and the values
+     * @throws CacheFullException if there is not enough free direct memory for some of the entries
+     * @throws CacheException     if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public void putAll(Map<? extends K, ? extends V> entries) throws CacheException {
+        int failedCount = 0;
+
+        for (Map.Entry<? extends K, ? extends V> entry : entries.entrySet()) {
+            if (!store.put(entry.getKey(), entry.getValue())) {
+                failedCount++;
+            }
+        }
+
+        if (failedCount > 0) {
+            throw new CacheFullException("Not enough free direct memory to cache " + failedCount + " of the entries.");
+        }
+    }
+
+    /**
+     * Method to get the value for a given key.
+     *
+     * @param key the key to retrieve
+     * @return the value for the given key
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public V get(K key) throws CacheException {
+        return store.get(key);
+    }
+
+    /**
+     * Method to get the value for a given key, loading it if it is missing. Threads which miss the same key at the
+     * same time share a single load.
+     *
+     * @param key    the key to retrieve
+     * @param loader the loader of the value
+     * @return the value for the given key or null if the loader has no value for it
+     * @throws CacheException if an error occurs when trying to run a caching related task or to load the value
+     */
+    @Override
+    public V get(K key, CacheLoader<? super K, ? extends V> loader) throws CacheException {
+        return singleFlightLoader.get(this, key, loader);
+    }
+
+    /**
+     * Method to delete the key.
+     *
+     * @param key the key to be deleted
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public void delete(K key) throws CacheException {
+        store.delete(key);
+    }
+
+    /**
+     * Method to delete all the keys and values
+     */
+    @Override
+    public void deleteAll() {
+        store.clear();
+    }
+
+    /**
+     * Method to check whether the key does contain in the cache.
+     *
+     * @param key the key
+     * @return true if contains and false if not
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public boolean containsKey(K key) throws CacheException {
+        return store.containsKey(key);
+    }
+
+    /**
+     * Method to get the cache size.
+     *
+     * @return the cache size
+     */
+    @Override
+    public int getSize() {
+        return store.size();
+    }
+
+    /**
+     * Method to check whether the cache keeps its entries in memory. This cache never waits for I/O.
+     *
+     * @return true
+     */
+    @Override
+    public boolean isInMemory() {
+        return true;
+    }
+
+    /**
+     * Method to store meta data.
+     *
+     * @param metaData the meta data
+     */
+    @Override
+    public void storeMetaData(MetaData metaData) {
+        this.metaData = metaData;
+    }
+
+    /**
+     * Method to get the meta data.
+     *
+     * @return the meta data
+     */
+    @Override
+    public MetaData getMetaData() {
+        return metaData;
+    }
+
+    /**
+     * Method to get the number of bytes of direct memory an entry takes, including its share of the bytes at the end
+     * of its page which are too few for another entry.
+     * This can be used as the weigher of a cache which is bounded by the direct memory it uses.
+     *
+     * @param key the key
+     * @return the number of bytes or 0 if the key does not exist
+     */
+    public int getEntrySize(K key) {
+        return store.getEntrySize(key);
+    }
+}
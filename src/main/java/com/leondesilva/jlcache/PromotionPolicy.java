@@ -0,0 +1,78 @@
+package com.leondesilva.jlcache;
+
+import com.leondesilva.jlcache.util.FrequencySketch;
+
+import java.io.Serializable;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Interface to represent the policy which decides whether a key read from the level 2 cache of a
+ * {@link TwoLevelCache} is put to the level 1 cache. A promoted key is put like any other entry, so the level 1 cache
+ * evicts entries to make room for it.
+ *
+ * @param <K> the type of the key
+ */
+@FunctionalInterface
+public interface PromotionPolicy<K extends Serializable> {
+    /**
+     * Method to decide whether a key which was read from the level 2 cache is promoted to the level 1 cache.
+     *
+     * @param key the key
+     * @return true to promote the key and false if not
+     */
+    boolean shouldPromote(K key);
+
+    /**
+     * Method to get the policy which promotes every key read from the level 2 cache.
+     *
+     * @param <K> the type of the key
+     * @return the promotion policy
+     */
+    static <K extends Serializable> PromotionPolicy<K> always() {
+        return key -> true;
+    }
+
+    /**
+     * Method to get the policy which never promotes a key, so the level 1 cache only holds the keys which are put.
+     *
+     * @param <K> the type of the key
+     * @return the promotion policy
+     */
+    static <K extends Serializable> PromotionPolicy<K> never() {
+        return key -> false;
+    }
+
+    /**
+     * Method to get the policy which promotes a key on its Nth read from the level 2 cache. The reads are counted in
+     * a {@link FrequencySketch}, so the counts take a fixed amount of memory and fade over time, and the hit count
+     * is capped at 15.
+     *
+     * @param hitCount          the number of reads from the level 2 cache at which a key is promoted
+     * @param expectedEntrySize the expected number of keys which are read from the level 2 cache
+     * @param <K>               the type of the key
+     * @return the promotion policy
+     */
+    static <K extends Serializable> PromotionPolicy<K> onHitCount(int hitCount, int expectedEntrySize) {
+        int promotionCount = Math.max(1, Math.min(hitCount, 15));
+        FrequencySketch sketch = new FrequencySketch(expectedEntrySize);
+
+        return key -> {
+            synchronized (sketch) {
+                sketch.increment(key);
+                return sketch.frequency(key) >= promotionCount;
+            }
+        };
+    }
+
+    /**
+     * Method to get the policy which promotes a random sample of the reads from the level 2 cache. A key which is
+     * read often is likely to be promoted soon, while a key read once rarely is.
+     *
+     * @param probability the probability between 0 and 1 that a read promotes the key
+     * @param <K>         the type of the key
+     * @return the promotion policy
+     */
+    static <K extends Serializable> PromotionPolicy<K> sampled(double probability) {
+        return key -> ThreadLocalRandom.current().nextDouble() < probability;
+    }
+}
@@ -0,0 +1,509 @@
+package com.leondesilva.jlcache;
+
+import com.leondesilva.jlcache.exceptions.CacheException;
+import com.leondesilva.jlcache.pojo.MetaData;
+import com.leondesilva.jlcache.util.SingleFlightLoader;
+import com.leondesilva.jlcache.util.Ticker;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Class to represent a cache which reloads an entry in the background once it is older than the refresh interval.
+ * <p>
+ * A read of an entry which was written more than the refresh interval ago returns the current value at once and starts
+ * a reload of the key through the loader on the executor, so a hot key never waits for a load when it goes stale. Only
+ * one reload of a key runs at a time. A reload which returns a value replaces the entry, a reload which returns null
+ * deletes it, and a reload which fails keeps the current value, so the next read tries again. The result of a reload
+ * is dropped if the key was written or deleted while it was running. A write of a key and the check and write of a
+ * reload of the key are done under the same lock, out of a fixed set of locks shared by the keys, so a reload never
+ * overwrites a newer write. The wrapped cache must be thread safe, as the reloads write to it on the executor.
+ * <p>
+ * The time of the last write of every key is kept in memory. Unlike expiration, refreshing never removes an entry which
+ * is not read, so it is usually combined with an {@link ExpiringCache} inside this cache to bound the age of the
+ * entries which are not read.
+ *
+ * @param <K> the type of the key
+ * @param <V> the type of the value
+ */
+public class RefreshingCache<K extends Serializable, V extends Serializable> implements Cache<K, V> {
+    private static final int LOCK_COUNT = 64;
+    private static final int MIN_PRUNE_THRESHOLD = 16;
+    private final Cache<K, V> cache;
+    private final long refreshAfterWriteNanos;
+    private final CacheLoader<? super K, ? extends V> loader;
+    private final Executor executor;
+    private final Ticker ticker;
+    private final ConcurrentMap<K, Long> writeTimes = new ConcurrentHashMap<>();
+    private final Set<K> refreshingKeys = ConcurrentHashMap.newKeySet();
+    private final SingleFlightLoader<K, V> singleFlightLoader = new SingleFlightLoader<>();
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_COUNT];
+    private volatile int pruneThreshold = MIN_PRUNE_THRESHOLD;
+
+    /**
+     * Constructor to instantiate the refreshing cache, which reloads the keys with the default I/O executor.
+     *
+     * @param cache             the cache to be wrapped
+     * @param refreshAfterWrite the duration after a write at which a read starts a reload of the entry
+     * @param timeUnit          the time unit of the duration
+     * @param loader            the loader of the values
+     */
+    public RefreshingCache(Cache<K, V> cache, long refreshAfterWrite, TimeUnit timeUnit,
+                           CacheLoader<? super K, ? extends V> loader) {
+        this(cache, refreshAfterWrite, timeUnit, loader, ExecutorAsyncCache.DEFAULT_IO_EXECUTOR, Ticker.systemTicker());
+    }
+
+    /**
+     * Constructor to instantiate the refreshing cache with a given executor and ticker.
+     *
+     * @param cache             the cache to be wrapped
+     * @param refreshAfterWrite the duration after a write at which a read starts a reload of the entry
+     * @param timeUnit          the time unit of the duration
+     * @param loader            the loader of the values
+     * @param executor          the executor to run the reloads on
+     * @param ticker            the ticker to read the time from
+     */
+    public RefreshingCache(Cache<K, V> cache, long refreshAfterWrite, TimeUnit timeUnit,
+                           CacheLoader<? super K, ? extends V> loader, Executor executor, Ticker ticker) {
+        this.cache = cache;
+        this.refreshAfterWriteNanos = timeUnit.toNanos(refreshAfterWrite);
+        this.loader = loader;
+        this.executor = executor;
+        this.ticker = ticker;
+
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Method to put the key and value to the cache.
+     *
+     * @param key   the key
+     * @param value the value
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public void put(K key, V value) throws CacheException {
+        ReentrantLock lock = lockFor(key);
+        lock.lock();
+
+        try {
+            cache.put(key, value);
+            writeTimes.put(key, ticker.read());
+        } finally {
+            lock.unlock();
+        }
+
+        pruneWriteTimes();
+    }
+
+    /**
+     * Method to put the key and value to the cache with a lifetime of its own.
+     *
+     * @param key      the key
+     * @param value    the value
+     * @param duration the duration after which the entry expires
+     * @param timeUnit the time unit of the duration
+     * @throws CacheException if per entry expiration is not supported by the wrapped cache or if an error occurs when
+     *                        trying to run a caching related task
+     */
+    @Override
+    public void put(K key, V value, long duration, TimeUnit timeUnit) throws CacheException {
+        ReentrantLock lock = lockFor(key);
+        lock.lock();
+
+        try {
+            cache.put(key, value, duration, timeUnit);
+            writeTimes.put(key, ticker.read());
+        } finally {
+            lock.unlock();
+        }
+
+        pruneWriteTimes();
+    }
+
+    /**
+     * Method to get the value for a given key. If the entry is older than the refresh interval, the value is returned
+     * and a reload of the key is started in the background.
+     *
+     * @param key the key to retrieve
+     * @return the value for the given key
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public V get(K key) throws CacheException {
+        Long writeTime = writeTimes.get(key);
+        V value = cache.get(key);
+
+        if (value == null) {
+            if (writeTime != null) {
+                writeTimes.remove(key, writeTime);
+            }
+
+            return null;
+        }
+
+        if (writeTime != null && ticker.read() - writeTime >= refreshAfterWriteNanos) {
+            refresh(key, writeTime);
+        }
+
+        return value;
+    }
+
+    /**
+     * Method to get the value for a given key, loading it with the loader and putting it to the cache if it is
+     * missing. The threads which miss the same key share a single load.
+     *
+     * @param key    the key to retrieve
+     * @param loader the loader of the value
+     * @return the value for the given key or null if the loader has no value for it
+     * @throws CacheException if an error occurs when trying to run a caching related task or to load the value
+     */
+    @Override
+    public V get(K key, CacheLoader<? super K, ? extends V> loader) throws CacheException {
+        return singleFlightLoader.get(this, key, loader);
+    }
+
+    /**
+     * Method to delete the key.
+     *
+     * @param key the key to be deleted
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public void delete(K key) throws CacheException {
+        ReentrantLock lock = lockFor(key);
+        lock.lock();
+
+        try {
+            writeTimes.remove(key);
+            cache.delete(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method to put many keys and values to the cache.
+     *
+     * @param entries the keys and the values
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public void putAll(Map<? extends K, ? extends V> entries) throws CacheException {
+        List<ReentrantLock> keyLocks = lockAll(entries.keySet());
+
+        try {
+            cache.putAll(entries);
+            long now = ticker.read();
+
+            for (K key : entries.keySet()) {
+                writeTimes.put(key, now);
+            }
+        } finally {
+            unlockAll(keyLocks);
+        }
+
+        pruneWriteTimes();
+    }
+
+    /**
+     * Method to get the values for many keys. The entries which are older than the refresh interval are reloaded in
+     * the background.
+     *
+     * @param keys the keys to retrieve
+     * @return the values of the keys which are in the cache, in the order of the given keys
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public Map<K, V> getAll(Collection<? extends K> keys) throws CacheException {
+        Map<K, Long> keyWriteTimes = new LinkedHashMap<>();
+
+        for (K key : keys) {
+            Long writeTime = writeTimes.get(key);
+
+            if (writeTime != null) {
+                keyWriteTimes.put(key, writeTime);
+            }
+        }
+
+        Map<K, V> values = cache.getAll(keys);
+        long now = ticker.read();
+
+        for (Map.Entry<K, Long> entry : keyWriteTimes.entrySet()) {
+            K key = entry.getKey();
+            Long writeTime = entry.getValue();
+
+            if (!values.containsKey(key)) {
+                writeTimes.remove(key, writeTime);
+            } else if (now - writeTime >= refreshAfterWriteNanos) {
+                refresh(key, writeTime);
+            }
+        }
+
+        return values;
+    }
+
+    /**
+     * Method to delete many keys.
+     *
+     * @param keys the keys to be deleted
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public void deleteAll(Collection<? extends K> keys) throws CacheException {
+        List<ReentrantLock> keyLocks = lockAll(keys);
+
+        try {
+            for (K key : keys) {
+                writeTimes.remove(key);
+            }
+
+            cache.deleteAll(keys);
+        } finally {
+            unlockAll(keyLocks);
+        }
+    }
+
+    /**
+     * Method to delete all the keys and values
+     *
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public void deleteAll() throws CacheException {
+        for (ReentrantLock lock : locks) {
+            lock.lock();
+        }
+
+        try {
+            writeTimes.clear();
+            cache.deleteAll();
+        } finally {
+            for (ReentrantLock lock : locks) {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Method to check whether the key does contain in the cache.
+     *
+     * @param key the key
+     * @return true if contains and false if not
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public boolean containsKey(K key) throws CacheException {
+        return cache.containsKey(key);
+    }
+
+    /**
+     * Method to get the cache size.
+     *
+     * @return the cache size
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public int getSize() throws CacheException {
+        return cache.getSize();
+    }
+
+    /**
+     * Method to check whether the wrapped cache keeps its entries in memory.
+     *
+     * @return true if the operations of the cache never wait for I/O and false if not
+     */
+    @Override
+    public boolean isInMemory() {
+        return cache.isInMemory();
+    }
+
+    /**
+     * Method to close the wrapped cache.
+     *
+     * @throws IOException if an error occurs when trying to close the wrapped cache
+     */
+    @Override
+    public void close() throws IOException {
+        cache.close();
+    }
+
+    /**
+     * Method to store meta data.
+     *
+     * @param metaData the meta data
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public void storeMetaData(MetaData metaData) throws CacheException {
+        cache.storeMetaData(metaData);
+    }
+
+    /**
+     * Method to get the meta data.
+     *
+     * @return the meta data
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public MetaData getMetaData() throws CacheException {
+        return cache.getMetaData();
+    }
+
+    /**
+     * Method to get the lock of a key.
+     *
+     * @param key the key
+     * @return the lock shared by the keys of the same hash
+     */
+    private ReentrantLock lockFor(K key) {
+        return locks[lockIndex(key)];
+    }
+
+    /**
+     * Method to get the index of the lock of a key.
+     *
+     * @param key the key
+     * @return the index of the lock
+     */
+    private static int lockIndex(Object key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (LOCK_COUNT - 1);
+    }
+
+    /**
+     * Method to take the locks of many keys. The locks are taken in a fixed order, so threads which lock overlapping
+     * keys do not deadlock.
+     *
+     * @param keys the keys
+     * @return the locks which were taken
+     */
+    private List<ReentrantLock> lockAll(Collection<? extends K> keys) {
+        Set<Integer> lockIndexes = new TreeSet<>();
+
+        for (K key : keys) {
+            lockIndexes.add(lockIndex(key));
+        }
+
+        List<ReentrantLock> keyLocks = new ArrayList<>(lockIndexes.size());
+
+        for (int lockIndex : lockIndexes) {
+            locks[lockIndex].lock();
+            keyLocks.add(locks[lockIndex]);
+        }
+
+        return keyLocks;
+    }
+
+    /**
+     * Method to release the locks taken by {@link #lockAll(Collection)}.
+     *
+     * @param keyLocks the locks
+     */
+    private void unlockAll(List<ReentrantLock> keyLocks) {
+        for (ReentrantLock lock : keyLocks) {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method to drop the write times of keys which the wrapped cache has evicted or expired. This is done once the
+     * number of write times doubles since the last time, so the wrapped cache is not asked for its size on writes. A
+     * write time is only dropped if it did not change while the key was checked.
+     *
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    private void pruneWriteTimes() throws CacheException {
+        if (writeTimes.size() <= pruneThreshold) {
+            return;
+        }
+
+        synchronized (writeTimes) {
+            if (writeTimes.size() <= pruneThreshold) {
+                return;
+            }
+
+            for (Map.Entry<K, Long> entry : writeTimes.entrySet()) {
+                Long writeTime = entry.getValue();
+
+                if (!cache.containsKey(entry.getKey())) {
+                    writeTimes.remove(entry.getKey(), writeTime);
+                }
+            }
+
+            pruneThreshold = Math.max(MIN_PRUNE_THRESHOLD, 2 * writeTimes.size());
+        }
+    }
+
+    /**
+     * Method to start a reload of a key on the executor unless one is already running.
+     *
+     * @param key       the key
+     * @param writeTime the time of the write of the value which is reloaded
+     */
+    private void refresh(K key, Long writeTime) {
+        if (!refreshingKeys.add(key)) {
+            return;
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    reload(key, writeTime);
+                } finally {
+                    refreshingKeys.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshingKeys.remove(key);
+        }
+    }
+
+    /**
+     * Method to reload a key and replace its value, unless the key was written or deleted during the reload. A failed
+     * reload keeps the current value.
+     *
+     * @param key       the key
+     * @param writeTime the time of the write of the value which is reloaded
+     */
+    private void reload(K key, Long writeTime) {
+        try {
+            V value = loader.loadValue(key);
+            ReentrantLock lock = lockFor(key);
+            lock.lock();
+
+            try {
+                if (!writeTime.equals(writeTimes.get(key))) {
+                    return;
+                }
+
+                if (value == null) {
+                    writeTimes.remove(key);
+                    cache.delete(key);
+                } else {
+                    cache.put(key, value);
+                    writeTimes.put(key, ticker.read());
+                }
+            } finally {
+                lock.unlock();
+            }
+        } catch (CacheException e) {
+            // The current value is kept and the next read tries again.
+        }
+    }
+}
@@ -1,12 +1,31 @@
 package com.leondesilva.jlcache;
 
 import com.leondesilva.jlcache.exceptions.CacheException;
+import com.leondesilva.jlcache.exceptions.CacheFullException;
 import com.leondesilva.jlcache.pojo.MetaData;
+import com.leondesilva.jlcache.util.SingleFlightLoader;
 
+import java.io.IOException;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Class to represent the two level cache.
+ * <p>
+ * A key which is read from the level 2 cache is put to the level 1 cache if the {@link PromotionPolicy} decides so,
+ * so hot keys which were evicted from the level 1 cache move back into it. By default every key is promoted.
+ * <p>
+ * By default the cache is inclusive and every write goes to both levels. In exclusive mode, writes go only to the level
+ * 1 cache, entries evicted from it are demoted to the level 2 cache by a {@link DemotingCache} below its eviction
+ * policy, and promoted keys are moved out of the level 2 cache, so a key is held by one level at a time and the
+ * capacity of the cache is the sum of the capacities of both levels. An entry which the level 1 cache fails to take,
+ * such as one which does not fit in the free direct memory of an off heap cache, is kept in the level 2 cache.
  *
  * @param <K> the type of the key
  * @param <V> the type of the value
@@ -14,7 +33,10 @@ import java.io.Serializable;
 public class TwoLevelCache<K extends Serializable, V extends Serializable> implements Cache<K, V> {
     private Cache<K, V> level1Cache;
     private Cache<K, V> level2Cache;
+    private final PromotionPolicy<K> promotionPolicy;
+    private final boolean exclusive;
     private MetaData metaData;
+    private final SingleFlightLoader<K, V> singleFlightLoader = new SingleFlightLoader<>();
 
     /**
      * Constructor to instantiate the two level cache.
@@ -23,12 +45,44 @@ public class TwoLevelCache<K extends Serializable, V extends Serializable> imple
      * @param level2Cache the level 2 cache
      */
     public TwoLevelCache(Cache<K, V> level1Cache, Cache<K, V> level2Cache) {
+        this(level1Cache, level2Cache, PromotionPolicy.always());
+    }
+
+    /**
+     * Constructor to instantiate the two level cache with a given promotion policy.
+     *
+     * @param level1Cache     the level 1 cache
+     * @param level2Cache     the level 2 cache
+     * @param promotionPolicy the policy which decides whether a key read from the level 2 cache is put to the
+     *                        level 1 cache
+     */
+    public TwoLevelCache(Cache<K, V> level1Cache, Cache<K, V> level2Cache, PromotionPolicy<K> promotionPolicy) {
+        this(level1Cache, level2Cache, promotionPolicy, false);
+    }
+
+    /**
+     * Constructor to instantiate the two level cache with a given promotion policy, in inclusive or exclusive mode.
+     * In exclusive mode the level 1 cache must demote the entries it evicts to the level 2 cache, such as with a
+     * {@link DemotingCache} wrapped by its eviction policy.
+     *
+     * @param level1Cache     the level 1 cache
+     * @param level2Cache     the level 2 cache
+     * @param promotionPolicy the policy which decides whether a key read from the level 2 cache is put to the
+     *                        level 1 cache
+     * @param exclusive       true to keep each key in only one level and false to write every key to both levels
+     */
+    public TwoLevelCache(Cache<K, V> level1Cache, Cache<K, V> level2Cache, PromotionPolicy<K> promotionPolicy,
+                         boolean exclusive) {
         this.level1Cache = level1Cache;
         this.level2Cache = level2Cache;
+        this.promotionPolicy = promotionPolicy;
+        this.exclusive = exclusive;
     }
 
     /**
-     * Method to put the key and value to the cache.
+     * Method to put the key and value to the cache. In exclusive mode the key is only put to the level 1 cache and
+     * an older value of it is deleted from the level 2 cache, unless the level 1 cache is full, in which case the key is
+     * put to the level 2 cache.
      *
      * @param key   the key
      * @param value the value
@@ -36,12 +90,57 @@ public class TwoLevelCache<K extends Serializable, V extends Serializable> imple
      */
     @Override
     public void put(K key, V value) throws CacheException {
+        if (exclusive) {
+            level2Cache.delete(key);
+
+            try {
+                level1Cache.put(key, value);
+            } catch (CacheFullException e) {
+                level2Cache.put(key, value);
+            }
+
+            return;
+        }
+
         level1Cache.put(key, value);
         level2Cache.put(key, value);
     }
 
     /**
-     * Method to get the value for a given key.
+     * Method to put the key and value to both levels, or only to the level 1 cache in exclusive mode, with a lifetime
+     * of its own.
+     *
+     * @param key      the key
+     * @param value    the value
+     * @param duration the duration after which the entry expires
+     * @param timeUnit the time unit of the duration
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public void put(K key, V value, long duration, TimeUnit timeUnit) throws CacheException {
+        if (exclusive) {
+            level2Cache.delete(key);
+
+            try {
+                level1Cache.put(key, value, duration, timeUnit);
+            } catch (CacheFullException e) {
+                level2Cache.put(key, value, duration, timeUnit);
+            }
+
+            return;
+        }
+
+        level1Cache.put(key, value, duration, timeUnit);
+        level2Cache.put(key, value, duration, timeUnit);
+    }
+
+    /**
+     * Method to get the value for a given key, looking it up once in each level at most. A value read from the level
+     * 2 cache is promoted to the level 1 cache if the promotion policy decides so. In exclusive mode a promoted key is
+     * moved out of the level 2 cache.
+     * <p>
+     * Null values are not supported, since a key which maps to a null value in the level 1 cache is looked up in the
+     * level 2 cache as if it were absent.
      *
      * @param key the key to retrieve
      * @return the value for the given key
@@ -49,29 +148,169 @@ public class TwoLevelCache<K extends Serializable, V extends Serializable> imple
      */
     @Override
     public V get(K key) throws CacheException {
-        if (level1Cache.containsKey(key)) {
-            return level1Cache.get(key);
+        Optional<V> level1Value = level1Cache.getIfPresent(key);
+
+        if (level1Value.isPresent()) {
+            return level1Value.get();
         }
 
-        if (level2Cache.containsKey(key)) {
-            return level2Cache.get(key);
+        Optional<V> level2Value = level2Cache.getIfPresent(key);
+
+        if (level2Value.isPresent()) {
+            V value = level2Value.get();
+
+            if (promotionPolicy.shouldPromote(key)) {
+                if (exclusive) {
+                    // The key leaves the level 2 cache first, so a level 1 cache which evicts it right away can
+                    // demote it back.
+                    level2Cache.delete(key);
+
+                    try {
+                        level1Cache.put(key, value);
+                    } catch (CacheFullException e) {
+                        level2Cache.put(key, value);
+                    }
+                } else {
+                    level1Cache.put(key, value);
+                }
+            }
+
+            return value;
         }
 
         return null;
     }
 
     /**
-     * Method to delete the key.
+     * Method to get the value for a given key, loading it if it is missing. Threads which miss the same key at the
+     * same time share a single load.
+     *
+     * @param key    the key to retrieve
+     * @param loader the loader of the value
+     * @return the value for the given key or null if the loader has no value for it
+     * @throws CacheException if an error occurs when trying to run a caching related task or to load the value
+     */
+    @Override
+    public V get(K key, CacheLoader<? super K, ? extends V> loader) throws CacheException {
+        return singleFlightLoader.get(this, key, loader);
+    }
+
+    /**
+     * Method to put many keys and values to both levels, as one batch per level. In exclusive mode the entries are
+     * only put to the level 1 cache and the older values of the keys are deleted from the level 2 cache.
+     *
+     * @param entries the keys and the values
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public void putAll(Map<? extends K, ? extends V> entries) throws CacheException {
+        if (exclusive) {
+            level2Cache.deleteAll(entries.keySet());
+            putAllToLevel1Cache(entries);
+            return;
+        }
+
+        level1Cache.putAll(entries);
+        level2Cache.putAll(entries);
+    }
+
+    /**
+     * Method to get the values for many keys. The keys are read from the level 1 cache as one batch, and only the
+     * keys it misses are read from the level 2 cache as a second batch. The values read from the level 2 cache which
+     * the promotion policy accepts are put to the level 1 cache as a third batch, and in exclusive mode they are
+     * deleted from the level 2 cache before.
+     *
+     * @param keys the keys to retrieve
+     * @return the values of the keys which are in the cache, in the order of the given keys
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public Map<K, V> getAll(Collection<? extends K> keys) throws CacheException {
+        Map<K, V> level1Values = level1Cache.getAll(keys);
+
+        if (level1Values.size() == keys.size()) {
+            return level1Values;
+        }
+
+        List<K> missedKeys = new ArrayList<>();
+
+        for (K key : keys) {
+            if (!level1Values.containsKey(key)) {
+                missedKeys.add(key);
+            }
+        }
+
+        Map<K, V> level2Values = level2Cache.getAll(missedKeys);
+        Map<K, V> promotedValues = new LinkedHashMap<>();
+
+        for (Map.Entry<K, V> entry : level2Values.entrySet()) {
+            if (promotionPolicy.shouldPromote(entry.getKey())) {
+                promotedValues.put(entry.getKey(), entry.getValue());
+            }
+        }
+
+        if (!promotedValues.isEmpty()) {
+            if (exclusive) {
+                level2Cache.deleteAll(promotedValues.keySet());
+                putAllToLevel1Cache(promotedValues);
+            } else {
+                level1Cache.putAll(promotedValues);
+            }
+        }
+
+        Map<K, V> values = new LinkedHashMap<>();
+
+        for (K key : keys) {
+            V value = level1Values.containsKey(key) ? level1Values.get(key) : level2Values.get(key);
+
+            if (value != null) {
+                values.put(key, value);
+            }
+        }
+
+        return values;
+    }
+
+    /**
+     * Method to delete the key from both levels. The key is deleted from the level 1 cache without demoting it, so
+     * an exclusive cache does not write it to the level 2 cache.
      *
      * @param key the key to be deleted
      * @throws CacheException if an error occurs when trying to run a caching related task
      */
     @Override
     public void delete(K key) throws CacheException {
-        level1Cache.delete(key);
+        boolean demotionSkipped = DemotingCache.skipDemotion(true);
+
+        try {
+            level1Cache.delete(key);
+        } finally {
+            DemotingCache.skipDemotion(demotionSkipped);
+        }
+
         level2Cache.delete(key);
     }
 
+    /**
+     * Method to delete many keys from both levels, as one batch per level. The keys are deleted from the level 1
+     * cache without demoting them.
+     *
+     * @param keys the keys to be deleted
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public void deleteAll(Collection<? extends K> keys) throws CacheException {
+        boolean demotionSkipped = DemotingCache.skipDemotion(true);
+
+        try {
+            level1Cache.deleteAll(keys);
+        } finally {
+            DemotingCache.skipDemotion(demotionSkipped);
+        }
+
+        level2Cache.deleteAll(keys);
+    }
+
     /**
      * Method to delete all the keys and values
      *
@@ -110,6 +349,61 @@ public class TwoLevelCache<K extends Serializable, V extends Serializable> imple
         return level1Cache.getSize() + level2Cache.getSize();
     }
 
+    /**
+     * Method to get the level 1 cache.
+     *
+     * @return the level 1 cache
+     */
+    public Cache<K, V> getLevel1Cache() {
+        return level1Cache;
+    }
+
+    /**
+     * Method to get the level 2 cache.
+     *
+     * @return the level 2 cache
+     */
+    public Cache<K, V> getLevel2Cache() {
+        return level2Cache;
+    }
+
+    /**
+     * Method to put many keys and values to the level 1 cache of an exclusive cache. If the level 1 cache is too full to
+     * take some of the entries, the entries which it does not hold are put to the level 2 cache.
+     *
+     * @param entries the keys and the values
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    private void putAllToLevel1Cache(Map<? extends K, ? extends V> entries) throws CacheException {
+        try {
+            level1Cache.putAll(entries);
+        } catch (CacheFullException e) {
+            Map<K, V> level2Entries = new LinkedHashMap<>();
+
+            for (Map.Entry<? extends K, ? extends V> entry : entries.entrySet()) {
+                if (!level1Cache.containsKey(entry.getKey())) {
+                    level2Entries.put(entry.getKey(), entry.getValue());
+                }
+            }
+
+            level2Cache.putAll(level2Entries);
+        }
+    }
+
+    /**
+     * Method to close both levels, so that the queued writes of a write behind level 2 cache are flushed.
+     *
+     * @throws IOException if an error occurs when trying to close a level
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            level1Cache.close();
+        } finally {
+            level2Cache.close();
+        }
+    }
+
     /**
      * Method to store meta data.
      *
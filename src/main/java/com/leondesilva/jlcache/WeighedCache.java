@@ -0,0 +1,256 @@
+package com.leondesilva.jlcache;
+
+import com.leondesilva.jlcache.exceptions.CacheException;
+import com.leondesilva.jlcache.pojo.MetaData;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class to represent a cache which keeps the weight of each of its entries and their total weight.
+ * <p>
+ * The weight of an entry is taken right after it is put to the wrapped cache, so a weigher can ask the wrapped cache
+ * for the size of the stored entry, such as the number of bytes a {@link FileSystemCache} wrote for it. Eviction
+ * strategies delete entries through this cache, so the total weight always matches the entries which are left.
+ *
+ * @param <K> the type of the key
+ * @param <V> the type of the value
+ */
+public class WeighedCache<K extends Serializable, V extends Serializable> implements Cache<K, V> {
+    private final Cache<K, V> cache;
+    private final Weigher<K, V> weigher;
+    private final Map<K, Integer> weights = new HashMap<>();
+    private long totalWeight;
+
+    /**
+     * Constructor to instantiate the weighed cache.
+     *
+     * @param cache   the cache to be wrapped
+     * @param weigher the weigher of the entries
+     */
+    public WeighedCache(Cache<K, V> cache, Weigher<K, V> weigher) {
+        this.cache = cache;
+        this.weigher = weigher;
+    }
+
+    /**
+     * Method to put the key and value to the cache.
+     *
+     * @param key   the key
+     * @param value the value
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public void put(K key, V value) throws CacheException {
+        cache.put(key, value);
+        updateWeight(key, weigher.weigh(key, value));
+    }
+
+    /**
+     * Method to put the key and value to the cache with a lifetime of its own. The weight of the entry is kept until
+     * the eviction strategy deletes the key.
+     *
+     * @param key      the key
+     * @param value    the value
+     * @param duration the duration after which the entry expires
+     * @param timeUnit the time unit of the duration
+     * @throws CacheException if per entry expiration is not supported by the wrapped cache or if an error occurs when
+     *                        trying to run a caching related task
+     */
+    @Override
+    public void put(K key, V value, long duration, TimeUnit timeUnit) throws CacheException {
+        cache.put(key, value, duration, timeUnit);
+        updateWeight(key, weigher.weigh(key, value));
+    }
+
+    /**
+     * Method to put many keys and values to the cache as one batch, and then take their weights.
+     *
+     * @param entries the keys and the values
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public void putAll(Map<? extends K, ? extends V> entries) throws CacheException {
+        cache.putAll(entries);
+
+        for (Map.Entry<? extends K, ? extends V> entry : entries.entrySet()) {
+            updateWeight(entry.getKey(), weigher.weigh(entry.getKey(), entry.getValue()));
+        }
+    }
+
+    /**
+     * Method to get the values for many keys.
+     *
+     * @param keys the keys to retrieve
+     * @return the values of the keys which are in the cache, in the order of the given keys
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public Map<K, V> getAll(Collection<? extends K> keys) throws CacheException {
+        return cache.getAll(keys);
+    }
+
+    /**
+     * Method to get the value for a given key.
+     *
+     * @param key the key to retrieve
+     * @return the value for the given key
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public V get(K key) throws CacheException {
+        return cache.get(key);
+    }
+
+    /**
+     * Method to delete the key.
+     *
+     * @param key the key to be deleted
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public void delete(K key) throws CacheException {
+        cache.delete(key);
+        removeWeight(key);
+    }
+
+    /**
+     * Method to delete many keys from the cache as one batch.
+     *
+     * @param keys the keys to be deleted
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public void deleteAll(Collection<? extends K> keys) throws CacheException {
+        cache.deleteAll(keys);
+
+        for (K key : keys) {
+            removeWeight(key);
+        }
+    }
+
+    /**
+     * Method to delete all the keys and values
+     *
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public void deleteAll() throws CacheException {
+        cache.deleteAll();
+        weights.clear();
+        totalWeight = 0;
+    }
+
+    /**
+     * Method to check whether the key does contain in the cache.
+     *
+     * @param key the key
+     * @return true if contains and false if not
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public boolean containsKey(K key) throws CacheException {
+        return cache.containsKey(key);
+    }
+
+    /**
+     * Method to get the cache size.
+     *
+     * @return the cache size
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public int getSize() throws CacheException {
+        return cache.getSize();
+    }
+
+    /**
+     * Method to check whether the wrapped cache keeps its entries in memory.
+     *
+     * @return true if the wrapped cache never waits for I/O and false if not
+     */
+    @Override
+    public boolean isInMemory() {
+        return cache.isInMemory();
+    }
+
+    /**
+     * Method to close the wrapped cache.
+     *
+     * @throws IOException if an error occurs when trying to close the wrapped cache
+     */
+    @Override
+    public void close() throws IOException {
+        cache.close();
+    }
+
+    /**
+     * Method to store meta data in the wrapped cache.
+     *
+     * @param metaData the meta data
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public void storeMetaData(MetaData metaData) throws CacheException {
+        cache.storeMetaData(metaData);
+    }
+
+    /**
+     * Method to get the meta data from the wrapped cache.
+     *
+     * @return the meta data
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public MetaData getMetaData() throws CacheException {
+        return cache.getMetaData();
+    }
+
+    /**
+     * Method to get the total weight of the entries.
+     *
+     * @return the total weight
+     */
+    public long getTotalWeight() {
+        return totalWeight;
+    }
+
+    /**
+     * Method to get the weight of an entry.
+     *
+     * @param key the key
+     * @return the weight or 0 if the key does not exist
+     */
+    public int getWeight(K key) {
+        Integer weight = weights.get(key);
+        return weight == null ? 0 : weight;
+    }
+
+    /**
+     * Method to remove the weight of an entry.
+     *
+     * @param key the key
+     */
+    private void removeWeight(K key) {
+        Integer weight = weights.remove(key);
+
+        if (weight != null) {
+            totalWeight -= weight;
+        }
+    }
+
+    /**
+     * Method to replace the weight of an entry.
+     *
+     * @param key    the key
+     * @param weight the new weight
+     */
+    private void updateWeight(K key, int weight) {
+        Integer oldWeight = weights.put(key, weight);
+        totalWeight += weight - (oldWeight == null ? 0 : oldWeight);
+    }
+}
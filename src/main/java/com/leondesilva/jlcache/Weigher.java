@@ -0,0 +1,22 @@
+package com.leondesilva.jlcache;
+
+import java.io.Serializable;
+
+/**
+ * Interface to represent a function which gives the weight of an entry, such as its size in bytes.
+ * A cache with a maximum weight evicts entries until the total weight of its entries fits.
+ *
+ * @param <K> the type of the key
+ * @param <V> the type of the value
+ */
+@FunctionalInterface
+public interface Weigher<K extends Serializable, V extends Serializable> {
+    /**
+     * Method to get the weight of an entry. The weight must not be negative.
+     *
+     * @param key   the key
+     * @param value the value
+     * @return the weight
+     */
+    int weigh(K key, V value);
+}
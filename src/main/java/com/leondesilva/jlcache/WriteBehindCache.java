@@ -0,0 +1,511 @@
+package com.leondesilva.jlcache;
+
+import com.leondesilva.jlcache.exceptions.CacheException;
+import com.leondesilva.jlcache.pojo.MetaData;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Class to represent a cache which queues its writes and flushes them to the wrapped cache in batches on a background
+ * thread, such as the level 2 cache of a {@link TwoLevelCache}.
+ * <p>
+ * A put or a delete only records the write in memory, so its latency does not depend on the speed of the disk. Writes
+ * to a key which is still queued replace the queued write, so a key which is updated many times before a flush is
+ * written once. The background thread takes up to the max batch size of the queued writes at a time and writes them
+ * with one {@link Cache#putAll(Map)} and one {@link Cache#deleteAll(Collection)}, while new writes are queued for the
+ * next batch. Once the max number of queued keys is reached, a write of a new key waits until a batch is taken.
+ * <p>
+ * Reads see the queued writes before the wrapped cache. An error of a background flush is thrown by the next write or
+ * {@link #flush()}; the writes of the failed batch are lost. A put with a duration is flushed with the same duration,
+ * so the entry also lives for the time it waited in the queue.
+ *
+ * @param <K> the type of the key
+ * @param <V> the type of the value
+ */
+public class WriteBehindCache<K extends Serializable, V extends Serializable> implements Cache<K, V> {
+    public static final int DEFAULT_MAX_PENDING_WRITES = 10000;
+    public static final int DEFAULT_MAX_BATCH_SIZE = 1000;
+
+    private final Cache<K, V> cache;
+    private final int maxPendingWrites;
+    private final int maxBatchSize;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private final Condition batchWritten = lock.newCondition();
+    private final Map<K, PendingWrite<V>> pendingWrites = new LinkedHashMap<>();
+    private final Map<K, PendingWrite<V>> flushingWrites = new HashMap<>();
+    private final ExecutorService flushExecutor;
+    private boolean flushScheduled;
+    private CacheException flushException;
+
+    /**
+     * Constructor to instantiate the write behind cache with the default bounds.
+     *
+     * @param cache the cache to be wrapped
+     */
+    public WriteBehindCache(Cache<K, V> cache) {
+        this(cache, DEFAULT_MAX_PENDING_WRITES, DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    /**
+     * Constructor to instantiate the write behind cache.
+     *
+     * @param cache            the cache to be wrapped
+     * @param maxPendingWrites the max number of queued keys after which a write of a new key waits
+     * @param maxBatchSize     the max number of writes flushed to the wrapped cache at a time
+     */
+    public WriteBehindCache(Cache<K, V> cache, int maxPendingWrites, int maxBatchSize) {
+        this.cache = cache;
+        this.maxPendingWrites = Math.max(1, maxPendingWrites);
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.flushExecutor = new ThreadPoolExecutor(0, 1, 10, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "jlcache-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Method to queue a put of the key and value.
+     *
+     * @param key   the key
+     * @param value the value
+     * @throws CacheException if a background flush failed or if the thread is interrupted while the queue is full
+     */
+    @Override
+    public void put(K key, V value) throws CacheException {
+        queue(key, new PendingWrite<>(value, 0));
+    }
+
+    /**
+     * Method to queue a put of the key and value with a lifetime of its own.
+     *
+     * @param key      the key
+     * @param value    the value
+     * @param duration the duration after which the entry expires
+     * @param timeUnit the time unit of the duration
+     * @throws CacheException if a background flush failed or if the thread is interrupted while the queue is full
+     */
+    @Override
+    public void put(K key, V value, long duration, TimeUnit timeUnit) throws CacheException {
+        queue(key, new PendingWrite<>(value, Math.max(1, timeUnit.toNanos(duration))));
+    }
+
+    /**
+     * Method to queue the puts of many keys and values.
+     *
+     * @param entries the keys and the values
+     * @throws CacheException if a background flush failed or if the thread is interrupted while the queue is full
+     */
+    @Override
+    public void putAll(Map<? extends K, ? extends V> entries) throws CacheException {
+        for (Map.Entry<? extends K, ? extends V> entry : entries.entrySet()) {
+            queue(entry.getKey(), new PendingWrite<>(entry.getValue(), 0));
+        }
+    }
+
+    /**
+     * Method to get the value for a given key, from the queued writes or else from the wrapped cache.
+     *
+     * @param key the key to retrieve
+     * @return the value for the given key
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public V get(K key) throws CacheException {
+        PendingWrite<V> pendingWrite = getPendingWrite(key);
+        return pendingWrite == null ? cache.get(key) : pendingWrite.value;
+    }
+
+    /**
+     * Method to get the values for many keys. The keys which have no queued write are read from the wrapped cache as
+     * one batch.
+     *
+     * @param keys the keys to retrieve
+     * @return the values of the keys which are in the cache, in the order of the given keys
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public Map<K, V> getAll(Collection<? extends K> keys) throws CacheException {
+        Map<K, PendingWrite<V>> queuedWrites = new HashMap<>();
+        List<K> missedKeys = new ArrayList<>();
+        lock.lock();
+
+        try {
+            for (K key : keys) {
+                PendingWrite<V> pendingWrite = getPendingWriteLocked(key);
+
+                if (pendingWrite == null) {
+                    missedKeys.add(key);
+                } else {
+                    queuedWrites.put(key, pendingWrite);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        Map<K, V> cachedValues = missedKeys.isEmpty() ? new HashMap<>() : cache.getAll(missedKeys);
+        Map<K, V> values = new LinkedHashMap<>();
+
+        for (K key : keys) {
+            PendingWrite<V> pendingWrite = queuedWrites.get(key);
+            V value = pendingWrite == null ? cachedValues.get(key) : pendingWrite.value;
+
+            if (value != null) {
+                values.put(key, value);
+            }
+        }
+
+        return values;
+    }
+
+    /**
+     * Method to queue a delete of the key.
+     *
+     * @param key the key to be deleted
+     * @throws CacheException if a background flush failed or if the thread is interrupted while the queue is full
+     */
+    @Override
+    public void delete(K key) throws CacheException {
+        queue(key, new PendingWrite<>(null, 0));
+    }
+
+    /**
+     * Method to queue the deletes of many keys.
+     *
+     * @param keys the keys to be deleted
+     * @throws CacheException if a background flush failed or if the thread is interrupted while the queue is full
+     */
+    @Override
+    public void deleteAll(Collection<? extends K> keys) throws CacheException {
+        for (K key : keys) {
+            queue(key, new PendingWrite<>(null, 0));
+        }
+    }
+
+    /**
+     * Method to drop the queued writes and delete all the keys and values of the wrapped cache, once the batch which
+     * is being flushed is written.
+     *
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public void deleteAll() throws CacheException {
+        lock.lock();
+
+        try {
+            pendingWrites.clear();
+            notFull.signalAll();
+            awaitFlush();
+            cache.deleteAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method to check whether the key does contain in the cache.
+     *
+     * @param key the key
+     * @return true if contains and false if not
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public boolean containsKey(K key) throws CacheException {
+        PendingWrite<V> pendingWrite = getPendingWrite(key);
+        return pendingWrite == null ? cache.containsKey(key) : pendingWrite.value != null;
+    }
+
+    /**
+     * Method to get the cache size. The queued writes are flushed first, so the size is exact.
+     *
+     * @return the cache size
+     * @throws CacheException if a background flush failed or if an error occurs when trying to run a caching related
+     *                        task
+     */
+    @Override
+    public int getSize() throws CacheException {
+        flush();
+        return cache.getSize();
+    }
+
+    /**
+     * Method to check whether the wrapped cache keeps its entries in memory.
+     *
+     * @return true if the wrapped cache keeps its entries in memory and false if not
+     */
+    @Override
+    public boolean isInMemory() {
+        return cache.isInMemory();
+    }
+
+    /**
+     * Method to store meta data.
+     *
+     * @param metaData the meta data
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public void storeMetaData(MetaData metaData) throws CacheException {
+        cache.storeMetaData(metaData);
+    }
+
+    /**
+     * Method to get the meta data.
+     *
+     * @return the meta data
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    @Override
+    public MetaData getMetaData() throws CacheException {
+        return cache.getMetaData();
+    }
+
+    /**
+     * Method to wait until all the queued writes are written to the wrapped cache.
+     *
+     * @throws CacheException if a background flush failed or if the thread is interrupted while waiting
+     */
+    public void flush() throws CacheException {
+        lock.lock();
+
+        try {
+            awaitFlush();
+            throwFlushException();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method to flush the queued writes, stop the background thread and close the wrapped cache. Writes after this
+     * throw an exception.
+     *
+     * @throws IOException if a background flush failed or if an error occurs when trying to close the wrapped cache
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } catch (CacheException e) {
+            throw new IOException("Error occurred when flushing the queued writes.", e);
+        } finally {
+            flushExecutor.shutdown();
+            cache.close();
+        }
+    }
+
+    /**
+     * Method to queue a write of a key, replacing a queued write of the same key. A write of a new key waits while the
+     * queue is full.
+     *
+     * @param key          the key
+     * @param pendingWrite the write
+     * @throws CacheException if a background flush failed or if the thread is interrupted while the queue is full
+     */
+    private void queue(K key, PendingWrite<V> pendingWrite) throws CacheException {
+        lock.lock();
+
+        try {
+            throwFlushException();
+
+            while (pendingWrites.size() >= maxPendingWrites && !pendingWrites.containsKey(key)) {
+                notFull.await();
+            }
+
+            pendingWrites.put(key, pendingWrite);
+
+            if (!flushScheduled) {
+                flushScheduled = true;
+                flushExecutor.execute(this::flushPendingWrites);
+            }
+        } catch (RejectedExecutionException e) {
+            flushScheduled = false;
+            pendingWrites.remove(key);
+            throw new CacheException("Write behind cache is closed.", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CacheException("Interrupted while waiting for room in the write behind queue.", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method to flush the queued writes in batches until the queue is empty. This runs on the background thread.
+     */
+    private void flushPendingWrites() {
+        while (true) {
+            Map<K, PendingWrite<V>> batch = new LinkedHashMap<>();
+            lock.lock();
+
+            try {
+                if (pendingWrites.isEmpty()) {
+                    flushScheduled = false;
+                    batchWritten.signalAll();
+                    return;
+                }
+
+                Iterator<Map.Entry<K, PendingWrite<V>>> iterator = pendingWrites.entrySet().iterator();
+
+                while (iterator.hasNext() && batch.size() < maxBatchSize) {
+                    Map.Entry<K, PendingWrite<V>> entry = iterator.next();
+                    batch.put(entry.getKey(), entry.getValue());
+                    iterator.remove();
+                }
+
+                flushingWrites.putAll(batch);
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+
+            CacheException exception = writeBatch(batch);
+            lock.lock();
+
+            try {
+                if (exception != null && flushException == null) {
+                    flushException = exception;
+                }
+
+                flushingWrites.clear();
+                batchWritten.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Method to write a batch of writes to the wrapped cache.
+     *
+     * @param batch the writes by key
+     * @return the error which occurred or null if the batch was written
+     */
+    private CacheException writeBatch(Map<K, PendingWrite<V>> batch) {
+        Map<K, V> puts = new LinkedHashMap<>();
+        List<K> deletes = new ArrayList<>();
+
+        try {
+            for (Map.Entry<K, PendingWrite<V>> entry : batch.entrySet()) {
+                PendingWrite<V> pendingWrite = entry.getValue();
+
+                if (pendingWrite.value == null) {
+                    deletes.add(entry.getKey());
+                } else if (pendingWrite.durationNanos > 0) {
+                    cache.put(entry.getKey(), pendingWrite.value, pendingWrite.durationNanos, TimeUnit.NANOSECONDS);
+                } else {
+                    puts.put(entry.getKey(), pendingWrite.value);
+                }
+            }
+
+            if (!deletes.isEmpty()) {
+                cache.deleteAll(deletes);
+            }
+
+            if (!puts.isEmpty()) {
+                cache.putAll(puts);
+            }
+
+            return null;
+        } catch (CacheException e) {
+            return e;
+        } catch (RuntimeException e) {
+            return new CacheException("Error occurred when flushing the queued writes.", e);
+        }
+    }
+
+    /**
+     * Method to get the queued write of a key.
+     *
+     * @param key the key
+     * @return the queued write or null if the key has no queued write
+     */
+    private PendingWrite<V> getPendingWrite(K key) {
+        lock.lock();
+
+        try {
+            return getPendingWriteLocked(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method to get the queued write of a key while holding the lock. A write which is being flushed still counts, as
+     * it may not be in the wrapped cache yet.
+     *
+     * @param key the key
+     * @return the queued write or null if the key has no queued write
+     */
+    private PendingWrite<V> getPendingWriteLocked(K key) {
+        PendingWrite<V> pendingWrite = pendingWrites.get(key);
+        return pendingWrite == null ? flushingWrites.get(key) : pendingWrite;
+    }
+
+    /**
+     * Method to wait while holding the lock until the queue is empty and no batch is being flushed.
+     *
+     * @throws CacheException if the thread is interrupted while waiting
+     */
+    private void awaitFlush() throws CacheException {
+        try {
+            while (!pendingWrites.isEmpty() || !flushingWrites.isEmpty()) {
+                batchWritten.await();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CacheException("Interrupted while waiting for the queued writes to be flushed.", e);
+        }
+    }
+
+    /**
+     * Method to throw the error of a failed background flush once.
+     *
+     * @throws CacheException the error of the failed flush
+     */
+    private void throwFlushException() throws CacheException {
+        if (flushException != null) {
+            CacheException exception = flushException;
+            flushException = null;
+            throw new CacheException("Error occurred when flushing the queued writes.", exception);
+        }
+    }
+
+    /**
+     * Inner class to represent a queued put or delete.
+     *
+     * @param <V> the type of the value
+     */
+    private static class PendingWrite<V> {
+        private final V value;
+        private final long durationNanos;
+
+        /**
+         * Constructor to instantiate the pending write.
+         *
+         * @param value         the value to put or null to delete the key
+         * @param durationNanos the lifetime of the entry in nanoseconds or 0 if it has none
+         */
+        PendingWrite(V value, long durationNanos) {
+            this.value = value;
+            this.durationNanos = durationNanos;
+        }
+    }
+}
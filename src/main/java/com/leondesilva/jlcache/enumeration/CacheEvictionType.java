@@ -5,5 +5,8 @@ package com.leondesilva.jlcache.enumeration;
  */
 public enum CacheEvictionType {
     LRU,
-    LFU
+    LFU,
+    TINY_LFU,
+    ARC,
+    SIEVE
 }
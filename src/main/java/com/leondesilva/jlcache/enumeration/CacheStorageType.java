@@ -0,0 +1,9 @@
+package com.leondesilva.jlcache.enumeration;
+
+/**
+ * Enumeration to represent the storage of a disk based cache.
+ */
+public enum CacheStorageType {
+    FILE_SYSTEM,
+    MEMORY_MAPPED
+}
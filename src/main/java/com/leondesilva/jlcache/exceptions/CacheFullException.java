@@ -0,0 +1,19 @@
+package com.leondesilva.jlcache.exceptions;
+
+/**
+ * Class to represent the exception thrown when a cache has no room for an entry, such as an off heap cache which has
+ * not enough free direct memory for it.
+ */
+public class CacheFullException extends CacheException {
+    /**
+     * Constructs a new exception with the specified detail message.  The
+     * cause is not initialized, and may subsequently be initialized by
+     * a call to {@link #initCause}.
+     *
+     * @param message the detail message. The detail message is saved for
+     *                later retrieval by the {@link #getMessage()} method.
+     */
+    public CacheFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,90 @@
+package com.leondesilva.jlcache.pojo;
+
+import com.leondesilva.jlcache.util.LinkedKeyIndex;
+
+import java.io.Serializable;
+
+/**
+ * Implementation of the meta data to represent ARC (adaptive replacement cache) eviction meta data.
+ * The cached keys are kept in a recency list and a frequency list, and recently evicted keys are remembered
+ * in a ghost list for each of them.
+ *
+ * @param <K> the type of the key
+ */
+public class ARCEvictionMetaData<K extends Serializable> implements MetaData {
+    private LinkedKeyIndex<K> recencyIndex = new LinkedKeyIndex<>();
+    private LinkedKeyIndex<K> frequencyIndex = new LinkedKeyIndex<>();
+    private LinkedKeyIndex<K> recencyGhostIndex = new LinkedKeyIndex<>();
+    private LinkedKeyIndex<K> frequencyGhostIndex = new LinkedKeyIndex<>();
+    private int targetRecencySize;
+
+    /**
+     * Method to get the index of the keys that have been used once recently (T1).
+     *
+     * @return the recency index
+     */
+    public LinkedKeyIndex<K> getRecencyIndex() {
+        return recencyIndex;
+    }
+
+    /**
+     * Method to get the index of the keys that have been used at least twice recently (T2).
+     *
+     * @return the frequency index
+     */
+    public LinkedKeyIndex<K> getFrequencyIndex() {
+        return frequencyIndex;
+    }
+
+    /**
+     * Method to get the index of the keys recently evicted from the recency index (B1).
+     *
+     * @return the recency ghost index
+     */
+    public LinkedKeyIndex<K> getRecencyGhostIndex() {
+        return recencyGhostIndex;
+    }
+
+    /**
+     * Method to get the index of the keys recently evicted from the frequency index (B2).
+     *
+     * @return the frequency ghost index
+     */
+    public LinkedKeyIndex<K> getFrequencyGhostIndex() {
+        return frequencyGhostIndex;
+    }
+
+    /**
+     * Method to get the adaptive target size of the recency index.
+     *
+     * @return the target recency size
+     */
+    public int getTargetRecencySize() {
+        return targetRecencySize;
+    }
+
+    /**
+     * Method to set the adaptive target size of the recency index.
+     *
+     * @param targetRecencySize the target recency size
+     */
+    public void setTargetRecencySize(int targetRecencySize) {
+        this.targetRecencySize = targetRecencySize;
+    }
+
+    /**
+     * Method to take a copy of the meta data which later changes of the meta data do not affect.
+     *
+     * @return the copy of the meta data
+     */
+    @Override
+    public ARCEvictionMetaData<K> snapshot() {
+        ARCEvictionMetaData<K> snapshot = new ARCEvictionMetaData<>();
+        snapshot.recencyIndex = recencyIndex.copy();
+        snapshot.frequencyIndex = frequencyIndex.copy();
+        snapshot.recencyGhostIndex = recencyGhostIndex.copy();
+        snapshot.frequencyGhostIndex = frequencyGhostIndex.copy();
+        snapshot.targetRecencySize = targetRecencySize;
+        return snapshot;
+    }
+}
@@ -0,0 +1,55 @@
+package com.leondesilva.jlcache.pojo;
+
+import com.leondesilva.jlcache.util.FrequencyKeyIndex;
+
+import java.io.Serializable;
+
+/**
+ * Implementation of the meta data to represent LFU eviction meta data.
+ *
+ * @param <K> the type of the key
+ */
+public class LFUEvictionMetaData<K extends Serializable> implements MetaData {
+    private FrequencyKeyIndex<K> frequencyIndex = new FrequencyKeyIndex<>();
+    private int operationCount;
+
+    /**
+     * Method to get the frequency index.
+     *
+     * @return the frequency index
+     */
+    public FrequencyKeyIndex<K> getFrequencyIndex() {
+        return frequencyIndex;
+    }
+
+    /**
+     * Method to get the number of operations since the frequencies were last aged.
+     *
+     * @return the operation count
+     */
+    public int getOperationCount() {
+        return operationCount;
+    }
+
+    /**
+     * Method to set the number of operations since the frequencies were last aged.
+     *
+     * @param operationCount the operation count
+     */
+    public void setOperationCount(int operationCount) {
+        this.operationCount = operationCount;
+    }
+
+    /**
+     * Method to take a copy of the meta data which later changes of the meta data do not affect.
+     *
+     * @return the copy of the meta data
+     */
+    @Override
+    public LFUEvictionMetaData<K> snapshot() {
+        LFUEvictionMetaData<K> snapshot = new LFUEvictionMetaData<>();
+        snapshot.frequencyIndex = frequencyIndex.copy();
+        snapshot.operationCount = operationCount;
+        return snapshot;
+    }
+}
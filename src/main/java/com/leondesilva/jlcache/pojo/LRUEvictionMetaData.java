@@ -1,5 +1,7 @@
 package com.leondesilva.jlcache.pojo;
 
+import com.leondesilva.jlcache.util.LinkedKeyIndex;
+
 import java.io.Serializable;
 import java.util.LinkedList;
 
@@ -9,16 +11,39 @@ import java.util.LinkedList;
  * @param <K> the type of the key
  */
 public class LRUEvictionMetaData<K extends Serializable> implements MetaData {
-    private LinkedList<K> nodeList = new LinkedList<>();
+    private LinkedKeyIndex<K> nodeIndex = new LinkedKeyIndex<>();
+
+    /**
+     * Method to get the node index which keeps the keys from the most recently used to the least recently used.
+     *
+     * @return the node index
+     */
+    public LinkedKeyIndex<K> getNodeIndex() {
+        return nodeIndex;
+    }
+
+    /**
+     * Method to take a copy of the meta data which later changes of the meta data do not affect.
+     *
+     * @return the copy of the meta data
+     */
+    @Override
+    public LRUEvictionMetaData<K> snapshot() {
+        LRUEvictionMetaData<K> snapshot = new LRUEvictionMetaData<>();
+        snapshot.nodeIndex = nodeIndex.copy();
+        return snapshot;
+    }
 
     /**
-     * Method to get the node list.
-     * Method marked as NOSONAR because it is mandatory to keep LinkedList type
-     * in order to use the doubly linked list features which are not exposed in the common List interface.
+     * Method to get a snapshot of the node list from the most recently used to the least recently used key.
+     * Method marked as NOSONAR because the LinkedList type is kept for backward compatibility.
+     * Changes to the returned list are not reflected in the meta data.
      *
      * @return the node list
      */
     public LinkedList<K> getNodeList() { //NOSONAR
+        LinkedList<K> nodeList = new LinkedList<>();
+        nodeIndex.forEach(nodeList::add);
         return nodeList;
     }
 
@@ -40,7 +65,7 @@ public class LRUEvictionMetaData<K extends Serializable> implements MetaData {
 
         LRUEvictionMetaData<?> that = (LRUEvictionMetaData<?>) o;
 
-        return nodeList != null ? nodeList.equals(that.nodeList) : that.nodeList == null;
+        return nodeIndex != null ? nodeIndex.equals(that.nodeIndex) : that.nodeIndex == null;
     }
 
     /**
@@ -50,6 +75,6 @@ public class LRUEvictionMetaData<K extends Serializable> implements MetaData {
      */
     @Override
     public int hashCode() {
-        return nodeList != null ? nodeList.hashCode() : 0;
+        return nodeIndex != null ? nodeIndex.hashCode() : 0;
     }
 }
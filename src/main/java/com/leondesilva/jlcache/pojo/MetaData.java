@@ -1,10 +1,24 @@
 package com.leondesilva.jlcache.pojo;
 
+import com.leondesilva.jlcache.exceptions.SerializationException;
+import com.leondesilva.jlcache.util.SerializationUtils;
+
 import java.io.Serializable;
 
 /**
  * Interface to represent the meta data.
  */
 public interface MetaData extends Serializable {
-    // NOTE: Keeping this interface for future use cases. For now the interface is kept empty.
+
+    /**
+     * Method to take a copy of the meta data which later changes of the meta data do not affect, so that the copy can
+     * be serialized on another thread. The meta data of the eviction strategies copies its keys, which is much cheaper
+     * than serializing them. By default the meta data is copied by serializing and deserializing it.
+     *
+     * @return the copy of the meta data
+     * @throws SerializationException if an error occurs when trying to copy the meta data
+     */
+    default MetaData snapshot() throws SerializationException {
+        return SerializationUtils.deserialize(SerializationUtils.serialize(this));
+    }
 }
@@ -0,0 +1,35 @@
+package com.leondesilva.jlcache.pojo;
+
+import com.leondesilva.jlcache.util.SieveKeyQueue;
+
+import java.io.Serializable;
+
+/**
+ * Implementation of the meta data to represent SIEVE eviction meta data.
+ *
+ * @param <K> the type of the key
+ */
+public class SieveEvictionMetaData<K extends Serializable> implements MetaData {
+    private SieveKeyQueue<K> keyQueue = new SieveKeyQueue<>();
+
+    /**
+     * Method to get the key queue.
+     *
+     * @return the key queue
+     */
+    public SieveKeyQueue<K> getKeyQueue() {
+        return keyQueue;
+    }
+
+    /**
+     * Method to take a copy of the meta data which later changes of the meta data do not affect.
+     *
+     * @return the copy of the meta data
+     */
+    @Override
+    public SieveEvictionMetaData<K> snapshot() {
+        SieveEvictionMetaData<K> snapshot = new SieveEvictionMetaData<>();
+        snapshot.keyQueue = keyQueue.copy();
+        return snapshot;
+    }
+}
@@ -0,0 +1,79 @@
+package com.leondesilva.jlcache.pojo;
+
+import com.leondesilva.jlcache.util.FrequencySketch;
+import com.leondesilva.jlcache.util.LinkedKeyIndex;
+
+import java.io.Serializable;
+
+/**
+ * Implementation of the meta data to represent W-TinyLFU eviction meta data.
+ * The keys are kept in an admission window and a segmented LRU main region made of a probation and a protected segment.
+ *
+ * @param <K> the type of the key
+ */
+public class TinyLFUEvictionMetaData<K extends Serializable> implements MetaData {
+    private LinkedKeyIndex<K> windowIndex = new LinkedKeyIndex<>();
+    private LinkedKeyIndex<K> probationIndex = new LinkedKeyIndex<>();
+    private LinkedKeyIndex<K> protectedIndex = new LinkedKeyIndex<>();
+    private FrequencySketch frequencySketch;
+
+    /**
+     * Constructor to instantiate the W-TinyLFU eviction meta data.
+     *
+     * @param maxEntrySize the max entry size used to size the frequency sketch
+     */
+    public TinyLFUEvictionMetaData(int maxEntrySize) {
+        this.frequencySketch = new FrequencySketch(maxEntrySize);
+    }
+
+    /**
+     * Method to get the admission window index.
+     *
+     * @return the window index
+     */
+    public LinkedKeyIndex<K> getWindowIndex() {
+        return windowIndex;
+    }
+
+    /**
+     * Method to get the probation segment index of the main region.
+     *
+     * @return the probation index
+     */
+    public LinkedKeyIndex<K> getProbationIndex() {
+        return probationIndex;
+    }
+
+    /**
+     * Method to get the protected segment index of the main region.
+     *
+     * @return the protected index
+     */
+    public LinkedKeyIndex<K> getProtectedIndex() {
+        return protectedIndex;
+    }
+
+    /**
+     * Method to get the frequency sketch.
+     *
+     * @return the frequency sketch
+     */
+    public FrequencySketch getFrequencySketch() {
+        return frequencySketch;
+    }
+
+    /**
+     * Method to take a copy of the meta data which later changes of the meta data do not affect.
+     *
+     * @return the copy of the meta data
+     */
+    @Override
+    public TinyLFUEvictionMetaData<K> snapshot() {
+        TinyLFUEvictionMetaData<K> snapshot = new TinyLFUEvictionMetaData<>(1);
+        snapshot.windowIndex = windowIndex.copy();
+        snapshot.probationIndex = probationIndex.copy();
+        snapshot.protectedIndex = protectedIndex.copy();
+        snapshot.frequencySketch = frequencySketch.copy();
+        return snapshot;
+    }
+}
@@ -0,0 +1,28 @@
+package com.leondesilva.jlcache.serialization;
+
+/**
+ * Class to represent the serializer of byte arrays, which writes the bytes as they are.
+ */
+public class ByteArraySerializer implements Serializer<byte[]> {
+    /**
+     * Method to serialize a byte array.
+     *
+     * @param object the byte array to be serialized
+     * @return a copy of the byte array
+     */
+    @Override
+    public byte[] serialize(byte[] object) {
+        return object.clone();
+    }
+
+    /**
+     * Method to deserialize a byte array.
+     *
+     * @param bytes the serialized bytes
+     * @return the byte array
+     */
+    @Override
+    public byte[] deserialize(byte[] bytes) {
+        return bytes;
+    }
+}
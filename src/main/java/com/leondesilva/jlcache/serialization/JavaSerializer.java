@@ -0,0 +1,53 @@
+package com.leondesilva.jlcache.serialization;
+
+import com.leondesilva.jlcache.exceptions.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+/**
+ * Class to represent the serializer which uses java serialization. This works for any serializable object,
+ * but is slower and larger than a dedicated serializer.
+ *
+ * @param <T> the type of the object
+ */
+public class JavaSerializer<T> implements Serializer<T> {
+    /**
+     * Method to serialize an object with an object output stream.
+     *
+     * @param object the object to be serialized
+     * @return the serialized bytes
+     * @throws SerializationException if an error occurs when trying to serialize
+     */
+    @Override
+    public byte[] serialize(T object) throws SerializationException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        } catch (IOException e) {
+            throw new SerializationException("Error occurred when trying to serialize", e);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Method to deserialize an object with an object input stream.
+     *
+     * @param bytes the serialized bytes
+     * @return the deserialized object
+     * @throws SerializationException if an error occurs when trying to deserialize
+     */
+    @Override
+    public T deserialize(byte[] bytes) throws SerializationException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return (T) in.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new SerializationException("Error occurred when trying to deserialize", e);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.leondesilva.jlcache.serialization;
+
+import com.leondesilva.jlcache.exceptions.SerializationException;
+
+import java.nio.ByteBuffer;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Class to represent the serializer of a boxed primitive, which writes the primitive value in a fixed number of
+ * big-endian bytes.
+ *
+ * @param <T> the type of the boxed primitive
+ */
+public final class PrimitiveSerializer<T> implements Serializer<T> {
+    public static final PrimitiveSerializer<Boolean> BOOLEAN = new PrimitiveSerializer<>(1,
+            (buffer, value) -> buffer.put((byte) (value ? 1 : 0)), buffer -> buffer.get() != 0);
+    public static final PrimitiveSerializer<Byte> BYTE = new PrimitiveSerializer<>(Byte.BYTES, ByteBuffer::put, ByteBuffer::get);
+    public static final PrimitiveSerializer<Short> SHORT = new PrimitiveSerializer<>(Short.BYTES, ByteBuffer::putShort, ByteBuffer::getShort);
+    public static final PrimitiveSerializer<Character> CHARACTER = new PrimitiveSerializer<>(Character.BYTES, ByteBuffer::putChar, ByteBuffer::getChar);
+    public static final PrimitiveSerializer<Integer> INTEGER = new PrimitiveSerializer<>(Integer.BYTES, ByteBuffer::putInt, ByteBuffer::getInt);
+    public static final PrimitiveSerializer<Long> LONG = new PrimitiveSerializer<>(Long.BYTES, ByteBuffer::putLong, ByteBuffer::getLong);
+    public static final PrimitiveSerializer<Float> FLOAT = new PrimitiveSerializer<>(Float.BYTES, ByteBuffer::putFloat, ByteBuffer::getFloat);
+    public static final PrimitiveSerializer<Double> DOUBLE = new PrimitiveSerializer<>(Double.BYTES, ByteBuffer::putDouble, ByteBuffer::getDouble);
+
+    private final int size;
+    private final BiConsumer<ByteBuffer, T> writer;
+    private final Function<ByteBuffer, T> reader;
+
+    /**
+     * Constructor to instantiate the primitive serializer.
+     *
+     * @param size   the number of bytes of the primitive
+     * @param writer the function to write the primitive in to a buffer
+     * @param reader the function to read the primitive from a buffer
+     */
+    private PrimitiveSerializer(int size, BiConsumer<ByteBuffer, T> writer, Function<ByteBuffer, T> reader) {
+        this.size = size;
+        this.writer = writer;
+        this.reader = reader;
+    }
+
+    /**
+     * Method to serialize a boxed primitive.
+     *
+     * @param object the boxed primitive to be serialized
+     * @return the serialized bytes
+     */
+    @Override
+    public byte[] serialize(T object) {
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        writer.accept(buffer, object);
+        return buffer.array();
+    }
+
+    /**
+     * Method to deserialize a boxed primitive.
+     *
+     * @param bytes the serialized bytes
+     * @return the boxed primitive
+     * @throws SerializationException if the number of bytes does not match the primitive
+     */
+    @Override
+    public T deserialize(byte[] bytes) throws SerializationException {
+        if (bytes.length != size) {
+            throw new SerializationException("Expected " + size + " bytes but found " + bytes.length + " bytes.", null);
+        }
+
+        return reader.apply(ByteBuffer.wrap(bytes));
+    }
+}
@@ -0,0 +1,28 @@
+package com.leondesilva.jlcache.serialization;
+
+import com.leondesilva.jlcache.exceptions.SerializationException;
+
+/**
+ * Interface to represent a serializer which converts objects of a type to bytes and back.
+ *
+ * @param <T> the type of the object
+ */
+public interface Serializer<T> {
+    /**
+     * Method to serialize an object in to bytes.
+     *
+     * @param object the object to be serialized
+     * @return the serialized bytes
+     * @throws SerializationException if an error occurs when trying to serialize
+     */
+    byte[] serialize(T object) throws SerializationException;
+
+    /**
+     * Method to deserialize an object from bytes.
+     *
+     * @param bytes the serialized bytes
+     * @return the deserialized object
+     * @throws SerializationException if an error occurs when trying to deserialize
+     */
+    T deserialize(byte[] bytes) throws SerializationException;
+}
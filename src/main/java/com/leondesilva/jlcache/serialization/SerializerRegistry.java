@@ -0,0 +1,171 @@
+package com.leondesilva.jlcache.serialization;
+
+import com.leondesilva.jlcache.exceptions.SerializationException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Class to represent a registry of serializers, which serializes any object with the serializer registered for its
+ * class.
+ * <p>
+ * The serialized bytes start with the one byte id of the serializer, followed by the bytes of the serializer.
+ * Strings, byte arrays and boxed primitives have built-in serializers. Other types can be registered with an id from
+ * {@link #MIN_USER_ID} to {@link #MAX_USER_ID}, and types which are not registered fall back to java serialization.
+ * The ids are part of the stored bytes, so a type must keep its id for as long as its bytes are stored.
+ * Serializers are looked up by the exact class of the object, so a subclass needs its own registration.
+ */
+public class SerializerRegistry implements Serializer<Object> {
+    public static final int MIN_USER_ID = 32;
+    public static final int MAX_USER_ID = 127;
+    private static final byte NULL_ID = 0;
+    private static final byte JAVA_ID = 1;
+
+    private final Map<Class<?>, Registration> registrationsByClass = new ConcurrentHashMap<>();
+    private final Registration[] registrationsById = new Registration[MAX_USER_ID + 1];
+    private final JavaSerializer<Object> javaSerializer = new JavaSerializer<>();
+
+    /**
+     * Constructor to instantiate the serializer registry with the built-in serializers.
+     */
+    public SerializerRegistry() {
+        add(2, String.class, new StringSerializer());
+        add(3, byte[].class, new ByteArraySerializer());
+        add(4, Boolean.class, PrimitiveSerializer.BOOLEAN);
+        add(5, Byte.class, PrimitiveSerializer.BYTE);
+        add(6, Short.class, PrimitiveSerializer.SHORT);
+        add(7, Character.class, PrimitiveSerializer.CHARACTER);
+        add(8, Integer.class, PrimitiveSerializer.INTEGER);
+        add(9, Long.class, PrimitiveSerializer.LONG);
+        add(10, Float.class, PrimitiveSerializer.FLOAT);
+        add(11, Double.class, PrimitiveSerializer.DOUBLE);
+    }
+
+    /**
+     * Method to register the serializer of a type. Serializers should be registered before the registry is used.
+     *
+     * @param id         the id of the serializer, from {@link #MIN_USER_ID} to {@link #MAX_USER_ID}
+     * @param type       the class of the type
+     * @param serializer the serializer of the type
+     * @param <T>        the type
+     * @return the serializer registry
+     * @throws IllegalArgumentException if the id is out of range or the id or the type is already registered
+     */
+    public <T> SerializerRegistry register(int id, Class<T> type, Serializer<T> serializer) {
+        if (id < MIN_USER_ID || id > MAX_USER_ID) {
+            throw new IllegalArgumentException("Serializer id must be from " + MIN_USER_ID + " to " + MAX_USER_ID + ".");
+        }
+
+        add(id, type, serializer);
+        return this;
+    }
+
+    /**
+     * Method to serialize an object with the serializer registered for its class.
+     *
+     * @param object the object to be serialized
+     * @return the serialized bytes
+     * @throws SerializationException if an error occurs when trying to serialize
+     */
+    @Override
+    public byte[] serialize(Object object) throws SerializationException {
+        if (object == null) {
+            return new byte[]{NULL_ID};
+        }
+
+        Registration registration = registrationsByClass.get(object.getClass());
+        byte id = registration == null ? JAVA_ID : registration.id;
+        byte[] payload = registration == null ? javaSerializer.serialize(object) : registration.serialize(object);
+
+        byte[] bytes = new byte[payload.length + 1];
+        bytes[0] = id;
+        System.arraycopy(payload, 0, bytes, 1, payload.length);
+        return bytes;
+    }
+
+    /**
+     * Method to deserialize an object with the serializer of the id it was serialized with.
+     *
+     * @param bytes the serialized bytes
+     * @return the deserialized object
+     * @throws SerializationException if an error occurs when trying to deserialize
+     */
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes.length == 0) {
+            throw new SerializationException("Serialized bytes are empty.", null);
+        }
+
+        byte id = bytes[0];
+
+        if (id == NULL_ID) {
+            return null;
+        }
+
+        byte[] payload = new byte[bytes.length - 1];
+        System.arraycopy(bytes, 1, payload, 0, payload.length);
+
+        if (id == JAVA_ID) {
+            return javaSerializer.deserialize(payload);
+        }
+
+        Registration registration = id > 0 ? registrationsById[id] : null;
+
+        if (registration == null) {
+            throw new SerializationException("No serializer is registered with id : " + id, null);
+        }
+
+        return registration.serializer.deserialize(payload);
+    }
+
+    /**
+     * Method to add the serializer of a type.
+     *
+     * @param id         the id of the serializer
+     * @param type       the class of the type
+     * @param serializer the serializer of the type
+     * @param <T>        the type
+     */
+    private synchronized <T> void add(int id, Class<T> type, Serializer<T> serializer) {
+        if (registrationsById[id] != null || registrationsByClass.containsKey(type)) {
+            throw new IllegalArgumentException("A serializer is already registered for id " + id + " or type " + type.getName() + ".");
+        }
+
+        Registration registration = new Registration((byte) id, type, serializer);
+        registrationsById[id] = registration;
+        registrationsByClass.put(type, registration);
+    }
+
+    /**
+     * Inner class to represent the registration of a serializer.
+     */
+    private static class Registration {
+        private final byte id;
+        private final Class<?> type;
+        private final Serializer<Object> serializer;
+
+        /**
+         * Constructor to instantiate the registration.
+         *
+         * @param id         the id of the serializer
+         * @param type       the class of the type
+         * @param serializer the serializer of the type
+         */
+        Registration(byte id, Class<?> type, Serializer<?> serializer) {
+            this.id = id;
+            this.type = type;
+            this.serializer = (Serializer<Object>) serializer;
+        }
+
+        /**
+         * Method to serialize an object of the registered type.
+         *
+         * @param object the object to be serialized
+         * @return the serialized bytes
+         * @throws SerializationException if an error occurs when trying to serialize
+         */
+        byte[] serialize(Object object) throws SerializationException {
+            return serializer.serialize(type.cast(object));
+        }
+    }
+}
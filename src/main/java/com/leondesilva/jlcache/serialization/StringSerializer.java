@@ -0,0 +1,30 @@
+package com.leondesilva.jlcache.serialization;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Class to represent the serializer of strings, which writes the UTF-8 bytes of the string.
+ */
+public class StringSerializer implements Serializer<String> {
+    /**
+     * Method to serialize a string in to its UTF-8 bytes.
+     *
+     * @param object the string to be serialized
+     * @return the serialized bytes
+     */
+    @Override
+    public byte[] serialize(String object) {
+        return object.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Method to deserialize a string from its UTF-8 bytes.
+     *
+     * @param bytes the serialized bytes
+     * @return the deserialized string
+     */
+    @Override
+    public String deserialize(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,83 @@
+package com.leondesilva.jlcache.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Class to represent a segment file which is written and read through a file channel.
+ * The file grows as records are appended, so the capacity is unbounded.
+ */
+class ChannelSegmentFile implements SegmentFile {
+    private final FileChannel channel;
+
+    /**
+     * Constructor to instantiate the channel segment file.
+     *
+     * @param path the path of the segment file
+     * @throws IOException if an error occurs when creating the file
+     */
+    ChannelSegmentFile(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Method to write all the remaining bytes of a buffer at a given position.
+     *
+     * @param buffer   the buffer to write
+     * @param position the position in the segment
+     * @throws IOException if an error occurs when writing
+     */
+    @Override
+    public void write(ByteBuffer buffer, long position) throws IOException {
+        long writePosition = position;
+
+        while (buffer.hasRemaining()) {
+            writePosition += channel.write(buffer, writePosition);
+        }
+    }
+
+    /**
+     * Method to read bytes at a given position until the buffer is full.
+     *
+     * @param buffer   the buffer to read in to
+     * @param position the position in the segment
+     * @throws IOException if an error occurs when reading
+     */
+    @Override
+    public void read(ByteBuffer buffer, long position) throws IOException {
+        long readPosition = position;
+
+        while (buffer.hasRemaining()) {
+            int readCount = channel.read(buffer, readPosition);
+
+            if (readCount < 0) {
+                throw new IOException("Unexpected end of segment file.");
+            }
+
+            readPosition += readCount;
+        }
+    }
+
+    /**
+     * Method to get the number of bytes the segment can hold.
+     *
+     * @return the capacity
+     */
+    @Override
+    public long getCapacity() {
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * Method to close the file channel.
+     *
+     * @throws IOException if an error occurs when closing
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,884 @@
+package com.leondesilva.jlcache.storage;
+
+import com.leondesilva.jlcache.exceptions.CacheException;
+import com.leondesilva.jlcache.exceptions.SerializationException;
+import com.leondesilva.jlcache.serialization.Serializer;
+import com.leondesilva.jlcache.util.SerializationUtils;
+import com.leondesilva.jlcache.util.Ticker;
+import com.leondesilva.jlcache.util.TimingWheel;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class to represent an append-only, segment based key value store.
+ * <p>
+ * Every put appends a single record to the active segment file and every get is a single positioned read,
+ * using an in-memory index from the key to the position of its latest record. When the active segment reaches the
+ * max segment size a new segment is started. Records that are overwritten or deleted become garbage, and sealed
+ * segments that are mostly garbage are compacted in the background by copying their live records to the active
+ * segment and deleting the segment file.
+ * <p>
+ * Each record is laid out as the key length (int), the value length (int), the key bytes and the value bytes. Keys
+ * which are put with a duration are scheduled in a {@link TimingWheel}, which releases their records once they expire.
+ * The index and the expiration times are only kept in memory, so a new store discards any segments left in the folder
+ * and starts empty.
+ * <p>
+ * A batch of puts is appended with one write per segment it spans. A batch of gets reads the records in the order of
+ * their position in the segments, and records which are close to each other are read with a single read.
+ * <p>
+ * The segments are either written and read through file channels or mapped in to memory. Mapped segments are
+ * pre-sized to the max segment size, and a get is an index lookup and a copy out of the page cache.
+ *
+ * @param <K> the type of the key
+ * @param <V> the type of the value
+ */
+public class LogStructuredStore<K extends Serializable, V extends Serializable> implements Closeable {
+    public static final long DEFAULT_MAX_SEGMENT_SIZE = 64L * 1024 * 1024;
+    private static final String SEGMENT_FILE_PREFIX = "segment-";
+    private static final String SEGMENT_FILE_SUFFIX = ".log";
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final double COMPACTION_GARBAGE_RATIO = 0.5;
+    private static final int MAX_READ_GAP = 4096;
+    private static final int MAX_READ_SIZE = 1024 * 1024;
+
+    private final Path folderPath;
+    private final long maxSegmentSize;
+    private final boolean memoryMapped;
+    private final Serializer<Object> serializer;
+    private final Map<K, RecordPointer> index = new HashMap<>();
+    private final Map<K, TimingWheel.Node<K>> expirationNodes = new HashMap<>();
+    private final TimingWheel<K> timingWheel = new TimingWheel<>(0);
+    private final Ticker ticker;
+    private final long startTime;
+    private final List<Segment> segments = new ArrayList<>();
+    private final ExecutorService compactionExecutor;
+    private Segment activeSegment;
+    private int nextSegmentId;
+
+    /**
+     * Constructor to instantiate the log structured store.
+     *
+     * @param folderPath     the folder path to write the segment files
+     * @param maxSegmentSize the size in bytes after which a new segment is started
+     * @throws CacheException if an error occurs when trying to initialize the store
+     */
+    public LogStructuredStore(String folderPath, long maxSegmentSize) throws CacheException {
+        this(folderPath, maxSegmentSize, false);
+    }
+
+    /**
+     * Constructor to instantiate the log structured store with memory mapped or file channel segments.
+     *
+     * @param folderPath     the folder path to write the segment files
+     * @param maxSegmentSize the size in bytes after which a new segment is started
+     * @param memoryMapped   true to map the segment files in to memory and false to use file channels
+     * @throws CacheException if an error occurs when trying to initialize the store
+     */
+    public LogStructuredStore(String folderPath, long maxSegmentSize, boolean memoryMapped) throws CacheException {
+        this(folderPath, maxSegmentSize, memoryMapped, SerializationUtils.getDefaultSerializer());
+    }
+
+    /**
+     * Constructor to instantiate the log structured store with a given serializer.
+     *
+     * @param folderPath     the folder path to write the segment files
+     * @param maxSegmentSize the size in bytes after which a new segment is started
+     * @param memoryMapped   true to map the segment files in to memory and false to use file channels
+     * @param serializer     the serializer of the keys and the values
+     * @throws CacheException if an error occurs when trying to initialize the store
+     */
+    public LogStructuredStore(String folderPath, long maxSegmentSize, boolean memoryMapped, Serializer<Object> serializer) throws CacheException {
+        this(folderPath, maxSegmentSize, memoryMapped, serializer, Ticker.systemTicker());
+    }
+
+    /**
+     * Constructor to instantiate the log structured store with a given serializer and ticker.
+     *
+     * @param folderPath     the folder path to write the segment files
+     * @param maxSegmentSize the size in bytes after which a new segment is started
+     * @param memoryMapped   true to map the segment files in to memory and false to use file channels
+     * @param serializer     the serializer of the keys and the values
+     * @param ticker         the ticker to read the time from for per key expiration
+     * @throws CacheException if an error occurs when trying to initialize the store
+     */
+    public LogStructuredStore(String folderPath, long maxSegmentSize, boolean memoryMapped, Serializer<Object> serializer,
+                              Ticker ticker) throws CacheException {
+        if (memoryMapped && maxSegmentSize > Integer.MAX_VALUE) {
+            throw new CacheException("Max segment size of a memory mapped store cannot exceed " + Integer.MAX_VALUE + " bytes.");
+        }
+
+        this.folderPath = Paths.get(folderPath);
+        this.maxSegmentSize = maxSegmentSize;
+        this.memoryMapped = memoryMapped;
+        this.serializer = serializer;
+        this.ticker = ticker;
+        this.startTime = ticker.read();
+        this.compactionExecutor = new ThreadPoolExecutor(0, 1, 10, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "jlcache-segment-compaction");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            Files.createDirectories(this.folderPath);
+            File[] oldSegmentFiles = this.folderPath.toFile().listFiles((dir, name) -> isSegmentFileName(name));
+
+            if (oldSegmentFiles != null) {
+                for (File oldSegmentFile : oldSegmentFiles) {
+                    Files.delete(oldSegmentFile.toPath());
+                }
+            }
+        } catch (IOException e) {
+            throw new CacheException("Error occurred when trying to initialize segment folder : " + folderPath, e);
+        }
+
+        startNewSegment(maxSegmentSize);
+    }
+
+    /**
+     * Method to put the key and value by appending a record to the active segment.
+     *
+     * @param key   the key
+     * @param value the value
+     * @throws CacheException if an error occurs when trying to serialize or write the record
+     */
+    public synchronized void put(K key, V value) throws CacheException {
+        RecordPointer pointer = append(serialize(key), serialize(value));
+        release(index.put(key, pointer));
+        removeExpiration(key);
+    }
+
+    /**
+     * Method to put the key and value with a duration after which the key expires.
+     *
+     * @param key      the key
+     * @param value    the value
+     * @param duration the duration after which the key expires
+     * @param timeUnit the time unit of the duration
+     * @throws CacheException if an error occurs when trying to serialize or write the record
+     */
+    public synchronized void put(K key, V value, long duration, TimeUnit timeUnit) throws CacheException {
+        long now = currentTime();
+        long expirationTime = now + Math.min(timeUnit.toNanos(duration), Long.MAX_VALUE - now);
+        // The wheel is advanced first, because it places new nodes relative to its current time.
+        expire(now);
+        RecordPointer pointer = append(serialize(key), serialize(value));
+        release(index.put(key, pointer));
+
+        TimingWheel.Node<K> node = expirationNodes.get(key);
+
+        if (node == null) {
+            node = new TimingWheel.Node<>(key, expirationTime);
+            expirationNodes.put(key, node);
+            timingWheel.schedule(node);
+        } else {
+            node.setExpirationTime(expirationTime);
+            timingWheel.reschedule(node);
+        }
+    }
+
+    /**
+     * Method to put many keys and values by appending their records to the active segment with as few writes as
+     * possible.
+     *
+     * @param entries the keys and the values
+     * @throws CacheException if an error occurs when trying to serialize or write the records
+     */
+    public synchronized void putAll(Map<? extends K, ? extends V> entries) throws CacheException {
+        List<K> keys = new ArrayList<>(entries.size());
+        List<byte[]> keyBytesList = new ArrayList<>(entries.size());
+        List<byte[]> valueBytesList = new ArrayList<>(entries.size());
+
+        for (Map.Entry<? extends K, ? extends V> entry : entries.entrySet()) {
+            keys.add(entry.getKey());
+            keyBytesList.add(serialize(entry.getKey()));
+            valueBytesList.add(serialize(entry.getValue()));
+        }
+
+        List<RecordPointer> pointers = appendAll(keyBytesList, valueBytesList);
+
+        for (int i = 0; i < keys.size(); i++) {
+            release(index.put(keys.get(i), pointers.get(i)));
+            removeExpiration(keys.get(i));
+        }
+    }
+
+    /**
+     * Method to get the values of many keys. The records are read in the order of their position in the segments,
+     * and records which are close to each other are read with a single positioned read.
+     *
+     * @param keys the keys
+     * @return the values of the keys which exist and have not expired, in the order of the given keys
+     * @throws CacheException if an error occurs when trying to read or deserialize the records
+     */
+    public synchronized Map<K, V> getAll(Collection<? extends K> keys) throws CacheException {
+        expire(currentTime());
+
+        Map<Segment, List<K>> keysBySegment = new IdentityHashMap<>();
+
+        for (K key : keys) {
+            RecordPointer pointer = index.get(key);
+
+            if (pointer != null) {
+                keysBySegment.computeIfAbsent(pointer.segment, segment -> new ArrayList<>()).add(key);
+            }
+        }
+
+        Map<K, V> values = new HashMap<>();
+
+        for (Map.Entry<Segment, List<K>> segmentKeys : keysBySegment.entrySet()) {
+            List<K> sortedKeys = segmentKeys.getValue();
+            sortedKeys.sort(Comparator.comparingLong(key -> index.get(key).offset));
+            readValues(segmentKeys.getKey(), sortedKeys, values);
+        }
+
+        Map<K, V> orderedValues = new LinkedHashMap<>();
+
+        for (K key : keys) {
+            if (values.containsKey(key)) {
+                orderedValues.put(key, values.get(key));
+            }
+        }
+
+        return orderedValues;
+    }
+
+    /**
+     * Method to get the value for a given key with a single positioned read.
+     *
+     * @param key the key
+     * @return the value or null if the key does not exist or has expired
+     * @throws CacheException if an error occurs when trying to read or deserialize the record
+     */
+    public synchronized V get(K key) throws CacheException {
+        if (isExpired(key)) {
+            expire(currentTime());
+            return null;
+        }
+
+        RecordPointer pointer = index.get(key);
+
+        if (pointer == null) {
+            return null;
+        }
+
+        return deserialize(read(pointer.segment, pointer.getValuePosition(), pointer.valueLength));
+    }
+
+    /**
+     * Method to delete the key. The record becomes garbage and is reclaimed by compaction.
+     *
+     * @param key the key
+     * @return true if the key was deleted and false if the key does not exist
+     */
+    public synchronized boolean delete(K key) {
+        RecordPointer pointer = index.remove(key);
+        release(pointer);
+        removeExpiration(key);
+        return pointer != null;
+    }
+
+    /**
+     * Method to delete many keys. This does not write to the segment files.
+     *
+     * @param keys the keys
+     */
+    public synchronized void deleteAll(Collection<? extends K> keys) {
+        for (K key : keys) {
+            release(index.remove(key));
+            removeExpiration(key);
+        }
+    }
+
+    /**
+     * Method to check whether the key exists. This does not read the segment files.
+     *
+     * @param key the key
+     * @return true if contains and has not expired and false if not
+     */
+    public synchronized boolean containsKey(K key) {
+        return !isExpired(key) && index.containsKey(key);
+    }
+
+    /**
+     * Method to get the number of bytes the latest record of a key takes in its segment file.
+     *
+     * @param key the key
+     * @return the record size or 0 if the key does not exist
+     */
+    public synchronized int getRecordSize(K key) {
+        RecordPointer pointer = index.get(key);
+        return pointer == null ? 0 : pointer.getRecordSize();
+    }
+
+    /**
+     * Method to get the number of keys. The keys which have expired are released first. This does not read the
+     * segment files.
+     *
+     * @return the number of keys
+     */
+    public synchronized int size() {
+        expire(currentTime());
+        return index.size();
+    }
+
+    /**
+     * Method to delete all the keys and all the segment files.
+     *
+     * @throws CacheException if an error occurs when trying to delete the segment files
+     */
+    public synchronized void clear() throws CacheException {
+        index.clear();
+        expirationNodes.clear();
+        timingWheel.clear();
+
+        for (Segment segment : new ArrayList<>(segments)) {
+            deleteSegment(segment);
+        }
+
+        startNewSegment(maxSegmentSize);
+    }
+
+    /**
+     * Method to compact all sealed segments which contain garbage. Compaction normally runs in the background;
+     * this method runs it on the calling thread.
+     *
+     * @throws CacheException if an error occurs when trying to compact a segment
+     */
+    public void compact() throws CacheException {
+        List<Segment> segmentsWithGarbage = new ArrayList<>();
+
+        synchronized (this) {
+            for (Segment segment : segments) {
+                if (segment != activeSegment && segment.liveBytes < segment.size) {
+                    segmentsWithGarbage.add(segment);
+                }
+            }
+        }
+
+        for (Segment segment : segmentsWithGarbage) {
+            compact(segment);
+        }
+    }
+
+    /**
+     * Method to get the number of segment files.
+     *
+     * @return the number of segment files
+     */
+    public synchronized int getSegmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * Method to close the segment files and stop the background compaction.
+     */
+    @Override
+    public synchronized void close() {
+        compactionExecutor.shutdownNow();
+
+        for (Segment segment : segments) {
+            segment.close();
+        }
+    }
+
+    /**
+     * Method to append a record to the active segment, starting a new segment if the active segment is full.
+     *
+     * @param keyBytes   the serialized key
+     * @param valueBytes the serialized value
+     * @return the pointer to the appended record
+     * @throws CacheException if an error occurs when trying to write the record
+     */
+    private RecordPointer append(byte[] keyBytes, byte[] valueBytes) throws CacheException {
+        int recordSize = RECORD_HEADER_SIZE + keyBytes.length + valueBytes.length;
+        makeRoomFor(recordSize);
+
+        ByteBuffer buffer = ByteBuffer.allocate(recordSize);
+        buffer.putInt(keyBytes.length).putInt(valueBytes.length).put(keyBytes).put(valueBytes);
+        buffer.flip();
+
+        long offset = activeSegment.size;
+        write(buffer);
+        return new RecordPointer(activeSegment, offset, keyBytes.length, valueBytes.length);
+    }
+
+    /**
+     * Method to append records to the active segment. The records which fit in the active segment
+     * are written with a single write, and the rest go to new segments in the same way.
+     *
+     * @param keyBytesList   the serialized keys
+     * @param valueBytesList the serialized values
+     * @return the pointers to the appended records, in the order of the keys
+     * @throws CacheException if an error occurs when trying to write the records
+     */
+    private List<RecordPointer> appendAll(List<byte[]> keyBytesList, List<byte[]> valueBytesList) throws CacheException {
+        List<RecordPointer> pointers = new ArrayList<>(keyBytesList.size());
+        int first = 0;
+
+        while (first < keyBytesList.size()) {
+            makeRoomFor(RECORD_HEADER_SIZE + keyBytesList.get(first).length + valueBytesList.get(first).length);
+
+            long segmentLimit = Math.max(Math.min(maxSegmentSize, activeSegment.file.getCapacity()), activeSegment.size);
+            long batchSize = 0;
+            int last = first;
+
+            while (last < keyBytesList.size()) {
+                int recordSize = RECORD_HEADER_SIZE + keyBytesList.get(last).length + valueBytesList.get(last).length;
+
+                if (last > first && (activeSegment.size + batchSize + recordSize > segmentLimit
+                        || batchSize + recordSize > Integer.MAX_VALUE)) {
+                    break;
+                }
+
+                batchSize += recordSize;
+                last++;
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocate((int) batchSize);
+            long offset = activeSegment.size;
+
+            for (int i = first; i < last; i++) {
+                byte[] keyBytes = keyBytesList.get(i);
+                byte[] valueBytes = valueBytesList.get(i);
+                pointers.add(new RecordPointer(activeSegment, offset + buffer.position(), keyBytes.length, valueBytes.length));
+                buffer.putInt(keyBytes.length).putInt(valueBytes.length).put(keyBytes).put(valueBytes);
+            }
+
+            buffer.flip();
+            write(buffer);
+            first = last;
+        }
+
+        return pointers;
+    }
+
+    /**
+     * Method to start a new segment if the active segment does not have room for a record.
+     *
+     * @param recordSize the size of the record
+     * @throws CacheException if an error occurs when trying to create the new segment
+     */
+    private void makeRoomFor(int recordSize) throws CacheException {
+        if ((activeSegment.size > 0 && activeSegment.size + recordSize > maxSegmentSize)
+                || activeSegment.size + recordSize > activeSegment.file.getCapacity()) {
+            Segment sealedSegment = activeSegment;
+            // A mapped segment has a fixed capacity, so a record larger than the max segment size gets its own segment.
+            startNewSegment(Math.max(maxSegmentSize, recordSize));
+
+            if (sealedSegment.size == 0) {
+                deleteSegment(sealedSegment);
+            } else {
+                scheduleCompactionIfRequired(sealedSegment);
+            }
+        }
+    }
+
+    /**
+     * Method to write records at the end of the active segment.
+     *
+     * @param buffer the buffer which holds the records
+     * @throws CacheException if an error occurs when trying to write the records
+     */
+    private void write(ByteBuffer buffer) throws CacheException {
+        int length = buffer.remaining();
+
+        try {
+            activeSegment.file.write(buffer, activeSegment.size);
+        } catch (IOException e) {
+            throw new CacheException("Error occurred when trying to append to segment file : " + activeSegment.path, e);
+        }
+
+        activeSegment.size += length;
+        activeSegment.liveBytes += length;
+    }
+
+    /**
+     * Method to read the values of keys whose records are in the same segment. Records which are at most
+     * {@link #MAX_READ_GAP} bytes apart are read with a single positioned read of up to {@link #MAX_READ_SIZE} bytes.
+     *
+     * @param segment    the segment
+     * @param sortedKeys the keys sorted by the position of their records
+     * @param values     the map to put the values to
+     * @throws CacheException if an error occurs when trying to read or deserialize the records
+     */
+    private void readValues(Segment segment, List<K> sortedKeys, Map<K, V> values) throws CacheException {
+        int first = 0;
+
+        while (first < sortedKeys.size()) {
+            RecordPointer firstPointer = index.get(sortedKeys.get(first));
+            long start = firstPointer.getValuePosition();
+            long end = start + firstPointer.valueLength;
+            int last = first + 1;
+
+            while (last < sortedKeys.size()) {
+                RecordPointer pointer = index.get(sortedKeys.get(last));
+                long valueEnd = pointer.getValuePosition() + pointer.valueLength;
+
+                if (pointer.getValuePosition() - end > MAX_READ_GAP || valueEnd - start > MAX_READ_SIZE) {
+                    break;
+                }
+
+                end = valueEnd;
+                last++;
+            }
+
+            byte[] bytes = read(segment, start, (int) (end - start));
+
+            for (int i = first; i < last; i++) {
+                RecordPointer pointer = index.get(sortedKeys.get(i));
+                int valueStart = (int) (pointer.getValuePosition() - start);
+                values.put(sortedKeys.get(i), deserialize(Arrays.copyOfRange(bytes, valueStart, valueStart + pointer.valueLength)));
+            }
+
+            first = last;
+        }
+    }
+
+    /**
+     * Method to read bytes from a segment with a positioned read.
+     *
+     * @param segment  the segment
+     * @param position the position in the segment
+     * @param length   the number of bytes to read
+     * @return the bytes
+     * @throws CacheException if an error occurs when trying to read the segment file
+     */
+    private static byte[] read(Segment segment, long position, int length) throws CacheException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+
+        try {
+            segment.file.read(buffer, position);
+        } catch (IOException e) {
+            throw new CacheException("Error occurred when trying to read segment file : " + segment.path, e);
+        }
+
+        return buffer.array();
+    }
+
+    /**
+     * Method to mark the record of a pointer as garbage. A sealed segment without live records is deleted
+     * and a sealed segment that is mostly garbage is scheduled for compaction.
+     *
+     * @param pointer the pointer to the record or null
+     */
+    private void release(RecordPointer pointer) {
+        if (pointer == null) {
+            return;
+        }
+
+        Segment segment = pointer.segment;
+        segment.liveBytes -= pointer.getRecordSize();
+
+        if (segment != activeSegment && segment.liveBytes == 0) {
+            deleteSegment(segment);
+        } else {
+            scheduleCompactionIfRequired(segment);
+        }
+    }
+
+    /**
+     * Method to schedule the background compaction of a sealed segment if it is mostly garbage.
+     *
+     * @param segment the segment
+     */
+    private void scheduleCompactionIfRequired(Segment segment) {
+        if (segment == activeSegment || segment.compactionScheduled
+                || segment.liveBytes > segment.size * (1 - COMPACTION_GARBAGE_RATIO)) {
+            return;
+        }
+
+        segment.compactionScheduled = true;
+        compactionExecutor.execute(() -> {
+            try {
+                compact(segment);
+            } catch (CacheException e) {
+                // The segment is left as it is and compaction is retried when more of it becomes garbage.
+                synchronized (this) {
+                    segment.compactionScheduled = false;
+                }
+            }
+        });
+    }
+
+    /**
+     * Method to compact a sealed segment. The records of the sealed segment are scanned without holding the lock,
+     * because a sealed segment is never written again. Each live record is copied to the active segment under the lock.
+     *
+     * @param segment the sealed segment
+     * @throws CacheException if an error occurs when trying to read or write a record
+     */
+    private void compact(Segment segment) throws CacheException {
+        long position = 0;
+
+        while (position < segment.size) {
+            if (segment.closed) {
+                return;
+            }
+
+            ByteBuffer header;
+            byte[] keyBytes;
+
+            try {
+                header = ByteBuffer.wrap(read(segment, position, RECORD_HEADER_SIZE));
+                keyBytes = read(segment, position + RECORD_HEADER_SIZE, header.getInt(0));
+            } catch (CacheException e) {
+                // Another compaction of the same segment can delete it between the check above and the reads.
+                if (segment.closed) {
+                    return;
+                }
+
+                throw e;
+            }
+
+            int keyLength = header.getInt();
+            int valueLength = header.getInt();
+            K key = deserialize(keyBytes);
+
+            synchronized (this) {
+                RecordPointer pointer = index.get(key);
+
+                if (!segment.closed && pointer != null && pointer.segment == segment && pointer.offset == position) {
+                    byte[] valueBytes = read(segment, pointer.getValuePosition(), valueLength);
+                    index.put(key, append(keyBytes, valueBytes));
+                    segment.liveBytes -= pointer.getRecordSize();
+                }
+            }
+
+            position += RECORD_HEADER_SIZE + keyLength + valueLength;
+        }
+
+        synchronized (this) {
+            if (!segment.closed && segment.liveBytes == 0) {
+                deleteSegment(segment);
+            }
+        }
+    }
+
+    /**
+     * Method to check whether the key was put with a duration which has passed.
+     *
+     * @param key the key
+     * @return true if expired and false if not
+     */
+    private boolean isExpired(K key) {
+        if (expirationNodes.isEmpty()) {
+            return false;
+        }
+
+        TimingWheel.Node<K> node = expirationNodes.get(key);
+        return node != null && node.getExpirationTime() - currentTime() <= 0;
+    }
+
+    /**
+     * Method to advance the timing wheel and release the records of the expired keys.
+     *
+     * @param now the current time
+     */
+    private void expire(long now) {
+        timingWheel.advance(now, node -> {
+            expirationNodes.remove(node.getKey());
+            release(index.remove(node.getKey()));
+        });
+    }
+
+    /**
+     * Method to remove the expiration of a key.
+     *
+     * @param key the key
+     */
+    private void removeExpiration(K key) {
+        if (expirationNodes.isEmpty()) {
+            return;
+        }
+
+        TimingWheel.Node<K> node = expirationNodes.remove(key);
+
+        if (node != null) {
+            timingWheel.deschedule(node);
+        }
+    }
+
+    /**
+     * Method to get the current time relative to the creation of the store, so that it is never negative.
+     *
+     * @return the current time in nanoseconds
+     */
+    private long currentTime() {
+        return ticker.read() - startTime;
+    }
+
+    /**
+     * Method to start a new active segment.
+     *
+     * @param capacity the number of bytes to map if the segments are memory mapped
+     * @throws CacheException if an error occurs when trying to create the segment file
+     */
+    private void startNewSegment(long capacity) throws CacheException {
+        Path path = folderPath.resolve(SEGMENT_FILE_PREFIX + nextSegmentId++ + SEGMENT_FILE_SUFFIX);
+
+        try {
+            SegmentFile file = memoryMapped ? new MappedSegmentFile(path, capacity) : new ChannelSegmentFile(path);
+            activeSegment = new Segment(path, file);
+            segments.add(activeSegment);
+        } catch (IOException e) {
+            throw new CacheException("Error occurred when trying to create segment file : " + path, e);
+        }
+    }
+
+    /**
+     * Method to close a segment and delete its file.
+     *
+     * @param segment the segment
+     */
+    private void deleteSegment(Segment segment) {
+        segment.close();
+        segments.remove(segment);
+
+        try {
+            Files.deleteIfExists(segment.path);
+        } catch (IOException e) {
+            // A segment file that cannot be deleted is no longer referenced and is removed when a new store starts.
+        }
+    }
+
+    /**
+     * Method to serialize a key or a value.
+     *
+     * @param object the object
+     * @return the serialized bytes
+     * @throws CacheException if an error occurs when trying to serialize
+     */
+    private byte[] serialize(Serializable object) throws CacheException {
+        try {
+            return serializer.serialize(object);
+        } catch (SerializationException e) {
+            throw new CacheException("Error occurred when trying to serialize a record.", e);
+        }
+    }
+
+    /**
+     * Method to deserialize a key or a value.
+     *
+     * @param bytes the serialized bytes
+     * @param <T>   the type of the object
+     * @return the deserialized object
+     * @throws CacheException if an error occurs when trying to deserialize
+     */
+    private <T> T deserialize(byte[] bytes) throws CacheException {
+        try {
+            return SerializationUtils.deserialize(bytes, serializer);
+        } catch (SerializationException e) {
+            throw new CacheException("Error occurred when trying to deserialize a record.", e);
+        }
+    }
+
+    /**
+     * Method to check whether a file name is a segment file name.
+     *
+     * @param name the file name
+     * @return true if it is a segment file name and false if not
+     */
+    private static boolean isSegmentFileName(String name) {
+        return name.startsWith(SEGMENT_FILE_PREFIX) && name.endsWith(SEGMENT_FILE_SUFFIX);
+    }
+
+    /**
+     * Inner class to represent a segment file.
+     */
+    private static class Segment {
+        private final Path path;
+        private final SegmentFile file;
+        private long size;
+        private long liveBytes;
+        private boolean compactionScheduled;
+        private volatile boolean closed;
+
+        /**
+         * Constructor to instantiate the segment.
+         *
+         * @param path the path of the segment file
+         * @param file the segment file
+         */
+        Segment(Path path, SegmentFile file) {
+            this.path = path;
+            this.file = file;
+        }
+
+        /**
+         * Method to close the segment file.
+         */
+        void close() {
+            closed = true;
+
+            try {
+                file.close();
+            } catch (IOException e) {
+                // Nothing else can be done with a segment file that fails to close.
+            }
+        }
+    }
+
+    /**
+     * Inner class to represent the position of a record in a segment.
+     */
+    private static class RecordPointer {
+        private final Segment segment;
+        private final long offset;
+        private final int keyLength;
+        private final int valueLength;
+
+        /**
+         * Constructor to instantiate the record pointer.
+         *
+         * @param segment     the segment
+         * @param offset      the offset of the record in the segment
+         * @param keyLength   the length of the key bytes
+         * @param valueLength the length of the value bytes
+         */
+        RecordPointer(Segment segment, long offset, int keyLength, int valueLength) {
+            this.segment = segment;
+            this.offset = offset;
+            this.keyLength = keyLength;
+            this.valueLength = valueLength;
+        }
+
+        /**
+         * Method to get the position of the value bytes in the segment.
+         *
+         * @return the value position
+         */
+        long getValuePosition() {
+            return offset + RECORD_HEADER_SIZE + keyLength;
+        }
+
+        /**
+         * Method to get the total size of the record.
+         *
+         * @return the record size
+         */
+        int getRecordSize() {
+            return RECORD_HEADER_SIZE + keyLength + valueLength;
+        }
+    }
+}
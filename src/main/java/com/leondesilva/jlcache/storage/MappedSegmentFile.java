@@ -0,0 +1,103 @@
+package com.leondesilva.jlcache.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Class to represent a segment file which is mapped in to memory.
+ * Reads and writes are copies between the page cache and the given buffer, and the operating system decides which
+ * pages stay resident. The file is mapped once with a fixed capacity.
+ */
+class MappedSegmentFile implements SegmentFile {
+    private final MappedByteBuffer mappedBuffer;
+    private volatile boolean closed;
+
+    /**
+     * Constructor to instantiate the mapped segment file.
+     *
+     * @param path     the path of the segment file
+     * @param capacity the number of bytes to map
+     * @throws IOException if an error occurs when creating or mapping the file
+     */
+    MappedSegmentFile(Path path, long capacity) throws IOException {
+        if (capacity > Integer.MAX_VALUE) {
+            throw new IOException("Mapped segment capacity cannot exceed " + Integer.MAX_VALUE + " bytes.");
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // The mapping stays valid after the channel is closed.
+            this.mappedBuffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        }
+    }
+
+    /**
+     * Method to write all the remaining bytes of a buffer at a given position.
+     *
+     * @param buffer   the buffer to write
+     * @param position the position in the segment
+     * @throws IOException if an error occurs when writing
+     */
+    @Override
+    public void write(ByteBuffer buffer, long position) throws IOException {
+        ByteBuffer target = slice(position, buffer.remaining());
+        target.put(buffer);
+    }
+
+    /**
+     * Method to read bytes at a given position until the buffer is full.
+     *
+     * @param buffer   the buffer to read in to
+     * @param position the position in the segment
+     * @throws IOException if an error occurs when reading
+     */
+    @Override
+    public void read(ByteBuffer buffer, long position) throws IOException {
+        buffer.put(slice(position, buffer.remaining()));
+    }
+
+    /**
+     * Method to get the number of bytes the segment can hold.
+     *
+     * @return the capacity
+     */
+    @Override
+    public long getCapacity() {
+        return mappedBuffer.capacity();
+    }
+
+    /**
+     * Method to close the segment. The mapping is released when the buffer is garbage collected.
+     */
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+    /**
+     * Method to get a view of a region of the mapped buffer.
+     *
+     * @param position the position of the region
+     * @param length   the length of the region
+     * @return the view of the region
+     * @throws IOException if the segment is closed or the region is out of bounds
+     */
+    private ByteBuffer slice(long position, int length) throws IOException {
+        if (closed) {
+            throw new ClosedChannelException();
+        }
+
+        if (position < 0 || position + length > mappedBuffer.capacity()) {
+            throw new IOException("Region is outside of the mapped segment.");
+        }
+
+        ByteBuffer view = mappedBuffer.duplicate();
+        view.position((int) position);
+        view.limit((int) position + length);
+        return view;
+    }
+}
@@ -0,0 +1,206 @@
+package com.leondesilva.jlcache.storage;
+
+import com.leondesilva.jlcache.exceptions.CacheException;
+import com.leondesilva.jlcache.exceptions.SerializationException;
+import com.leondesilva.jlcache.pojo.MetaData;
+import com.leondesilva.jlcache.util.SerializationUtils;
+import com.leondesilva.jlcache.util.Ticker;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Class to represent the checkpoints of the meta data of a cache which keeps its meta data in memory.
+ * <p>
+ * Every change of the meta data is counted, and once a given number of changes is reached or a given interval has
+ * passed since the last checkpoint, a snapshot of the meta data is taken with {@link MetaData#snapshot()} on the
+ * calling thread, which copies the keys while the eviction strategy still holds its lock, and a background thread
+ * serializes the snapshot and writes it to the meta data file. Only the latest snapshot waiting to be written is kept,
+ * so a slow disk never holds more than one snapshot in memory. A snapshot is written to a temporary file which is then
+ * moved over the meta data file, so the file always holds a complete checkpoint.
+ * <p>
+ * The checkpoint is a diagnostic dump of the meta data, which can be read with
+ * {@link SerializationUtils#readFileAndDeserialize(File)}. It is not read back by the caches, since their stores start
+ * empty.
+ * <p>
+ * The interval is only checked when the meta data changes, so meta data which stops changing is written by the next
+ * {@link #checkpoint(MetaData)}.
+ */
+public class MetaDataCheckpointer {
+    public static final int DEFAULT_CHECKPOINT_MUTATIONS = 1000;
+    public static final long DEFAULT_CHECKPOINT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+    private final File file;
+    private final int checkpointMutations;
+    private final long checkpointIntervalNanos;
+    private final Ticker ticker;
+    private final ExecutorService writeExecutor;
+    private final AtomicReference<MetaData> pendingSnapshot = new AtomicReference<>();
+    private int mutations;
+    private long lastCheckpointTime;
+    private volatile CacheException writeException;
+
+    /**
+     * Constructor to instantiate the meta data checkpointer with the default number of changes and interval.
+     *
+     * @param file the meta data file
+     */
+    public MetaDataCheckpointer(File file) {
+        this(file, DEFAULT_CHECKPOINT_MUTATIONS, DEFAULT_CHECKPOINT_INTERVAL_NANOS, TimeUnit.NANOSECONDS,
+                Ticker.systemTicker());
+    }
+
+    /**
+     * Constructor to instantiate the meta data checkpointer.
+     *
+     * @param file                the meta data file
+     * @param checkpointMutations the number of changes after which a checkpoint is written
+     * @param checkpointInterval  the interval after which a change writes a checkpoint
+     * @param timeUnit            the time unit of the interval
+     * @param ticker              the source of time
+     */
+    public MetaDataCheckpointer(File file, int checkpointMutations, long checkpointInterval, TimeUnit timeUnit,
+                                Ticker ticker) {
+        this.file = file;
+        this.checkpointMutations = Math.max(1, checkpointMutations);
+        this.checkpointIntervalNanos = timeUnit.toNanos(checkpointInterval);
+        this.ticker = ticker;
+        this.lastCheckpointTime = ticker.read();
+        this.writeExecutor = new ThreadPoolExecutor(0, 1, 10, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "jlcache-meta-checkpoint");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Method to count a change of the meta data and write a checkpoint in the background if one is due.
+     *
+     * @param metaData the meta data
+     * @throws CacheException if a background write failed or if an error occurs when trying to copy the meta data
+     */
+    public synchronized void recordMutation(MetaData metaData) throws CacheException {
+        throwWriteException();
+        mutations++;
+        long now = ticker.read();
+
+        if (mutations < checkpointMutations && now - lastCheckpointTime < checkpointIntervalNanos) {
+            return;
+        }
+
+        mutations = 0;
+        lastCheckpointTime = now;
+
+        if (pendingSnapshot.getAndSet(snapshot(metaData)) == null) {
+            try {
+                writeExecutor.execute(this::writePendingSnapshot);
+            } catch (RejectedExecutionException e) {
+                throw new CacheException("Error occurred when trying to schedule the meta data checkpoint.", e);
+            }
+        }
+    }
+
+    /**
+     * Method to write a checkpoint of the meta data and wait for it to be written.
+     *
+     * @param metaData the meta data
+     * @throws CacheException if an error occurs when trying to write the meta data file
+     */
+    public synchronized void checkpoint(MetaData metaData) throws CacheException {
+        mutations = 0;
+        lastCheckpointTime = ticker.read();
+        pendingSnapshot.set(snapshot(metaData));
+        flush();
+    }
+
+    /**
+     * Method to wait for the checkpoint which is being written in the background.
+     *
+     * @throws CacheException if a background write failed or if the thread is interrupted while waiting
+     */
+    public void flush() throws CacheException {
+        Future<?> write = writeExecutor.submit(this::writePendingSnapshot);
+
+        try {
+            write.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CacheException("Interrupted while waiting for the meta data checkpoint.", e);
+        } catch (ExecutionException e) {
+            throw new CacheException("Error occurred when trying to write the meta data checkpoint.", e.getCause());
+        }
+
+        throwWriteException();
+    }
+
+    /**
+     * Method to write the latest snapshot which is waiting to be written, if any.
+     */
+    private void writePendingSnapshot() {
+        MetaData snapshot = pendingSnapshot.getAndSet(null);
+
+        if (snapshot == null) {
+            return;
+        }
+
+        Path path = file.toPath();
+        Path temporaryPath = path.resolveSibling(path.getFileName() + TEMPORARY_FILE_SUFFIX);
+
+        try {
+            Files.write(temporaryPath, SerializationUtils.serialize(snapshot));
+
+            try {
+                Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            writeException = null;
+        } catch (IOException | SerializationException e) {
+            writeException = new CacheException("Error occurred when trying to write to cache meta data file : "
+                    + file.getPath(), e);
+        }
+    }
+
+    /**
+     * Method to throw the error of the last background write, if it failed.
+     *
+     * @throws CacheException if the last background write failed
+     */
+    private void throwWriteException() throws CacheException {
+        CacheException exception = writeException;
+
+        if (exception != null) {
+            writeException = null;
+            throw exception;
+        }
+    }
+
+    /**
+     * Method to take a snapshot of the meta data.
+     *
+     * @param metaData the meta data
+     * @return the snapshot of the meta data
+     * @throws CacheException if an error occurs when trying to copy the meta data
+     */
+    private MetaData snapshot(MetaData metaData) throws CacheException {
+        try {
+            return metaData.snapshot();
+        } catch (SerializationException e) {
+            throw new CacheException("Error occurred when trying to copy cache meta data.", e);
+        }
+    }
+}
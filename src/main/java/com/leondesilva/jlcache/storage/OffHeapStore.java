@@ -0,0 +1,430 @@
+package com.leondesilva.jlcache.storage;
+
+import com.leondesilva.jlcache.exceptions.CacheException;
+import com.leondesilva.jlcache.exceptions.SerializationException;
+import com.leondesilva.jlcache.serialization.Serializer;
+import com.leondesilva.jlcache.util.SerializationUtils;
+
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Class to represent a key value store which keeps the serialized keys and values in direct memory.
+ * <p>
+ * Each entry is a single chunk of a {@link SlabAllocator}, laid out as the key length (int), the value length (int),
+ * the key bytes and the value bytes. The entries are found through an open addressing hash index made of two
+ * primitive arrays, one for the chunk addresses and one for the hashes of the key bytes, so the heap only holds a few
+ * large arrays no matter how many entries are stored and the garbage collector has nothing to trace. Keys are
+ * compared by their serialized bytes. An entry which does not fit in the direct memory is not stored.
+ * <p>
+ * This class is thread safe.
+ *
+ * @param <K> the type of the key
+ * @param <V> the type of the value
+ */
+public class OffHeapStore<K extends Serializable, V extends Serializable> {
+    public static final int DEFAULT_PAGE_SIZE = 1024 * 1024;
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final int INITIAL_INDEX_CAPACITY = 16;
+    private static final double MAX_LOAD_FACTOR = 0.75;
+    private static final long EMPTY = 0;
+
+    private final SlabAllocator allocator;
+    private final Serializer<Object> serializer;
+    // Addresses are kept plus one, so that zero marks an empty slot.
+    private long[] addresses;
+    private int[] hashes;
+    private int size;
+
+    /**
+     * Constructor to instantiate the off heap store.
+     *
+     * @param capacity   the maximum number of bytes of direct memory to use for the entries
+     * @param pageSize   the size in bytes of the pages in which the direct memory is allocated
+     * @param serializer the serializer of the keys and the values
+     */
+    public OffHeapStore(long capacity, int pageSize, Serializer<Object> serializer) {
+        this.allocator = new SlabAllocator(capacity, pageSize);
+        this.serializer = serializer;
+        this.addresses = new long[INITIAL_INDEX_CAPACITY];
+        this.hashes = new int[INITIAL_INDEX_CAPACITY];
+    }
+
+    /**
+     * Method to put the key and value by writing them to a newly allocated chunk.
+     * If there is not enough direct memory for the entry, the entry is not stored and the old value of the key is
+     * deleted.
+     *
+     * @param key   the key
+     * @param value the value
+     * @return true if the entry was stored and false if there was not enough direct memory
+     * @throws CacheException if an error occurs when trying to serialize
+     */
+    public synchronized boolean put(K key, V value) throws CacheException {
+        byte[] keyBytes = serialize(key);
+        byte[] valueBytes = serialize(value);
+        int hash = hash(keyBytes);
+        int recordSize = RECORD_HEADER_SIZE + keyBytes.length + valueBytes.length;
+        long address = allocate(recordSize);
+
+        if (address < 0) {
+            // The old value must not outlive a failed put, and freeing it may make room for the new value.
+            int slot = findSlot(keyBytes, hash);
+
+            if (addresses[slot] != EMPTY) {
+                allocator.free(addresses[slot] - 1);
+                removeSlot(slot);
+                size--;
+            }
+
+            address = allocate(recordSize);
+
+            if (address < 0) {
+                return false;
+            }
+        }
+
+        ByteBuffer view = view(address, recordSize);
+        view.putInt(keyBytes.length).putInt(valueBytes.length).put(keyBytes).put(valueBytes);
+
+        int slot = findSlot(keyBytes, hash);
+
+        if (addresses[slot] != EMPTY) {
+            allocator.free(addresses[slot] - 1);
+            addresses[slot] = address + 1;
+            return true;
+        }
+
+        addresses[slot] = address + 1;
+        hashes[slot] = hash;
+
+        if (++size > addresses.length * MAX_LOAD_FACTOR) {
+            resize();
+        }
+
+        return true;
+    }
+
+    /**
+     * Method to get the value for a given key.
+     *
+     * @param key the key
+     * @return the value or null if the key does not exist
+     * @throws CacheException if an error occurs when trying to serialize or deserialize
+     */
+    public synchronized V get(K key) throws CacheException {
+        long address = find(serialize(key));
+
+        if (address == EMPTY) {
+            return null;
+        }
+
+        ByteBuffer header = view(address - 1, RECORD_HEADER_SIZE);
+        int keyLength = header.getInt();
+        byte[] valueBytes = new byte[header.getInt()];
+        ByteBuffer view = view(address - 1 + RECORD_HEADER_SIZE + keyLength, valueBytes.length);
+        view.get(valueBytes);
+        return deserialize(valueBytes);
+    }
+
+    /**
+     * Method to delete the key and free its chunk.
+     *
+     * @param key the key
+     * @return true if the key was deleted and false if the key does not exist
+     * @throws CacheException if an error occurs when trying to serialize the key
+     */
+    public synchronized boolean delete(K key) throws CacheException {
+        byte[] keyBytes = serialize(key);
+        int slot = findSlot(keyBytes, hash(keyBytes));
+
+        if (addresses[slot] == EMPTY) {
+            return false;
+        }
+
+        allocator.free(addresses[slot] - 1);
+        removeSlot(slot);
+        size--;
+        return true;
+    }
+
+    /**
+     * Method to check whether the key exists.
+     *
+     * @param key the key
+     * @return true if contains and false if not
+     * @throws CacheException if an error occurs when trying to serialize the key
+     */
+    public synchronized boolean containsKey(K key) throws CacheException {
+        return find(serialize(key)) != EMPTY;
+    }
+
+    /**
+     * Method to get the number of keys.
+     *
+     * @return the number of keys
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Method to delete all the keys. The direct memory is kept to be reused.
+     */
+    public synchronized void clear() {
+        allocator.clear();
+        addresses = new long[INITIAL_INDEX_CAPACITY];
+        hashes = new int[INITIAL_INDEX_CAPACITY];
+        size = 0;
+    }
+
+    /**
+     * Method to get the number of bytes of direct memory the chunk of a key takes, including its share of the bytes
+     * at the end of its page which are too few for another chunk.
+     *
+     * @param key the key
+     * @return the number of bytes or 0 if the key does not exist
+     */
+    public synchronized int getEntrySize(K key) {
+        long address;
+
+        try {
+            address = find(serialize(key));
+        } catch (CacheException e) {
+            // A key which cannot be serialized cannot have been stored.
+            return 0;
+        }
+
+        return address == EMPTY ? 0 : allocator.getChunkCost(address - 1);
+    }
+
+    /**
+     * Method to get the number of bytes of direct memory which are allocated.
+     *
+     * @return the allocated bytes
+     */
+    public synchronized long getAllocatedBytes() {
+        return allocator.getAllocatedBytes();
+    }
+
+    /**
+     * Method to allocate a chunk. When the allocator is out of memory, pages are emptied one at a time by moving their
+     * chunks to other pages of the same size class, so that free chunks stuck in the pages of one size class can be
+     * used by entries of another size class.
+     *
+     * @param size the number of bytes
+     * @return the address of the chunk or -1 if there is not enough memory
+     */
+    private long allocate(int size) {
+        long address = allocator.allocate(size);
+
+        while (address < 0 && evacuatePage()) {
+            address = allocator.allocate(size);
+        }
+
+        return address;
+    }
+
+    /**
+     * Method to empty a page by moving its chunks to other pages and pointing the index at the new chunks.
+     *
+     * @return true if a page was emptied and false if no page can be emptied
+     */
+    private boolean evacuatePage() {
+        int pageIndex = allocator.startEvacuation();
+
+        if (pageIndex < 0) {
+            return false;
+        }
+
+        for (int slot = 0; slot < addresses.length; slot++) {
+            if (addresses[slot] == EMPTY || SlabAllocator.getPageIndex(addresses[slot] - 1) != pageIndex) {
+                continue;
+            }
+
+            long oldAddress = addresses[slot] - 1;
+            ByteBuffer header = view(oldAddress, RECORD_HEADER_SIZE);
+            int recordSize = RECORD_HEADER_SIZE + header.getInt() + header.getInt();
+            // The record has the same size, so it gets a chunk of the same size class on another page.
+            long newAddress = allocator.allocate(recordSize);
+            view(newAddress, recordSize).put(view(oldAddress, recordSize));
+            allocator.free(oldAddress);
+            addresses[slot] = newAddress + 1;
+        }
+
+        allocator.finishEvacuation(pageIndex);
+        return true;
+    }
+
+    /**
+     * Method to find the address of the chunk of a key.
+     *
+     * @param keyBytes the serialized key
+     * @return the address plus one or 0 if the key does not exist
+     */
+    private long find(byte[] keyBytes) {
+        return addresses[findSlot(keyBytes, hash(keyBytes))];
+    }
+
+    /**
+     * Method to find the slot of a key, or the empty slot where the key would be put.
+     *
+     * @param keyBytes the serialized key
+     * @param hash     the hash of the serialized key
+     * @return the slot
+     */
+    private int findSlot(byte[] keyBytes, int hash) {
+        int mask = addresses.length - 1;
+        int slot = hash & mask;
+
+        while (addresses[slot] != EMPTY && (hashes[slot] != hash || !keyEquals(addresses[slot] - 1, keyBytes))) {
+            slot = (slot + 1) & mask;
+        }
+
+        return slot;
+    }
+
+    /**
+     * Method to empty a slot. The following slots of the same probe sequence are shifted back,
+     * so that lookups never need to skip deleted slots.
+     *
+     * @param slot the slot
+     */
+    private void removeSlot(int slot) {
+        int mask = addresses.length - 1;
+        int emptySlot = slot;
+        int nextSlot = slot;
+
+        while (true) {
+            nextSlot = (nextSlot + 1) & mask;
+
+            if (addresses[nextSlot] == EMPTY) {
+                break;
+            }
+
+            int homeSlot = hashes[nextSlot] & mask;
+            // The entry can move to the empty slot if its home slot is not between the empty slot and its own slot.
+            boolean movable = emptySlot <= nextSlot
+                    ? homeSlot <= emptySlot || homeSlot > nextSlot
+                    : homeSlot <= emptySlot && homeSlot > nextSlot;
+
+            if (movable) {
+                addresses[emptySlot] = addresses[nextSlot];
+                hashes[emptySlot] = hashes[nextSlot];
+                emptySlot = nextSlot;
+            }
+        }
+
+        addresses[emptySlot] = EMPTY;
+    }
+
+    /**
+     * Method to double the capacity of the index.
+     */
+    private void resize() {
+        long[] oldAddresses = addresses;
+        int[] oldHashes = hashes;
+        addresses = new long[oldAddresses.length * 2];
+        hashes = new int[oldHashes.length * 2];
+        int mask = addresses.length - 1;
+
+        for (int i = 0; i < oldAddresses.length; i++) {
+            if (oldAddresses[i] == EMPTY) {
+                continue;
+            }
+
+            int slot = oldHashes[i] & mask;
+
+            while (addresses[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+
+            addresses[slot] = oldAddresses[i];
+            hashes[slot] = oldHashes[i];
+        }
+    }
+
+    /**
+     * Method to compare the key of a chunk with a serialized key without copying the key out of direct memory.
+     *
+     * @param address  the address of the chunk
+     * @param keyBytes the serialized key
+     * @return true if the keys are equal and false if not
+     */
+    private boolean keyEquals(long address, byte[] keyBytes) {
+        ByteBuffer buffer = allocator.getBuffer(address);
+        int offset = SlabAllocator.offset(address);
+
+        if (buffer.getInt(offset) != keyBytes.length) {
+            return false;
+        }
+
+        int keyOffset = offset + RECORD_HEADER_SIZE;
+
+        for (int i = 0; i < keyBytes.length; i++) {
+            if (buffer.get(keyOffset + i) != keyBytes[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Method to get a view of a region of a chunk.
+     *
+     * @param address the address of the chunk plus the offset of the region in the chunk
+     * @param length  the length of the region
+     * @return the view of the region
+     */
+    private ByteBuffer view(long address, int length) {
+        int offset = SlabAllocator.offset(address);
+        ByteBuffer view = allocator.getBuffer(address).duplicate();
+        view.position(offset);
+        view.limit(offset + length);
+        return view;
+    }
+
+    /**
+     * Method to hash a serialized key.
+     *
+     * @param keyBytes the serialized key
+     * @return the hash
+     */
+    private static int hash(byte[] keyBytes) {
+        int hash = Arrays.hashCode(keyBytes) * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Method to serialize a key or a value.
+     *
+     * @param object the object
+     * @return the serialized bytes
+     * @throws CacheException if an error occurs when trying to serialize
+     */
+    private byte[] serialize(Serializable object) throws CacheException {
+        try {
+            return serializer.serialize(object);
+        } catch (SerializationException e) {
+            throw new CacheException("Error occurred when trying to serialize an off heap entry.", e);
+        }
+    }
+
+    /**
+     * Method to deserialize a value.
+     *
+     * @param bytes the serialized bytes
+     * @param <T>   the type of the object
+     * @return the deserialized object
+     * @throws CacheException if an error occurs when trying to deserialize
+     */
+    private <T> T deserialize(byte[] bytes) throws CacheException {
+        try {
+            return SerializationUtils.deserialize(bytes, serializer);
+        } catch (SerializationException e) {
+            throw new CacheException("Error occurred when trying to deserialize an off heap entry.", e);
+        }
+    }
+}
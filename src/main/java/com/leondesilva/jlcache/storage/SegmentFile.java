@@ -0,0 +1,35 @@
+package com.leondesilva.jlcache.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Interface to represent the file of a segment of the log structured store.
+ */
+interface SegmentFile extends Closeable {
+    /**
+     * Method to write all the remaining bytes of a buffer at a given position.
+     *
+     * @param buffer   the buffer to write
+     * @param position the position in the segment
+     * @throws IOException if an error occurs when writing
+     */
+    void write(ByteBuffer buffer, long position) throws IOException;
+
+    /**
+     * Method to read bytes at a given position until the buffer is full.
+     *
+     * @param buffer   the buffer to read in to
+     * @param position the position in the segment
+     * @throws IOException if an error occurs when reading
+     */
+    void read(ByteBuffer buffer, long position) throws IOException;
+
+    /**
+     * Method to get the number of bytes the segment can hold.
+     *
+     * @return the capacity
+     */
+    long getCapacity();
+}
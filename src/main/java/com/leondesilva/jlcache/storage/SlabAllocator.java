@@ -0,0 +1,456 @@
+package com.leondesilva.jlcache.storage;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Class to represent a slab allocator of direct memory.
+ * <p>
+ * The memory is allocated in pages of direct byte buffers, which are only created when they are needed and never
+ * exceed the capacity. Each page is split in to chunks of one size class, and a chunk is allocated for the smallest
+ * size class that fits the requested size, so that chunks of the same class can be reused without fragmenting the
+ * page. The free chunks of a page are linked through their first four bytes, so the allocator keeps no per chunk
+ * objects on the heap. A page whose chunks are all free can be taken over by another size class, and the owner of the
+ * chunks can empty a page on purpose by moving its chunks to other pages of the same class, see
+ * {@link #startEvacuation()}. A request larger than a page gets a page of its own, which is released when it is freed.
+ * <p>
+ * An address is the page index in the upper 32 bits and the offset of the chunk in the page in the lower 32 bits.
+ * This class is not thread safe.
+ */
+class SlabAllocator {
+    private static final int MIN_CHUNK_SIZE = 64;
+    private static final double CHUNK_SIZE_GROWTH_FACTOR = 1.25;
+    private static final int NO_CHUNK = -1;
+
+    private final long capacity;
+    private final int pageSize;
+    private final int[] chunkSizes;
+    private final long[] freeChunkCounts;
+    private final List<Deque<Page>> pagesWithFreeChunks = new ArrayList<>();
+    private final Deque<Page> emptyPages = new ArrayDeque<>();
+    private final List<Page> pages = new ArrayList<>();
+    private final Deque<Integer> releasedPageIndexes = new ArrayDeque<>();
+    private long allocatedBytes;
+
+    /**
+     * Constructor to instantiate the slab allocator.
+     *
+     * @param capacity the maximum number of bytes of direct memory to allocate
+     * @param pageSize the size of a page in bytes
+     */
+    SlabAllocator(long capacity, int pageSize) {
+        this.capacity = capacity;
+        this.pageSize = pageSize;
+
+        List<Integer> sizes = new ArrayList<>();
+
+        for (double size = MIN_CHUNK_SIZE; size < pageSize / 2.0; size *= CHUNK_SIZE_GROWTH_FACTOR) {
+            // Chunk sizes are rounded to eight bytes, so consecutive sizes can be equal for small sizes.
+            int chunkSize = ((int) Math.ceil(size) + 7) & ~7;
+
+            if (sizes.isEmpty() || sizes.get(sizes.size() - 1) != chunkSize) {
+                sizes.add(chunkSize);
+            }
+        }
+
+        sizes.add(pageSize);
+        this.chunkSizes = sizes.stream().mapToInt(Integer::intValue).toArray();
+        this.freeChunkCounts = new long[chunkSizes.length];
+
+        for (int i = 0; i < chunkSizes.length; i++) {
+            pagesWithFreeChunks.add(new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * Method to allocate a chunk which can hold a given number of bytes.
+     *
+     * @param size the number of bytes
+     * @return the address of the chunk or -1 if there is not enough memory
+     */
+    long allocate(int size) {
+        int sizeClass = Arrays.binarySearch(chunkSizes, size);
+        sizeClass = sizeClass >= 0 ? sizeClass : -sizeClass - 1;
+
+        if (sizeClass == chunkSizes.length) {
+            return allocateLargePage(size);
+        }
+
+        Deque<Page> classPages = pagesWithFreeChunks.get(sizeClass);
+        Page page = classPages.peekFirst();
+
+        if (page == null) {
+            page = takeEmptyPage();
+
+            if (page == null) {
+                return -1;
+            }
+
+            page.format(sizeClass, chunkSizes[sizeClass]);
+            freeChunkCounts[sizeClass] += page.getChunkCount();
+            classPages.addFirst(page);
+        }
+
+        int offset = page.allocateChunk();
+        freeChunkCounts[sizeClass]--;
+
+        if (!page.hasFreeChunk()) {
+            classPages.pollFirst();
+        }
+
+        return address(page.index, offset);
+    }
+
+    /**
+     * Method to free a chunk.
+     *
+     * @param address the address of the chunk
+     */
+    void free(long address) {
+        Page page = pages.get(pageIndex(address));
+
+        if (page.sizeClass == NO_CHUNK) {
+            releasePage(page);
+            return;
+        }
+
+        boolean hadFreeChunk = page.hasFreeChunk();
+        page.freeChunk(offset(address));
+
+        if (page.evacuating) {
+            return;
+        }
+
+        freeChunkCounts[page.sizeClass]++;
+
+        if (!hadFreeChunk) {
+            pagesWithFreeChunks.get(page.sizeClass).addFirst(page);
+        }
+    }
+
+    /**
+     * Method to free all the chunks. The pages are kept to be reused, except the pages of large chunks.
+     */
+    void clear() {
+        for (Deque<Page> classPages : pagesWithFreeChunks) {
+            classPages.clear();
+        }
+
+        Arrays.fill(freeChunkCounts, 0);
+        emptyPages.clear();
+
+        for (Page page : new ArrayList<>(pages)) {
+            if (page == null) {
+                continue;
+            }
+
+            if (page.sizeClass == NO_CHUNK) {
+                releasePage(page);
+            } else {
+                page.evacuating = false;
+                page.format(page.sizeClass, page.chunkSize);
+                emptyPages.push(page);
+            }
+        }
+    }
+
+    /**
+     * Method to select the page which is the cheapest to empty and stop allocating from it. A page qualifies if the
+     * other pages of its size class have enough free chunks to take all its allocated chunks. The owner must then move
+     * every chunk of the page, which it finds with {@link #getPageIndex(long)}, and call {@link #finishEvacuation(int)}.
+     *
+     * @return the index of the page or -1 if no page qualifies
+     */
+    int startEvacuation() {
+        Page selectedPage = null;
+
+        for (Page page : pages) {
+            if (page == null || page.sizeClass == NO_CHUNK || page.allocatedChunks == 0) {
+                continue;
+            }
+
+            long otherFreeChunks = freeChunkCounts[page.sizeClass] - (page.getChunkCount() - page.allocatedChunks);
+
+            if (otherFreeChunks >= page.allocatedChunks
+                    && (selectedPage == null || page.allocatedChunks < selectedPage.allocatedChunks)) {
+                selectedPage = page;
+            }
+        }
+
+        if (selectedPage == null) {
+            return -1;
+        }
+
+        selectedPage.evacuating = true;
+        freeChunkCounts[selectedPage.sizeClass] -= selectedPage.getChunkCount() - selectedPage.allocatedChunks;
+        pagesWithFreeChunks.get(selectedPage.sizeClass).remove(selectedPage);
+        return selectedPage.index;
+    }
+
+    /**
+     * Method to make a page which was emptied by moving its chunks available to any size class.
+     *
+     * @param pageIndex the index of the page
+     */
+    void finishEvacuation(int pageIndex) {
+        Page page = pages.get(pageIndex);
+        page.evacuating = false;
+        emptyPages.push(page);
+    }
+
+    /**
+     * Method to get the number of bytes of direct memory a chunk accounts for, which is its share of its page
+     * including the bytes at the end of the page which are too few for another chunk.
+     *
+     * @param address the address of the chunk
+     * @return the number of bytes
+     */
+    int getChunkCost(long address) {
+        Page page = pages.get(pageIndex(address));
+        return page.buffer.capacity() / page.getChunkCount();
+    }
+
+    /**
+     * Method to get the buffer of the page which holds a chunk.
+     * The chunk starts at {@link #offset(long)} in the buffer.
+     *
+     * @param address the address of the chunk
+     * @return the buffer
+     */
+    ByteBuffer getBuffer(long address) {
+        return pages.get(pageIndex(address)).buffer;
+    }
+
+    /**
+     * Method to get the number of bytes of direct memory which are allocated.
+     *
+     * @return the allocated bytes
+     */
+    long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * Method to get the offset of a chunk in its page.
+     *
+     * @param address the address of the chunk
+     * @return the offset
+     */
+    static int offset(long address) {
+        return (int) address;
+    }
+
+    /**
+     * Method to get the index of the page of a chunk.
+     *
+     * @param address the address of the chunk
+     * @return the page index
+     */
+    static int getPageIndex(long address) {
+        return pageIndex(address);
+    }
+
+    /**
+     * Method to allocate a page for a chunk that is larger than a page. Empty pages are released to make room.
+     *
+     * @param size the number of bytes
+     * @return the address of the chunk or -1 if there is not enough memory
+     */
+    private long allocateLargePage(int size) {
+        while (allocatedBytes + size > capacity) {
+            Page emptyPage = takeUnusedPage();
+
+            if (emptyPage == null) {
+                return -1;
+            }
+
+            releasePage(emptyPage);
+        }
+
+        Page page = newPage(size);
+        page.sizeClass = NO_CHUNK;
+        page.chunkSize = size;
+        return address(page.index, 0);
+    }
+
+    /**
+     * Method to get a page without allocated chunks, either an empty page, a new page or a page taken over from
+     * another size class.
+     *
+     * @return the page or null if there is not enough memory
+     */
+    private Page takeEmptyPage() {
+        if (emptyPages.isEmpty() && allocatedBytes + pageSize <= capacity) {
+            return newPage(pageSize);
+        }
+
+        return takeUnusedPage();
+    }
+
+    /**
+     * Method to get an existing page without allocated chunks.
+     *
+     * @return the page or null if every page has allocated chunks
+     */
+    private Page takeUnusedPage() {
+        if (!emptyPages.isEmpty()) {
+            return emptyPages.pop();
+        }
+
+        for (Deque<Page> classPages : pagesWithFreeChunks) {
+            for (Page page : classPages) {
+                if (page.allocatedChunks == 0) {
+                    classPages.remove(page);
+                    freeChunkCounts[page.sizeClass] -= page.getChunkCount();
+                    return page;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Method to create a page.
+     *
+     * @param size the size of the page
+     * @return the page
+     */
+    private Page newPage(int size) {
+        Integer index = releasedPageIndexes.poll();
+        Page page = new Page(index == null ? pages.size() : index, ByteBuffer.allocateDirect(size));
+
+        if (index == null) {
+            pages.add(page);
+        } else {
+            pages.set(index, page);
+        }
+
+        allocatedBytes += size;
+        return page;
+    }
+
+    /**
+     * Method to release a page, so that its direct memory is freed once the buffer is garbage collected.
+     *
+     * @param page the page
+     */
+    private void releasePage(Page page) {
+        pages.set(page.index, null);
+        releasedPageIndexes.push(page.index);
+        allocatedBytes -= page.buffer.capacity();
+    }
+
+    /**
+     * Method to create an address.
+     *
+     * @param pageIndex the page index
+     * @param offset    the offset of the chunk in the page
+     * @return the address
+     */
+    private static long address(int pageIndex, int offset) {
+        return ((long) pageIndex << 32) | offset;
+    }
+
+    /**
+     * Method to get the page index of an address.
+     *
+     * @param address the address
+     * @return the page index
+     */
+    private static int pageIndex(long address) {
+        return (int) (address >>> 32);
+    }
+
+    /**
+     * Inner class to represent a page of direct memory which is split in to chunks of one size.
+     */
+    private static class Page {
+        private final int index;
+        private final ByteBuffer buffer;
+        private int sizeClass;
+        private int chunkSize;
+        private int freeChunkOffset;
+        private int unusedOffset;
+        private int allocatedChunks;
+        private boolean evacuating;
+
+        /**
+         * Constructor to instantiate the page.
+         *
+         * @param index  the page index
+         * @param buffer the direct buffer
+         */
+        Page(int index, ByteBuffer buffer) {
+            this.index = index;
+            this.buffer = buffer;
+        }
+
+        /**
+         * Method to split the page in to chunks of a size class. All the chunks are free afterwards.
+         *
+         * @param sizeClass the size class
+         * @param chunkSize the chunk size of the size class
+         */
+        void format(int sizeClass, int chunkSize) {
+            this.sizeClass = sizeClass;
+            this.chunkSize = chunkSize;
+            this.freeChunkOffset = NO_CHUNK;
+            this.unusedOffset = 0;
+            this.allocatedChunks = 0;
+        }
+
+        /**
+         * Method to get the number of chunks of the page.
+         *
+         * @return the number of chunks
+         */
+        int getChunkCount() {
+            return buffer.capacity() / chunkSize;
+        }
+
+        /**
+         * Method to check whether the page has a free chunk.
+         *
+         * @return true if it has a free chunk and false if not
+         */
+        boolean hasFreeChunk() {
+            return freeChunkOffset != NO_CHUNK || unusedOffset + chunkSize <= buffer.capacity();
+        }
+
+        /**
+         * Method to allocate a chunk. A freed chunk is reused before a chunk that was never used.
+         *
+         * @return the offset of the chunk
+         */
+        int allocateChunk() {
+            int offset;
+
+            if (freeChunkOffset != NO_CHUNK) {
+                offset = freeChunkOffset;
+                freeChunkOffset = buffer.getInt(offset);
+            } else {
+                offset = unusedOffset;
+                unusedOffset += chunkSize;
+            }
+
+            allocatedChunks++;
+            return offset;
+        }
+
+        /**
+         * Method to free a chunk by linking it to the free chunks.
+         *
+         * @param offset the offset of the chunk
+         */
+        void freeChunk(int offset) {
+            buffer.putInt(offset, freeChunkOffset);
+            freeChunkOffset = offset;
+            allocatedChunks--;
+        }
+    }
+}
@@ -0,0 +1,408 @@
+package com.leondesilva.jlcache.strategy;
+
+import com.leondesilva.jlcache.Cache;
+import com.leondesilva.jlcache.exceptions.CacheException;
+import com.leondesilva.jlcache.pojo.ARCEvictionMetaData;
+import com.leondesilva.jlcache.util.LinkedKeyIndex;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class to represent the ARC (adaptive replacement cache) eviction strategy.
+ * Keys used once are kept in a recency list and keys used more than once in a frequency list.
+ * Keys evicted from either list are remembered in a matching ghost list. A put of a key found in a ghost list shows
+ * that the corresponding list was too small, so the target size of the recency list is moved towards that list.
+ * This lets the strategy adapt between recency heavy and frequency heavy workloads on its own.
+ *
+ * @param <K> the type of the key
+ * @param <V> the type of the value
+ */
+public class ARCEvictionStrategy<K extends Serializable, V extends Serializable> implements EvictionStrategy<K, V> {
+    private Cache<K, V> cache;
+    private int maxEntrySize;
+
+    /**
+     * Constructor to instantiate the ARCEvictionStrategy.
+     *
+     * @param cache        the cache
+     * @param maxEntrySize the max entry size
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    public ARCEvictionStrategy(Cache<K, V> cache, int maxEntrySize) throws CacheException {
+        this.cache = cache;
+        this.maxEntrySize = maxEntrySize;
+
+        ARCEvictionMetaData<K> metaData = new ARCEvictionMetaData<>();
+        storeMetaData(metaData);
+    }
+
+    /**
+     * Method to put the key and the value.
+     *
+     * @param key   the key
+     * @param value the value
+     */
+    @Override
+    public void put(K key, V value) throws CacheException {
+        put(key, value, WriteBatch.NO_DURATION);
+    }
+
+    /**
+     * Method to put the key and the value with a lifetime of its own.
+     *
+     * @param key      the key
+     * @param value    the value
+     * @param duration the duration after which the entry expires
+     * @param timeUnit the time unit of the duration
+     */
+    @Override
+    public void put(K key, V value, long duration, TimeUnit timeUnit) throws CacheException {
+        put(key, value, timeUnit.toNanos(duration));
+    }
+
+    /**
+     * Method to put the key and the value, with a lifetime of its own if a duration is given.
+     *
+     * @param key           the key
+     * @param value         the value
+     * @param durationNanos the duration in nanoseconds after which the entry expires or {@link WriteBatch#NO_DURATION}
+     */
+    private void put(K key, V value, long durationNanos) throws CacheException {
+        ARCEvictionMetaData<K> metaData = retrieveMetaData();
+        add(metaData, key, null);
+
+        try {
+            WriteBatch.put(cache, key, value, durationNanos);
+        } catch (CacheException e) {
+            // A key which the cache did not take must not be tracked as resident.
+            delete(key);
+            throw e;
+        }
+
+        storeMetaData(metaData);
+    }
+
+    /**
+     * Method to put many keys and values. The meta data is loaded and stored once, and the evicted keys and the
+     * entries reach the cache as one batch.
+     *
+     * @param entries the keys and the values
+     */
+    @Override
+    public void putAll(Map<? extends K, ? extends V> entries) throws CacheException {
+        ARCEvictionMetaData<K> metaData = retrieveMetaData();
+        WriteBatch<K, V> batch = new WriteBatch<>();
+
+        for (Map.Entry<? extends K, ? extends V> entry : entries.entrySet()) {
+            add(metaData, entry.getKey(), batch);
+            batch.put(entry.getKey(), entry.getValue());
+        }
+
+        batch.writeTo(cache);
+        storeMetaData(metaData);
+    }
+
+    /**
+     * Method to get the values for many keys. The meta data is loaded and stored once.
+     *
+     * @param keys the keys
+     * @return the values of the keys which are in the cache, in the order of the given keys
+     */
+    @Override
+    public Map<K, V> getAll(Collection<? extends K> keys) throws CacheException {
+        ARCEvictionMetaData<K> metaData = retrieveMetaData();
+        boolean changed = false;
+
+        for (K key : keys) {
+            if (metaData.getRecencyIndex().remove(key) || metaData.getFrequencyIndex().contains(key)) {
+                metaData.getFrequencyIndex().addFirst(key);
+                changed = true;
+            }
+        }
+
+        if (changed) {
+            storeMetaData(metaData);
+        }
+
+        return cache.getAll(keys);
+    }
+
+    /**
+     * Method to add a key which is being put to the lists, evicting a key if the cache is full.
+     *
+     * @param metaData the meta data
+     * @param key      the key
+     * @param batch    the batch to add the evictions to, or null to delete the evicted keys from the cache right away
+     */
+    private void add(ARCEvictionMetaData<K> metaData, K key, WriteBatch<K, V> batch) throws CacheException {
+        LinkedKeyIndex<K> recencyIndex = metaData.getRecencyIndex();
+        LinkedKeyIndex<K> frequencyIndex = metaData.getFrequencyIndex();
+        LinkedKeyIndex<K> recencyGhostIndex = metaData.getRecencyGhostIndex();
+        LinkedKeyIndex<K> frequencyGhostIndex = metaData.getFrequencyGhostIndex();
+
+        if (recencyIndex.remove(key) || frequencyIndex.contains(key)) {
+            frequencyIndex.addFirst(key);
+        } else if (recencyGhostIndex.contains(key)) {
+            int delta = Math.max(1, frequencyGhostIndex.size() / recencyGhostIndex.size());
+            metaData.setTargetRecencySize(Math.min(maxEntrySize, metaData.getTargetRecencySize() + delta));
+            recencyGhostIndex.remove(key);
+            replace(metaData, false, batch);
+            frequencyIndex.addFirst(key);
+        } else if (frequencyGhostIndex.contains(key)) {
+            int delta = Math.max(1, recencyGhostIndex.size() / frequencyGhostIndex.size());
+            metaData.setTargetRecencySize(Math.max(0, metaData.getTargetRecencySize() - delta));
+            frequencyGhostIndex.remove(key);
+            replace(metaData, true, batch);
+            frequencyIndex.addFirst(key);
+        } else {
+            admit(metaData, batch);
+            recencyIndex.addFirst(key);
+        }
+    }
+
+    /**
+     * Method to get the value for a given key.
+     *
+     * @param key the key
+     * @return the value
+     */
+    @Override
+    public V get(K key) throws CacheException {
+        recordAccess(key);
+        return cache.get(key);
+    }
+
+    /**
+     * Method to record an access of a key without reading the value.
+     *
+     * @param key the key
+     */
+    @Override
+    public void recordAccess(K key) throws CacheException {
+        ARCEvictionMetaData<K> metaData = retrieveMetaData();
+
+        if (metaData.getRecencyIndex().remove(key) || metaData.getFrequencyIndex().contains(key)) {
+            metaData.getFrequencyIndex().addFirst(key);
+            storeMetaData(metaData);
+        }
+    }
+
+    /**
+     * Method to evict the entry which the strategy would evict next to make room. The evicted key is remembered
+     * in the matching ghost list.
+     *
+     * @return the evicted key or null if the cache is empty
+     */
+    @Override
+    public K evict() throws CacheException {
+        ARCEvictionMetaData<K> metaData = retrieveMetaData();
+        K key = evictResident(metaData, false, null);
+
+        if (key != null) {
+            storeMetaData(metaData);
+        }
+
+        return key;
+    }
+
+    /**
+     * Method to delete an entry for a given key.
+     *
+     * @param key the key to delete
+     */
+    @Override
+    public void delete(K key) throws CacheException {
+        cache.delete(key);
+
+        ARCEvictionMetaData<K> metaData = retrieveMetaData();
+
+        if (metaData.getRecencyIndex().remove(key)
+                || metaData.getFrequencyIndex().remove(key)
+                || metaData.getRecencyGhostIndex().remove(key)
+                || metaData.getFrequencyGhostIndex().remove(key)) {
+            storeMetaData(metaData);
+        }
+    }
+
+    /**
+     * Method to delete the entries for many keys. The meta data is loaded and stored once.
+     *
+     * @param keys the keys to delete
+     */
+    @Override
+    public void deleteAll(Collection<? extends K> keys) throws CacheException {
+        cache.deleteAll(keys);
+
+        ARCEvictionMetaData<K> metaData = retrieveMetaData();
+        boolean changed = false;
+
+        for (K key : keys) {
+            changed |= metaData.getRecencyIndex().remove(key)
+                    || metaData.getFrequencyIndex().remove(key)
+                    || metaData.getRecencyGhostIndex().remove(key)
+                    || metaData.getFrequencyGhostIndex().remove(key);
+        }
+
+        if (changed) {
+            storeMetaData(metaData);
+        }
+    }
+
+    /**
+     * Method to delete all the keys.
+     */
+    @Override
+    public void deleteAll() throws CacheException {
+        ARCEvictionMetaData<K> metaData = retrieveMetaData();
+        cache.deleteAll();
+        metaData.getRecencyIndex().clear();
+        metaData.getFrequencyIndex().clear();
+        metaData.getRecencyGhostIndex().clear();
+        metaData.getFrequencyGhostIndex().clear();
+        metaData.setTargetRecencySize(0);
+        storeMetaData(metaData);
+    }
+
+    /**
+     * Method to check whether the key contains in cache
+     *
+     * @param key the key
+     * @return true of contains and false if not
+     */
+    @Override
+    public boolean containsKey(K key) throws CacheException {
+        return cache.containsKey(key);
+    }
+
+    /**
+     * Method to get the size of the cache.
+     *
+     * @return the size of the cache
+     */
+    @Override
+    public int getSize() throws CacheException {
+        return cache.getSize();
+    }
+
+    /**
+     * Method to make room for a key that is neither cached nor remembered in a ghost list.
+     * The ghost lists are trimmed so that the recency side never holds more than the max entry size
+     * and both sides together never hold more than twice the max entry size.
+     *
+     * @param metaData the meta data
+     * @param batch    the batch to add the evictions to, or null to delete the evicted keys from the cache right away
+     */
+    private void admit(ARCEvictionMetaData<K> metaData, WriteBatch<K, V> batch) throws CacheException {
+        LinkedKeyIndex<K> recencyIndex = metaData.getRecencyIndex();
+        LinkedKeyIndex<K> recencyGhostIndex = metaData.getRecencyGhostIndex();
+        LinkedKeyIndex<K> frequencyGhostIndex = metaData.getFrequencyGhostIndex();
+        int recencySideSize = recencyIndex.size() + recencyGhostIndex.size();
+        int totalSize = recencySideSize + metaData.getFrequencyIndex().size() + frequencyGhostIndex.size();
+
+        if (recencySideSize >= maxEntrySize) {
+            if (recencyIndex.size() < maxEntrySize) {
+                recencyGhostIndex.removeLast();
+                replace(metaData, false, batch);
+            } else if (!recencyIndex.isEmpty()) {
+                deleteFromCache(recencyIndex.removeLast(), batch);
+            }
+        } else if (totalSize >= maxEntrySize) {
+            if (totalSize >= 2 * maxEntrySize) {
+                frequencyGhostIndex.removeLast();
+            }
+
+            replace(metaData, false, batch);
+        }
+    }
+
+    /**
+     * Method to evict a key from the recency list or the frequency list depending on the target recency size.
+     * The evicted key is remembered in the matching ghost list. Nothing is evicted while the cache is not full.
+     *
+     * @param metaData              the meta data
+     * @param frequencyGhostRequest true if the key being put was found in the frequency ghost list
+     * @param batch                 the batch to add the eviction to, or null to delete the evicted key from the cache
+     *                              right away
+     */
+    private void replace(ARCEvictionMetaData<K> metaData, boolean frequencyGhostRequest, WriteBatch<K, V> batch) throws CacheException {
+        LinkedKeyIndex<K> recencyIndex = metaData.getRecencyIndex();
+        LinkedKeyIndex<K> frequencyIndex = metaData.getFrequencyIndex();
+
+        if (recencyIndex.size() + frequencyIndex.size() < maxEntrySize) {
+            return;
+        }
+
+        evictResident(metaData, frequencyGhostRequest, batch);
+    }
+
+    /**
+     * Method to evict a key from the recency list or the frequency list depending on the target recency size.
+     * The evicted key is remembered in the matching ghost list.
+     *
+     * @param metaData              the meta data
+     * @param frequencyGhostRequest true if the key being put was found in the frequency ghost list
+     * @param batch                 the batch to add the eviction to, or null to delete the evicted key from the cache
+     *                              right away
+     * @return the evicted key or null if both lists are empty
+     */
+    private K evictResident(ARCEvictionMetaData<K> metaData, boolean frequencyGhostRequest, WriteBatch<K, V> batch) throws CacheException {
+        LinkedKeyIndex<K> recencyIndex = metaData.getRecencyIndex();
+        LinkedKeyIndex<K> frequencyIndex = metaData.getFrequencyIndex();
+        int targetRecencySize = metaData.getTargetRecencySize();
+        boolean evictFromRecency = !recencyIndex.isEmpty()
+                && (recencyIndex.size() > targetRecencySize
+                || (frequencyGhostRequest && recencyIndex.size() == targetRecencySize)
+                || frequencyIndex.isEmpty());
+
+        if (evictFromRecency) {
+            K key = recencyIndex.removeLast();
+            deleteFromCache(key, batch);
+            metaData.getRecencyGhostIndex().addFirst(key);
+            return key;
+        }
+
+        if (!frequencyIndex.isEmpty()) {
+            K key = frequencyIndex.removeLast();
+            deleteFromCache(key, batch);
+            metaData.getFrequencyGhostIndex().addFirst(key);
+            return key;
+        }
+
+        return null;
+    }
+
+    /**
+     * Method to delete an evicted key from the cache or add the delete to a batch.
+     *
+     * @param key   the evicted key
+     * @param batch the batch, or null to delete the key from the cache right away
+     */
+    private void deleteFromCache(K key, WriteBatch<K, V> batch) throws CacheException {
+        if (batch == null) {
+            cache.delete(key);
+        } else {
+            batch.delete(key);
+        }
+    }
+
+    /**
+     * Method to store the meta data.
+     *
+     * @param metaData the meta data to be stored
+     */
+    private void storeMetaData(ARCEvictionMetaData<K> metaData) throws CacheException {
+        this.cache.storeMetaData(metaData);
+    }
+
+    /**
+     * Method to retrieve the meta data.
+     *
+     * @return the meta data
+     */
+    private ARCEvictionMetaData<K> retrieveMetaData() throws CacheException {
+        return (ARCEvictionMetaData) this.cache.getMetaData();
+    }
+}
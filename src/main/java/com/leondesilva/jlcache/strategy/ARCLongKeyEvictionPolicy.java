@@ -0,0 +1,209 @@
+package com.leondesilva.jlcache.strategy;
+
+import com.leondesilva.jlcache.util.EntryList;
+import com.leondesilva.jlcache.util.LongKeyTable;
+
+/**
+ * Class to represent the ARC (adaptive replacement cache) eviction policy of a long key cache.
+ * <p>
+ * Entries used once are kept in a recency list and entries used more than once in a frequency list. The keys of
+ * evicted entries are remembered in a ghost list of the side they were evicted from, which is a {@link LongKeyTable}
+ * of its own. A key inserted again while it is remembered moves the target size of the recency list towards the side
+ * it was evicted from, like in the ARC strategy.
+ */
+public class ARCLongKeyEvictionPolicy implements LongKeyEvictionPolicy {
+    private final LongKeyTable<?> table;
+    private final int maxEntrySize;
+    private final EntryList recencyEntries;
+    private final EntryList frequencyEntries;
+    private final boolean[] frequent;
+    private final LongKeyTable<Object> ghostTable;
+    private final int maxGhostSize;
+    private final EntryList recencyGhosts;
+    private final EntryList frequencyGhosts;
+    private final boolean[] frequentGhost;
+    private int targetRecencySize;
+    private boolean insertFrequent;
+
+    /**
+     * Constructor to instantiate the ARCLongKeyEvictionPolicy.
+     *
+     * @param table        the table of the cache
+     * @param maxEntrySize the max entry size
+     */
+    public ARCLongKeyEvictionPolicy(LongKeyTable<?> table, int maxEntrySize) {
+        this.table = table;
+        this.maxEntrySize = maxEntrySize;
+        this.recencyEntries = new EntryList(table.getEntryCapacity());
+        this.frequencyEntries = new EntryList(recencyEntries);
+        this.frequent = new boolean[table.getEntryCapacity()];
+        this.ghostTable = new LongKeyTable<>(2 * maxEntrySize);
+        this.maxGhostSize = ghostTable.getEntryCapacity();
+        this.recencyGhosts = new EntryList(maxGhostSize);
+        this.frequencyGhosts = new EntryList(recencyGhosts);
+        this.frequentGhost = new boolean[maxGhostSize];
+    }
+
+    /**
+     * Method to adapt the target recency size if the key is remembered in a ghost list, trim the ghost lists and
+     * choose the entry to evict if the cache is full.
+     *
+     * @param key  the key which is about to be inserted
+     * @param full true if the cache is full
+     * @return the entry index to evict or {@link LongKeyTable#NO_ENTRY} if nothing has to be evicted
+     */
+    @Override
+    public int admit(long key, boolean full) {
+        int ghost = ghostTable.find(key);
+        insertFrequent = ghost != LongKeyTable.NO_ENTRY;
+
+        if (insertFrequent && !frequentGhost[ghost]) {
+            int delta = Math.max(1, frequencyGhosts.size() / recencyGhosts.size());
+            targetRecencySize = Math.min(maxEntrySize, targetRecencySize + delta);
+            removeGhost(ghost);
+            return full ? evictResident(false) : LongKeyTable.NO_ENTRY;
+        }
+
+        if (insertFrequent) {
+            int delta = Math.max(1, recencyGhosts.size() / frequencyGhosts.size());
+            targetRecencySize = Math.max(0, targetRecencySize - delta);
+            removeGhost(ghost);
+            return full ? evictResident(true) : LongKeyTable.NO_ENTRY;
+        }
+
+        int recencySideSize = recencyEntries.size() + recencyGhosts.size();
+        int totalSize = recencySideSize + frequencyEntries.size() + frequencyGhosts.size();
+
+        if (recencySideSize >= maxEntrySize) {
+            if (recencyEntries.size() < maxEntrySize) {
+                removeGhost(recencyGhosts.peekLast());
+                return full ? evictResident(false) : LongKeyTable.NO_ENTRY;
+            }
+
+            return recencyEntries.removeLast();
+        }
+
+        if (totalSize >= maxEntrySize) {
+            if (totalSize >= 2 * maxEntrySize) {
+                removeGhost(frequencyGhosts.peekLast());
+            }
+
+            return full ? evictResident(false) : LongKeyTable.NO_ENTRY;
+        }
+
+        return LongKeyTable.NO_ENTRY;
+    }
+
+    /**
+     * Method to record an inserted entry in the frequency list if its key was remembered and in the recency list if not.
+     *
+     * @param entry the entry index
+     */
+    @Override
+    public void recordInsert(int entry) {
+        frequent[entry] = insertFrequent;
+        (insertFrequent ? frequencyEntries : recencyEntries).addFirst(entry);
+    }
+
+    /**
+     * Method to record an access of an entry by moving it to the head of the frequency list.
+     *
+     * @param entry the entry index
+     */
+    @Override
+    public void recordAccess(int entry) {
+        if (frequent[entry]) {
+            frequencyEntries.moveToFront(entry);
+            return;
+        }
+
+        recencyEntries.remove(entry);
+        frequent[entry] = true;
+        frequencyEntries.addFirst(entry);
+    }
+
+    /**
+     * Method to stop tracking a key, including a key which is only remembered in a ghost list.
+     *
+     * @param key   the key
+     * @param entry the entry index or {@link LongKeyTable#NO_ENTRY} if the key is not in the cache
+     */
+    @Override
+    public void remove(long key, int entry) {
+        if (entry != LongKeyTable.NO_ENTRY) {
+            (frequent[entry] ? frequencyEntries : recencyEntries).remove(entry);
+            return;
+        }
+
+        int ghost = ghostTable.find(key);
+
+        if (ghost != LongKeyTable.NO_ENTRY) {
+            removeGhost(ghost);
+        }
+    }
+
+    /**
+     * Method to stop tracking all the keys.
+     */
+    @Override
+    public void clear() {
+        recencyEntries.clear();
+        frequencyEntries.clear();
+        recencyGhosts.clear();
+        frequencyGhosts.clear();
+        ghostTable.clear();
+        targetRecencySize = 0;
+    }
+
+    /**
+     * Method to choose an entry from the recency list or the frequency list depending on the target recency size.
+     * The key of the entry is remembered in the matching ghost list.
+     *
+     * @param frequencyGhostRequest true if the key being inserted was found in the frequency ghost list
+     * @return the entry index or {@link LongKeyTable#NO_ENTRY} if both lists are empty
+     */
+    private int evictResident(boolean frequencyGhostRequest) {
+        boolean evictFromRecency = !recencyEntries.isEmpty()
+                && (recencyEntries.size() > targetRecencySize
+                || (frequencyGhostRequest && recencyEntries.size() == targetRecencySize)
+                || frequencyEntries.isEmpty());
+        EntryList entries = evictFromRecency ? recencyEntries : frequencyEntries;
+        int entry = entries.removeLast();
+
+        if (entry != LongKeyTable.NO_ENTRY) {
+            addGhost(table.getKey(entry), !evictFromRecency);
+        }
+
+        return entry;
+    }
+
+    /**
+     * Method to remember the key of an evicted entry. The oldest ghost is forgotten if the ghost table is full.
+     *
+     * @param key       the key
+     * @param frequency true if the entry was evicted from the frequency list
+     */
+    private void addGhost(long key, boolean frequency) {
+        if (ghostTable.size() >= maxGhostSize) {
+            removeGhost((frequencyGhosts.isEmpty() ? recencyGhosts : frequencyGhosts).peekLast());
+        }
+
+        int ghost = ghostTable.insert(key, null);
+        frequentGhost[ghost] = frequency;
+        (frequency ? frequencyGhosts : recencyGhosts).addFirst(ghost);
+    }
+
+    /**
+     * Method to forget a ghost.
+     *
+     * @param ghost the entry index of the ghost or {@link LongKeyTable#NO_ENTRY} to do nothing
+     */
+    private void removeGhost(int ghost) {
+        if (ghost == LongKeyTable.NO_ENTRY) {
+            return;
+        }
+
+        (frequentGhost[ghost] ? frequencyGhosts : recencyGhosts).remove(ghost);
+        ghostTable.remove(ghost);
+    }
+}
@@ -3,6 +3,10 @@ package com.leondesilva.jlcache.strategy;
 import com.leondesilva.jlcache.exceptions.CacheException;
 
 import java.io.Serializable;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Interface to represent the eviction strategy.
@@ -20,6 +24,21 @@ public interface EvictionStrategy<K extends Serializable, V extends Serializable
      */
     void put(K key, V value) throws CacheException;
 
+    /**
+     * Method to put the key and the value with a lifetime of its own. The key is tracked like any other put, and the
+     * cache is asked to expire the entry once the duration has passed.
+     *
+     * @param key      the key
+     * @param value    the value
+     * @param duration the duration after which the entry expires
+     * @param timeUnit the time unit of the duration
+     * @throws CacheException if per entry expiration is not supported or if an error occurs when trying to run a
+     *                        caching related task
+     */
+    default void put(K key, V value, long duration, TimeUnit timeUnit) throws CacheException {
+        throw new CacheException("Per entry expiration is not supported by " + getClass().getSimpleName() + ".");
+    }
+
     /**
      * Method to get the value for a given key.
      *
@@ -29,6 +48,59 @@ public interface EvictionStrategy<K extends Serializable, V extends Serializable
      */
     V get(K key) throws CacheException;
 
+    /**
+     * Method to put many keys and values. Strategies which keep their meta data in the cache load and store it once
+     * for the whole batch.
+     *
+     * @param entries the keys and the values
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    default void putAll(Map<? extends K, ? extends V> entries) throws CacheException {
+        for (Map.Entry<? extends K, ? extends V> entry : entries.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Method to get the values for many keys. Strategies which keep their meta data in the cache load and store it
+     * once for the whole batch.
+     *
+     * @param keys the keys
+     * @return the values of the keys which are in the cache, in the order of the given keys
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    default Map<K, V> getAll(Collection<? extends K> keys) throws CacheException {
+        Map<K, V> values = new LinkedHashMap<>();
+
+        for (K key : keys) {
+            V value = get(key);
+
+            if (value != null) {
+                values.put(key, value);
+            }
+        }
+
+        return values;
+    }
+
+    /**
+     * Method to record an access of a key without reading the value. This updates the eviction order in the same way
+     * as a get, so that callers which read the cache on their own can apply the accesses later in batches.
+     *
+     * @param key the key
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    void recordAccess(K key) throws CacheException;
+
+    /**
+     * Method to evict the entry which the strategy would evict next to make room, even if the cache is not full.
+     * This lets callers bound the cache by something other than the number of entries, such as the total weight.
+     *
+     * @return the evicted key or null if the cache is empty
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    K evict() throws CacheException;
+
     /**
      * Method to delete an entry for a given key.
      *
@@ -37,6 +109,18 @@ public interface EvictionStrategy<K extends Serializable, V extends Serializable
      */
     void delete(K key) throws CacheException;
 
+    /**
+     * Method to delete the entries for many keys.
+     *
+     * @param keys the keys to delete
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    default void deleteAll(Collection<? extends K> keys) throws CacheException {
+        for (K key : keys) {
+            delete(key);
+        }
+    }
+
     /**
      * Method to delete all the keys.
      *
@@ -3,6 +3,7 @@ package com.leondesilva.jlcache.strategy;
 import com.leondesilva.jlcache.Cache;
 import com.leondesilva.jlcache.enumeration.CacheEvictionType;
 import com.leondesilva.jlcache.exceptions.CacheException;
+import com.leondesilva.jlcache.util.LongKeyTable;
 
 import java.io.Serializable;
 
@@ -40,6 +41,44 @@ public final class EvictionStrategyFactory {
                 return new LRUEvictionStrategy<>(cache, maxEntrySize);
             case LFU:
                 return new LFUEvictionStrategy<>(cache, maxEntrySize);
+            case TINY_LFU:
+                return new TinyLFUEvictionStrategy<>(cache, maxEntrySize);
+            case ARC:
+                return new ARCEvictionStrategy<>(cache, maxEntrySize);
+            case SIEVE:
+                return new SieveEvictionStrategy<>(cache, maxEntrySize);
+            default:
+                throw new CacheException("Invalid eviction type.");
+        }
+    }
+
+    /**
+     * Method to create the eviction policy of a long key cache.
+     *
+     * @param table             the table of the long key cache
+     * @param maxEntrySize      the max entry size
+     * @param cacheEvictionType the cache eviction type
+     * @return the eviction policy
+     * @throws CacheException if the eviction type is invalid
+     */
+    public static LongKeyEvictionPolicy createLongKeyEvictionPolicy(LongKeyTable<?> table,
+                                                                    int maxEntrySize,
+                                                                    CacheEvictionType cacheEvictionType) throws CacheException {
+        if (cacheEvictionType == null) {
+            throw new CacheException("Eviction type cannot be null.");
+        }
+
+        switch (cacheEvictionType) {
+            case LRU:
+                return new LRULongKeyEvictionPolicy(table);
+            case LFU:
+                return new LFULongKeyEvictionPolicy(table);
+            case TINY_LFU:
+                return new TinyLFULongKeyEvictionPolicy(table, maxEntrySize);
+            case ARC:
+                return new ARCLongKeyEvictionPolicy(table, maxEntrySize);
+            case SIEVE:
+                return new SieveLongKeyEvictionPolicy(table);
             default:
                 throw new CacheException("Invalid eviction type.");
         }
@@ -1,25 +1,56 @@
 package com.leondesilva.jlcache.strategy;
 
 import com.leondesilva.jlcache.Cache;
+import com.leondesilva.jlcache.exceptions.CacheException;
+import com.leondesilva.jlcache.pojo.LFUEvictionMetaData;
+import com.leondesilva.jlcache.util.FrequencyKeyIndex;
 
 import java.io.Serializable;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Class to represent the LFU cache eviction strategy.
+ * The access frequencies are kept in a {@link FrequencyKeyIndex} so that every operation is constant time.
+ * Optionally the frequencies can be aged by halving them after a given number of operations,
+ * so that keys which were popular in the past do not stay in the cache forever.
  *
  * @param <K> the type of the key
  * @param <V> the type of the value
  */
 public class LFUEvictionStrategy<K extends Serializable, V extends Serializable> implements EvictionStrategy<K, V> {
+    private Cache<K, V> cache;
+    private int maxEntrySize;
+    private int agingPeriod;
 
     /**
-     * Constructor to instantiate the LFUEvictionStrategy.
+     * Constructor to instantiate the LFUEvictionStrategy without frequency aging.
      *
      * @param cache        the cache
      * @param maxEntrySize the max entry size
+     * @throws CacheException if an error occurs when trying to run a caching related task
      */
-    public LFUEvictionStrategy(Cache<K, V> cache, int maxEntrySize) {
-        // NOTE: NOT Implemented as the current selected flow to be implemented is the LRU.
+    public LFUEvictionStrategy(Cache<K, V> cache, int maxEntrySize) throws CacheException {
+        this(cache, maxEntrySize, 0);
+    }
+
+    /**
+     * Constructor to instantiate the LFUEvictionStrategy with frequency aging.
+     *
+     * @param cache        the cache
+     * @param maxEntrySize the max entry size
+     * @param agingPeriod  the number of put and get operations after which all frequencies are halved,
+     *                     or zero to disable aging
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    public LFUEvictionStrategy(Cache<K, V> cache, int maxEntrySize, int agingPeriod) throws CacheException {
+        this.cache = cache;
+        this.maxEntrySize = maxEntrySize;
+        this.agingPeriod = agingPeriod;
+
+        LFUEvictionMetaData<K> metaData = new LFUEvictionMetaData<>();
+        storeMetaData(metaData);
     }
 
     /**
@@ -29,8 +60,95 @@ public class LFUEvictionStrategy<K extends Serializable, V extends Serializable>
      * @param value the value
      */
     @Override
-    public void put(K key, V value) {
-        // NOTE: NOT Implemented as the current selected flow to be implemented is the LRU.
+    public void put(K key, V value) throws CacheException {
+        put(key, value, WriteBatch.NO_DURATION);
+    }
+
+    /**
+     * Method to put the key and the value with a lifetime of its own.
+     *
+     * @param key      the key
+     * @param value    the value
+     * @param duration the duration after which the entry expires
+     * @param timeUnit the time unit of the duration
+     */
+    @Override
+    public void put(K key, V value, long duration, TimeUnit timeUnit) throws CacheException {
+        put(key, value, timeUnit.toNanos(duration));
+    }
+
+    /**
+     * Method to put the key and the value, with a lifetime of its own if a duration is given.
+     *
+     * @param key           the key
+     * @param value         the value
+     * @param durationNanos the duration in nanoseconds after which the entry expires or {@link WriteBatch#NO_DURATION}
+     */
+    private void put(K key, V value, long durationNanos) throws CacheException {
+        LFUEvictionMetaData<K> metaData = retrieveMetaData();
+        FrequencyKeyIndex<K> frequencyIndex = metaData.getFrequencyIndex();
+
+        if (!frequencyIndex.contains(key) && !frequencyIndex.isEmpty() && frequencyIndex.size() >= maxEntrySize) {
+            cache.delete(frequencyIndex.removeLeastFrequent());
+        }
+
+        WriteBatch.put(cache, key, value, durationNanos);
+        frequencyIndex.add(key);
+        recordOperation(metaData);
+        storeMetaData(metaData);
+    }
+
+    /**
+     * Method to put many keys and values. The meta data is loaded and stored once, and the evicted keys and the
+     * entries reach the cache as one batch.
+     *
+     * @param entries the keys and the values
+     */
+    @Override
+    public void putAll(Map<? extends K, ? extends V> entries) throws CacheException {
+        LFUEvictionMetaData<K> metaData = retrieveMetaData();
+        FrequencyKeyIndex<K> frequencyIndex = metaData.getFrequencyIndex();
+        WriteBatch<K, V> batch = new WriteBatch<>();
+
+        for (Map.Entry<? extends K, ? extends V> entry : entries.entrySet()) {
+            K key = entry.getKey();
+
+            if (!frequencyIndex.contains(key) && !frequencyIndex.isEmpty() && frequencyIndex.size() >= maxEntrySize) {
+                batch.delete(frequencyIndex.removeLeastFrequent());
+            }
+
+            batch.put(key, entry.getValue());
+            frequencyIndex.add(key);
+            recordOperation(metaData);
+        }
+
+        batch.writeTo(cache);
+        storeMetaData(metaData);
+    }
+
+    /**
+     * Method to get the values for many keys. The meta data is loaded and stored once.
+     *
+     * @param keys the keys
+     * @return the values of the keys which are in the cache, in the order of the given keys
+     */
+    @Override
+    public Map<K, V> getAll(Collection<? extends K> keys) throws CacheException {
+        LFUEvictionMetaData<K> metaData = retrieveMetaData();
+        boolean changed = false;
+
+        for (K key : keys) {
+            if (metaData.getFrequencyIndex().increment(key)) {
+                recordOperation(metaData);
+                changed = true;
+            }
+        }
+
+        if (changed) {
+            storeMetaData(metaData);
+        }
+
+        return cache.getAll(keys);
     }
 
     /**
@@ -40,9 +158,42 @@ public class LFUEvictionStrategy<K extends Serializable, V extends Serializable>
      * @return the value
      */
     @Override
-    public V get(K key) {
-        // NOTE: NOT Implemented as the current selected flow to be implemented is the LRU.
-        return null;
+    public V get(K key) throws CacheException {
+        recordAccess(key);
+        return cache.get(key);
+    }
+
+    /**
+     * Method to record an access of a key without reading the value.
+     *
+     * @param key the key
+     */
+    @Override
+    public void recordAccess(K key) throws CacheException {
+        LFUEvictionMetaData<K> metaData = retrieveMetaData();
+
+        if (metaData.getFrequencyIndex().increment(key)) {
+            recordOperation(metaData);
+            storeMetaData(metaData);
+        }
+    }
+
+    /**
+     * Method to evict the entry which the strategy would evict next to make room, which is the least frequently used key.
+     *
+     * @return the evicted key or null if the cache is empty
+     */
+    @Override
+    public K evict() throws CacheException {
+        LFUEvictionMetaData<K> metaData = retrieveMetaData();
+        K key = metaData.getFrequencyIndex().removeLeastFrequent();
+
+        if (key != null) {
+            cache.delete(key);
+            storeMetaData(metaData);
+        }
+
+        return key;
     }
 
     /**
@@ -51,16 +202,47 @@ public class LFUEvictionStrategy<K extends Serializable, V extends Serializable>
      * @param key the key to delete
      */
     @Override
-    public void delete(K key) {
-        // NOTE: NOT Implemented as the current selected flow to be implemented is the LRU.
+    public void delete(K key) throws CacheException {
+        cache.delete(key);
+
+        LFUEvictionMetaData<K> metaData = retrieveMetaData();
+
+        if (metaData.getFrequencyIndex().remove(key)) {
+            storeMetaData(metaData);
+        }
+    }
+
+    /**
+     * Method to delete the entries for many keys. The meta data is loaded and stored once.
+     *
+     * @param keys the keys to delete
+     */
+    @Override
+    public void deleteAll(Collection<? extends K> keys) throws CacheException {
+        cache.deleteAll(keys);
+
+        LFUEvictionMetaData<K> metaData = retrieveMetaData();
+        boolean changed = false;
+
+        for (K key : keys) {
+            changed |= metaData.getFrequencyIndex().remove(key);
+        }
+
+        if (changed) {
+            storeMetaData(metaData);
+        }
     }
 
     /**
      * Method to delete all the keys.
      */
     @Override
-    public void deleteAll() {
-        // NOTE: NOT Implemented as the current selected flow to be implemented is the LRU.
+    public void deleteAll() throws CacheException {
+        LFUEvictionMetaData<K> metaData = retrieveMetaData();
+        cache.deleteAll();
+        metaData.getFrequencyIndex().clear();
+        metaData.setOperationCount(0);
+        storeMetaData(metaData);
     }
 
     /**
@@ -70,9 +252,8 @@ public class LFUEvictionStrategy<K extends Serializable, V extends Serializable>
      * @return true of contains and false if not
      */
     @Override
-    public boolean containsKey(K key) {
-        // NOTE: NOT Implemented as the current selected flow to be implemented is the LRU.
-        return false;
+    public boolean containsKey(K key) throws CacheException {
+        return cache.containsKey(key);
     }
 
     /**
@@ -81,8 +262,45 @@ public class LFUEvictionStrategy<K extends Serializable, V extends Serializable>
      * @return the size of the cache
      */
     @Override
-    public int getSize() {
-        // NOTE: NOT Implemented as the current selected flow to be implemented is the LRU.
-        return 0;
+    public int getSize() throws CacheException {
+        return cache.getSize();
+    }
+
+    /**
+     * Method to count an operation and age the frequencies when the aging period is reached.
+     *
+     * @param metaData the meta data
+     */
+    private void recordOperation(LFUEvictionMetaData<K> metaData) {
+        if (agingPeriod <= 0) {
+            return;
+        }
+
+        int operationCount = metaData.getOperationCount() + 1;
+
+        if (operationCount >= agingPeriod) {
+            metaData.getFrequencyIndex().age();
+            operationCount = 0;
+        }
+
+        metaData.setOperationCount(operationCount);
+    }
+
+    /**
+     * Method to store the meta data.
+     *
+     * @param metaData the meta data to be stored
+     */
+    private void storeMetaData(LFUEvictionMetaData<K> metaData) throws CacheException {
+        this.cache.storeMetaData(metaData);
+    }
+
+    /**
+     * Method to retrieve the meta data.
+     *
+     * @return the meta data
+     */
+    private LFUEvictionMetaData<K> retrieveMetaData() throws CacheException {
+        return (LFUEvictionMetaData) this.cache.getMetaData();
     }
 }
@@ -0,0 +1,224 @@
+package com.leondesilva.jlcache.strategy;
+
+import com.leondesilva.jlcache.util.LongKeyTable;
+
+/**
+ * Class to represent the LFU eviction policy of a long key cache.
+ * <p>
+ * Entries with the same access frequency are kept in a bucket, and the buckets are linked in the order of their
+ * frequency, so every operation is constant time like the {@code FrequencyKeyIndex} of the LFU strategy. The least
+ * recently added entry of the lowest bucket is evicted. The entry links and the buckets are kept in int arrays, and
+ * since every bucket holds at least one entry, there are never more buckets than entries plus the one which is
+ * being created for a promotion.
+ */
+public class LFULongKeyEvictionPolicy implements LongKeyEvictionPolicy {
+    private static final int NONE = LongKeyTable.NO_ENTRY;
+
+    private final int[] entryPrevious;
+    private final int[] entryNext;
+    private final int[] entryBucket;
+    private final int[] bucketFrequency;
+    private final int[] bucketHead;
+    private final int[] bucketTail;
+    private final int[] bucketPrevious;
+    private final int[] bucketNext;
+    private final int[] freeBuckets;
+    private int freeBucketCount;
+    private int nextBucket;
+    private int lowestBucket = NONE;
+
+    /**
+     * Constructor to instantiate the LFULongKeyEvictionPolicy.
+     *
+     * @param table the table of the cache
+     */
+    public LFULongKeyEvictionPolicy(LongKeyTable<?> table) {
+        int entryCapacity = table.getEntryCapacity();
+        int bucketCapacity = entryCapacity + 1;
+        this.entryPrevious = new int[entryCapacity];
+        this.entryNext = new int[entryCapacity];
+        this.entryBucket = new int[entryCapacity];
+        this.bucketFrequency = new int[bucketCapacity];
+        this.bucketHead = new int[bucketCapacity];
+        this.bucketTail = new int[bucketCapacity];
+        this.bucketPrevious = new int[bucketCapacity];
+        this.bucketNext = new int[bucketCapacity];
+        this.freeBuckets = new int[bucketCapacity];
+    }
+
+    /**
+     * Method to choose the least recently added entry of the least frequently used entries if the cache is full.
+     *
+     * @param key  the key which is about to be inserted
+     * @param full true if the cache is full
+     * @return the entry index to evict or {@link LongKeyTable#NO_ENTRY} if nothing has to be evicted
+     */
+    @Override
+    public int admit(long key, boolean full) {
+        if (!full || lowestBucket == NONE) {
+            return NONE;
+        }
+
+        int entry = bucketTail[lowestBucket];
+        removeFromBucket(entry);
+        return entry;
+    }
+
+    /**
+     * Method to record an inserted entry with a frequency of one.
+     *
+     * @param entry the entry index
+     */
+    @Override
+    public void recordInsert(int entry) {
+        int bucket = lowestBucket != NONE && bucketFrequency[lowestBucket] == 1
+                ? lowestBucket
+                : createBucketAfter(NONE, 1);
+        addToBucket(entry, bucket);
+    }
+
+    /**
+     * Method to record an access of an entry by moving it to the bucket of the next frequency.
+     *
+     * @param entry the entry index
+     */
+    @Override
+    public void recordAccess(int entry) {
+        int bucket = entryBucket[entry];
+        int frequency = bucketFrequency[bucket];
+
+        if (frequency == Integer.MAX_VALUE) {
+            return;
+        }
+
+        int nextFrequencyBucket = bucketNext[bucket];
+
+        if (nextFrequencyBucket == NONE || bucketFrequency[nextFrequencyBucket] != frequency + 1) {
+            nextFrequencyBucket = createBucketAfter(bucket, frequency + 1);
+        }
+
+        removeFromBucket(entry);
+        addToBucket(entry, nextFrequencyBucket);
+    }
+
+    /**
+     * Method to stop tracking a key.
+     *
+     * @param key   the key
+     * @param entry the entry index or {@link LongKeyTable#NO_ENTRY} if the key is not in the cache
+     */
+    @Override
+    public void remove(long key, int entry) {
+        if (entry != NONE) {
+            removeFromBucket(entry);
+        }
+    }
+
+    /**
+     * Method to stop tracking all the keys.
+     */
+    @Override
+    public void clear() {
+        lowestBucket = NONE;
+        freeBucketCount = 0;
+        nextBucket = 0;
+    }
+
+    /**
+     * Method to add an entry at the head of a bucket.
+     *
+     * @param entry  the entry index
+     * @param bucket the bucket
+     */
+    private void addToBucket(int entry, int bucket) {
+        entryBucket[entry] = bucket;
+        entryPrevious[entry] = NONE;
+        entryNext[entry] = bucketHead[bucket];
+
+        if (bucketHead[bucket] == NONE) {
+            bucketTail[bucket] = entry;
+        } else {
+            entryPrevious[bucketHead[bucket]] = entry;
+        }
+
+        bucketHead[bucket] = entry;
+    }
+
+    /**
+     * Method to remove an entry from its bucket. A bucket which becomes empty is removed.
+     *
+     * @param entry the entry index
+     */
+    private void removeFromBucket(int entry) {
+        int bucket = entryBucket[entry];
+        int previousEntry = entryPrevious[entry];
+        int nextEntry = entryNext[entry];
+
+        if (previousEntry == NONE) {
+            bucketHead[bucket] = nextEntry;
+        } else {
+            entryNext[previousEntry] = nextEntry;
+        }
+
+        if (nextEntry == NONE) {
+            bucketTail[bucket] = previousEntry;
+        } else {
+            entryPrevious[nextEntry] = previousEntry;
+        }
+
+        if (bucketHead[bucket] == NONE) {
+            removeBucket(bucket);
+        }
+    }
+
+    /**
+     * Method to create an empty bucket and link it after another bucket.
+     *
+     * @param previousBucket the bucket to link after or {@link #NONE} to link it as the lowest bucket
+     * @param frequency      the frequency of the bucket
+     * @return the bucket
+     */
+    private int createBucketAfter(int previousBucket, int frequency) {
+        int bucket = freeBucketCount > 0 ? freeBuckets[--freeBucketCount] : nextBucket++;
+        int followingBucket = previousBucket == NONE ? lowestBucket : bucketNext[previousBucket];
+        bucketFrequency[bucket] = frequency;
+        bucketHead[bucket] = NONE;
+        bucketTail[bucket] = NONE;
+        bucketPrevious[bucket] = previousBucket;
+        bucketNext[bucket] = followingBucket;
+
+        if (previousBucket == NONE) {
+            lowestBucket = bucket;
+        } else {
+            bucketNext[previousBucket] = bucket;
+        }
+
+        if (followingBucket != NONE) {
+            bucketPrevious[followingBucket] = bucket;
+        }
+
+        return bucket;
+    }
+
+    /**
+     * Method to unlink an empty bucket and keep it to be reused.
+     *
+     * @param bucket the bucket
+     */
+    private void removeBucket(int bucket) {
+        int previousBucket = bucketPrevious[bucket];
+        int followingBucket = bucketNext[bucket];
+
+        if (previousBucket == NONE) {
+            lowestBucket = followingBucket;
+        } else {
+            bucketNext[previousBucket] = followingBucket;
+        }
+
+        if (followingBucket != NONE) {
+            bucketPrevious[followingBucket] = previousBucket;
+        }
+
+        freeBuckets[freeBucketCount++] = bucket;
+    }
+}
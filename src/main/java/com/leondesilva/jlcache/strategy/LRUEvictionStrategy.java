@@ -3,12 +3,17 @@ package com.leondesilva.jlcache.strategy;
 import com.leondesilva.jlcache.Cache;
 import com.leondesilva.jlcache.exceptions.CacheException;
 import com.leondesilva.jlcache.pojo.LRUEvictionMetaData;
+import com.leondesilva.jlcache.util.LinkedKeyIndex;
 
 import java.io.Serializable;
-import java.util.LinkedList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Class to represent the LRU cache eviction strategy.
+ * The recency order is kept in a {@link LinkedKeyIndex} so that touching, inserting and evicting a key
+ * are constant time operations regardless of the number of entries.
  *
  * @param <K> the type of the key
  * @param <V> the type of the value
@@ -40,23 +45,91 @@ public class LRUEvictionStrategy<K extends Serializable, V extends Serializable>
      */
     @Override
     public void put(K key, V value) throws CacheException {
+        put(key, value, WriteBatch.NO_DURATION);
+    }
+
+    /**
+     * Method to put the key and the value with a lifetime of its own.
+     *
+     * @param key      the key
+     * @param value    the value
+     * @param duration the duration after which the entry expires
+     * @param timeUnit the time unit of the duration
+     */
+    @Override
+    public void put(K key, V value, long duration, TimeUnit timeUnit) throws CacheException {
+        put(key, value, timeUnit.toNanos(duration));
+    }
+
+    /**
+     * Method to put the key and the value, with a lifetime of its own if a duration is given.
+     *
+     * @param key           the key
+     * @param value         the value
+     * @param durationNanos the duration in nanoseconds after which the entry expires or {@link WriteBatch#NO_DURATION}
+     */
+    private void put(K key, V value, long durationNanos) throws CacheException {
         LRUEvictionMetaData<K> metaData = retrieveMetaData();
-        LinkedList<K> nodeList = metaData.getNodeList();
-
-        if (cache.containsKey(key)) {
-            nodeList.remove(key);
-        } else {
-            if (nodeList.size() == maxEntrySize) {
-                K lastKey = nodeList.removeLast();
-                cache.delete(lastKey);
+        LinkedKeyIndex<K> nodeIndex = metaData.getNodeIndex();
+
+        if (!nodeIndex.contains(key) && !nodeIndex.isEmpty() && nodeIndex.size() >= maxEntrySize) {
+            cache.delete(nodeIndex.removeLast());
+        }
+
+        WriteBatch.put(cache, key, value, durationNanos);
+        nodeIndex.addFirst(key);
+        storeMetaData(metaData);
+    }
+
+    /**
+     * Method to put many keys and values. The meta data is loaded and stored once, and the evicted keys and the
+     * entries reach the cache as one batch.
+     *
+     * @param entries the keys and the values
+     */
+    @Override
+    public void putAll(Map<? extends K, ? extends V> entries) throws CacheException {
+        LRUEvictionMetaData<K> metaData = retrieveMetaData();
+        LinkedKeyIndex<K> nodeIndex = metaData.getNodeIndex();
+        WriteBatch<K, V> batch = new WriteBatch<>();
+
+        for (Map.Entry<? extends K, ? extends V> entry : entries.entrySet()) {
+            K key = entry.getKey();
+
+            if (!nodeIndex.contains(key) && !nodeIndex.isEmpty() && nodeIndex.size() >= maxEntrySize) {
+                batch.delete(nodeIndex.removeLast());
             }
+
+            batch.put(key, entry.getValue());
+            nodeIndex.addFirst(key);
         }
 
-        cache.put(key, value);
-        nodeList.add(0, key);
+        batch.writeTo(cache);
         storeMetaData(metaData);
     }
 
+    /**
+     * Method to get the values for many keys. The meta data is loaded and stored once.
+     *
+     * @param keys the keys
+     * @return the values of the keys which are in the cache, in the order of the given keys
+     */
+    @Override
+    public Map<K, V> getAll(Collection<? extends K> keys) throws CacheException {
+        LRUEvictionMetaData<K> metaData = retrieveMetaData();
+        boolean changed = false;
+
+        for (K key : keys) {
+            changed |= metaData.getNodeIndex().moveToFront(key);
+        }
+
+        if (changed) {
+            storeMetaData(metaData);
+        }
+
+        return cache.getAll(keys);
+    }
+
     /**
      * Method to get the value for a given key.
      *
@@ -65,13 +138,40 @@ public class LRUEvictionStrategy<K extends Serializable, V extends Serializable>
      */
     @Override
     public V get(K key) throws CacheException {
+        recordAccess(key);
+        return cache.get(key);
+    }
+
+    /**
+     * Method to record an access of a key without reading the value.
+     *
+     * @param key the key
+     */
+    @Override
+    public void recordAccess(K key) throws CacheException {
         LRUEvictionMetaData<K> metaData = retrieveMetaData();
-        if (cache.containsKey(key)) {
-            metaData.getNodeList().remove(key);
-            metaData.getNodeList().add(0, key);
+
+        if (metaData.getNodeIndex().moveToFront(key)) {
+            storeMetaData(metaData);
         }
+    }
 
-        return cache.get(key);
+    /**
+     * Method to evict the entry which the strategy would evict next to make room, which is the least recently used key.
+     *
+     * @return the evicted key or null if the cache is empty
+     */
+    @Override
+    public K evict() throws CacheException {
+        LRUEvictionMetaData<K> metaData = retrieveMetaData();
+        K key = metaData.getNodeIndex().removeLast();
+
+        if (key != null) {
+            cache.delete(key);
+            storeMetaData(metaData);
+        }
+
+        return key;
     }
 
     /**
@@ -84,8 +184,30 @@ public class LRUEvictionStrategy<K extends Serializable, V extends Serializable>
         cache.delete(key);
 
         LRUEvictionMetaData<K> metaData = retrieveMetaData();
-        metaData.getNodeList().remove(key);
-        storeMetaData(metaData);
+        if (metaData.getNodeIndex().remove(key)) {
+            storeMetaData(metaData);
+        }
+    }
+
+    /**
+     * Method to delete the entries for many keys. The meta data is loaded and stored once.
+     *
+     * @param keys the keys to delete
+     */
+    @Override
+    public void deleteAll(Collection<? extends K> keys) throws CacheException {
+        cache.deleteAll(keys);
+
+        LRUEvictionMetaData<K> metaData = retrieveMetaData();
+        boolean changed = false;
+
+        for (K key : keys) {
+            changed |= metaData.getNodeIndex().remove(key);
+        }
+
+        if (changed) {
+            storeMetaData(metaData);
+        }
     }
 
     /**
@@ -95,7 +217,7 @@ public class LRUEvictionStrategy<K extends Serializable, V extends Serializable>
     public void deleteAll() throws CacheException {
         LRUEvictionMetaData<K> metaData = retrieveMetaData();
         cache.deleteAll();
-        metaData.getNodeList().clear();
+        metaData.getNodeIndex().clear();
         storeMetaData(metaData);
     }
 
@@ -0,0 +1,74 @@
+package com.leondesilva.jlcache.strategy;
+
+import com.leondesilva.jlcache.util.EntryList;
+import com.leondesilva.jlcache.util.LongKeyTable;
+
+/**
+ * Class to represent the LRU eviction policy of a long key cache.
+ * The entries are kept in an {@link EntryList} ordered by their last access and the least recently used one is evicted.
+ */
+public class LRULongKeyEvictionPolicy implements LongKeyEvictionPolicy {
+    private final EntryList entries;
+
+    /**
+     * Constructor to instantiate the LRULongKeyEvictionPolicy.
+     *
+     * @param table the table of the cache
+     */
+    public LRULongKeyEvictionPolicy(LongKeyTable<?> table) {
+        this.entries = new EntryList(table.getEntryCapacity());
+    }
+
+    /**
+     * Method to choose the least recently used entry if the cache is full.
+     *
+     * @param key  the key which is about to be inserted
+     * @param full true if the cache is full
+     * @return the entry index to evict or {@link LongKeyTable#NO_ENTRY} if nothing has to be evicted
+     */
+    @Override
+    public int admit(long key, boolean full) {
+        return full ? entries.removeLast() : LongKeyTable.NO_ENTRY;
+    }
+
+    /**
+     * Method to record an inserted entry as the most recently used.
+     *
+     * @param entry the entry index
+     */
+    @Override
+    public void recordInsert(int entry) {
+        entries.addFirst(entry);
+    }
+
+    /**
+     * Method to record an access of an entry by making it the most recently used.
+     *
+     * @param entry the entry index
+     */
+    @Override
+    public void recordAccess(int entry) {
+        entries.moveToFront(entry);
+    }
+
+    /**
+     * Method to stop tracking a key.
+     *
+     * @param key   the key
+     * @param entry the entry index or {@link LongKeyTable#NO_ENTRY} if the key is not in the cache
+     */
+    @Override
+    public void remove(long key, int entry) {
+        if (entry != LongKeyTable.NO_ENTRY) {
+            entries.remove(entry);
+        }
+    }
+
+    /**
+     * Method to stop tracking all the keys.
+     */
+    @Override
+    public void clear() {
+        entries.clear();
+    }
+}
@@ -0,0 +1,49 @@
+package com.leondesilva.jlcache.strategy;
+
+import com.leondesilva.jlcache.util.LongKeyTable;
+
+/**
+ * Interface to represent an eviction policy of a long key cache.
+ * <p>
+ * A policy works on the entry indexes of the {@link LongKeyTable} of the cache and keeps its state in primitive
+ * arrays of the same index, so recording an access does not allocate. The cache calls {@link #admit(long, boolean)}
+ * before it inserts a new key and removes the entry which is returned from its table.
+ */
+public interface LongKeyEvictionPolicy {
+    /**
+     * Method to prepare for a key which is not in the cache and choose the entry to evict for it if the cache is full.
+     * The chosen entry is no longer tracked by the policy, but it is still in the table.
+     *
+     * @param key  the key which is about to be inserted
+     * @param full true if the cache is full
+     * @return the entry index to evict or {@link LongKeyTable#NO_ENTRY} if nothing has to be evicted
+     */
+    int admit(long key, boolean full);
+
+    /**
+     * Method to record an entry which was inserted after {@link #admit(long, boolean)}.
+     *
+     * @param entry the entry index
+     */
+    void recordInsert(int entry);
+
+    /**
+     * Method to record a read or an overwrite of an entry.
+     *
+     * @param entry the entry index
+     */
+    void recordAccess(int entry);
+
+    /**
+     * Method to stop tracking a key which is deleted from the cache.
+     *
+     * @param key   the key
+     * @param entry the entry index or {@link LongKeyTable#NO_ENTRY} if the key is not in the cache
+     */
+    void remove(long key, int entry);
+
+    /**
+     * Method to stop tracking all the keys.
+     */
+    void clear();
+}
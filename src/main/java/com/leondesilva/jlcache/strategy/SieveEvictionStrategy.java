@@ -0,0 +1,238 @@
+package com.leondesilva.jlcache.strategy;
+
+import com.leondesilva.jlcache.Cache;
+import com.leondesilva.jlcache.exceptions.CacheException;
+import com.leondesilva.jlcache.pojo.SieveEvictionMetaData;
+import com.leondesilva.jlcache.util.SieveKeyQueue;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class to represent the SIEVE cache eviction strategy, an approximation of LRU.
+ * A hit only sets the visited bit of the key, so {@link #get(Serializable)} does not change any shared list,
+ * does not store the meta data and does not take a lock. It is safe to call from many threads at the same time
+ * as long as the wrapped cache supports concurrent reads. Writes are serialized and evict by sweeping a hand over
+ * the keys, giving visited keys another round.
+ * <p>
+ * Unlike the other strategies the meta data is kept in the strategy, and it is stored to the cache after every write.
+ *
+ * @param <K> the type of the key
+ * @param <V> the type of the value
+ */
+public class SieveEvictionStrategy<K extends Serializable, V extends Serializable> implements EvictionStrategy<K, V> {
+    private Cache<K, V> cache;
+    private int maxEntrySize;
+    private final SieveEvictionMetaData<K> metaData;
+
+    /**
+     * Constructor to instantiate the SieveEvictionStrategy.
+     *
+     * @param cache        the cache
+     * @param maxEntrySize the max entry size
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    public SieveEvictionStrategy(Cache<K, V> cache, int maxEntrySize) throws CacheException {
+        this.cache = cache;
+        this.maxEntrySize = maxEntrySize;
+        this.metaData = new SieveEvictionMetaData<>();
+        storeMetaData();
+    }
+
+    /**
+     * Method to put the key and the value.
+     *
+     * @param key   the key
+     * @param value the value
+     */
+    @Override
+    public synchronized void put(K key, V value) throws CacheException {
+        put(key, value, WriteBatch.NO_DURATION);
+    }
+
+    /**
+     * Method to put the key and the value with a lifetime of its own.
+     *
+     * @param key      the key
+     * @param value    the value
+     * @param duration the duration after which the entry expires
+     * @param timeUnit the time unit of the duration
+     */
+    @Override
+    public void put(K key, V value, long duration, TimeUnit timeUnit) throws CacheException {
+        put(key, value, timeUnit.toNanos(duration));
+    }
+
+    /**
+     * Method to put the key and the value, with a lifetime of its own if a duration is given.
+     *
+     * @param key           the key
+     * @param value         the value
+     * @param durationNanos the duration in nanoseconds after which the entry expires or {@link WriteBatch#NO_DURATION}
+     */
+    private synchronized void put(K key, V value, long durationNanos) throws CacheException {
+        SieveKeyQueue<K> keyQueue = metaData.getKeyQueue();
+
+        if (!keyQueue.contains(key) && !keyQueue.isEmpty() && keyQueue.size() >= maxEntrySize) {
+            cache.delete(keyQueue.evict());
+        }
+
+        WriteBatch.put(cache, key, value, durationNanos);
+        keyQueue.insert(key);
+        storeMetaData();
+    }
+
+    /**
+     * Method to put many keys and values. The meta data is stored once, and the evicted keys and the entries reach
+     * the cache as one batch.
+     *
+     * @param entries the keys and the values
+     */
+    @Override
+    public synchronized void putAll(Map<? extends K, ? extends V> entries) throws CacheException {
+        SieveKeyQueue<K> keyQueue = metaData.getKeyQueue();
+        WriteBatch<K, V> batch = new WriteBatch<>();
+
+        for (Map.Entry<? extends K, ? extends V> entry : entries.entrySet()) {
+            K key = entry.getKey();
+
+            if (!keyQueue.contains(key) && !keyQueue.isEmpty() && keyQueue.size() >= maxEntrySize) {
+                batch.delete(keyQueue.evict());
+            }
+
+            batch.put(key, entry.getValue());
+            keyQueue.insert(key);
+        }
+
+        batch.writeTo(cache);
+        storeMetaData();
+    }
+
+    /**
+     * Method to get the values for many keys. This method does not take a lock and does not store the meta data.
+     *
+     * @param keys the keys
+     * @return the values of the keys which are in the cache, in the order of the given keys
+     */
+    @Override
+    public Map<K, V> getAll(Collection<? extends K> keys) throws CacheException {
+        for (K key : keys) {
+            recordAccess(key);
+        }
+
+        return cache.getAll(keys);
+    }
+
+    /**
+     * Method to get the value for a given key. This method does not take a lock.
+     *
+     * @param key the key
+     * @return the value
+     */
+    @Override
+    public V get(K key) throws CacheException {
+        recordAccess(key);
+        return cache.get(key);
+    }
+
+    /**
+     * Method to record an access of a key without reading the value. This method does not take a lock.
+     *
+     * @param key the key
+     */
+    @Override
+    public void recordAccess(K key) {
+        metaData.getKeyQueue().markVisited(key);
+    }
+
+    /**
+     * Method to evict the entry which the strategy would evict next to make room, which is the first key
+     * the hand finds without the visited bit.
+     *
+     * @return the evicted key or null if the cache is empty
+     */
+    @Override
+    public synchronized K evict() throws CacheException {
+        K key = metaData.getKeyQueue().evict();
+
+        if (key != null) {
+            cache.delete(key);
+            storeMetaData();
+        }
+
+        return key;
+    }
+
+    /**
+     * Method to delete an entry for a given key.
+     *
+     * @param key the key to delete
+     */
+    @Override
+    public synchronized void delete(K key) throws CacheException {
+        cache.delete(key);
+
+        if (metaData.getKeyQueue().remove(key)) {
+            storeMetaData();
+        }
+    }
+
+    /**
+     * Method to delete the entries for many keys. The meta data is stored once.
+     *
+     * @param keys the keys to delete
+     */
+    @Override
+    public synchronized void deleteAll(Collection<? extends K> keys) throws CacheException {
+        cache.deleteAll(keys);
+        boolean changed = false;
+
+        for (K key : keys) {
+            changed |= metaData.getKeyQueue().remove(key);
+        }
+
+        if (changed) {
+            storeMetaData();
+        }
+    }
+
+    /**
+     * Method to delete all the keys.
+     */
+    @Override
+    public synchronized void deleteAll() throws CacheException {
+        cache.deleteAll();
+        metaData.getKeyQueue().clear();
+        storeMetaData();
+    }
+
+    /**
+     * Method to check whether the key contains in cache
+     *
+     * @param key the key
+     * @return true of contains and false if not
+     */
+    @Override
+    public boolean containsKey(K key) throws CacheException {
+        return cache.containsKey(key);
+    }
+
+    /**
+     * Method to get the size of the cache.
+     *
+     * @return the size of the cache
+     */
+    @Override
+    public int getSize() throws CacheException {
+        return cache.getSize();
+    }
+
+    /**
+     * Method to store the meta data.
+     */
+    private void storeMetaData() throws CacheException {
+        this.cache.storeMetaData(metaData);
+    }
+}
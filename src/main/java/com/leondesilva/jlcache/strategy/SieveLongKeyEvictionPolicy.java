@@ -0,0 +1,103 @@
+package com.leondesilva.jlcache.strategy;
+
+import com.leondesilva.jlcache.util.EntryList;
+import com.leondesilva.jlcache.util.LongKeyTable;
+
+/**
+ * Class to represent the SIEVE eviction policy of a long key cache.
+ * A hit only sets the visited flag of the entry. Eviction moves a hand from the oldest entry towards the newest,
+ * clearing visited flags until it finds an entry which has not been visited since the hand last passed it.
+ */
+public class SieveLongKeyEvictionPolicy implements LongKeyEvictionPolicy {
+    private final EntryList entries;
+    private final boolean[] visited;
+    private int hand = LongKeyTable.NO_ENTRY;
+
+    /**
+     * Constructor to instantiate the SieveLongKeyEvictionPolicy.
+     *
+     * @param table the table of the cache
+     */
+    public SieveLongKeyEvictionPolicy(LongKeyTable<?> table) {
+        this.entries = new EntryList(table.getEntryCapacity());
+        this.visited = new boolean[table.getEntryCapacity()];
+    }
+
+    /**
+     * Method to choose the first entry the hand finds without the visited flag if the cache is full.
+     *
+     * @param key  the key which is about to be inserted
+     * @param full true if the cache is full
+     * @return the entry index to evict or {@link LongKeyTable#NO_ENTRY} if nothing has to be evicted
+     */
+    @Override
+    public int admit(long key, boolean full) {
+        if (!full || entries.isEmpty()) {
+            return LongKeyTable.NO_ENTRY;
+        }
+
+        int entry = hand == LongKeyTable.NO_ENTRY ? entries.peekLast() : hand;
+
+        while (visited[entry]) {
+            visited[entry] = false;
+            entry = entries.getPrevious(entry);
+
+            if (entry == LongKeyTable.NO_ENTRY) {
+                entry = entries.peekLast();
+            }
+        }
+
+        hand = entries.getPrevious(entry);
+        entries.remove(entry);
+        return entry;
+    }
+
+    /**
+     * Method to record an inserted entry at the head without the visited flag.
+     *
+     * @param entry the entry index
+     */
+    @Override
+    public void recordInsert(int entry) {
+        visited[entry] = false;
+        entries.addFirst(entry);
+    }
+
+    /**
+     * Method to record an access of an entry by setting its visited flag.
+     *
+     * @param entry the entry index
+     */
+    @Override
+    public void recordAccess(int entry) {
+        visited[entry] = true;
+    }
+
+    /**
+     * Method to stop tracking a key. The hand moves on if it points at the entry.
+     *
+     * @param key   the key
+     * @param entry the entry index or {@link LongKeyTable#NO_ENTRY} if the key is not in the cache
+     */
+    @Override
+    public void remove(long key, int entry) {
+        if (entry == LongKeyTable.NO_ENTRY) {
+            return;
+        }
+
+        if (hand == entry) {
+            hand = entries.getPrevious(entry);
+        }
+
+        entries.remove(entry);
+    }
+
+    /**
+     * Method to stop tracking all the keys.
+     */
+    @Override
+    public void clear() {
+        entries.clear();
+        hand = LongKeyTable.NO_ENTRY;
+    }
+}
@@ -0,0 +1,371 @@
+package com.leondesilva.jlcache.strategy;
+
+import com.leondesilva.jlcache.Cache;
+import com.leondesilva.jlcache.exceptions.CacheException;
+import com.leondesilva.jlcache.pojo.TinyLFUEvictionMetaData;
+import com.leondesilva.jlcache.util.FrequencySketch;
+import com.leondesilva.jlcache.util.LinkedKeyIndex;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class to represent the W-TinyLFU cache eviction strategy.
+ * New keys enter a small LRU admission window. A key evicted from the window is only admitted in to the segmented LRU
+ * main region if the {@link FrequencySketch} estimates that it is used more often than the key the main region would
+ * evict for it. This keeps keys that are used only once, such as the keys of a scan, from flushing out frequently used keys.
+ *
+ * @param <K> the type of the key
+ * @param <V> the type of the value
+ */
+public class TinyLFUEvictionStrategy<K extends Serializable, V extends Serializable> implements EvictionStrategy<K, V> {
+    private static final double WINDOW_RATIO = 0.01;
+    private static final double PROTECTED_RATIO = 0.8;
+
+    private Cache<K, V> cache;
+    private int maxWindowSize;
+    private int maxMainSize;
+    private int maxProtectedSize;
+
+    /**
+     * Constructor to instantiate the TinyLFUEvictionStrategy.
+     *
+     * @param cache        the cache
+     * @param maxEntrySize the max entry size
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    public TinyLFUEvictionStrategy(Cache<K, V> cache, int maxEntrySize) throws CacheException {
+        this.cache = cache;
+        this.maxWindowSize = Math.min(Math.max(1, maxEntrySize), Math.max(1, (int) (maxEntrySize * WINDOW_RATIO)));
+        this.maxMainSize = Math.max(0, maxEntrySize - maxWindowSize);
+        this.maxProtectedSize = (int) (maxMainSize * PROTECTED_RATIO);
+
+        TinyLFUEvictionMetaData<K> metaData = new TinyLFUEvictionMetaData<>(maxEntrySize);
+        storeMetaData(metaData);
+    }
+
+    /**
+     * Method to put the key and the value.
+     *
+     * @param key   the key
+     * @param value the value
+     */
+    @Override
+    public void put(K key, V value) throws CacheException {
+        put(key, value, WriteBatch.NO_DURATION);
+    }
+
+    /**
+     * Method to put the key and the value with a lifetime of its own.
+     *
+     * @param key      the key
+     * @param value    the value
+     * @param duration the duration after which the entry expires
+     * @param timeUnit the time unit of the duration
+     */
+    @Override
+    public void put(K key, V value, long duration, TimeUnit timeUnit) throws CacheException {
+        put(key, value, timeUnit.toNanos(duration));
+    }
+
+    /**
+     * Method to put the key and the value, with a lifetime of its own if a duration is given.
+     *
+     * @param key           the key
+     * @param value         the value
+     * @param durationNanos the duration in nanoseconds after which the entry expires or {@link WriteBatch#NO_DURATION}
+     */
+    private void put(K key, V value, long durationNanos) throws CacheException {
+        TinyLFUEvictionMetaData<K> metaData = retrieveMetaData();
+        metaData.getFrequencySketch().increment(key);
+        WriteBatch.put(cache, key, value, durationNanos);
+
+        if (!recordHit(metaData, key)) {
+            metaData.getWindowIndex().addFirst(key);
+            evictFromWindow(metaData, null);
+        }
+
+        storeMetaData(metaData);
+    }
+
+    /**
+     * Method to put many keys and values. The meta data is loaded and stored once, and the evicted keys and the
+     * entries reach the cache as one batch.
+     *
+     * @param entries the keys and the values
+     */
+    @Override
+    public void putAll(Map<? extends K, ? extends V> entries) throws CacheException {
+        TinyLFUEvictionMetaData<K> metaData = retrieveMetaData();
+        WriteBatch<K, V> batch = new WriteBatch<>();
+
+        for (Map.Entry<? extends K, ? extends V> entry : entries.entrySet()) {
+            K key = entry.getKey();
+            metaData.getFrequencySketch().increment(key);
+            batch.put(key, entry.getValue());
+
+            if (!recordHit(metaData, key)) {
+                metaData.getWindowIndex().addFirst(key);
+                evictFromWindow(metaData, batch);
+            }
+        }
+
+        batch.writeTo(cache);
+        storeMetaData(metaData);
+    }
+
+    /**
+     * Method to get the values for many keys. The meta data is loaded and stored once.
+     *
+     * @param keys the keys
+     * @return the values of the keys which are in the cache, in the order of the given keys
+     */
+    @Override
+    public Map<K, V> getAll(Collection<? extends K> keys) throws CacheException {
+        TinyLFUEvictionMetaData<K> metaData = retrieveMetaData();
+
+        for (K key : keys) {
+            metaData.getFrequencySketch().increment(key);
+            recordHit(metaData, key);
+        }
+
+        storeMetaData(metaData);
+        return cache.getAll(keys);
+    }
+
+    /**
+     * Method to get the value for a given key.
+     *
+     * @param key the key
+     * @return the value
+     */
+    @Override
+    public V get(K key) throws CacheException {
+        recordAccess(key);
+        return cache.get(key);
+    }
+
+    /**
+     * Method to record an access of a key without reading the value.
+     *
+     * @param key the key
+     */
+    @Override
+    public void recordAccess(K key) throws CacheException {
+        TinyLFUEvictionMetaData<K> metaData = retrieveMetaData();
+
+        // Misses are counted as well, so that a key that keeps being requested can win admission once it is loaded.
+        metaData.getFrequencySketch().increment(key);
+        recordHit(metaData, key);
+        storeMetaData(metaData);
+    }
+
+    /**
+     * Method to evict the entry which the strategy would evict next to make room. The oldest key of the admission
+     * window and the victim of the main region compete on their estimated frequency and the loser is evicted.
+     *
+     * @return the evicted key or null if the cache is empty
+     */
+    @Override
+    public K evict() throws CacheException {
+        TinyLFUEvictionMetaData<K> metaData = retrieveMetaData();
+        LinkedKeyIndex<K> windowIndex = metaData.getWindowIndex();
+        LinkedKeyIndex<K> victimIndex = metaData.getProbationIndex().isEmpty()
+                ? metaData.getProtectedIndex() : metaData.getProbationIndex();
+        K candidate = windowIndex.peekLast();
+        K victim = victimIndex.peekLast();
+        K key;
+
+        if (victim == null) {
+            key = windowIndex.removeLast();
+        } else if (candidate == null) {
+            key = victimIndex.removeLast();
+        } else if (metaData.getFrequencySketch().frequency(candidate) > metaData.getFrequencySketch().frequency(victim)) {
+            windowIndex.removeLast();
+            victimIndex.removeLast();
+            metaData.getProbationIndex().addFirst(candidate);
+            key = victim;
+        } else {
+            key = windowIndex.removeLast();
+        }
+
+        if (key != null) {
+            cache.delete(key);
+            storeMetaData(metaData);
+        }
+
+        return key;
+    }
+
+    /**
+     * Method to delete an entry for a given key.
+     *
+     * @param key the key to delete
+     */
+    @Override
+    public void delete(K key) throws CacheException {
+        cache.delete(key);
+
+        TinyLFUEvictionMetaData<K> metaData = retrieveMetaData();
+
+        if (metaData.getWindowIndex().remove(key)
+                || metaData.getProbationIndex().remove(key)
+                || metaData.getProtectedIndex().remove(key)) {
+            storeMetaData(metaData);
+        }
+    }
+
+    /**
+     * Method to delete the entries for many keys. The meta data is loaded and stored once.
+     *
+     * @param keys the keys to delete
+     */
+    @Override
+    public void deleteAll(Collection<? extends K> keys) throws CacheException {
+        cache.deleteAll(keys);
+
+        TinyLFUEvictionMetaData<K> metaData = retrieveMetaData();
+        boolean changed = false;
+
+        for (K key : keys) {
+            changed |= metaData.getWindowIndex().remove(key)
+                    || metaData.getProbationIndex().remove(key)
+                    || metaData.getProtectedIndex().remove(key);
+        }
+
+        if (changed) {
+            storeMetaData(metaData);
+        }
+    }
+
+    /**
+     * Method to delete all the keys.
+     */
+    @Override
+    public void deleteAll() throws CacheException {
+        TinyLFUEvictionMetaData<K> metaData = retrieveMetaData();
+        cache.deleteAll();
+        metaData.getWindowIndex().clear();
+        metaData.getProbationIndex().clear();
+        metaData.getProtectedIndex().clear();
+        metaData.getFrequencySketch().clear();
+        storeMetaData(metaData);
+    }
+
+    /**
+     * Method to check whether the key contains in cache
+     *
+     * @param key the key
+     * @return true of contains and false if not
+     */
+    @Override
+    public boolean containsKey(K key) throws CacheException {
+        return cache.containsKey(key);
+    }
+
+    /**
+     * Method to get the size of the cache.
+     *
+     * @return the size of the cache
+     */
+    @Override
+    public int getSize() throws CacheException {
+        return cache.getSize();
+    }
+
+    /**
+     * Method to update the recency of an existing key. A key that is hit in the probation segment
+     * is promoted to the protected segment.
+     *
+     * @param metaData the meta data
+     * @param key      the key
+     * @return true if the key exists and false if not
+     */
+    private boolean recordHit(TinyLFUEvictionMetaData<K> metaData, K key) {
+        if (metaData.getWindowIndex().moveToFront(key) || metaData.getProtectedIndex().moveToFront(key)) {
+            return true;
+        }
+
+        if (!metaData.getProbationIndex().remove(key)) {
+            return false;
+        }
+
+        LinkedKeyIndex<K> protectedIndex = metaData.getProtectedIndex();
+        protectedIndex.addFirst(key);
+
+        if (protectedIndex.size() > maxProtectedSize) {
+            metaData.getProbationIndex().addFirst(protectedIndex.removeLast());
+        }
+
+        return true;
+    }
+
+    /**
+     * Method to move the overflow of the admission window in to the main region.
+     * When the main region is full, the window candidate and the main region victim compete on their
+     * estimated frequency and the loser is evicted from the cache.
+     *
+     * @param metaData the meta data
+     * @param batch    the batch to add the evictions to, or null to delete the evicted keys from the cache right away
+     */
+    private void evictFromWindow(TinyLFUEvictionMetaData<K> metaData, WriteBatch<K, V> batch) throws CacheException {
+        LinkedKeyIndex<K> windowIndex = metaData.getWindowIndex();
+        LinkedKeyIndex<K> probationIndex = metaData.getProbationIndex();
+        LinkedKeyIndex<K> protectedIndex = metaData.getProtectedIndex();
+
+        while (windowIndex.size() > maxWindowSize) {
+            K candidate = windowIndex.removeLast();
+
+            if (probationIndex.size() + protectedIndex.size() < maxMainSize) {
+                probationIndex.addFirst(candidate);
+                continue;
+            }
+
+            LinkedKeyIndex<K> victimIndex = probationIndex.isEmpty() ? protectedIndex : probationIndex;
+            K victim = victimIndex.peekLast();
+            FrequencySketch frequencySketch = metaData.getFrequencySketch();
+
+            if (victim != null && frequencySketch.frequency(candidate) > frequencySketch.frequency(victim)) {
+                victimIndex.removeLast();
+                deleteFromCache(victim, batch);
+                probationIndex.addFirst(candidate);
+            } else {
+                deleteFromCache(candidate, batch);
+            }
+        }
+    }
+
+    /**
+     * Method to delete an evicted key from the cache or add the delete to a batch.
+     *
+     * @param key   the evicted key
+     * @param batch the batch, or null to delete the key from the cache right away
+     */
+    private void deleteFromCache(K key, WriteBatch<K, V> batch) throws CacheException {
+        if (batch == null) {
+            cache.delete(key);
+        } else {
+            batch.delete(key);
+        }
+    }
+
+    /**
+     * Method to store the meta data.
+     *
+     * @param metaData the meta data to be stored
+     */
+    private void storeMetaData(TinyLFUEvictionMetaData<K> metaData) throws CacheException {
+        this.cache.storeMetaData(metaData);
+    }
+
+    /**
+     * Method to retrieve the meta data.
+     *
+     * @return the meta data
+     */
+    private TinyLFUEvictionMetaData<K> retrieveMetaData() throws CacheException {
+        return (TinyLFUEvictionMetaData) this.cache.getMetaData();
+    }
+}
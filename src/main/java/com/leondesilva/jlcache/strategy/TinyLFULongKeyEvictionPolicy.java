@@ -0,0 +1,178 @@
+package com.leondesilva.jlcache.strategy;
+
+import com.leondesilva.jlcache.util.EntryList;
+import com.leondesilva.jlcache.util.FrequencySketch;
+import com.leondesilva.jlcache.util.LongKeyTable;
+
+/**
+ * Class to represent the W-TinyLFU eviction policy of a long key cache.
+ * New entries enter a small LRU admission window which overflows in to the probation segment of a segmented LRU main
+ * region. When the cache is full, the oldest entry of the window and the victim of the main region compete on the
+ * frequency which the {@link FrequencySketch} estimates for their keys and the loser is evicted, like in the
+ * W-TinyLFU strategy.
+ */
+public class TinyLFULongKeyEvictionPolicy implements LongKeyEvictionPolicy {
+    private static final double WINDOW_RATIO = 0.01;
+    private static final double PROTECTED_RATIO = 0.8;
+    private static final byte WINDOW = 0;
+    private static final byte PROBATION = 1;
+    private static final byte PROTECTED = 2;
+
+    private final LongKeyTable<?> table;
+    private final int maxWindowSize;
+    private final int maxProtectedSize;
+    private final FrequencySketch frequencySketch;
+    private final EntryList windowEntries;
+    private final EntryList probationEntries;
+    private final EntryList protectedEntries;
+    private final byte[] segments;
+
+    /**
+     * Constructor to instantiate the TinyLFULongKeyEvictionPolicy.
+     *
+     * @param table        the table of the cache
+     * @param maxEntrySize the max entry size
+     */
+    public TinyLFULongKeyEvictionPolicy(LongKeyTable<?> table, int maxEntrySize) {
+        this.table = table;
+        this.maxWindowSize = Math.min(Math.max(1, maxEntrySize), Math.max(1, (int) (maxEntrySize * WINDOW_RATIO)));
+        this.maxProtectedSize = (int) (Math.max(0, maxEntrySize - maxWindowSize) * PROTECTED_RATIO);
+        this.frequencySketch = new FrequencySketch(maxEntrySize);
+        this.windowEntries = new EntryList(table.getEntryCapacity());
+        this.probationEntries = new EntryList(windowEntries);
+        this.protectedEntries = new EntryList(windowEntries);
+        this.segments = new byte[table.getEntryCapacity()];
+    }
+
+    /**
+     * Method to count the key and, if the cache is full, let the oldest entry of the window and the victim of the
+     * main region compete and choose the loser.
+     *
+     * @param key  the key which is about to be inserted
+     * @param full true if the cache is full
+     * @return the entry index to evict or {@link LongKeyTable#NO_ENTRY} if nothing has to be evicted
+     */
+    @Override
+    public int admit(long key, boolean full) {
+        frequencySketch.increment(key);
+
+        if (!full) {
+            return LongKeyTable.NO_ENTRY;
+        }
+
+        EntryList victimEntries = probationEntries.isEmpty() ? protectedEntries : probationEntries;
+        int candidate = windowEntries.peekLast();
+        int victim = victimEntries.peekLast();
+
+        if (victim == LongKeyTable.NO_ENTRY) {
+            return windowEntries.removeLast();
+        }
+
+        if (candidate == LongKeyTable.NO_ENTRY) {
+            return victimEntries.removeLast();
+        }
+
+        if (frequencySketch.frequency(table.getKey(candidate)) > frequencySketch.frequency(table.getKey(victim))) {
+            windowEntries.remove(candidate);
+            victimEntries.remove(victim);
+            addToSegment(candidate, PROBATION);
+            return victim;
+        }
+
+        return windowEntries.removeLast();
+    }
+
+    /**
+     * Method to record an inserted entry in the window. The overflow of the window moves to the probation segment,
+     * which always has room because the cache evicted before the insert.
+     *
+     * @param entry the entry index
+     */
+    @Override
+    public void recordInsert(int entry) {
+        addToSegment(entry, WINDOW);
+
+        while (windowEntries.size() > maxWindowSize) {
+            addToSegment(windowEntries.removeLast(), PROBATION);
+        }
+    }
+
+    /**
+     * Method to record an access of an entry. An entry hit in the probation segment is promoted to the protected
+     * segment, whose overflow moves back to the probation segment.
+     *
+     * @param entry the entry index
+     */
+    @Override
+    public void recordAccess(int entry) {
+        frequencySketch.increment(table.getKey(entry));
+
+        switch (segments[entry]) {
+            case WINDOW:
+                windowEntries.moveToFront(entry);
+                break;
+            case PROTECTED:
+                protectedEntries.moveToFront(entry);
+                break;
+            default:
+                probationEntries.remove(entry);
+                addToSegment(entry, PROTECTED);
+
+                if (protectedEntries.size() > maxProtectedSize) {
+                    addToSegment(protectedEntries.removeLast(), PROBATION);
+                }
+        }
+    }
+
+    /**
+     * Method to stop tracking a key.
+     *
+     * @param key   the key
+     * @param entry the entry index or {@link LongKeyTable#NO_ENTRY} if the key is not in the cache
+     */
+    @Override
+    public void remove(long key, int entry) {
+        if (entry != LongKeyTable.NO_ENTRY) {
+            segmentEntries(segments[entry]).remove(entry);
+        }
+    }
+
+    /**
+     * Method to stop tracking all the keys.
+     */
+    @Override
+    public void clear() {
+        windowEntries.clear();
+        probationEntries.clear();
+        protectedEntries.clear();
+        frequencySketch.clear();
+    }
+
+    /**
+     * Method to add an entry at the head of a segment.
+     *
+     * @param entry   the entry index
+     * @param segment the segment
+     */
+    private void addToSegment(int entry, byte segment) {
+        segments[entry] = segment;
+        segmentEntries(segment).addFirst(entry);
+    }
+
+    /**
+     * Method to get the entries of a segment.
+     *
+     * @param segment the segment
+     * @return the entries
+     */
+    private EntryList segmentEntries(byte segment) {
+        switch (segment) {
+            case WINDOW:
+                return windowEntries;
+            case PROBATION:
+                return probationEntries;
+            default:
+                return protectedEntries;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.leondesilva.jlcache.strategy;
+
+import com.leondesilva.jlcache.WeighedCache;
+import com.leondesilva.jlcache.exceptions.CacheException;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class to represent an eviction strategy which bounds the total weight of the entries instead of only their number.
+ * <p>
+ * The wrapped strategy must wrap the given {@link WeighedCache}, so that the weight of every entry it puts or evicts
+ * is kept. After each put the wrapped strategy evicts its next victim until the total weight fits in the maximum
+ * weight. The victim can be the entry which was just put, for example when it is heavier than the maximum weight on its
+ * own. The max entry size of the wrapped strategy still bounds the number of entries.
+ *
+ * @param <K> the type of the key
+ * @param <V> the type of the value
+ */
+public class WeightedEvictionStrategy<K extends Serializable, V extends Serializable> implements EvictionStrategy<K, V> {
+    private final EvictionStrategy<K, V> evictionStrategy;
+    private final WeighedCache<K, V> weighedCache;
+    private final long maximumWeight;
+
+    /**
+     * Constructor to instantiate the WeightedEvictionStrategy.
+     *
+     * @param evictionStrategy the eviction strategy which wraps the weighed cache
+     * @param weighedCache     the weighed cache
+     * @param maximumWeight    the maximum total weight of the entries
+     */
+    public WeightedEvictionStrategy(EvictionStrategy<K, V> evictionStrategy, WeighedCache<K, V> weighedCache, long maximumWeight) {
+        this.evictionStrategy = evictionStrategy;
+        this.weighedCache = weighedCache;
+        this.maximumWeight = maximumWeight;
+    }
+
+    /**
+     * Method to put the key and the value and evict entries until the total weight fits.
+     *
+     * @param key   the key
+     * @param value the value
+     */
+    @Override
+    public void put(K key, V value) throws CacheException {
+        evictionStrategy.put(key, value);
+        evictOverweight();
+    }
+
+    /**
+     * Method to put the key and the value with a lifetime of its own and evict entries until the total weight fits.
+     *
+     * @param key      the key
+     * @param value    the value
+     * @param duration the duration after which the entry expires
+     * @param timeUnit the time unit of the duration
+     */
+    @Override
+    public void put(K key, V value, long duration, TimeUnit timeUnit) throws CacheException {
+        evictionStrategy.put(key, value, duration, timeUnit);
+        evictOverweight();
+    }
+
+    /**
+     * Method to put many keys and values and then evict entries until the total weight fits.
+     *
+     * @param entries the keys and the values
+     */
+    @Override
+    public void putAll(Map<? extends K, ? extends V> entries) throws CacheException {
+        evictionStrategy.putAll(entries);
+        evictOverweight();
+    }
+
+    /**
+     * Method to get the values for many keys.
+     *
+     * @param keys the keys
+     * @return the values of the keys which are in the cache, in the order of the given keys
+     */
+    @Override
+    public Map<K, V> getAll(Collection<? extends K> keys) throws CacheException {
+        return evictionStrategy.getAll(keys);
+    }
+
+    /**
+     * Method to get the value for a given key.
+     *
+     * @param key the key
+     * @return the value
+     */
+    @Override
+    public V get(K key) throws CacheException {
+        return evictionStrategy.get(key);
+    }
+
+    /**
+     * Method to record an access of a key without reading the value.
+     *
+     * @param key the key
+     */
+    @Override
+    public void recordAccess(K key) throws CacheException {
+        evictionStrategy.recordAccess(key);
+    }
+
+    /**
+     * Method to evict the entry which the wrapped strategy would evict next.
+     *
+     * @return the evicted key or null if the cache is empty
+     */
+    @Override
+    public K evict() throws CacheException {
+        return evictionStrategy.evict();
+    }
+
+    /**
+     * Method to delete an entry for a given key.
+     *
+     * @param key the key to delete
+     */
+    @Override
+    public void delete(K key) throws CacheException {
+        evictionStrategy.delete(key);
+    }
+
+    /**
+     * Method to delete the entries for many keys.
+     *
+     * @param keys the keys to delete
+     */
+    @Override
+    public void deleteAll(Collection<? extends K> keys) throws CacheException {
+        evictionStrategy.deleteAll(keys);
+    }
+
+    /**
+     * Method to delete all the keys.
+     */
+    @Override
+    public void deleteAll() throws CacheException {
+        evictionStrategy.deleteAll();
+    }
+
+    /**
+     * Method to check whether the key contains in cache
+     *
+     * @param key the key
+     * @return true of contains and false if not
+     */
+    @Override
+    public boolean containsKey(K key) throws CacheException {
+        return evictionStrategy.containsKey(key);
+    }
+
+    /**
+     * Method to get the size of the cache.
+     *
+     * @return the size of the cache
+     */
+    @Override
+    public int getSize() throws CacheException {
+        return evictionStrategy.getSize();
+    }
+
+    /**
+     * Method to evict entries until the total weight fits in the maximum weight.
+     */
+    private void evictOverweight() throws CacheException {
+        while (weighedCache.getTotalWeight() > maximumWeight) {
+            if (evictionStrategy.evict() == null) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Method to get the total weight of the entries.
+     *
+     * @return the total weight
+     */
+    public long getTotalWeight() {
+        return weighedCache.getTotalWeight();
+    }
+}
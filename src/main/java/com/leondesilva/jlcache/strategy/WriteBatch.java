@@ -0,0 +1,97 @@
+package com.leondesilva.jlcache.strategy;
+
+import com.leondesilva.jlcache.Cache;
+import com.leondesilva.jlcache.DemotingCache;
+import com.leondesilva.jlcache.exceptions.CacheException;
+
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class to represent the writes an eviction strategy makes to the cache for a batch of puts.
+ * The writes are collected so that they reach the cache as one delete of many keys and one put of many entries.
+ * A key which is put after it was deleted in the same batch is only put, and a key which is deleted after it was put
+ * is only deleted. The value of a put which is dropped that way is handed to a {@link DemotingCache}, so an exclusive
+ * two level cache demotes the entries a batch evicts before they reach the level 1 cache.
+ *
+ * @param <K> the type of the key
+ * @param <V> the type of the value
+ */
+class WriteBatch<K extends Serializable, V extends Serializable> {
+    static final long NO_DURATION = Long.MIN_VALUE;
+    private final Map<K, V> puts = new LinkedHashMap<>();
+    private final Set<K> deletes = new LinkedHashSet<>();
+    private final Map<K, V> droppedPuts = new LinkedHashMap<>();
+
+    /**
+     * Method to add a put of the key and the value.
+     *
+     * @param key   the key
+     * @param value the value
+     */
+    void put(K key, V value) {
+        deletes.remove(key);
+        droppedPuts.remove(key);
+        puts.put(key, value);
+    }
+
+    /**
+     * Method to add a delete of the key.
+     *
+     * @param key the key
+     */
+    void delete(K key) {
+        V value = puts.remove(key);
+
+        if (value != null) {
+            droppedPuts.put(key, value);
+        }
+
+        deletes.add(key);
+    }
+
+    /**
+     * Method to put a single key and value to the cache, with a lifetime of its own if a duration is given.
+     *
+     * @param cache         the cache
+     * @param key           the key
+     * @param value         the value
+     * @param durationNanos the duration in nanoseconds after which the entry expires or {@link #NO_DURATION}
+     * @param <K>           the type of the key
+     * @param <V>           the type of the value
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    static <K extends Serializable, V extends Serializable> void put(Cache<K, V> cache, K key, V value,
+                                                                     long durationNanos) throws CacheException {
+        if (durationNanos == NO_DURATION) {
+            cache.put(key, value);
+        } else {
+            cache.put(key, value, durationNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Method to write the collected deletes and puts to the cache, and to demote the dropped puts if the cache is a
+     * {@link DemotingCache}.
+     *
+     * @param cache the cache
+     * @throws CacheException if an error occurs when trying to run a caching related task
+     */
+    void writeTo(Cache<K, V> cache) throws CacheException {
+        if (!deletes.isEmpty()) {
+            cache.deleteAll(deletes);
+        }
+
+        if (!droppedPuts.isEmpty() && cache instanceof DemotingCache) {
+            ((DemotingCache<K, V>) cache).demoteAll(droppedPuts);
+        }
+
+        if (!puts.isEmpty()) {
+            cache.putAll(puts);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.leondesilva.jlcache.util;
+
+/**
+ * Class to represent a doubly linked list of entry indexes of a {@link LongKeyTable}.
+ * <p>
+ * The links are kept in two int arrays indexed by the entry, so the list creates no node objects. Lists which are
+ * created from another list share its arrays, which works because an entry is in at most one of them at a time.
+ * The head is the most recently added entry and the tail the least recently added one.
+ * <p>
+ * This class is not thread safe.
+ */
+public class EntryList {
+    private final int[] previous;
+    private final int[] next;
+    private int head = LongKeyTable.NO_ENTRY;
+    private int tail = LongKeyTable.NO_ENTRY;
+    private int size;
+
+    /**
+     * Constructor to instantiate the entry list.
+     *
+     * @param entryCapacity the number of entry indexes the list can hold
+     */
+    public EntryList(int entryCapacity) {
+        this(new int[entryCapacity], new int[entryCapacity]);
+    }
+
+    /**
+     * Constructor to instantiate an entry list which shares the links of another list.
+     *
+     * @param entryList the list whose links are shared
+     */
+    public EntryList(EntryList entryList) {
+        this(entryList.previous, entryList.next);
+    }
+
+    /**
+     * Constructor to instantiate the entry list with the given links.
+     *
+     * @param previous the links to the previous entries
+     * @param next     the links to the next entries
+     */
+    private EntryList(int[] previous, int[] next) {
+        this.previous = previous;
+        this.next = next;
+    }
+
+    /**
+     * Method to add an entry at the head.
+     *
+     * @param entry the entry index
+     */
+    public void addFirst(int entry) {
+        previous[entry] = LongKeyTable.NO_ENTRY;
+        next[entry] = head;
+
+        if (head == LongKeyTable.NO_ENTRY) {
+            tail = entry;
+        } else {
+            previous[head] = entry;
+        }
+
+        head = entry;
+        size++;
+    }
+
+    /**
+     * Method to remove an entry which is in the list.
+     *
+     * @param entry the entry index
+     */
+    public void remove(int entry) {
+        int previousEntry = previous[entry];
+        int nextEntry = next[entry];
+
+        if (previousEntry == LongKeyTable.NO_ENTRY) {
+            head = nextEntry;
+        } else {
+            next[previousEntry] = nextEntry;
+        }
+
+        if (nextEntry == LongKeyTable.NO_ENTRY) {
+            tail = previousEntry;
+        } else {
+            previous[nextEntry] = previousEntry;
+        }
+
+        size--;
+    }
+
+    /**
+     * Method to move an entry which is in the list to the head.
+     *
+     * @param entry the entry index
+     */
+    public void moveToFront(int entry) {
+        if (entry != head) {
+            remove(entry);
+            addFirst(entry);
+        }
+    }
+
+    /**
+     * Method to remove the entry at the tail.
+     *
+     * @return the entry index or {@link LongKeyTable#NO_ENTRY} if the list is empty
+     */
+    public int removeLast() {
+        int entry = tail;
+
+        if (entry != LongKeyTable.NO_ENTRY) {
+            remove(entry);
+        }
+
+        return entry;
+    }
+
+    /**
+     * Method to get the entry at the tail without removing it.
+     *
+     * @return the entry index or {@link LongKeyTable#NO_ENTRY} if the list is empty
+     */
+    public int peekLast() {
+        return tail;
+    }
+
+    /**
+     * Method to get the entry which comes before an entry, that is closer to the head.
+     *
+     * @param entry the entry index
+     * @return the entry index or {@link LongKeyTable#NO_ENTRY} if the entry is the head
+     */
+    public int getPrevious(int entry) {
+        return previous[entry];
+    }
+
+    /**
+     * Method to get the number of entries.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Method to check whether the list is empty.
+     *
+     * @return true if empty and false if not
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Method to remove all the entries.
+     */
+    public void clear() {
+        head = LongKeyTable.NO_ENTRY;
+        tail = LongKeyTable.NO_ENTRY;
+        size = 0;
+    }
+}
@@ -0,0 +1,339 @@
+package com.leondesilva.jlcache.util;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Class to represent a set of keys grouped in to frequency buckets.
+ * The buckets are kept in a doubly linked list in ascending order of frequency and each key points to its bucket,
+ * so adding a key, incrementing the frequency of a key and removing the least frequently used key are all
+ * constant time operations. Within a bucket the keys are kept in recency order, so ties are broken by evicting
+ * the least recently used key.
+ *
+ * @param <K> the type of the key
+ */
+public class FrequencyKeyIndex<K extends Serializable> implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private transient Map<K, FrequencyBucket<K>> keyBuckets = new HashMap<>();
+    private transient FrequencyBucket<K> lowestBucket;
+
+    /**
+     * Method to check whether the key is in the index.
+     *
+     * @param key the key
+     * @return true if contains and false if not
+     */
+    public boolean contains(K key) {
+        return keyBuckets.containsKey(key);
+    }
+
+    /**
+     * Method to add a new key with the frequency of one. If the key already exists its frequency is incremented.
+     *
+     * @param key the key
+     */
+    public void add(K key) {
+        if (increment(key)) {
+            return;
+        }
+
+        FrequencyBucket<K> bucket = lowestBucket;
+
+        if (bucket == null || bucket.frequency != 1) {
+            bucket = new FrequencyBucket<>(1);
+            linkAfter(null, bucket);
+        }
+
+        bucket.keys.addFirst(key);
+        keyBuckets.put(key, bucket);
+    }
+
+    /**
+     * Method to increment the frequency of an existing key.
+     *
+     * @param key the key
+     * @return true if the key exists and was incremented and false if the key does not exist
+     */
+    public boolean increment(K key) {
+        FrequencyBucket<K> bucket = keyBuckets.get(key);
+
+        if (bucket == null) {
+            return false;
+        }
+
+        int nextFrequency = bucket.frequency == Integer.MAX_VALUE ? bucket.frequency : bucket.frequency + 1;
+        FrequencyBucket<K> nextBucket = bucket.next;
+
+        if (nextFrequency == bucket.frequency) {
+            bucket.keys.moveToFront(key);
+            return true;
+        }
+
+        if (nextBucket == null || nextBucket.frequency != nextFrequency) {
+            nextBucket = new FrequencyBucket<>(nextFrequency);
+            linkAfter(bucket, nextBucket);
+        }
+
+        bucket.keys.remove(key);
+        nextBucket.keys.addFirst(key);
+        keyBuckets.put(key, nextBucket);
+
+        if (bucket.keys.isEmpty()) {
+            unlink(bucket);
+        }
+
+        return true;
+    }
+
+    /**
+     * Method to get the frequency of a key.
+     *
+     * @param key the key
+     * @return the frequency or zero if the key does not exist
+     */
+    public int getFrequency(K key) {
+        FrequencyBucket<K> bucket = keyBuckets.get(key);
+        return bucket == null ? 0 : bucket.frequency;
+    }
+
+    /**
+     * Method to remove the key.
+     *
+     * @param key the key
+     * @return true if the key was removed and false if the key does not exist
+     */
+    public boolean remove(K key) {
+        FrequencyBucket<K> bucket = keyBuckets.remove(key);
+
+        if (bucket == null) {
+            return false;
+        }
+
+        bucket.keys.remove(key);
+
+        if (bucket.keys.isEmpty()) {
+            unlink(bucket);
+        }
+
+        return true;
+    }
+
+    /**
+     * Method to remove and get the least frequently used key.
+     * If more than one key has the lowest frequency, the least recently used key among them is removed.
+     *
+     * @return the removed key or null if the index is empty
+     */
+    public K removeLeastFrequent() {
+        K key = peekLeastFrequent();
+
+        if (key != null) {
+            remove(key);
+        }
+
+        return key;
+    }
+
+    /**
+     * Method to get the least frequently used key without removing it.
+     *
+     * @return the least frequently used key or null if the index is empty
+     */
+    public K peekLeastFrequent() {
+        return lowestBucket == null ? null : lowestBucket.keys.peekLast();
+    }
+
+    /**
+     * Method to halve the frequency of every key so that the popularity gained in the past fades over time.
+     * Buckets that end up with the same frequency are merged. This runs in linear time and is expected to be
+     * called periodically so that the amortized cost per operation stays constant.
+     */
+    public void age() {
+        FrequencyBucket<K> bucket = lowestBucket;
+        FrequencyBucket<K> agedTail = null;
+        lowestBucket = null;
+
+        while (bucket != null) {
+            FrequencyBucket<K> nextBucket = bucket.next;
+            int agedFrequency = Math.max(1, bucket.frequency >>> 1);
+
+            if (agedTail == null || agedTail.frequency != agedFrequency) {
+                FrequencyBucket<K> agedBucket = new FrequencyBucket<>(agedFrequency);
+                linkAfter(agedTail, agedBucket);
+                agedTail = agedBucket;
+            }
+
+            // Keys of a higher frequency bucket are kept in front so that they are evicted last.
+            for (K key = bucket.keys.removeLast(); key != null; key = bucket.keys.removeLast()) {
+                agedTail.keys.addFirst(key);
+                keyBuckets.put(key, agedTail);
+            }
+
+            bucket = nextBucket;
+        }
+    }
+
+    /**
+     * Method to get the number of keys.
+     *
+     * @return the number of keys
+     */
+    public int size() {
+        return keyBuckets.size();
+    }
+
+    /**
+     * Method to check whether the index is empty.
+     *
+     * @return true if empty and false if not
+     */
+    public boolean isEmpty() {
+        return keyBuckets.isEmpty();
+    }
+
+    /**
+     * Method to remove all the keys.
+     */
+    public void clear() {
+        keyBuckets.clear();
+        lowestBucket = null;
+    }
+
+    /**
+     * Method to copy the keys and their frequencies to a new index, which later changes of this index do not affect.
+     *
+     * @return the copy of the index
+     */
+    public FrequencyKeyIndex<K> copy() {
+        FrequencyKeyIndex<K> copy = new FrequencyKeyIndex<>();
+        FrequencyBucket<K> tail = null;
+
+        for (FrequencyBucket<K> bucket = lowestBucket; bucket != null; bucket = bucket.next) {
+            FrequencyBucket<K> bucketCopy = new FrequencyBucket<>(bucket.frequency);
+            copy.linkAfter(tail, bucketCopy);
+            tail = bucketCopy;
+
+            for (K key : bucket.keys) {
+                bucketCopy.keys.addLast(key);
+                copy.keyBuckets.put(key, bucketCopy);
+            }
+        }
+
+        return copy;
+    }
+
+    /**
+     * Method to link a bucket after a given bucket. If the given bucket is null the bucket becomes the lowest bucket.
+     *
+     * @param previous the bucket to link after
+     * @param bucket   the bucket to be linked
+     */
+    private void linkAfter(FrequencyBucket<K> previous, FrequencyBucket<K> bucket) {
+        bucket.previous = previous;
+
+        if (previous == null) {
+            bucket.next = lowestBucket;
+            lowestBucket = bucket;
+        } else {
+            bucket.next = previous.next;
+            previous.next = bucket;
+        }
+
+        if (bucket.next != null) {
+            bucket.next.previous = bucket;
+        }
+    }
+
+    /**
+     * Method to unlink a bucket.
+     *
+     * @param bucket the bucket to be unlinked
+     */
+    private void unlink(FrequencyBucket<K> bucket) {
+        if (bucket.previous == null) {
+            lowestBucket = bucket.next;
+        } else {
+            bucket.previous.next = bucket.next;
+        }
+
+        if (bucket.next != null) {
+            bucket.next.previous = bucket.previous;
+        }
+
+        bucket.previous = null;
+        bucket.next = null;
+    }
+
+    /**
+     * Method to write the buckets as a flat sequence of frequencies and keys.
+     *
+     * @param out the object output stream
+     * @throws IOException if an error occurs when writing
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(keyBuckets.size());
+
+        for (FrequencyBucket<K> bucket = lowestBucket; bucket != null; bucket = bucket.next) {
+            for (K key : bucket.keys) {
+                out.writeInt(bucket.frequency);
+                out.writeObject(key);
+            }
+        }
+    }
+
+    /**
+     * Method to read the frequencies and keys and rebuild the buckets.
+     *
+     * @param in the object input stream
+     * @throws IOException            if an error occurs when reading
+     * @throws ClassNotFoundException if a key class cannot be found
+     */
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        keyBuckets = new HashMap<>();
+        FrequencyBucket<K> tail = null;
+        int size = in.readInt();
+
+        for (int i = 0; i < size; i++) {
+            int frequency = in.readInt();
+            K key = (K) in.readObject();
+
+            if (tail == null || tail.frequency != frequency) {
+                FrequencyBucket<K> bucket = new FrequencyBucket<>(frequency);
+                linkAfter(tail, bucket);
+                tail = bucket;
+            }
+
+            tail.keys.addLast(key);
+            keyBuckets.put(key, tail);
+        }
+    }
+
+    /**
+     * Inner class to represent a bucket of keys that have the same frequency.
+     *
+     * @param <K> the type of the key
+     */
+    private static class FrequencyBucket<K extends Serializable> {
+        private final int frequency;
+        private final LinkedKeyIndex<K> keys = new LinkedKeyIndex<>();
+        private FrequencyBucket<K> previous;
+        private FrequencyBucket<K> next;
+
+        /**
+         * Constructor to instantiate the frequency bucket.
+         *
+         * @param frequency the frequency of the keys in the bucket
+         */
+        FrequencyBucket(int frequency) {
+            this.frequency = frequency;
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.leondesilva.jlcache.util;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Class to represent a count-min sketch which estimates the access frequency of keys.
+ * Each key is counted in four 4-bit counters which are packed sixteen to a long, so the sketch costs
+ * eight bytes per expected entry. Once the number of recorded accesses reaches ten times the expected entry count
+ * all counters are halved, so that the estimated popularity of keys fades over time.
+ */
+public class FrequencySketch implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final int MAX_COUNT = 15;
+    private static final int SAMPLE_FACTOR = 10;
+
+    private final long[] table;
+    private final int tableMask;
+    private final int sampleSize;
+    private int additions;
+
+    /**
+     * Constructor to instantiate the frequency sketch.
+     *
+     * @param expectedEntrySize the expected number of entries
+     */
+    public FrequencySketch(int expectedEntrySize) {
+        int size = Math.max(1, expectedEntrySize);
+        int tableSize = Integer.highestOneBit(size) == size ? size : Integer.highestOneBit(size) << 1;
+        tableSize = Math.max(1, Math.min(tableSize, 1 << 30));
+
+        this.table = new long[tableSize];
+        this.tableMask = tableSize - 1;
+        this.sampleSize = (int) Math.min(Integer.MAX_VALUE, (long) SAMPLE_FACTOR * size);
+    }
+
+    /**
+     * Constructor to instantiate a copy of a frequency sketch.
+     *
+     * @param frequencySketch the frequency sketch to copy
+     */
+    private FrequencySketch(FrequencySketch frequencySketch) {
+        this.table = frequencySketch.table.clone();
+        this.tableMask = frequencySketch.tableMask;
+        this.sampleSize = frequencySketch.sampleSize;
+        this.additions = frequencySketch.additions;
+    }
+
+    /**
+     * Method to copy the sketch, so that later increments of this sketch do not affect the copy.
+     *
+     * @return the copy of the sketch
+     */
+    public FrequencySketch copy() {
+        return new FrequencySketch(this);
+    }
+
+    /**
+     * Method to get the estimated frequency of a key.
+     *
+     * @param key the key
+     * @return the estimated frequency between 0 and 15
+     */
+    public int frequency(Object key) {
+        return frequencyOf(spread(key));
+    }
+
+    /**
+     * Method to get the estimated frequency of a primitive long key without boxing it.
+     *
+     * @param key the key
+     * @return the estimated frequency between 0 and 15
+     */
+    public int frequency(long key) {
+        return frequencyOf(spread(Long.hashCode(key)));
+    }
+
+    /**
+     * Method to record an access of a key.
+     *
+     * @param key the key
+     */
+    public void increment(Object key) {
+        incrementOf(spread(key));
+    }
+
+    /**
+     * Method to record an access of a primitive long key without boxing it.
+     *
+     * @param key the key
+     */
+    public void increment(long key) {
+        incrementOf(spread(Long.hashCode(key)));
+    }
+
+    /**
+     * Method to clear all the counters.
+     */
+    public void clear() {
+        Arrays.fill(table, 0L);
+        additions = 0;
+    }
+
+    /**
+     * Method to get the estimated frequency of a spread hash.
+     *
+     * @param hash the spread hash of the key
+     * @return the estimated frequency between 0 and 15
+     */
+    private int frequencyOf(int hash) {
+        int frequency = MAX_COUNT;
+
+        for (int depth = 0; depth < SEEDS.length; depth++) {
+            long counterHash = counterHash(hash, depth);
+            int count = (int) ((table[tableIndex(counterHash)] >>> counterOffset(counterHash)) & MAX_COUNT);
+            frequency = Math.min(frequency, count);
+        }
+
+        return frequency;
+    }
+
+    /**
+     * Method to record an access of a spread hash.
+     *
+     * @param hash the spread hash of the key
+     */
+    private void incrementOf(int hash) {
+        boolean incremented = false;
+
+        for (int depth = 0; depth < SEEDS.length; depth++) {
+            long counterHash = counterHash(hash, depth);
+            int index = tableIndex(counterHash);
+            int offset = counterOffset(counterHash);
+
+            if (((table[index] >>> offset) & MAX_COUNT) != MAX_COUNT) {
+                table[index] += 1L << offset;
+                incremented = true;
+            }
+        }
+
+        if (incremented && ++additions >= sampleSize) {
+            reset();
+        }
+    }
+
+    /**
+     * Method to halve all the counters.
+     */
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+
+        additions = additions >>> 1;
+    }
+
+    /**
+     * Method to compute the hash of a counter for a given depth.
+     *
+     * @param hash  the spread hash of the key
+     * @param depth the depth
+     * @return the counter hash
+     */
+    private static long counterHash(int hash, int depth) {
+        long counterHash = (hash + SEEDS[depth]) * SEEDS[depth];
+        return counterHash ^ (counterHash >>> 32);
+    }
+
+    /**
+     * Method to get the index of the long that holds the counter.
+     *
+     * @param counterHash the counter hash
+     * @return the table index
+     */
+    private int tableIndex(long counterHash) {
+        return (int) counterHash & tableMask;
+    }
+
+    /**
+     * Method to get the bit offset of the counter within its long.
+     *
+     * @param counterHash the counter hash
+     * @return the bit offset
+     */
+    private static int counterOffset(long counterHash) {
+        return (int) ((counterHash >>> 40) & 15) << 2;
+    }
+
+    /**
+     * Method to spread the hash code of a key.
+     *
+     * @param key the key
+     * @return the spread hash
+     */
+    private static int spread(Object key) {
+        return spread(key == null ? 0 : key.hashCode());
+    }
+
+    /**
+     * Method to spread a hash code.
+     *
+     * @param hash the hash code
+     * @return the spread hash
+     */
+    private static int spread(int hash) {
+        hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        return (hash >>> 16) ^ hash;
+    }
+}
@@ -0,0 +1,392 @@
+package com.leondesilva.jlcache.util;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Class to represent an ordered set of keys backed by a hash index and an intrusive doubly linked list.
+ * Lookup, insertion at the front, move to the front and removal from either end are all constant time operations.
+ * Iteration order is from the first (most recently added or moved) key to the last key.
+ *
+ * @param <K> the type of the key
+ */
+public class LinkedKeyIndex<K extends Serializable> implements Iterable<K>, Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private transient Map<K, Node<K>> index = new HashMap<>();
+    private transient Node<K> head;
+    private transient Node<K> tail;
+    private transient int modificationCount;
+
+    /**
+     * Method to check whether the key is in the index.
+     *
+     * @param key the key
+     * @return true if contains and false if not
+     */
+    public boolean contains(K key) {
+        return index.containsKey(key);
+    }
+
+    /**
+     * Method to add the key to the front. If the key already exists it is moved to the front.
+     *
+     * @param key the key
+     */
+    public void addFirst(K key) {
+        Node<K> node = index.get(key);
+
+        if (node == null) {
+            node = new Node<>(key);
+            index.put(key, node);
+        } else if (node == head) {
+            return;
+        } else {
+            unlink(node);
+        }
+
+        linkFirst(node);
+    }
+
+    /**
+     * Method to add the key to the back. If the key already exists it is moved to the back.
+     *
+     * @param key the key
+     */
+    public void addLast(K key) {
+        Node<K> node = index.get(key);
+
+        if (node == null) {
+            node = new Node<>(key);
+            index.put(key, node);
+        } else if (node == tail) {
+            return;
+        } else {
+            unlink(node);
+        }
+
+        linkLast(node);
+    }
+
+    /**
+     * Method to move an existing key to the front.
+     *
+     * @param key the key
+     * @return true if the key exists and was moved and false if the key does not exist
+     */
+    public boolean moveToFront(K key) {
+        Node<K> node = index.get(key);
+
+        if (node == null) {
+            return false;
+        }
+
+        if (node != head) {
+            unlink(node);
+            linkFirst(node);
+        }
+
+        return true;
+    }
+
+    /**
+     * Method to remove the key.
+     *
+     * @param key the key
+     * @return true if the key was removed and false if the key does not exist
+     */
+    public boolean remove(K key) {
+        Node<K> node = index.remove(key);
+
+        if (node == null) {
+            return false;
+        }
+
+        unlink(node);
+        return true;
+    }
+
+    /**
+     * Method to remove and get the last key.
+     *
+     * @return the last key or null if the index is empty
+     */
+    public K removeLast() {
+        if (tail == null) {
+            return null;
+        }
+
+        Node<K> node = tail;
+        index.remove(node.key);
+        unlink(node);
+        return node.key;
+    }
+
+    /**
+     * Method to get the first key without removing it.
+     *
+     * @return the first key or null if the index is empty
+     */
+    public K peekFirst() {
+        return head == null ? null : head.key;
+    }
+
+    /**
+     * Method to get the last key without removing it.
+     *
+     * @return the last key or null if the index is empty
+     */
+    public K peekLast() {
+        return tail == null ? null : tail.key;
+    }
+
+    /**
+     * Method to get the number of keys.
+     *
+     * @return the number of keys
+     */
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Method to check whether the index is empty.
+     *
+     * @return true if empty and false if not
+     */
+    public boolean isEmpty() {
+        return index.isEmpty();
+    }
+
+    /**
+     * Method to remove all the keys.
+     */
+    public void clear() {
+        index.clear();
+        head = null;
+        tail = null;
+        modificationCount++;
+    }
+
+    /**
+     * Method to copy the keys in order to a new index, which later changes of this index do not affect.
+     *
+     * @return the copy of the index
+     */
+    public LinkedKeyIndex<K> copy() {
+        LinkedKeyIndex<K> copy = new LinkedKeyIndex<>();
+
+        for (Node<K> node = head; node != null; node = node.next) {
+            copy.addLast(node.key);
+        }
+
+        return copy;
+    }
+
+    /**
+     * Method to get an iterator from the first key to the last key.
+     *
+     * @return the iterator
+     */
+    @Override
+    public Iterator<K> iterator() {
+        return new Iterator<K>() {
+            private Node<K> next = head;
+            private final int expectedModificationCount = modificationCount;
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public K next() {
+                if (expectedModificationCount != modificationCount) {
+                    throw new ConcurrentModificationException();
+                }
+
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+
+                K key = next.key;
+                next = next.next;
+                return key;
+            }
+        };
+    }
+
+    /**
+     * Method to link a node to the front of the list.
+     *
+     * @param node the node
+     */
+    private void linkFirst(Node<K> node) {
+        node.previous = null;
+        node.next = head;
+
+        if (head == null) {
+            tail = node;
+        } else {
+            head.previous = node;
+        }
+
+        head = node;
+        modificationCount++;
+    }
+
+    /**
+     * Method to link a node to the back of the list.
+     *
+     * @param node the node
+     */
+    private void linkLast(Node<K> node) {
+        node.next = null;
+        node.previous = tail;
+
+        if (tail == null) {
+            head = node;
+        } else {
+            tail.next = node;
+        }
+
+        tail = node;
+        modificationCount++;
+    }
+
+    /**
+     * Method to unlink a node from the list.
+     *
+     * @param node the node
+     */
+    private void unlink(Node<K> node) {
+        if (node.previous == null) {
+            head = node.next;
+        } else {
+            node.previous.next = node.next;
+        }
+
+        if (node.next == null) {
+            tail = node.previous;
+        } else {
+            node.next.previous = node.previous;
+        }
+
+        node.previous = null;
+        node.next = null;
+        modificationCount++;
+    }
+
+    /**
+     * Method to write the keys in order. The nodes are not written directly so that
+     * serialization does not recurse through the whole linked list.
+     *
+     * @param out the object output stream
+     * @throws IOException if an error occurs when writing
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(index.size());
+
+        for (Node<K> node = head; node != null; node = node.next) {
+            out.writeObject(node.key);
+        }
+    }
+
+    /**
+     * Method to read the keys in order and rebuild the index and the linked list.
+     *
+     * @param in the object input stream
+     * @throws IOException            if an error occurs when reading
+     * @throws ClassNotFoundException if a key class cannot be found
+     */
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        index = new HashMap<>();
+        int size = in.readInt();
+
+        for (int i = 0; i < size; i++) {
+            addLast((K) in.readObject());
+        }
+    }
+
+    /**
+     * Overridden equals method.
+     *
+     * @param o object to compare
+     * @return true if equals and false if not
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        LinkedKeyIndex<?> that = (LinkedKeyIndex<?>) o;
+
+        if (size() != that.size()) {
+            return false;
+        }
+
+        Node<?> thatNode = that.head;
+
+        for (Node<K> node = head; node != null; node = node.next) {
+            if (!Objects.equals(node.key, thatNode.key)) {
+                return false;
+            }
+
+            thatNode = thatNode.next;
+        }
+
+        return true;
+    }
+
+    /**
+     * Overridden hash code method.
+     *
+     * @return hash code
+     */
+    @Override
+    public int hashCode() {
+        int hashCode = 1;
+
+        for (Node<K> node = head; node != null; node = node.next) {
+            hashCode = 31 * hashCode + Objects.hashCode(node.key);
+        }
+
+        return hashCode;
+    }
+
+    /**
+     * Inner class to represent a node of the linked list.
+     *
+     * @param <K> the type of the key
+     */
+    private static class Node<K> {
+        private final K key;
+        private Node<K> previous;
+        private Node<K> next;
+
+        /**
+         * Constructor to instantiate the node.
+         *
+         * @param key the key
+         */
+        Node(K key) {
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.leondesilva.jlcache.util;
+
+import java.util.Arrays;
+
+/**
+ * Class to represent a hash table of primitive long keys which does not box the keys or create a node per entry.
+ * <p>
+ * Every entry gets a stable index in to dense arrays of keys and values, so that eviction policies can keep their
+ * own per entry state in primitive arrays of the same index. The entries are found through an open addressing table
+ * of entry indexes which is probed linearly. Deleted slots are filled by shifting the following slots back, so that
+ * lookups never need to skip deleted slots. An entry costs a long key, a value reference and about five bytes of
+ * table slots, and a lookup does not allocate.
+ * <p>
+ * This class is not thread safe.
+ *
+ * @param <V> the type of the value
+ */
+public class LongKeyTable<V> {
+    public static final int NO_ENTRY = -1;
+    private static final double MAX_LOAD_FACTOR = 0.75;
+    private static final int EMPTY = 0;
+
+    // Entry indexes are kept plus one, so that zero marks an empty slot.
+    private int[] slots;
+    private long[] keys;
+    private Object[] values;
+    private int[] freeEntries;
+    private int freeEntryCount;
+    private int nextEntry;
+    private int size;
+
+    /**
+     * Constructor to instantiate the long key table.
+     *
+     * @param expectedEntrySize the expected number of entries, which the table can hold without growing
+     */
+    public LongKeyTable(int expectedEntrySize) {
+        int entryCapacity = Math.max(1, expectedEntrySize);
+        this.keys = new long[entryCapacity];
+        this.values = new Object[entryCapacity];
+        this.freeEntries = new int[entryCapacity];
+        this.slots = new int[slotCapacity(entryCapacity)];
+    }
+
+    /**
+     * Method to find the entry of a key.
+     *
+     * @param key the key
+     * @return the entry index or {@link #NO_ENTRY} if the key does not exist
+     */
+    public int find(long key) {
+        int mask = slots.length - 1;
+        int slot = hash(key) & mask;
+
+        while (slots[slot] != EMPTY) {
+            int entry = slots[slot] - 1;
+
+            if (keys[entry] == key) {
+                return entry;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        return NO_ENTRY;
+    }
+
+    /**
+     * Method to insert a key which does not exist in the table.
+     *
+     * @param key   the key
+     * @param value the value
+     * @return the entry index of the key
+     */
+    public int insert(long key, V value) {
+        int entry;
+
+        if (freeEntryCount > 0) {
+            entry = freeEntries[--freeEntryCount];
+        } else {
+            if (nextEntry == keys.length) {
+                growEntries();
+            }
+
+            entry = nextEntry++;
+        }
+
+        keys[entry] = key;
+        values[entry] = value;
+
+        int mask = slots.length - 1;
+        int slot = hash(key) & mask;
+
+        while (slots[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+
+        slots[slot] = entry + 1;
+        size++;
+        return entry;
+    }
+
+    /**
+     * Method to remove an entry. The entry index is reused by a later insert.
+     *
+     * @param entry the entry index
+     */
+    public void remove(int entry) {
+        int mask = slots.length - 1;
+        int slot = hash(keys[entry]) & mask;
+
+        while (slots[slot] != entry + 1) {
+            slot = (slot + 1) & mask;
+        }
+
+        removeSlot(slot);
+        values[entry] = null;
+        freeEntries[freeEntryCount++] = entry;
+        size--;
+    }
+
+    /**
+     * Method to get the key of an entry.
+     *
+     * @param entry the entry index
+     * @return the key
+     */
+    public long getKey(int entry) {
+        return keys[entry];
+    }
+
+    /**
+     * Method to get the value of an entry.
+     *
+     * @param entry the entry index
+     * @return the value
+     */
+    @SuppressWarnings("unchecked")
+    public V getValue(int entry) {
+        return (V) values[entry];
+    }
+
+    /**
+     * Method to set the value of an entry.
+     *
+     * @param entry the entry index
+     * @param value the value
+     */
+    public void setValue(int entry, V value) {
+        values[entry] = value;
+    }
+
+    /**
+     * Method to get the number of entries.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Method to get the number of entry indexes which can be used without growing the table.
+     * Entry indexes are always lower than this.
+     *
+     * @return the entry capacity
+     */
+    public int getEntryCapacity() {
+        return keys.length;
+    }
+
+    /**
+     * Method to remove all the entries.
+     */
+    public void clear() {
+        Arrays.fill(slots, EMPTY);
+        Arrays.fill(values, null);
+        freeEntryCount = 0;
+        nextEntry = 0;
+        size = 0;
+    }
+
+    /**
+     * Method to empty a slot and shift the following slots of the same probe sequence back.
+     *
+     * @param slot the slot
+     */
+    private void removeSlot(int slot) {
+        int mask = slots.length - 1;
+        int emptySlot = slot;
+        int nextSlot = slot;
+
+        while (true) {
+            nextSlot = (nextSlot + 1) & mask;
+
+            if (slots[nextSlot] == EMPTY) {
+                break;
+            }
+
+            int homeSlot = hash(keys[slots[nextSlot] - 1]) & mask;
+            // The entry can move to the empty slot if its home slot is not between the empty slot and its own slot.
+            boolean movable = emptySlot <= nextSlot
+                    ? homeSlot <= emptySlot || homeSlot > nextSlot
+                    : homeSlot <= emptySlot && homeSlot > nextSlot;
+
+            if (movable) {
+                slots[emptySlot] = slots[nextSlot];
+                emptySlot = nextSlot;
+            }
+        }
+
+        slots[emptySlot] = EMPTY;
+    }
+
+    /**
+     * Method to double the entry capacity and rebuild the slots for the new capacity.
+     */
+    private void growEntries() {
+        int entryCapacity = keys.length * 2;
+        keys = Arrays.copyOf(keys, entryCapacity);
+        values = Arrays.copyOf(values, entryCapacity);
+        freeEntries = Arrays.copyOf(freeEntries, entryCapacity);
+
+        int[] oldSlots = slots;
+        slots = new int[slotCapacity(entryCapacity)];
+        int mask = slots.length - 1;
+
+        for (int oldSlot : oldSlots) {
+            if (oldSlot == EMPTY) {
+                continue;
+            }
+
+            int slot = hash(keys[oldSlot - 1]) & mask;
+
+            while (slots[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+
+            slots[slot] = oldSlot;
+        }
+    }
+
+    /**
+     * Method to get the number of slots for an entry capacity, which is a power of two that keeps the load factor
+     * below the maximum.
+     *
+     * @param entryCapacity the entry capacity
+     * @return the number of slots
+     */
+    private static int slotCapacity(int entryCapacity) {
+        int minimumSlots = (int) Math.min(1 << 30, (long) Math.ceil(entryCapacity / MAX_LOAD_FACTOR) + 1);
+        return Integer.highestOneBit(minimumSlots - 1) << 1;
+    }
+
+    /**
+     * Method to hash a key, so that keys which only differ in their high bits do not collide.
+     *
+     * @param key the key
+     * @return the hash
+     */
+    private static int hash(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+}
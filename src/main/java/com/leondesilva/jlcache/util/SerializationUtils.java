@@ -1,13 +1,20 @@
 package com.leondesilva.jlcache.util;
 
 import com.leondesilva.jlcache.exceptions.SerializationException;
+import com.leondesilva.jlcache.serialization.Serializer;
+import com.leondesilva.jlcache.serialization.SerializerRegistry;
 
-import java.io.*;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
 
 /**
  * Class to represent the serialization utilities.
+ * Unless a serializer is given, objects are serialized with a {@link SerializerRegistry} with the built-in serializers.
  */
 public final class SerializationUtils {
+    private static final Serializer<Object> DEFAULT_SERIALIZER = new SerializerRegistry();
+
     /**
      * Constructor to instantiate SerializationUtils.
      */
@@ -15,6 +22,15 @@ public final class SerializationUtils {
         // Private constructor
     }
 
+    /**
+     * Method to get the default serializer.
+     *
+     * @return the default serializer
+     */
+    public static Serializer<Object> getDefaultSerializer() {
+        return DEFAULT_SERIALIZER;
+    }
+
     /**
      * Method to read file and deserialize and object.
      *
@@ -24,11 +40,28 @@ public final class SerializationUtils {
      * @throws SerializationException if an error occurs when trying to read file or when trying to deserialize
      */
     public static <T> T readFileAndDeserialize(File file) throws SerializationException {
-        try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(file.toString()))) {
-            return (T) in.readObject();
-        } catch (IOException | ClassNotFoundException e) {
+        return readFileAndDeserialize(file, DEFAULT_SERIALIZER);
+    }
+
+    /**
+     * Method to read file and deserialize and object with a given serializer.
+     *
+     * @param file       the file to read
+     * @param serializer the serializer
+     * @param <T>        the type of the object
+     * @return the deserialized object
+     * @throws SerializationException if an error occurs when trying to read file or when trying to deserialize
+     */
+    public static <T> T readFileAndDeserialize(File file, Serializer<?> serializer) throws SerializationException {
+        byte[] bytes;
+
+        try {
+            bytes = Files.readAllBytes(file.toPath());
+        } catch (IOException e) {
             throw new SerializationException("Error occurred when trying to read file and deserialize", e);
         }
+
+        return deserialize(bytes, serializer);
     }
 
     /**
@@ -40,10 +73,62 @@ public final class SerializationUtils {
      * @throws SerializationException if an error occurs when trying to serialize and write to file
      */
     public static <T> void serializeAndWriteToFile(T object, File file) throws SerializationException {
-        try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(file.toString()))) {
-            out.writeObject(object);
+        serializeAndWriteToFile(object, file, DEFAULT_SERIALIZER);
+    }
+
+    /**
+     * Method to serialize an object with a given serializer and write to file.
+     *
+     * @param object     the object to be serialized
+     * @param file       the file to be written
+     * @param serializer the serializer
+     * @param <T>        the type of the object
+     * @throws SerializationException if an error occurs when trying to serialize and write to file
+     */
+    public static <T> void serializeAndWriteToFile(T object, File file, Serializer<? super T> serializer) throws SerializationException {
+        byte[] bytes = serializer.serialize(object);
+
+        try {
+            Files.write(file.toPath(), bytes);
         } catch (IOException e) {
             throw new SerializationException("Error occurred when trying to serialize and write to file", e);
         }
     }
+
+    /**
+     * Method to serialize an object in to bytes.
+     *
+     * @param object the object to be serialized
+     * @param <T>    the type of the object
+     * @return the serialized bytes
+     * @throws SerializationException if an error occurs when trying to serialize
+     */
+    public static <T> byte[] serialize(T object) throws SerializationException {
+        return DEFAULT_SERIALIZER.serialize(object);
+    }
+
+    /**
+     * Method to deserialize an object from bytes.
+     *
+     * @param bytes the serialized bytes
+     * @param <T>   the type of the object
+     * @return the deserialized object
+     * @throws SerializationException if an error occurs when trying to deserialize
+     */
+    public static <T> T deserialize(byte[] bytes) throws SerializationException {
+        return deserialize(bytes, DEFAULT_SERIALIZER);
+    }
+
+    /**
+     * Method to deserialize an object from bytes with a given serializer.
+     *
+     * @param bytes      the serialized bytes
+     * @param serializer the serializer
+     * @param <T>        the type of the object
+     * @return the deserialized object
+     * @throws SerializationException if an error occurs when trying to deserialize
+     */
+    public static <T> T deserialize(byte[] bytes, Serializer<?> serializer) throws SerializationException {
+        return (T) serializer.deserialize(bytes);
+    }
 }
@@ -0,0 +1,270 @@
+package com.leondesilva.jlcache.util;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Class to represent the key queue of the SIEVE eviction algorithm.
+ * Keys are inserted at the head of a doubly linked list and each key has a visited bit. Marking a key as visited
+ * only sets that bit, so it is lock free and can be called by many threads at the same time.
+ * Eviction moves a hand from the tail towards the head, clearing visited bits until it finds a key that
+ * has not been visited since the hand last passed it.
+ * <p>
+ * Insertion, removal and eviction change the list and must not be called concurrently with each other.
+ *
+ * @param <K> the type of the key
+ */
+public class SieveKeyQueue<K extends Serializable> implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private transient Map<K, Node<K>> index = new ConcurrentHashMap<>();
+    private transient Node<K> head;
+    private transient Node<K> tail;
+    private transient Node<K> hand;
+
+    /**
+     * Method to check whether the key is in the queue.
+     *
+     * @param key the key
+     * @return true if contains and false if not
+     */
+    public boolean contains(K key) {
+        return index.containsKey(key);
+    }
+
+    /**
+     * Method to mark a key as visited. This method is lock free.
+     *
+     * @param key the key
+     * @return true if the key exists and false if not
+     */
+    public boolean markVisited(K key) {
+        Node<K> node = index.get(key);
+
+        if (node == null) {
+            return false;
+        }
+
+        if (!node.visited) {
+            node.visited = true;
+        }
+
+        return true;
+    }
+
+    /**
+     * Method to check whether the key has been visited since the hand last passed it.
+     *
+     * @param key the key
+     * @return true if visited and false if not or if the key does not exist
+     */
+    public boolean isVisited(K key) {
+        Node<K> node = index.get(key);
+        return node != null && node.visited;
+    }
+
+    /**
+     * Method to insert a new key at the head of the queue. An existing key is marked as visited instead.
+     *
+     * @param key the key
+     */
+    public void insert(K key) {
+        if (markVisited(key)) {
+            return;
+        }
+
+        Node<K> node = new Node<>(key);
+        node.next = head;
+
+        if (head == null) {
+            tail = node;
+        } else {
+            head.previous = node;
+        }
+
+        head = node;
+        index.put(key, node);
+    }
+
+    /**
+     * Method to remove the key.
+     *
+     * @param key the key
+     * @return true if the key was removed and false if the key does not exist
+     */
+    public boolean remove(K key) {
+        Node<K> node = index.remove(key);
+
+        if (node == null) {
+            return false;
+        }
+
+        unlink(node);
+        return true;
+    }
+
+    /**
+     * Method to select and remove the next key to be evicted.
+     *
+     * @return the evicted key or null if the queue is empty
+     */
+    public K evict() {
+        Node<K> node = hand == null ? tail : hand;
+
+        if (node == null) {
+            return null;
+        }
+
+        while (node.visited) {
+            node.visited = false;
+            node = node.previous == null ? tail : node.previous;
+        }
+
+        // Unlinking the node the hand points to leaves the hand at the previous node for the next eviction.
+        hand = node;
+        index.remove(node.key);
+        unlink(node);
+        return node.key;
+    }
+
+    /**
+     * Method to get the number of keys.
+     *
+     * @return the number of keys
+     */
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Method to check whether the queue is empty.
+     *
+     * @return true if empty and false if not
+     */
+    public boolean isEmpty() {
+        return index.isEmpty();
+    }
+
+    /**
+     * Method to remove all the keys.
+     */
+    public void clear() {
+        index.clear();
+        head = null;
+        tail = null;
+        hand = null;
+    }
+
+    /**
+     * Method to copy the keys, their visited bits and the hand position to a new queue, which later changes of this
+     * queue do not affect.
+     *
+     * @return the copy of the queue
+     */
+    public SieveKeyQueue<K> copy() {
+        SieveKeyQueue<K> copy = new SieveKeyQueue<>();
+
+        for (Node<K> node = tail; node != null; node = node.previous) {
+            copy.insert(node.key);
+            copy.head.visited = node.visited;
+
+            if (node == hand) {
+                copy.hand = copy.head;
+            }
+        }
+
+        return copy;
+    }
+
+    /**
+     * Method to unlink a node from the list. If the hand points to the node it is moved to the previous node.
+     *
+     * @param node the node
+     */
+    private void unlink(Node<K> node) {
+        if (hand == node) {
+            hand = node.previous;
+        }
+
+        if (node.previous == null) {
+            head = node.next;
+        } else {
+            node.previous.next = node.next;
+        }
+
+        if (node.next == null) {
+            tail = node.previous;
+        } else {
+            node.next.previous = node.previous;
+        }
+
+        node.previous = null;
+        node.next = null;
+    }
+
+    /**
+     * Method to write the keys from the tail to the head together with their visited bits and the hand position.
+     *
+     * @param out the object output stream
+     * @throws IOException if an error occurs when writing
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(index.size());
+
+        for (Node<K> node = tail; node != null; node = node.previous) {
+            out.writeObject(node.key);
+            out.writeBoolean(node.visited);
+            out.writeBoolean(node == hand);
+        }
+    }
+
+    /**
+     * Method to read the keys and rebuild the queue.
+     *
+     * @param in the object input stream
+     * @throws IOException            if an error occurs when reading
+     * @throws ClassNotFoundException if a key class cannot be found
+     */
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        index = new ConcurrentHashMap<>();
+        int size = in.readInt();
+
+        for (int i = 0; i < size; i++) {
+            K key = (K) in.readObject();
+            insert(key);
+            head.visited = in.readBoolean();
+
+            if (in.readBoolean()) {
+                hand = head;
+            }
+        }
+    }
+
+    /**
+     * Inner class to represent a node of the queue.
+     *
+     * @param <K> the type of the key
+     */
+    private static class Node<K> {
+        private final K key;
+        private volatile boolean visited;
+        private Node<K> previous;
+        private Node<K> next;
+
+        /**
+         * Constructor to instantiate the node.
+         *
+         * @param key the key
+         */
+        Node(K key) {
+            this.key = key;
+        }
+    }
+}
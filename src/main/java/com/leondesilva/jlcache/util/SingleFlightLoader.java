@@ -0,0 +1,91 @@
+package com.leondesilva.jlcache.util;
+
+import com.leondesilva.jlcache.Cache;
+import com.leondesilva.jlcache.CacheLoader;
+import com.leondesilva.jlcache.exceptions.CacheException;
+
+import java.io.Serializable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Class to represent the loading of missed keys in to a cache, where the threads which miss the same key at the same
+ * time share a single load.
+ * <p>
+ * The first thread which misses a key registers a future for it and runs the loader. Threads which miss the key
+ * while the load is running wait for that future instead of running the loader themselves, so a popular key which is
+ * not cached only reaches the backing store once. A failed load is reported to every waiting thread and nothing is
+ * cached, so the next miss tries again.
+ *
+ * @param <K> the type of the key
+ * @param <V> the type of the value
+ */
+public class SingleFlightLoader<K extends Serializable, V extends Serializable> {
+    private final ConcurrentMap<K, CompletableFuture<V>> loads = new ConcurrentHashMap<>();
+
+    /**
+     * Method to get the value of a key from the cache, loading and putting it if it is missing.
+     *
+     * @param cache  the cache
+     * @param key    the key
+     * @param loader the loader of the value
+     * @return the value or null if the key is not in the cache and the loader has no value for it
+     * @throws CacheException if an error occurs when trying to read the cache or to load the value
+     */
+    public V get(Cache<K, V> cache, K key, CacheLoader<? super K, ? extends V> loader) throws CacheException {
+        V value = cache.get(key);
+
+        if (value != null) {
+            return value;
+        }
+
+        CompletableFuture<V> load = new CompletableFuture<>();
+        CompletableFuture<V> runningLoad = loads.putIfAbsent(key, load);
+
+        if (runningLoad != null) {
+            return await(key, runningLoad);
+        }
+
+        try {
+            // A load which finished just before this one was registered has already put the value.
+            value = cache.get(key);
+
+            if (value == null) {
+                value = loader.loadValue(key);
+
+                if (value != null) {
+                    cache.put(key, value);
+                }
+            }
+
+            load.complete(value);
+            return value;
+        } catch (CacheException | RuntimeException | Error e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loads.remove(key, load);
+        }
+    }
+
+    /**
+     * Method to wait for the load of another thread.
+     *
+     * @param key  the key
+     * @param load the load
+     * @return the loaded value
+     * @throws CacheException if the load failed or the thread was interrupted
+     */
+    private V await(K key, CompletableFuture<V> load) throws CacheException {
+        try {
+            return load.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CacheException("Interrupted when waiting for the value of key : " + key, e);
+        } catch (ExecutionException e) {
+            throw new CacheException("Error occurred when another thread was loading the value of key : " + key, e.getCause());
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.leondesilva.jlcache.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Class to represent a lossy, striped ring buffer with many producers and a single consumer.
+ * <p>
+ * Each thread offers its elements to one of the stripes, chosen by the thread id, so that threads running on
+ * different cores rarely contend on the same counters. An offer never blocks: when the stripe is full or another
+ * thread wins the race for the slot, the element is dropped and the offer returns false, which tells the caller
+ * that the buffer should be drained. Dropping elements is acceptable when they are hints, such as the accesses used
+ * to order entries for eviction.
+ * <p>
+ * Draining must only be done by one thread at a time, which is usually ensured by draining under a lock.
+ *
+ * @param <E> the type of the element
+ */
+public class StripedRingBuffer<E> {
+    private static final int STRIPE_CAPACITY = 16;
+    private static final int STRIPE_MASK = STRIPE_CAPACITY - 1;
+    private static final int MAX_STRIPES = 64;
+    private final Stripe<E>[] stripes;
+    private final int stripeMask;
+
+    /**
+     * Constructor to instantiate the striped ring buffer with a stripe for each available processor.
+     */
+    public StripedRingBuffer() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor to instantiate the striped ring buffer.
+     *
+     * @param expectedThreadCount the expected number of threads offering elements at the same time
+     */
+    public StripedRingBuffer(int expectedThreadCount) {
+        int stripeCount = 1;
+
+        while (stripeCount < expectedThreadCount && stripeCount < MAX_STRIPES) {
+            stripeCount <<= 1;
+        }
+
+        @SuppressWarnings("unchecked")
+        Stripe<E>[] stripeArray = (Stripe<E>[]) new Stripe<?>[stripeCount];
+        this.stripes = stripeArray;
+        this.stripeMask = stripeCount - 1;
+
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe<>();
+        }
+    }
+
+    /**
+     * Method to offer an element to the stripe of the current thread.
+     *
+     * @param element the element
+     * @return true if the element was added and false if it was dropped because the stripe is full or contended
+     */
+    public boolean offer(E element) {
+        long threadHash = Thread.currentThread().getId() * 0x9E3779B97F4A7C15L;
+        Stripe<E> stripe = stripes[(int) (threadHash >>> 32) & stripeMask];
+        return stripe.offer(element);
+    }
+
+    /**
+     * Method to drain all the elements of all the stripes to a consumer.
+     *
+     * @param consumer the consumer of the elements
+     */
+    public void drainTo(Consumer<E> consumer) {
+        for (Stripe<E> stripe : stripes) {
+            stripe.drainTo(consumer);
+        }
+    }
+
+    /**
+     * Inner class to represent a stripe, which is a bounded ring buffer.
+     *
+     * @param <E> the type of the element
+     */
+    private static class Stripe<E> {
+        private final AtomicReferenceArray<E> buffer = new AtomicReferenceArray<>(STRIPE_CAPACITY);
+        private final AtomicLong writeCounter = new AtomicLong();
+        private volatile long readCounter;
+
+        /**
+         * Method to offer an element to the stripe.
+         *
+         * @param element the element
+         * @return true if the element was added and false if it was dropped
+         */
+        boolean offer(E element) {
+            long head = readCounter;
+            long tail = writeCounter.get();
+
+            if (tail - head >= STRIPE_CAPACITY || !writeCounter.compareAndSet(tail, tail + 1)) {
+                return false;
+            }
+
+            buffer.lazySet((int) tail & STRIPE_MASK, element);
+            return true;
+        }
+
+        /**
+         * Method to drain the elements of the stripe. An element whose slot was claimed but not yet written
+         * stops the drain and is drained next time.
+         *
+         * @param consumer the consumer of the elements
+         */
+        void drainTo(Consumer<E> consumer) {
+            long head = readCounter;
+            long tail = writeCounter.get();
+
+            try {
+                while (head != tail) {
+                    int index = (int) head & STRIPE_MASK;
+                    E element = buffer.get(index);
+
+                    if (element == null) {
+                        break;
+                    }
+
+                    buffer.lazySet(index, null);
+                    head++;
+                    consumer.accept(element);
+                }
+            } finally {
+                readCounter = head;
+            }
+        }
+    }
+}
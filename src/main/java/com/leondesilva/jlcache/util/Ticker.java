@@ -0,0 +1,23 @@
+package com.leondesilva.jlcache.util;
+
+/**
+ * Interface to represent a source of time in nanoseconds, which can be replaced to control time in tests.
+ */
+@FunctionalInterface
+public interface Ticker {
+    /**
+     * Method to read the current time in nanoseconds. The time is only meaningful relative to other readings.
+     *
+     * @return the current time in nanoseconds
+     */
+    long read();
+
+    /**
+     * Method to get the ticker which reads {@link System#nanoTime()}.
+     *
+     * @return the system ticker
+     */
+    static Ticker systemTicker() {
+        return System::nanoTime;
+    }
+}
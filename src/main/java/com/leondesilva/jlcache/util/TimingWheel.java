@@ -0,0 +1,291 @@
+package com.leondesilva.jlcache.util;
+
+import java.util.function.Consumer;
+
+/**
+ * Class to represent a hierarchical timing wheel, which expires keys at their expiration time in constant time.
+ * <p>
+ * Each level of the wheel is an array of buckets, where every bucket is a doubly linked list of the keys which
+ * expire in a slice of time. The levels cover roughly seconds, minutes, hours, days and weeks. A key is scheduled
+ * in the finest level which can hold its expiration time. When the wheel is advanced, only the buckets whose slice
+ * of time has passed are visited: their keys are either expired or, if their expiration time has since been pushed
+ * further, scheduled again in a finer bucket. Each key is therefore moved at most once per level.
+ * <p>
+ * The times are in nanoseconds and must not be negative. This class is not thread safe, except for
+ * {@link Node#setExpirationTime(long)}, which may be called without a lock to postpone the expiration of a
+ * scheduled node. Such a node is scheduled again when its old bucket is visited.
+ *
+ * @param <K> the type of the key
+ */
+public class TimingWheel<K> {
+    private static final int[] BUCKETS = {64, 64, 32, 4, 1};
+    private static final long[] SPANS = {
+            1L << 30, // 1.07 seconds
+            1L << 36, // 1.14 minutes
+            1L << 42, // 1.22 hours
+            1L << 47, // 1.63 days
+            1L << 49, // 6.5 days
+            1L << 49
+    };
+    private static final int[] SHIFTS = {
+            Long.numberOfTrailingZeros(SPANS[0]),
+            Long.numberOfTrailingZeros(SPANS[1]),
+            Long.numberOfTrailingZeros(SPANS[2]),
+            Long.numberOfTrailingZeros(SPANS[3]),
+            Long.numberOfTrailingZeros(SPANS[4])
+    };
+
+    private final Node<K>[][] wheel;
+    private long currentTime;
+    private int size;
+
+    /**
+     * Constructor to instantiate the timing wheel.
+     *
+     * @param currentTime the current time in nanoseconds
+     */
+    public TimingWheel(long currentTime) {
+        this.currentTime = currentTime;
+        @SuppressWarnings("unchecked")
+        Node<K>[][] levels = (Node<K>[][]) new Node<?>[BUCKETS.length][];
+        this.wheel = levels;
+
+        for (int level = 0; level < BUCKETS.length; level++) {
+            @SuppressWarnings("unchecked")
+            Node<K>[] buckets = (Node<K>[]) new Node<?>[BUCKETS[level]];
+            wheel[level] = buckets;
+
+            for (int bucket = 0; bucket < BUCKETS[level]; bucket++) {
+                Node<K> sentinel = new Node<>(null, 0);
+                sentinel.previous = sentinel;
+                sentinel.next = sentinel;
+                wheel[level][bucket] = sentinel;
+            }
+        }
+    }
+
+    /**
+     * Method to schedule a node which is not scheduled yet.
+     *
+     * @param node the node
+     */
+    public void schedule(Node<K> node) {
+        link(findBucket(node.getExpirationTime()), node);
+        size++;
+    }
+
+    /**
+     * Method to schedule a node again after its expiration time was changed.
+     *
+     * @param node the node
+     */
+    public void reschedule(Node<K> node) {
+        if (node.next == null) {
+            schedule(node);
+            return;
+        }
+
+        unlink(node);
+        link(findBucket(node.getExpirationTime()), node);
+    }
+
+    /**
+     * Method to remove a node from the wheel.
+     *
+     * @param node the node
+     */
+    public void deschedule(Node<K> node) {
+        if (node.next != null) {
+            unlink(node);
+            size--;
+        }
+    }
+
+    /**
+     * Method to advance the wheel to the current time and expire the nodes whose expiration time has passed.
+     *
+     * @param time     the current time in nanoseconds
+     * @param consumer the consumer of the expired nodes
+     */
+    public void advance(long time, Consumer<Node<K>> consumer) {
+        long previousTime = currentTime;
+        currentTime = time;
+
+        for (int level = 0; level < SHIFTS.length; level++) {
+            long previousTicks = previousTime >>> SHIFTS[level];
+            long currentTicks = time >>> SHIFTS[level];
+            long delta = currentTicks - previousTicks;
+
+            if (delta <= 0) {
+                break;
+            }
+
+            expire(level, previousTicks, delta, consumer);
+        }
+    }
+
+    /**
+     * Method to remove all the nodes.
+     */
+    public void clear() {
+        for (Node<K>[] buckets : wheel) {
+            for (Node<K> sentinel : buckets) {
+                Node<K> node = sentinel.next;
+
+                while (node != sentinel) {
+                    Node<K> next = node.next;
+                    node.previous = null;
+                    node.next = null;
+                    node = next;
+                }
+
+                sentinel.previous = sentinel;
+                sentinel.next = sentinel;
+            }
+        }
+
+        size = 0;
+    }
+
+    /**
+     * Method to get the number of scheduled nodes.
+     *
+     * @return the number of scheduled nodes
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Method to visit the buckets of a level whose time has passed.
+     *
+     * @param level         the level
+     * @param previousTicks the ticks of the level at the previous advance
+     * @param delta         the number of ticks that have passed
+     * @param consumer      the consumer of the expired nodes
+     */
+    private void expire(int level, long previousTicks, long delta, Consumer<Node<K>> consumer) {
+        Node<K>[] buckets = wheel[level];
+        int mask = buckets.length - 1;
+        // The bucket of the previous tick is visited as well, since it may hold nodes which expired in that tick.
+        int steps = (int) Math.min(delta + 1, buckets.length);
+        int start = (int) (previousTicks & mask);
+
+        for (int i = start; i < start + steps; i++) {
+            Node<K> sentinel = buckets[i & mask];
+            Node<K> node = sentinel.next;
+            sentinel.previous = sentinel;
+            sentinel.next = sentinel;
+
+            while (node != sentinel) {
+                Node<K> next = node.next;
+                node.previous = null;
+                node.next = null;
+
+                if (node.getExpirationTime() - currentTime > 0) {
+                    link(findBucket(node.getExpirationTime()), node);
+                } else {
+                    size--;
+                    consumer.accept(node);
+                }
+
+                node = next;
+            }
+        }
+    }
+
+    /**
+     * Method to find the bucket of an expiration time.
+     *
+     * @param expirationTime the expiration time
+     * @return the sentinel of the bucket
+     */
+    private Node<K> findBucket(long expirationTime) {
+        long duration = expirationTime - currentTime;
+        int lastLevel = wheel.length - 1;
+
+        for (int level = 0; level < lastLevel; level++) {
+            if (duration < SPANS[level + 1]) {
+                long ticks = expirationTime >>> SHIFTS[level];
+                return wheel[level][(int) (ticks & (wheel[level].length - 1))];
+            }
+        }
+
+        return wheel[lastLevel][0];
+    }
+
+    /**
+     * Method to link a node at the end of a bucket.
+     *
+     * @param sentinel the sentinel of the bucket
+     * @param node     the node
+     */
+    private static <K> void link(Node<K> sentinel, Node<K> node) {
+        node.previous = sentinel.previous;
+        node.next = sentinel;
+        sentinel.previous.next = node;
+        sentinel.previous = node;
+    }
+
+    /**
+     * Method to unlink a node from its bucket.
+     *
+     * @param node the node
+     */
+    private static <K> void unlink(Node<K> node) {
+        node.previous.next = node.next;
+        node.next.previous = node.previous;
+        node.previous = null;
+        node.next = null;
+    }
+
+    /**
+     * Inner class to represent a node of the wheel.
+     *
+     * @param <K> the type of the key
+     */
+    public static class Node<K> {
+        private final K key;
+        private volatile long expirationTime;
+        private Node<K> previous;
+        private Node<K> next;
+
+        /**
+         * Constructor to instantiate the node.
+         *
+         * @param key            the key
+         * @param expirationTime the expiration time in nanoseconds
+         */
+        public Node(K key, long expirationTime) {
+            this.key = key;
+            this.expirationTime = expirationTime;
+        }
+
+        /**
+         * Method to get the key.
+         *
+         * @return the key
+         */
+        public K getKey() {
+            return key;
+        }
+
+        /**
+         * Method to get the expiration time.
+         *
+         * @return the expiration time in nanoseconds
+         */
+        public long getExpirationTime() {
+            return expirationTime;
+        }
+
+        /**
+         * Method to set the expiration time.
+         *
+         * @param expirationTime the expiration time in nanoseconds
+         */
+        public void setExpirationTime(long expirationTime) {
+            this.expirationTime = expirationTime;
+        }
+    }
+}
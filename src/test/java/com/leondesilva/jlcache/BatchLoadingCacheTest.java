@@ -0,0 +1,138 @@
+package com.leondesilva.jlcache;
+
+import com.leondesilva.jlcache.exceptions.CacheException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Class to test the batch loading cache.
+ */
+class BatchLoadingCacheTest {
+    private final List<List<String>> loadedBatches = new CopyOnWriteArrayList<>();
+
+    /**
+     * Test to verify that the keys missed by many threads are loaded with a single call once the batch is full, and
+     * that threads which miss the same key share its load.
+     *
+     * @throws Exception if an error occurs when running the threads
+     */
+    @Test
+    void should_load_the_keys_missed_by_many_threads_with_a_single_call() throws Exception {
+        Cache<String, String> cache = new BatchLoadingCache<String, String>(
+                new TwoLevelCache<>(new ConcurrentInMemoryCache<>(), new ConcurrentInMemoryCache<>()),
+                this::loadAll, 10, 10, TimeUnit.SECONDS);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(12);
+        List<Future<String>> results = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < 12; i++) {
+                String key = "Key" + (i % 10);
+                results.add(executorService.submit(() -> {
+                    start.await();
+                    return cache.get(key);
+                }));
+            }
+
+            start.countDown();
+
+            for (int i = 0; i < 12; i++) {
+                assertThat(results.get(i).get(10, TimeUnit.SECONDS), is(equalTo("Value" + (i % 10))));
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        assertThat(loadedBatches.size(), is(equalTo(1)));
+        assertThat(loadedBatches.get(0), containsInAnyOrder("Key0", "Key1", "Key2", "Key3", "Key4", "Key5", "Key6",
+                "Key7", "Key8", "Key9"));
+        assertThat(cache.getSize(), is(equalTo(20)));
+    }
+
+    /**
+     * Test to verify that a batch which is not full is loaded once the batch window ends, that only the missed keys
+     * are loaded and that keys without a value are not cached.
+     *
+     * @throws CacheException if an error occurs when loading
+     */
+    @Test
+    void should_load_only_the_missed_keys_once_the_batch_window_ends() throws CacheException {
+        InMemoryCache<String, String> inMemoryCache = new InMemoryCache<>();
+        Cache<String, String> cache = new BatchLoadingCache<String, String>(inMemoryCache, this::loadAll, 100, 20,
+                TimeUnit.MILLISECONDS);
+        cache.put("Key1", "CachedValue1");
+
+        Map<String, String> values = cache.getAll(Arrays.asList("Key2", "Key1", "MissingKey", "Key3"));
+
+        assertThat(values.keySet(), contains("Key2", "Key1", "Key3"));
+        assertThat(values.get("Key1"), is(equalTo("CachedValue1")));
+        assertThat(loadedBatches.size(), is(equalTo(1)));
+        assertThat(loadedBatches.get(0), contains("Key2", "MissingKey", "Key3"));
+        assertThat(inMemoryCache.containsKey("MissingKey"), is(equalTo(false)));
+        assertThat(cache.get("Key3"), is(equalTo("Value3")));
+        assertThat(loadedBatches.size(), is(equalTo(1)));
+    }
+
+    /**
+     * Test to verify that a failed batch is reported to the waiting thread and the next miss loads again.
+     *
+     * @throws CacheException if an error occurs when loading
+     */
+    @Test
+    void should_report_a_failed_batch_and_load_again_on_the_next_miss() throws CacheException {
+        boolean[] available = new boolean[1];
+        Cache<String, String> cache = new BatchLoadingCache<>(new InMemoryCache<>(), keys -> {
+            if (!available[0]) {
+                throw new IllegalStateException("Unavailable");
+            }
+
+            return loadAll(keys);
+        }, 100, 0, TimeUnit.MILLISECONDS);
+
+        CacheException exception = assertThrows(CacheException.class, () -> cache.get("Key1"));
+
+        assertThat(exception.getCause().getCause().getMessage(), is(equalTo("Unavailable")));
+
+        available[0] = true;
+
+        assertThat(cache.get("Key1"), is(equalTo("Value1")));
+    }
+
+    /**
+     * Method to load the values of keys and record the batch. Keys which start with "Missing" have no value.
+     *
+     * @param keys the keys
+     * @return the values
+     */
+    private Map<String, String> loadAll(Collection<? extends String> keys) {
+        loadedBatches.add(new ArrayList<>(keys));
+        Map<String, String> values = new HashMap<>();
+
+        for (String key : keys) {
+            if (!key.startsWith("Missing")) {
+                values.put(key, key.replace("Key", "Value"));
+            }
+        }
+
+        return values;
+    }
+}
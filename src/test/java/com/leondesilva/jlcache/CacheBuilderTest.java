@@ -1,15 +1,27 @@
 package com.leondesilva.jlcache;
 
 import com.leondesilva.jlcache.enumeration.CacheEvictionType;
+import com.leondesilva.jlcache.enumeration.CacheStorageType;
 import com.leondesilva.jlcache.exceptions.CacheBuilderException;
+import com.leondesilva.jlcache.exceptions.CacheException;
+import com.leondesilva.jlcache.serialization.Serializer;
+import com.leondesilva.jlcache.serialization.SerializerRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
+import java.io.File;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 
 /**
  * Class to test cache builder.
@@ -27,6 +39,30 @@ class CacheBuilderTest {
         assertThat(cache.getClass(), is(equalTo(InMemoryCache.class)));
     }
 
+    /**
+     * Test to verify that a concurrent in-memory cache is built when concurrent is set.
+     *
+     * @throws CacheBuilderException if an error occurs when building the cache
+     */
+    @Test
+    void should_build_a_concurrent_in_memory_cache_if_concurrent_is_set() throws CacheBuilderException {
+        CacheBuilder cacheBuilder = new CacheBuilder();
+        Cache<String, String> cache = cacheBuilder.setConcurrent(true).buildInMemoryCache();
+        assertThat(cache.getClass(), is(equalTo(ConcurrentInMemoryCache.class)));
+    }
+
+    /**
+     * Test to verify that a concurrent evictable in-memory cache is built when concurrent and eviction are set.
+     *
+     * @throws CacheBuilderException if an error occurs when building the cache
+     */
+    @Test
+    void should_build_a_concurrent_evictable_in_memory_cache_if_concurrent_and_eviction_are_set() throws CacheBuilderException {
+        CacheBuilder cacheBuilder = new CacheBuilder();
+        Cache<String, String> cache = cacheBuilder.setConcurrent(true).setEviction(10, CacheEvictionType.LRU).buildInMemoryCache();
+        assertThat(cache.getClass(), is(equalTo(ConcurrentEvictableCache.class)));
+    }
+
     /**
      * Test to verify that only an evictable in-memory cache is built when eviction is set.
      *
@@ -93,4 +129,239 @@ class CacheBuilderTest {
                 .build();
         assertThat(cache.getClass(), is(equalTo(TwoLevelCache.class)));
     }
-}
\ No newline at end of file
+
+    /**
+     * Test to verify that an exclusive two level cache keeps each key in only one level, demoting the keys evicted
+     * from the level 1 cache and moving the keys read from the level 2 cache back up.
+     *
+     * @throws Exception if an error occurs when building or using the cache
+     */
+    @Test
+    void should_keep_each_key_in_only_one_level_of_an_exclusive_two_level_cache(@TempDir Path tempDirPath) throws Exception {
+        CacheBuilder cacheBuilder = new CacheBuilder();
+        TwoLevelCache<String, String> cache = (TwoLevelCache<String, String>) cacheBuilder.twoLevelCache()
+                .setLevel1CacheEviction(2, CacheEvictionType.LRU)
+                .setLevel2CacheEviction(5, CacheEvictionType.LRU)
+                .setLevel2CacheFolderPath(tempDirPath.toString())
+                .setExclusive(true)
+                .<String, String>build();
+        cache.put("Key1", "Value1");
+        cache.put("Key2", "Value2");
+
+        assertThat(cache.getLevel2Cache().getSize(), is(equalTo(0)));
+
+        cache.put("Key3", "Value3");
+
+        assertThat(cache.getLevel2Cache().get("Key1"), is(equalTo("Value1")));
+        assertThat(cache.getSize(), is(equalTo(3)));
+        assertThat(cache.get("Key1"), is(equalTo("Value1")));
+        assertThat(cache.getLevel1Cache().containsKey("Key1"), is(equalTo(true)));
+        assertThat(cache.getLevel2Cache().containsKey("Key1"), is(equalTo(false)));
+        assertThat(cache.getLevel2Cache().get("Key2"), is(equalTo("Value2")));
+        assertThat(cache.getSize(), is(equalTo(3)));
+
+        cache.delete("Key3");
+
+        assertThat(cache.containsKey("Key3"), is(equalTo(false)));
+        assertThat(cache.getSize(), is(equalTo(2)));
+    }
+
+    /**
+     * Test to verify that closing a two level cache with a write behind level 2 cache flushes the queued writes to the
+     * level 2 cache files and closes the write behind cache.
+     *
+     * @throws Exception if an error occurs when building, using or closing the cache
+     */
+    @Test
+    void should_flush_and_close_the_write_behind_level_2_cache_when_the_two_level_cache_is_closed(@TempDir Path tempDirPath) throws Exception {
+        TwoLevelCache<String, String> cache = (TwoLevelCache<String, String>) new CacheBuilder().twoLevelCache()
+                .setLevel1CacheEviction(5, CacheEvictionType.LRU)
+                .setLevel2CacheFolderPath(tempDirPath.toString())
+                .setLevel2CacheWriteBehind(100, 100)
+                .<String, String>build();
+        for (int i = 0; i < 20; i++) {
+            cache.put("Key" + i, "Value" + i);
+        }
+
+        cache.close();
+
+        long segmentBytes = 0;
+        for (File segmentFile : tempDirPath.toFile().listFiles((folder, name) -> name.startsWith("segment-"))) {
+            segmentBytes += segmentFile.length();
+        }
+        assertThat(segmentBytes > 0, is(equalTo(true)));
+        assertThrows(CacheException.class, () -> cache.getLevel2Cache().put("Key20", "Value20"));
+    }
+
+    /**
+     * Test to verify that both levels of a two level cache are thread safe if concurrent is set.
+     *
+     * @throws CacheBuilderException if an error occurs when building the cache
+     */
+    @Test
+    void should_build_thread_safe_levels_of_a_two_level_cache_if_concurrent_is_set(@TempDir Path tempDirPath) throws CacheBuilderException {
+        CacheBuilder cacheBuilder = new CacheBuilder();
+        TwoLevelCache<String, String> cache = (TwoLevelCache<String, String>) cacheBuilder.twoLevelCache()
+                .setLevel1CacheEviction(5, CacheEvictionType.LRU)
+                .setLevel2CacheEviction(5, CacheEvictionType.LRU)
+                .setLevel2CacheFolderPath(tempDirPath.toString())
+                .setConcurrent(true)
+                .<String, String>build();
+
+        assertThat(cache.getLevel1Cache().getClass(), is(equalTo(ConcurrentEvictableCache.class)));
+        assertThat(cache.getLevel2Cache().getClass(), is(equalTo(ConcurrentEvictableCache.class)));
+    }
+
+    /**
+     * Test to verify that a memory mapped cache is built when eviction is not set.
+     *
+     * @throws CacheBuilderException if an error occurs when building the cache
+     */
+    @Test
+    void should_build_a_memory_mapped_cache_only_if_eviction_is_not_set(@TempDir Path tempDirPath) throws CacheBuilderException {
+        CacheBuilder cacheBuilder = new CacheBuilder();
+        Cache<String, String> cache = cacheBuilder.buildMemoryMappedCache(tempDirPath.toString());
+        assertThat(cache.getClass(), is(equalTo(MemoryMappedCache.class)));
+    }
+
+    /**
+     * Test to verify that a two level cache with a memory mapped level 2 cache is built and used correctly.
+     *
+     * @throws Exception if an error occurs when building or using the cache
+     */
+    @Test
+    void should_build_a_two_level_cache_with_memory_mapped_level_2_cache(@TempDir Path tempDirPath) throws Exception {
+        CacheBuilder cacheBuilder = new CacheBuilder();
+        Cache<String, String> cache = cacheBuilder.twoLevelCache()
+                .setLevel1CacheEviction(1, CacheEvictionType.LRU)
+                .setLevel2CacheEviction(5, CacheEvictionType.LRU)
+                .setLevel2CacheFolderPath(tempDirPath.toString())
+                .setLevel2CacheStorageType(CacheStorageType.MEMORY_MAPPED)
+                .build();
+        cache.put("Key1", "Value1");
+        cache.put("Key2", "Value2");
+
+        assertThat(cache.getClass(), is(equalTo(TwoLevelCache.class)));
+        assertThat(cache.get("Key1"), is(equalTo("Value1")));
+        assertThat(cache.get("Key2"), is(equalTo("Value2")));
+    }
+
+    /**
+     * Test to verify that the serializer set in the builder is used by the file system cache.
+     *
+     * @throws Exception if an error occurs when building or using the cache
+     */
+    @Test
+    void should_build_a_file_system_cache_with_the_given_serializer(@TempDir Path tempDirPath) throws Exception {
+        Serializer<Object> serializer = spy(new SerializerRegistry());
+        CacheBuilder cacheBuilder = new CacheBuilder();
+        Cache<String, String> cache = cacheBuilder.setSerializer(serializer).buildFileSystemCache(tempDirPath.toString());
+        cache.put("Key1", "Value1");
+
+        assertThat(cache.get("Key1"), is(equalTo("Value1")));
+        verify(serializer, atLeastOnce()).serialize(any());
+        verify(serializer, atLeastOnce()).deserialize(any(byte[].class));
+    }
+
+    /**
+     * Test to verify that a file system cache with a maximum weight is bounded by the bytes its entries take on disk.
+     *
+     * @throws Exception if an error occurs when building the cache or when trying to cache
+     */
+    @Test
+    void should_bound_a_file_system_cache_by_bytes_on_disk_if_maximum_weight_is_set(@TempDir Path tempDirPath) throws Exception {
+        FileSystemCache<String, String> fileSystemCache = new FileSystemCache<>(tempDirPath.resolve("probe").toString());
+        fileSystemCache.put("Key10", "Value10");
+        int entrySize = fileSystemCache.getEntrySize("Key10");
+
+        Cache<String, String> cache = new CacheBuilder().setMaximumWeight(10L * entrySize, null)
+                .buildFileSystemCache(tempDirPath.resolve("cache").toString());
+
+        for (int i = 10; i < 60; i++) {
+            cache.put("Key" + i, "Value" + i);
+        }
+
+        assertThat(cache.getClass(), is(equalTo(EvictableCache.class)));
+        assertThat(cache.getSize(), is(equalTo(10)));
+        assertThat(cache.get("Key59"), is(equalTo("Value59")));
+        assertThat(cache.containsKey("Key49"), is(equalTo(false)));
+    }
+
+    /**
+     * Test to verify that closing an evictable file system cache closes the file system cache it wraps, which writes
+     * its meta data to the meta file.
+     *
+     * @throws Exception if an error occurs when building, using or closing the cache
+     */
+    @Test
+    void should_close_the_file_system_cache_when_the_built_evictable_cache_is_closed(@TempDir Path tempDirPath) throws Exception {
+        Cache<String, String> cache = new CacheBuilder().setEviction(10, CacheEvictionType.LRU)
+                .buildFileSystemCache(tempDirPath.toString());
+        cache.put("Key1", "Value1");
+
+        cache.close();
+
+        assertThat(Files.size(tempDirPath.resolve("meta")) > 0, is(equalTo(true)));
+    }
+
+    /**
+     * Test to verify that a two level cache with an off heap level 1 cache is bounded by its direct memory.
+     *
+     * @throws Exception if an error occurs when building the cache or when trying to cache
+     */
+    @Test
+    void should_build_a_two_level_cache_with_an_off_heap_level_1_cache(@TempDir Path tempDirPath) throws Exception {
+        Cache<String, String> cache = new CacheBuilder().twoLevelCache()
+                .setLevel1CacheOffHeap(2 * 1024 * 1024)
+                .setLevel2CacheFolderPath(tempDirPath.toString())
+                .build();
+        StringBuilder value = new StringBuilder();
+
+        for (int i = 0; i < 10000; i++) {
+            value.append('x');
+        }
+
+        for (int i = 0; i < 500; i++) {
+            cache.put("Key" + i, value.toString());
+        }
+
+        assertThat(cache.get("Key0"), is(equalTo(value.toString())));
+        assertThat(cache.get("Key499"), is(equalTo(value.toString())));
+    }
+
+    /**
+     * Test to verify that an expiring cache is built when expiration is set.
+     *
+     * @throws CacheBuilderException if an error occurs when building the cache
+     */
+    @Test
+    void should_build_an_expiring_cache_if_expiration_is_set() throws CacheBuilderException {
+        CacheBuilder cacheBuilder = new CacheBuilder();
+        Cache<String, String> cache = cacheBuilder.setEviction(10, CacheEvictionType.LRU)
+                .setExpireAfterWrite(10, TimeUnit.MINUTES)
+                .buildInMemoryCache();
+        assertThat(cache.getClass(), is(equalTo(ExpiringCache.class)));
+    }
+
+    /**
+     * Test to verify that the entries of a cache built with an expiry policy expire after the duration of the policy.
+     *
+     * @throws Exception if an error occurs when building the cache or when trying to cache
+     */
+    @Test
+    void should_build_an_expiring_cache_if_an_expiry_is_set() throws Exception {
+        long[] time = new long[1];
+        Expiry<String, String> expiry = (key, value) -> TimeUnit.SECONDS.toNanos(value.length());
+        Cache<String, String> cache = new CacheBuilder().setEviction(10, CacheEvictionType.LRU)
+                .setExpiry(expiry)
+                .setTicker(() -> time[0])
+                .buildInMemoryCache();
+        cache.put("Key1", "Short");
+        cache.put("Key2", "LongerValue");
+        time[0] = TimeUnit.SECONDS.toNanos(6);
+
+        assertThat(cache.getClass(), is(equalTo(ExpiringCache.class)));
+        assertThat(cache.get("Key1"), is(equalTo(null)));
+        assertThat(cache.get("Key2"), is(equalTo("LongerValue")));
+    }
+}
@@ -0,0 +1,80 @@
+package com.leondesilva.jlcache;
+
+import com.leondesilva.jlcache.enumeration.CacheEvictionType;
+import com.leondesilva.jlcache.exceptions.CacheException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.core.Is.is;
+
+/**
+ * Class to test the concurrent evictable cache.
+ */
+class ConcurrentEvictableCacheTest {
+    /**
+     * Test to verify that buffered accesses are applied to the eviction order before the next write.
+     *
+     * @throws CacheException if an error occurs when trying to cache
+     */
+    @Test
+    void should_apply_buffered_accesses_before_evicting() throws CacheException {
+        ConcurrentEvictableCache<String, String> cache = new ConcurrentEvictableCache<>(new ConcurrentInMemoryCache<>(), 3, CacheEvictionType.LRU);
+        cache.put("Key1", "Value1");
+        cache.put("Key2", "Value2");
+        cache.put("Key3", "Value3");
+
+        assertThat(cache.get("Key1"), is(equalTo("Value1")));
+        cache.put("Key4", "Value4");
+
+        assertThat(cache.getSize(), is(equalTo(3)));
+        assertThat(cache.containsKey("Key1"), is(equalTo(true)));
+        assertThat(cache.containsKey("Key2"), is(equalTo(false)));
+    }
+
+    /**
+     * Test to verify that the size bound holds when many threads read and write at the same time.
+     *
+     * @throws Exception if a thread fails
+     */
+    @Test
+    void should_stay_within_the_max_entry_size_when_used_by_many_threads() throws Exception {
+        for (CacheEvictionType cacheEvictionType : CacheEvictionType.values()) {
+            ConcurrentEvictableCache<Integer, Integer> cache = new ConcurrentEvictableCache<>(new ConcurrentInMemoryCache<>(), 100, cacheEvictionType);
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            List<Future<?>> futures = new ArrayList<>();
+
+            for (int thread = 0; thread < 8; thread++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 5000; i++) {
+                        int key = ThreadLocalRandom.current().nextInt(500);
+
+                        if (i % 4 == 0) {
+                            cache.put(key, key);
+                        } else {
+                            Integer value = cache.get(key);
+                            assertThat(value == null || value == key, is(equalTo(true)));
+                        }
+                    }
+
+                    return null;
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+
+            executor.shutdown();
+            assertThat(cache.getSize(), is(lessThanOrEqualTo(100)));
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.leondesilva.jlcache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.core.Is.is;
+
+/**
+ * Class to test the concurrent in memory cache.
+ */
+class ConcurrentInMemoryCacheTest {
+    private ConcurrentInMemoryCache<String, String> cache;
+    private static final String KEY1 = "Key1";
+    private static final String KEY2 = "Key2";
+    private static final String VALUE1 = "Value1";
+    private static final String VALUE2 = "Value2";
+
+    /**
+     * Setup method.
+     *
+     */
+    @BeforeEach
+    void setup() {
+        cache = new ConcurrentInMemoryCache<>();
+    }
+
+    /**
+     * Test to verify that the entries are inserted, retrieved and deleted correctly.
+     */
+    @Test
+    void should_insert_get_and_delete_data_correctly() {
+        cache.put(KEY1, VALUE1);
+        cache.put(KEY2, VALUE2);
+        cache.delete(KEY2);
+
+        assertThat(cache.get(KEY1), is(equalTo(VALUE1)));
+        assertThat(cache.containsKey(KEY2), is(equalTo(false)));
+        assertThat(cache.getSize(), is(equalTo(1)));
+
+        cache.deleteAll();
+        assertThat(cache.getSize(), is(equalTo(0)));
+    }
+
+    /**
+     * Test to verify that a null value is stored like in the in memory cache.
+     */
+    @Test
+    void should_store_null_values() {
+        cache.put(KEY1, null);
+
+        assertThat(cache.containsKey(KEY1), is(equalTo(true)));
+        assertThat(cache.get(KEY1), is(equalTo(null)));
+    }
+
+    /**
+     * Test to verify that no entries are lost when many threads put and get at the same time.
+     *
+     * @throws Exception if a thread fails
+     */
+    @Test
+    void should_not_lose_entries_when_used_by_many_threads() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int thread = 0; thread < 8; thread++) {
+            int offset = thread * 1000;
+            futures.add(executor.submit(() -> {
+                for (int i = offset; i < offset + 1000; i++) {
+                    cache.put("Key" + i, "Value" + i);
+                    cache.get("Key" + (i - offset));
+                }
+            }));
+        }
+
+        for (Future<?> future : futures) {
+            future.get();
+        }
+
+        executor.shutdown();
+        assertThat(cache.getSize(), is(equalTo(8000)));
+        assertThat(cache.get("Key7999"), is(equalTo("Value7999")));
+    }
+}
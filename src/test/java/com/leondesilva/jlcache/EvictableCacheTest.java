@@ -8,6 +8,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.internal.util.reflection.Whitebox;
 
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.core.Is.is;
@@ -44,6 +47,42 @@ class EvictableCacheTest {
         verify(strategy, times(1)).put("A", "B");
     }
 
+    /**
+     * Test to verify that the strategy put method with a duration is called when evictable cache put method with a
+     * duration is called.
+     *
+     * @throws CacheException if an error occurs when dealing with the cache
+     */
+    @Test
+    void should_call_the_strategy_when_evictable_cache_put_with_a_duration_is_called() throws CacheException {
+        evictableCache.put("A", "B", 10, TimeUnit.SECONDS);
+        verify(strategy, times(1)).put("A", "B", 10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Test to verify that an entry put with a duration is evicted like any other entry and is expired by the wrapped
+     * cache.
+     *
+     * @throws CacheException if an error occurs when dealing with the cache
+     */
+    @Test
+    void should_evict_and_expire_entries_put_with_a_duration() throws CacheException {
+        AtomicLong time = new AtomicLong();
+        EvictableCache<String, String> lruCache = new EvictableCache<>(new InMemoryCache<>(time::get), 2,
+                CacheEvictionType.LRU);
+        lruCache.put("A", "1", 10, TimeUnit.SECONDS);
+        lruCache.put("B", "2", 10, TimeUnit.SECONDS);
+        lruCache.put("C", "3");
+
+        assertThat(lruCache.containsKey("A"), is(equalTo(false)));
+        assertThat(lruCache.get("B"), is(equalTo("2")));
+
+        time.addAndGet(TimeUnit.SECONDS.toNanos(11));
+
+        assertThat(lruCache.get("B"), is(equalTo(null)));
+        assertThat(lruCache.get("C"), is(equalTo("3")));
+    }
+
     /**
      * Test to verify that the strategy get method is called when evictable cache get method is called.
      *
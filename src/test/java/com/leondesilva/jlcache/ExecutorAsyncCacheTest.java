@@ -0,0 +1,116 @@
+package com.leondesilva.jlcache;
+
+import com.leondesilva.jlcache.exceptions.CacheException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Class to test the executor async cache.
+ */
+class ExecutorAsyncCacheTest {
+    private static final String KEY1 = "Key1";
+    private static final String KEY2 = "Key2";
+    private static final String VALUE1 = "Value1";
+    private static final String VALUE2 = "Value2";
+    private final List<Runnable> scheduledTasks = new ArrayList<>();
+
+    /**
+     * Setup method.
+     *
+     */
+    @BeforeEach
+    void setup() {
+        scheduledTasks.clear();
+    }
+
+    /**
+     * Test to verify that the operations of an in memory cache complete on the calling thread without scheduling a
+     * task, except for a loading get which misses.
+     *
+     * @throws Exception if an error occurs when dealing with the cache
+     */
+    @Test
+    void should_complete_the_operations_of_an_in_memory_cache_without_scheduling_a_task() throws Exception {
+        AsyncCache<String, String> asyncCache = new ExecutorAsyncCache<>(new InMemoryCache<>(), scheduledTasks::add);
+
+        assertThat(asyncCache.put(KEY1, VALUE1).isDone(), is(equalTo(true)));
+        assertThat(asyncCache.get(KEY1).getNow(null), is(equalTo(VALUE1)));
+        assertThat(asyncCache.containsKey(KEY2).getNow(null), is(equalTo(false)));
+        assertThat(scheduledTasks.size(), is(equalTo(0)));
+
+        CompletableFuture<String> load = asyncCache.get(KEY2, key -> VALUE2);
+
+        assertThat(load.isDone(), is(equalTo(false)));
+        runScheduledTasks();
+        assertThat(load.get(), is(equalTo(VALUE2)));
+    }
+
+    /**
+     * Test to verify that a hit in the level 1 cache of a two level cache completes on the calling thread, and that a
+     * miss is read from the level 2 file system cache on the executor.
+     *
+     * @throws Exception if an error occurs when dealing with the cache
+     */
+    @Test
+    void should_read_only_the_level1_misses_on_the_executor(@TempDir Path tempDirPath) throws Exception {
+        InMemoryCache<String, String> level1Cache = new InMemoryCache<>();
+        FileSystemCache<String, String> level2Cache = new FileSystemCache<>(tempDirPath.toString());
+        AsyncCache<String, String> asyncCache = new ExecutorAsyncCache<>(new TwoLevelCache<>(level1Cache, level2Cache),
+                scheduledTasks::add);
+        level1Cache.put(KEY1, VALUE1);
+        level2Cache.put(KEY2, VALUE2);
+
+        assertThat(asyncCache.get(KEY1).getNow(null), is(equalTo(VALUE1)));
+        assertThat(scheduledTasks.size(), is(equalTo(0)));
+
+        CompletableFuture<String> level2Read = asyncCache.get(KEY2);
+        CompletableFuture<Map<String, String>> batchRead = asyncCache.getAll(Arrays.asList(KEY2, KEY1));
+
+        assertThat(level2Read.isDone(), is(equalTo(false)));
+        assertThat(batchRead.isDone(), is(equalTo(false)));
+        runScheduledTasks();
+        assertThat(level2Read.get(), is(equalTo(VALUE2)));
+        assertThat(batchRead.get().keySet(), contains(KEY2, KEY1));
+    }
+
+    /**
+     * Test to verify that a failed operation completes the future exceptionally with a cache exception.
+     */
+    @Test
+    void should_complete_the_future_exceptionally_when_the_operation_fails() {
+        AsyncCache<String, String> asyncCache = new ExecutorAsyncCache<>(new InMemoryCache<>(), scheduledTasks::add);
+        CompletableFuture<String> load = asyncCache.get(KEY1, key -> {
+            throw new IllegalStateException("Unavailable");
+        });
+        runScheduledTasks();
+
+        ExecutionException exception = assertThrows(ExecutionException.class, load::get);
+
+        assertThat(exception.getCause(), is(instanceOf(CacheException.class)));
+    }
+
+    /**
+     * Method to run the tasks which were given to the executor.
+     */
+    private void runScheduledTasks() {
+        List<Runnable> tasks = new ArrayList<>(scheduledTasks);
+        scheduledTasks.clear();
+        tasks.forEach(Runnable::run);
+    }
+}
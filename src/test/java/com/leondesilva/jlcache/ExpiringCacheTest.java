@@ -0,0 +1,209 @@
+package com.leondesilva.jlcache;
+
+import com.leondesilva.jlcache.enumeration.CacheEvictionType;
+import com.leondesilva.jlcache.exceptions.CacheException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Class to test the expiring cache.
+ */
+class ExpiringCacheTest {
+    private AtomicLong time;
+    private static final String KEY1 = "Key1";
+    private static final String KEY2 = "Key2";
+    private static final String VALUE1 = "Value1";
+    private static final String VALUE2 = "Value2";
+
+    /**
+     * Setup method.
+     *
+     */
+    @BeforeEach
+    void setup() {
+        time = new AtomicLong();
+    }
+
+    /**
+     * Test to verify that entries are reported as misses and deleted once they expire after write.
+     *
+     * @throws CacheException if an error occurs when trying to cache
+     */
+    @Test
+    void should_expire_entries_after_write() throws CacheException {
+        InMemoryCache<String, String> inMemoryCache = new InMemoryCache<>();
+        ExpiringCache<String, String> cache = new ExpiringCache<>(inMemoryCache, 10, 0, TimeUnit.SECONDS, time::get);
+        cache.put(KEY1, VALUE1);
+        advance(5);
+        cache.put(KEY2, VALUE2);
+        advance(4);
+
+        assertThat(cache.get(KEY1), is(equalTo(VALUE1)));
+        advance(2);
+
+        assertThat(cache.get(KEY1), is(equalTo(null)));
+        assertThat(cache.containsKey(KEY1), is(equalTo(false)));
+        assertThat(cache.get(KEY2), is(equalTo(VALUE2)));
+
+        advance(10);
+        assertThat(cache.getSize(), is(equalTo(0)));
+        assertThat(inMemoryCache.containsKey(KEY1), is(equalTo(false)));
+        assertThat(inMemoryCache.containsKey(KEY2), is(equalTo(false)));
+    }
+
+    /**
+     * Test to verify that reads postpone the expiration of entries which expire after access.
+     *
+     * @throws CacheException if an error occurs when trying to cache
+     */
+    @Test
+    void should_postpone_expiration_on_access() throws CacheException {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(new InMemoryCache<>(), 0, 10, TimeUnit.SECONDS, time::get);
+        cache.put(KEY1, VALUE1);
+        cache.put(KEY2, VALUE2);
+
+        for (int i = 0; i < 5; i++) {
+            advance(6);
+            assertThat(cache.get(KEY1), is(equalTo(VALUE1)));
+        }
+
+        assertThat(cache.containsKey(KEY2), is(equalTo(false)));
+        assertThat(cache.getSize(), is(equalTo(1)));
+    }
+
+    /**
+     * Test to verify that an overwrite restarts the expiration of an entry.
+     *
+     * @throws CacheException if an error occurs when trying to cache
+     */
+    @Test
+    void should_restart_expiration_when_overwritten() throws CacheException {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(new InMemoryCache<>(), 10, 0, TimeUnit.SECONDS, time::get);
+        cache.put(KEY1, VALUE1);
+        advance(8);
+        cache.put(KEY1, VALUE2);
+        advance(8);
+
+        assertThat(cache.get(KEY1), is(equalTo(VALUE2)));
+    }
+
+    /**
+     * Test to verify that entries of a file system cache expire.
+     *
+     * @throws CacheException if an error occurs when trying to cache
+     */
+    @Test
+    void should_expire_entries_of_a_file_system_cache(@TempDir Path tempDirPath) throws CacheException {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(new FileSystemCache<>(tempDirPath.toString()), 10, 0, TimeUnit.SECONDS, time::get);
+        cache.put(KEY1, VALUE1);
+        advance(11);
+
+        assertThat(cache.get(KEY1), is(equalTo(null)));
+        assertThat(cache.getSize(), is(equalTo(0)));
+    }
+
+    /**
+     * Test to verify that an entry put with a duration of its own expires after that duration instead of the
+     * expire after write duration.
+     *
+     * @throws CacheException if an error occurs when trying to cache
+     */
+    @Test
+    void should_expire_entries_after_their_own_duration() throws CacheException {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(new InMemoryCache<>(), 10, 0, TimeUnit.SECONDS, time::get);
+        cache.put(KEY1, VALUE1, 30, TimeUnit.SECONDS);
+        cache.put(KEY2, VALUE2, 2, TimeUnit.SECONDS);
+        advance(20);
+
+        assertThat(cache.get(KEY1), is(equalTo(VALUE1)));
+        assertThat(cache.containsKey(KEY2), is(equalTo(false)));
+
+        cache.put(KEY1, VALUE2);
+        advance(11);
+        assertThat(cache.get(KEY1), is(equalTo(null)));
+    }
+
+    /**
+     * Test to verify that the expiry policy decides the lifetime of entries when they are created, updated and read.
+     *
+     * @throws CacheException if an error occurs when trying to cache
+     */
+    @Test
+    void should_expire_entries_according_to_the_expiry_policy() throws CacheException {
+        Expiry<String, String> expiry = new Expiry<String, String>() {
+            @Override
+            public long expireAfterCreate(String key, String value) {
+                return TimeUnit.SECONDS.toNanos(10);
+            }
+
+            @Override
+            public long expireAfterUpdate(String key, String value, long currentDuration) {
+                return currentDuration;
+            }
+
+            @Override
+            public long expireAfterRead(String key, String value, long currentDuration) {
+                return KEY1.equals(key) ? TimeUnit.SECONDS.toNanos(10) : currentDuration;
+            }
+        };
+        ExpiringCache<String, String> cache = new ExpiringCache<>(new InMemoryCache<>(), expiry, time::get);
+        cache.put(KEY1, VALUE1);
+        cache.put(KEY2, VALUE1);
+        advance(6);
+        cache.put(KEY2, VALUE2);
+
+        assertThat(cache.get(KEY1), is(equalTo(VALUE1)));
+        advance(6);
+
+        assertThat(cache.get(KEY1), is(equalTo(VALUE1)));
+        assertThat(cache.get(KEY2), is(equalTo(null)));
+        assertThat(cache.getSize(), is(equalTo(1)));
+    }
+
+    /**
+     * Method to advance the time.
+     *
+     * @param seconds the number of seconds to advance
+     */
+    private void advance(long seconds) {
+        time.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+    }
+
+    /**
+     * Test to verify that the expiration times of the entries which the wrapped cache evicts are dropped, so that only
+     * the entries which are still cached are deleted once they expire.
+     *
+     * @throws CacheException if an error occurs when trying to cache
+     */
+    @Test
+    void should_drop_the_expiration_of_entries_evicted_by_the_wrapped_cache() throws CacheException {
+        EvictableCache<String, String> evictableCache = spy(new EvictableCache<>(new InMemoryCache<>(), 2,
+                CacheEvictionType.LRU));
+        ExpiringCache<String, String> cache = new ExpiringCache<>(evictableCache, 10, 0, TimeUnit.SECONDS, time::get);
+
+        for (int i = 0; i < 1000; i++) {
+            cache.put("Key" + i, VALUE1);
+        }
+
+        assertThat(cache.get("Key0"), is(equalTo(null)));
+        assertThat(cache.get("Key999"), is(equalTo(VALUE1)));
+
+        advance(11);
+
+        assertThat(cache.getSize(), is(equalTo(0)));
+        verify(evictableCache, atMost(40)).delete(anyString());
+    }
+}
@@ -2,6 +2,7 @@ package com.leondesilva.jlcache;
 
 import com.leondesilva.jlcache.exceptions.CacheException;
 import com.leondesilva.jlcache.pojo.LRUEvictionMetaData;
+import com.leondesilva.jlcache.util.SerializationUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -11,12 +12,14 @@ import java.nio.file.Path;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
  * Class to test FileSystemCache.
  */
 class FileSystemCacheTest {
     private FileSystemCache<String, String> cache;
+    private Path folderPath;
     private static final String KEY1 = "Key1";
     private static final String KEY2 = "Key2";
     private static final String KEY3 = "Key3";
@@ -30,6 +33,7 @@ class FileSystemCacheTest {
      */
     @BeforeEach
     void setup(@TempDir Path temporaryDirectoryPath) throws CacheException {
+        folderPath = temporaryDirectoryPath;
         cache = new FileSystemCache<>(temporaryDirectoryPath.toString());
     }
 
@@ -111,4 +115,32 @@ class FileSystemCacheTest {
         cache.storeMetaData(metaData);
         assertThat(cache.getMetaData(), is(equalTo(metaData)));
     }
-}
\ No newline at end of file
+
+    /**
+     * Test to verify that closing the cache writes the meta data to the meta data file and closes the segment files,
+     * and that a new cache in the same folder starts without the entries and the meta data.
+     *
+     * @throws Exception if an error occurs when trying to cache
+     */
+    @Test
+    void should_write_the_meta_data_and_close_the_segment_files_when_closed() throws Exception {
+        LRUEvictionMetaData<String> metaData = new LRUEvictionMetaData<>();
+        metaData.getNodeIndex().addFirst(KEY1);
+        cache.put(KEY1, VALUE1);
+        cache.storeMetaData(metaData);
+        cache.close();
+
+        LRUEvictionMetaData<String> checkpoint =
+                SerializationUtils.readFileAndDeserialize(folderPath.resolve("meta").toFile());
+
+        assertThat(checkpoint, is(equalTo(metaData)));
+        assertThrows(CacheException.class, () -> cache.put(KEY2, VALUE2));
+
+        FileSystemCache<String, String> newCache = new FileSystemCache<>(folderPath.toString());
+
+        assertThat(newCache.getSize(), is(equalTo(0)));
+        assertThat(newCache.getMetaData(), is(equalTo(null)));
+        assertThat(folderPath.resolve("meta").toFile().length(), is(equalTo(0L)));
+        newCache.close();
+    }
+}
@@ -1,9 +1,12 @@
 package com.leondesilva.jlcache;
 
+import com.leondesilva.jlcache.exceptions.CacheException;
 import com.leondesilva.jlcache.pojo.MetaData;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.TimeUnit;
+
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.core.Is.is;
@@ -108,4 +111,46 @@ class InMemoryCacheTest {
         cache.storeMetaData(metaData);
         assertThat(cache.getMetaData(), is(equalTo(metaData)));
     }
-}
\ No newline at end of file
+
+    /**
+     * Test verify whether the entries put with a duration are removed once the duration has passed.
+     */
+    @Test
+    void should_remove_entries_put_with_a_duration_once_expired() {
+        long[] time = new long[1];
+        cache = new InMemoryCache<>(() -> time[0]);
+        cache.put(KEY1, VALUE1, 10, TimeUnit.SECONDS);
+        cache.put(KEY2, VALUE2, 20, TimeUnit.SECONDS);
+        cache.put(KEY3, VALUE3);
+        time[0] = TimeUnit.SECONDS.toNanos(15);
+
+        assertThat(cache.get(KEY1), is(equalTo(null)));
+        assertThat(cache.containsKey(KEY2), is(equalTo(true)));
+        assertThat(cache.getSize(), is(equalTo(2)));
+
+        cache.put(KEY2, VALUE1);
+        time[0] = TimeUnit.SECONDS.toNanos(60);
+        assertThat(cache.get(KEY2), is(equalTo(VALUE1)));
+    }
+
+    /**
+     * Test verify whether a missing key is loaded and cached, and whether a key which is present is not loaded.
+     *
+     * @throws CacheException if an error occurs when loading
+     */
+    @Test
+    void should_load_and_cache_a_missing_key_only() throws CacheException {
+        int[] loadCount = new int[1];
+        cache.put(KEY1, VALUE1);
+
+        assertThat(cache.computeIfAbsent(KEY1, key -> VALUE3), is(equalTo(VALUE1)));
+        assertThat(cache.get(KEY2, key -> {
+            loadCount[0]++;
+            return VALUE2;
+        }), is(equalTo(VALUE2)));
+        assertThat(cache.get(KEY2, key -> VALUE3), is(equalTo(VALUE2)));
+        assertThat(cache.get(KEY3, key -> null), is(equalTo(null)));
+        assertThat(cache.containsKey(KEY3), is(equalTo(false)));
+        assertThat(loadCount[0], is(equalTo(1)));
+    }
+}
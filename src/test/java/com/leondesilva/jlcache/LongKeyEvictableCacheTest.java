@@ -0,0 +1,145 @@
+package com.leondesilva.jlcache;
+
+import com.leondesilva.jlcache.enumeration.CacheEvictionType;
+import com.leondesilva.jlcache.exceptions.CacheException;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.core.Is.is;
+
+/**
+ * Class to test the long key evictable cache.
+ */
+class LongKeyEvictableCacheTest {
+
+    /**
+     * Test to verify that the least recently used key is evicted with the LRU eviction type.
+     *
+     * @throws CacheException if an error occurs when creating the cache
+     */
+    @Test
+    void should_evict_the_least_recently_used_key() throws CacheException {
+        LongKeyCache<String> cache = new LongKeyEvictableCache<>(3, CacheEvictionType.LRU);
+        cache.put(1, "Value1");
+        cache.put(2, "Value2");
+        cache.put(3, "Value3");
+        cache.get(1);
+        cache.put(4, "Value4");
+
+        assertThat(cache.containsKey(2), is(equalTo(false)));
+        assertThat(cache.get(1), is(equalTo("Value1")));
+        assertThat(cache.get(4), is(equalTo("Value4")));
+        assertThat(cache.getSize(), is(equalTo(3)));
+    }
+
+    /**
+     * Test to verify that the least frequently used key is evicted with the LFU eviction type.
+     *
+     * @throws CacheException if an error occurs when creating the cache
+     */
+    @Test
+    void should_evict_the_least_frequently_used_key() throws CacheException {
+        LongKeyCache<String> cache = new LongKeyEvictableCache<>(3, CacheEvictionType.LFU);
+        cache.put(1, "Value1");
+        cache.put(2, "Value2");
+        cache.put(3, "Value3");
+        cache.get(1);
+        cache.get(1);
+        cache.get(3);
+        cache.put(4, "Value4");
+        cache.put(5, "Value5");
+
+        assertThat(cache.containsKey(2), is(equalTo(false)));
+        assertThat(cache.containsKey(4), is(equalTo(false)));
+        assertThat(cache.containsKey(1), is(equalTo(true)));
+        assertThat(cache.containsKey(3), is(equalTo(true)));
+    }
+
+    /**
+     * Test to verify that a visited key gets another round with the SIEVE eviction type.
+     *
+     * @throws CacheException if an error occurs when creating the cache
+     */
+    @Test
+    void should_evict_the_first_key_which_was_not_visited() throws CacheException {
+        LongKeyCache<String> cache = new LongKeyEvictableCache<>(3, CacheEvictionType.SIEVE);
+        cache.put(1, "Value1");
+        cache.put(2, "Value2");
+        cache.put(3, "Value3");
+        cache.get(1);
+        cache.put(4, "Value4");
+
+        assertThat(cache.containsKey(2), is(equalTo(false)));
+        assertThat(cache.containsKey(1), is(equalTo(true)));
+
+        cache.put(5, "Value5");
+
+        assertThat(cache.containsKey(3), is(equalTo(false)));
+        assertThat(cache.containsKey(1), is(equalTo(true)));
+    }
+
+    /**
+     * Test to verify that every eviction type keeps the cache within the max entry size and keeps the values of the
+     * keys it holds, including across deletes and a delete all.
+     *
+     * @throws CacheException if an error occurs when creating the cache
+     */
+    @Test
+    void should_stay_within_the_max_entry_size_for_every_eviction_type() throws CacheException {
+        for (CacheEvictionType cacheEvictionType : CacheEvictionType.values()) {
+            LongKeyCache<String> cache = new LongKeyEvictableCache<>(100, cacheEvictionType);
+
+            for (int round = 0; round < 2; round++) {
+                for (long i = 0; i < 10000; i++) {
+                    long key = (i * 7919) % 1000;
+                    cache.put(key, "Value" + key);
+
+                    if (i % 3 == 0) {
+                        cache.get((key * 31) % 1000);
+                    }
+
+                    if (i % 11 == 0) {
+                        cache.delete((key * 17) % 1000);
+                    }
+
+                    assertThat(cacheEvictionType.name(), cache.getSize() <= 100, is(equalTo(true)));
+                }
+
+                for (long key = 0; key < 1000; key++) {
+                    String value = cache.get(key);
+                    assertThat(cacheEvictionType.name(), value == null || value.equals("Value" + key), is(equalTo(true)));
+                }
+
+                cache.deleteAll();
+
+                assertThat(cache.getSize(), is(equalTo(0)));
+            }
+        }
+    }
+
+    /**
+     * Test to verify that a key which is put again after it was evicted is kept over keys used once with the ARC
+     * eviction type.
+     *
+     * @throws CacheException if an error occurs when creating the cache
+     */
+    @Test
+    void should_keep_a_key_which_returns_from_the_ghost_list() throws CacheException {
+        LongKeyCache<String> cache = new LongKeyEvictableCache<>(3, CacheEvictionType.ARC);
+        cache.put(1, "Value1");
+        cache.put(2, "Value2");
+        cache.get(1);
+        cache.put(3, "Value3");
+        cache.put(4, "Value4");
+
+        assertThat(cache.containsKey(2), is(equalTo(false)));
+
+        cache.put(2, "Value2");
+        cache.put(5, "Value5");
+        cache.put(6, "Value6");
+
+        assertThat(cache.get(2), is(equalTo("Value2")));
+        assertThat(cache.getSize(), is(equalTo(3)));
+    }
+}
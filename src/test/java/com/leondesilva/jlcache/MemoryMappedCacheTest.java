@@ -0,0 +1,95 @@
+package com.leondesilva.jlcache;
+
+import com.leondesilva.jlcache.exceptions.CacheException;
+import com.leondesilva.jlcache.pojo.LRUEvictionMetaData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.core.Is.is;
+
+/**
+ * Class to test MemoryMappedCache.
+ */
+class MemoryMappedCacheTest {
+    private static final long MAX_SEGMENT_SIZE = 1024;
+    private MemoryMappedCache<String, String> cache;
+    private static final String KEY1 = "Key1";
+    private static final String KEY2 = "Key2";
+    private static final String VALUE1 = "Value1";
+    private static final String VALUE2 = "Value2";
+
+    /**
+     * Setup method.
+     *
+     */
+    @BeforeEach
+    void setup(@TempDir Path temporaryDirectoryPath) throws CacheException {
+        cache = new MemoryMappedCache<>(temporaryDirectoryPath.toString(), MAX_SEGMENT_SIZE);
+    }
+
+    /**
+     * Test to verify that the entries are inserted, overwritten and deleted correctly.
+     *
+     * @throws CacheException if an error occurs when dealing with the cache
+     */
+    @Test
+    void should_insert_overwrite_and_delete_data_correctly() throws CacheException {
+        cache.put(KEY1, VALUE1);
+        cache.put(KEY2, VALUE2);
+        cache.put(KEY1, VALUE2);
+        cache.delete(KEY2);
+
+        assertThat(cache.get(KEY1), is(equalTo(VALUE2)));
+        assertThat(cache.get(KEY2), is(equalTo(null)));
+        assertThat(cache.containsKey(KEY2), is(equalTo(false)));
+        assertThat(cache.getSize(), is(equalTo(1)));
+    }
+
+    /**
+     * Test to verify that entries which span many segments and values larger than a segment are read back correctly.
+     *
+     * @throws CacheException if an error occurs when dealing with the cache
+     */
+    @Test
+    void should_read_entries_across_segments_and_larger_than_a_segment() throws CacheException {
+        for (int i = 0; i < 200; i++) {
+            cache.put("Key" + i, "Value" + i);
+        }
+
+        StringBuilder largeValue = new StringBuilder();
+
+        for (int i = 0; i < 500; i++) {
+            largeValue.append("Large");
+        }
+
+        cache.put("LargeKey", largeValue.toString());
+        cache.put("OtherKey", VALUE2);
+
+        for (int i = 0; i < 200; i++) {
+            assertThat(cache.get("Key" + i), is(equalTo("Value" + i)));
+        }
+
+        assertThat(cache.get("LargeKey"), is(equalTo(largeValue.toString())));
+        assertThat(cache.get("OtherKey"), is(equalTo(VALUE2)));
+    }
+
+    /**
+     * Test to verify that the meta data is stored and retrieved correctly.
+     *
+     * @throws CacheException if an error occurs when dealing with the cache
+     */
+    @Test
+    void should_store_and_retrieve_meta_data_correctly() throws CacheException {
+        LRUEvictionMetaData<String> metaData = new LRUEvictionMetaData<>();
+        metaData.getNodeIndex().addFirst(KEY1);
+        cache.storeMetaData(metaData);
+
+        LRUEvictionMetaData<String> retrievedMetaData = (LRUEvictionMetaData<String>) cache.getMetaData();
+        assertThat(retrievedMetaData.getNodeIndex().contains(KEY1), is(equalTo(true)));
+    }
+}
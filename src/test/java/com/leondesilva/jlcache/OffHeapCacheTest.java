@@ -0,0 +1,198 @@
+package com.leondesilva.jlcache;
+
+import com.leondesilva.jlcache.exceptions.CacheException;
+import com.leondesilva.jlcache.serialization.SerializerRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Class to test the off heap cache.
+ */
+class OffHeapCacheTest {
+    private static final int PAGE_SIZE = 4096;
+    private OffHeapCache<String, String> cache;
+
+    /**
+     * Setup method.
+     *
+     */
+    @BeforeEach
+    void setup() {
+        cache = new OffHeapCache<>(64 * PAGE_SIZE, PAGE_SIZE, new SerializerRegistry());
+    }
+
+    /**
+     * Test to verify that the entries are put, overwritten, read and deleted correctly.
+     *
+     * @throws CacheException if an error occurs when trying to cache
+     */
+    @Test
+    void should_put_overwrite_get_and_delete_entries() throws CacheException {
+        for (int i = 0; i < 1000; i++) {
+            cache.put("Key" + i, "Value" + i);
+        }
+
+        for (int i = 0; i < 1000; i += 2) {
+            cache.delete("Key" + i);
+        }
+
+        cache.put("Key1", "NewValue1");
+
+        assertThat(cache.getSize(), is(equalTo(500)));
+        assertThat(cache.get("Key0"), is(equalTo(null)));
+        assertThat(cache.containsKey("Key0"), is(equalTo(false)));
+        assertThat(cache.get("Key1"), is(equalTo("NewValue1")));
+
+        for (int i = 3; i < 1000; i += 2) {
+            assertThat(cache.get("Key" + i), is(equalTo("Value" + i)));
+        }
+    }
+
+    /**
+     * Test to verify that the memory of deleted entries is reused, including by entries of another size.
+     *
+     * @throws CacheException if an error occurs when trying to cache
+     */
+    @Test
+    void should_reuse_the_memory_of_deleted_entries() throws CacheException {
+        String smallValue = repeat(100);
+        String largeValue = repeat(1000);
+        int count = fill(smallValue);
+
+        assertThat(count, is(greaterThanOrEqualTo(1000)));
+        assertThat(cache.getSize(), is(equalTo(count)));
+
+        cache.deleteAll();
+
+        for (int i = 0; i < 150; i++) {
+            cache.put("LargeKey" + i, largeValue);
+        }
+
+        assertThat(cache.get("LargeKey0"), is(equalTo(largeValue)));
+        assertThat(cache.getSize(), is(equalTo(150)));
+    }
+
+    /**
+     * Test to verify that the free chunks of one size are moved together, so that entries of another size fit.
+     *
+     * @throws CacheException if an error occurs when trying to cache
+     */
+    @Test
+    void should_move_entries_to_free_pages_for_entries_of_another_size() throws CacheException {
+        String smallValue = repeat(100);
+        String largeValue = repeat(1000);
+        int count = fill(smallValue);
+
+        // Every other entry is deleted, so each page is half free but no page is empty.
+        for (int i = 0; i < count; i += 2) {
+            cache.delete("Key" + i);
+        }
+
+        for (int i = 0; i < 50; i++) {
+            cache.put("LargeKey" + i, largeValue);
+        }
+
+        assertThat(cache.getSize(), is(equalTo(count - (count + 1) / 2 + 50)));
+        assertThat(cache.get("LargeKey0"), is(equalTo(largeValue)));
+
+        for (int i = 1; i < count; i += 2) {
+            assertThat(cache.get("Key" + i), is(equalTo(smallValue)));
+        }
+    }
+
+    /**
+     * Test to verify that entries larger than a page are stored and that a put fails without keeping the entry when the
+     * memory is full.
+     *
+     * @throws CacheException if an error occurs when trying to cache
+     */
+    @Test
+    void should_store_entries_larger_than_a_page_until_the_memory_is_full() throws CacheException {
+        String hugeValue = repeat(10 * PAGE_SIZE);
+        cache.put("Key1", hugeValue);
+        cache.put("Key2", hugeValue);
+
+        assertThat(cache.get("Key1"), is(equalTo(hugeValue)));
+        assertThat(cache.getEntrySize("Key1"), is(greaterThanOrEqualTo(10 * PAGE_SIZE)));
+        assertThrows(CacheException.class, () -> cache.put("Key3", repeat(60 * PAGE_SIZE)));
+        assertThat(cache.containsKey("Key3"), is(equalTo(false)));
+
+        cache.delete("Key1");
+        cache.delete("Key2");
+        cache.put("Key3", repeat(60 * PAGE_SIZE));
+
+        assertThat(cache.get("Key3"), is(equalTo(repeat(60 * PAGE_SIZE))));
+        assertThat(cache.getSize(), is(equalTo(1)));
+    }
+
+    /**
+     * Test to verify that a put all which does not fit fails after caching the entries which fit, and that an entry
+     * which is overwritten by a value which does not fit is deleted.
+     *
+     * @throws CacheException if an error occurs when trying to cache
+     */
+    @Test
+    void should_fail_put_all_and_delete_overwritten_entries_which_do_not_fit() throws CacheException {
+        String hugeValue = repeat(30 * PAGE_SIZE);
+        Map<String, String> entries = new LinkedHashMap<>();
+        entries.put("Key1", hugeValue);
+        entries.put("Key2", hugeValue);
+        entries.put("Key3", hugeValue);
+
+        assertThrows(CacheException.class, () -> cache.putAll(entries));
+        assertThat(cache.get("Key1"), is(equalTo(hugeValue)));
+        assertThat(cache.get("Key2"), is(equalTo(hugeValue)));
+        assertThat(cache.containsKey("Key3"), is(equalTo(false)));
+
+        assertThrows(CacheException.class, () -> cache.put("Key1", repeat(40 * PAGE_SIZE)));
+        assertThat(cache.containsKey("Key1"), is(equalTo(false)));
+        assertThat(cache.getSize(), is(equalTo(1)));
+    }
+
+    /**
+     * Method to put small entries until the memory is full.
+     *
+     * @param value the value of the entries
+     * @return the number of entries which were cached
+     */
+    private int fill(String value) {
+        int count = 0;
+
+        while (count < 10000) {
+            try {
+                cache.put("Key" + count, value);
+            } catch (CacheException e) {
+                break;
+            }
+
+            count++;
+        }
+
+        return count;
+    }
+
+    /**
+     * Method to create a value of a given length.
+     *
+     * @param length the length
+     * @return the value
+     */
+    private static String repeat(int length) {
+        StringBuilder value = new StringBuilder();
+
+        for (int i = 0; i < length; i++) {
+            value.append('x');
+        }
+
+        return value.toString();
+    }
+}
@@ -0,0 +1,166 @@
+package com.leondesilva.jlcache;
+
+import com.leondesilva.jlcache.exceptions.CacheException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.core.Is.is;
+
+/**
+ * Class to test the refreshing cache.
+ */
+class RefreshingCacheTest {
+    private static final String KEY1 = "Key1";
+    private static final String VALUE1 = "Value1";
+    private static final String VALUE2 = "Value2";
+    private static final String VALUE3 = "Value3";
+    private final List<Runnable> scheduledTasks = new ArrayList<>();
+    private AtomicLong time;
+
+    /**
+     * Setup method.
+     *
+     */
+    @BeforeEach
+    void setup() {
+        scheduledTasks.clear();
+        time = new AtomicLong();
+    }
+
+    /**
+     * Test to verify that a read of a stale entry returns the current value and reloads the entry once in the
+     * background.
+     *
+     * @throws CacheException if an error occurs when trying to cache
+     */
+    @Test
+    void should_return_the_current_value_and_reload_a_stale_entry_in_the_background() throws CacheException {
+        AtomicInteger loads = new AtomicInteger();
+        Cache<String, String> cache = new RefreshingCache<String, String>(new InMemoryCache<>(), 10, TimeUnit.SECONDS,
+                key -> {
+                    loads.incrementAndGet();
+                    return VALUE2;
+                }, scheduledTasks::add, time::get);
+        cache.put(KEY1, VALUE1);
+        advance(5);
+
+        assertThat(cache.get(KEY1), is(equalTo(VALUE1)));
+        assertThat(scheduledTasks.size(), is(equalTo(0)));
+
+        advance(6);
+
+        assertThat(cache.get(KEY1), is(equalTo(VALUE1)));
+        assertThat(cache.get(KEY1), is(equalTo(VALUE1)));
+        assertThat(scheduledTasks.size(), is(equalTo(1)));
+
+        runScheduledTasks();
+
+        assertThat(loads.get(), is(equalTo(1)));
+        assertThat(cache.get(KEY1), is(equalTo(VALUE2)));
+        assertThat(scheduledTasks.size(), is(equalTo(0)));
+    }
+
+    /**
+     * Test to verify that a failed reload keeps the current value and that the reload of a key which is written
+     * while it runs is dropped.
+     *
+     * @throws CacheException if an error occurs when trying to cache
+     */
+    @Test
+    void should_keep_the_current_value_if_the_reload_fails_or_the_key_is_written() throws CacheException {
+        AtomicInteger loads = new AtomicInteger();
+        Cache<String, String> cache = new RefreshingCache<String, String>(new InMemoryCache<>(), 10, TimeUnit.SECONDS,
+                key -> {
+                    if (loads.incrementAndGet() == 1) {
+                        throw new IllegalStateException("Unavailable");
+                    }
+
+                    return VALUE2;
+                }, scheduledTasks::add, time::get);
+        cache.put(KEY1, VALUE1);
+        advance(11);
+        cache.get(KEY1);
+        runScheduledTasks();
+
+        assertThat(cache.get(KEY1), is(equalTo(VALUE1)));
+
+        cache.put(KEY1, VALUE1);
+        runScheduledTasks();
+
+        assertThat(loads.get(), is(equalTo(2)));
+        assertThat(cache.get(KEY1), is(equalTo(VALUE1)));
+    }
+
+    /**
+     * Test to verify that a write of a key from another thread while a reload writes the key waits for the reload,
+     * so the reload does not overwrite it.
+     *
+     * @throws Exception if an error occurs when trying to cache or the thread is interrupted
+     */
+    @Test
+    void should_not_overwrite_a_write_made_while_the_reload_writes_the_key() throws Exception {
+        List<Thread> writers = new ArrayList<>();
+        AtomicReference<Cache<String, String>> cacheReference = new AtomicReference<>();
+        Cache<String, String> wrappedCache = new ConcurrentInMemoryCache<String, String>() {
+            @Override
+            public void put(String key, String value) {
+                super.put(key, value);
+
+                if (VALUE2.equals(value)) {
+                    Thread writer = new Thread(() -> {
+                        try {
+                            cacheReference.get().put(KEY1, VALUE3);
+                        } catch (CacheException e) {
+                            throw new IllegalStateException(e);
+                        }
+                    });
+                    writer.start();
+                    writers.add(writer);
+
+                    try {
+                        writer.join(200);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+        };
+        Cache<String, String> cache = new RefreshingCache<String, String>(wrappedCache, 10, TimeUnit.SECONDS,
+                key -> VALUE2, scheduledTasks::add, time::get);
+        cacheReference.set(cache);
+        cache.put(KEY1, VALUE1);
+        advance(11);
+        cache.get(KEY1);
+        runScheduledTasks();
+        writers.get(0).join();
+
+        assertThat(cache.get(KEY1), is(equalTo(VALUE3)));
+    }
+
+    /**
+     * Method to move the time forward.
+     *
+     * @param seconds the number of seconds
+     */
+    private void advance(long seconds) {
+        time.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+    }
+
+    /**
+     * Method to run the scheduled tasks.
+     */
+    private void runScheduledTasks() {
+        List<Runnable> tasks = new ArrayList<>(scheduledTasks);
+        scheduledTasks.clear();
+        tasks.forEach(Runnable::run);
+    }
+}
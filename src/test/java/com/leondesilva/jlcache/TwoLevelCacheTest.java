@@ -1,13 +1,23 @@
 package com.leondesilva.jlcache;
 
+import com.leondesilva.jlcache.enumeration.CacheEvictionType;
 import com.leondesilva.jlcache.exceptions.CacheException;
+import com.leondesilva.jlcache.exceptions.CacheFullException;
 import com.leondesilva.jlcache.pojo.MetaData;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
 /**
@@ -42,6 +52,9 @@ class TwoLevelCacheTest {
         when(cache1.containsKey(KEY2)).thenReturn(true);
         when(cache1.containsKey(KEY_THAT_DOES_NOT_EXIST_IN_BOTH_CACHES)).thenReturn(false);
         when(cache1.getSize()).thenReturn(2);
+        when(cache1.getIfPresent(anyString())).thenReturn(Optional.empty());
+        when(cache1.getIfPresent(KEY1)).thenReturn(Optional.of(VALUE1));
+        when(cache1.getIfPresent(KEY2)).thenReturn(Optional.of(VALUE2));
 
         when(cache2.get(KEY1)).thenReturn(VALUE1);
         when(cache2.get(KEY2)).thenReturn(VALUE2);
@@ -51,6 +64,10 @@ class TwoLevelCacheTest {
         when(cache2.containsKey(KEY3)).thenReturn(true);
         when(cache2.containsKey(KEY_THAT_DOES_NOT_EXIST_IN_BOTH_CACHES)).thenReturn(false);
         when(cache2.getSize()).thenReturn(3);
+        when(cache2.getIfPresent(anyString())).thenReturn(Optional.empty());
+        when(cache2.getIfPresent(KEY1)).thenReturn(Optional.of(VALUE1));
+        when(cache2.getIfPresent(KEY2)).thenReturn(Optional.of(VALUE2));
+        when(cache2.getIfPresent(KEY3)).thenReturn(Optional.of(VALUE3));
 
         twoLevelCache = new TwoLevelCache<>(cache1, cache2);
     }
@@ -68,14 +85,15 @@ class TwoLevelCacheTest {
     }
 
     /**
-     * Test to verify that the value is returned when the level1 cache when it has the key.
+     * Test to verify that the value is returned when the level1 cache when it has the key, with a single lookup.
      *
      * @throws CacheException if an error occurs when dealing with the cache
      */
     @Test
     void should_return_value_from_the_level1_cache_when_level1_cache_has_the_key() throws CacheException {
         String result = twoLevelCache.get(KEY1);
-        verify(cache1, times(1)).get(KEY1);
+        verify(cache1, times(1)).getIfPresent(KEY1);
+        verify(cache1, never()).containsKey(KEY1);
         verifyZeroInteractions(cache2);
         assertThat(result, is(equalTo(VALUE1)));
     }
@@ -88,11 +106,164 @@ class TwoLevelCacheTest {
     @Test
     void should_return_value_from_the_level2_cache_when_level2_cache_has_the_key() throws CacheException {
         String result = twoLevelCache.get(KEY3);
-        verify(cache1, times(0)).get(KEY3);
-        verify(cache2, times(1)).get(KEY3);
+        verify(cache1, times(1)).getIfPresent(KEY3);
+        verify(cache2, times(1)).getIfPresent(KEY3);
+        verify(cache2, never()).containsKey(KEY3);
         assertThat(result, is(equalTo(VALUE3)));
     }
 
+    /**
+     * Test to verify that a key read from the level2 cache is put to the level1 cache by default.
+     *
+     * @throws CacheException if an error occurs when dealing with the cache
+     */
+    @Test
+    void should_promote_a_key_read_from_the_level2_cache_to_the_level1_cache() throws CacheException {
+        twoLevelCache.get(KEY3);
+        verify(cache1, times(1)).put(KEY3, VALUE3);
+    }
+
+    /**
+     * Test to verify that a key is promoted to the level1 cache only on its Nth read from the level2 cache with the
+     * hit count promotion policy, and never with the never promotion policy.
+     *
+     * @throws CacheException if an error occurs when dealing with the cache
+     */
+    @Test
+    void should_promote_a_key_only_as_the_promotion_policy_decides() throws CacheException {
+        twoLevelCache = new TwoLevelCache<>(cache1, cache2, PromotionPolicy.onHitCount(3, 16));
+        twoLevelCache.get(KEY3);
+        twoLevelCache.get(KEY3);
+        verify(cache1, never()).put(KEY3, VALUE3);
+
+        assertThat(twoLevelCache.get(KEY3), is(equalTo(VALUE3)));
+        verify(cache1, times(1)).put(KEY3, VALUE3);
+
+        when(cache2.getAll(Collections.singletonList(KEY3))).thenReturn(Collections.singletonMap(KEY3, VALUE3));
+        twoLevelCache = new TwoLevelCache<>(cache1, cache2, PromotionPolicy.never());
+
+        assertThat(twoLevelCache.getAll(Collections.singletonList(KEY3)).get(KEY3), is(equalTo(VALUE3)));
+        verify(cache1, never()).putAll(anyMapOf(String.class, String.class));
+    }
+
+    /**
+     * Test to verify that an exclusive cache keeps an entry in the level 2 cache when the level 1 cache fails to take
+     * it.
+     *
+     * @throws CacheException if an error occurs when dealing with the cache
+     */
+    @Test
+    void should_keep_an_entry_in_the_level2_cache_when_the_exclusive_level1_cache_fails_to_take_it()
+            throws CacheException {
+        twoLevelCache = new TwoLevelCache<>(cache1, cache2, PromotionPolicy.always(), true);
+        doThrow(new CacheFullException("Not enough free direct memory.")).when(cache1).put(KEY3, VALUE3);
+        twoLevelCache.put(KEY3, VALUE3);
+
+        verify(cache2, times(1)).put(KEY3, VALUE3);
+
+        reset(cache2);
+        when(cache2.getIfPresent(KEY3)).thenReturn(Optional.of(VALUE3));
+
+        assertThat(twoLevelCache.get(KEY3), is(equalTo(VALUE3)));
+        verify(cache2, times(1)).delete(KEY3);
+        verify(cache2, times(1)).put(KEY3, VALUE3);
+    }
+
+    /**
+     * Test to verify that an exclusive cache does not put an entry to the level 2 cache when the level 1 cache fails
+     * to take it for a reason other than being full.
+     *
+     * @throws CacheException if an error occurs when dealing with the cache
+     */
+    @Test
+    void should_throw_the_error_of_the_exclusive_level1_cache_if_it_is_not_full() throws CacheException {
+        twoLevelCache = new TwoLevelCache<>(cache1, cache2, PromotionPolicy.always(), true);
+        doThrow(new CacheException("Error occurred when writing.")).when(cache1).put(KEY3, VALUE3);
+
+        assertThrows(CacheException.class, () -> twoLevelCache.put(KEY3, VALUE3));
+        verify(cache2, never()).put(KEY3, VALUE3);
+    }
+
+    /**
+     * Test to verify that an exclusive put all puts the entries which the full level 1 cache does not hold to the
+     * level 2 cache without reading them from the level 1 cache.
+     *
+     * @throws CacheException if an error occurs when dealing with the cache
+     */
+    @Test
+    void should_put_the_entries_which_the_full_exclusive_level1_cache_does_not_hold_to_the_level2_cache()
+            throws CacheException {
+        twoLevelCache = new TwoLevelCache<>(cache1, cache2, PromotionPolicy.always(), true);
+        Map<String, String> entries = new LinkedHashMap<>();
+        entries.put(KEY1, VALUE1);
+        entries.put(KEY3, VALUE3);
+        doThrow(new CacheFullException("Not enough free direct memory.")).when(cache1).putAll(entries);
+        when(cache1.containsKey(KEY1)).thenReturn(true);
+        twoLevelCache.putAll(entries);
+
+        verify(cache2, times(1)).putAll(Collections.singletonMap(KEY3, VALUE3));
+        verify(cache1, never()).getAll(any());
+    }
+
+    /**
+     * Test to verify that an exclusive cache demotes the entries which a put all larger than the level 1 cache evicts,
+     * including the entries evicted before they reached the level 1 cache.
+     *
+     * @throws CacheException if an error occurs when dealing with the cache
+     */
+    @Test
+    void should_demote_the_entries_evicted_by_an_exclusive_put_all_larger_than_the_level1_cache() throws CacheException {
+        Cache<String, String> level2Cache = new InMemoryCache<>();
+        Cache<String, String> level1Cache = new EvictableCache<>(new DemotingCache<>(new InMemoryCache<>(), level2Cache),
+                2, CacheEvictionType.LRU);
+        twoLevelCache = new TwoLevelCache<>(level1Cache, level2Cache, PromotionPolicy.never(), true);
+        Map<String, String> entries = new LinkedHashMap<>();
+
+        for (int i = 0; i < 5; i++) {
+            entries.put("Key" + i, "Value" + i);
+        }
+
+        twoLevelCache.putAll(entries);
+
+        assertThat(twoLevelCache.getSize(), is(equalTo(5)));
+        assertThat(level1Cache.getSize(), is(equalTo(2)));
+        assertThat(level2Cache.getAll(Arrays.asList("Key0", "Key1", "Key2")).size(), is(equalTo(3)));
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(twoLevelCache.get("Key" + i), is(equalTo("Value" + i)));
+        }
+    }
+
+    /**
+     * Test to verify that an exclusive cache demotes evicted entries but deletes keys from the level 1 cache without
+     * writing them to the level 2 cache.
+     *
+     * @throws CacheException if an error occurs when dealing with the cache
+     */
+    @Test
+    void should_not_demote_the_keys_deleted_from_an_exclusive_cache() throws CacheException {
+        Cache<String, String> level2Cache = spy(new InMemoryCache<String, String>());
+        Cache<String, String> level1Cache = new EvictableCache<>(new DemotingCache<>(new InMemoryCache<>(), level2Cache),
+                2, CacheEvictionType.LRU);
+        twoLevelCache = new TwoLevelCache<>(level1Cache, level2Cache, PromotionPolicy.always(), true);
+        twoLevelCache.put(KEY1, VALUE1);
+        twoLevelCache.put(KEY2, VALUE2);
+        twoLevelCache.delete(KEY1);
+        twoLevelCache.deleteAll(Collections.singletonList(KEY2));
+
+        verify(level2Cache, never()).put(anyString(), anyString());
+        verify(level2Cache, never()).putAll(anyMapOf(String.class, String.class));
+        assertThat(twoLevelCache.getSize(), is(equalTo(0)));
+
+        twoLevelCache.put(KEY1, VALUE1);
+        twoLevelCache.put(KEY2, VALUE2);
+        twoLevelCache.put(KEY3, VALUE3);
+
+        verify(level2Cache, times(1)).put(KEY1, VALUE1);
+        assertThat(level1Cache.containsKey(KEY1), is(equalTo(false)));
+        assertThat(twoLevelCache.get(KEY1), is(equalTo(VALUE1)));
+    }
+
     /**
      * Test to verify that the null is returned when both caches does not have the key.
      *
@@ -169,6 +340,28 @@ class TwoLevelCacheTest {
         assertThat(result, is(equalTo(false)));
     }
 
+    /**
+     * Test to verify that a batch of gets reads only the keys missed by the level1 cache from the level2 cache, and
+     * returns the values in the order of the given keys.
+     *
+     * @throws CacheException if an error occurs when dealing with the cache
+     */
+    @Test
+    void should_read_only_the_keys_missed_by_the_level1_cache_from_the_level2_cache() throws CacheException {
+        Map<String, String> level1Values = new LinkedHashMap<>();
+        level1Values.put(KEY1, VALUE1);
+        level1Values.put(KEY2, VALUE2);
+        when(cache1.getAll(Arrays.asList(KEY3, KEY1, KEY_THAT_DOES_NOT_EXIST_IN_BOTH_CACHES, KEY2))).thenReturn(level1Values);
+        when(cache2.getAll(Arrays.asList(KEY3, KEY_THAT_DOES_NOT_EXIST_IN_BOTH_CACHES)))
+                .thenReturn(Collections.singletonMap(KEY3, VALUE3));
+
+        Map<String, String> values = twoLevelCache.getAll(Arrays.asList(KEY3, KEY1, KEY_THAT_DOES_NOT_EXIST_IN_BOTH_CACHES, KEY2));
+
+        assertThat(values.keySet(), contains(KEY3, KEY1, KEY2));
+        assertThat(values.get(KEY3), is(equalTo(VALUE3)));
+        verify(cache2, never()).get(anyString());
+    }
+
     /**
      * Test to verify that total size of the level1 and level2 cache is returned.
      *
@@ -189,4 +382,17 @@ class TwoLevelCacheTest {
 
         assertThat(twoLevelCache.getMetaData(), is(equalTo(metaData)));
     }
+
+    /**
+     * Test to verify that closing the two level cache closes both levels.
+     *
+     * @throws Exception if an error occurs when trying to close the cache
+     */
+    @Test
+    void should_close_both_levels_when_the_two_level_cache_is_closed() throws Exception {
+        twoLevelCache.close();
+
+        verify(cache1).close();
+        verify(cache2).close();
+    }
 }
\ No newline at end of file
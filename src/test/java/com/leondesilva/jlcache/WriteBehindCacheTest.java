@@ -0,0 +1,116 @@
+package com.leondesilva.jlcache;
+
+import com.leondesilva.jlcache.exceptions.CacheException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.Matchers.anyMapOf;
+import static org.mockito.Mockito.*;
+
+/**
+ * Class to test the write behind cache.
+ */
+class WriteBehindCacheTest {
+    private static final String KEY1 = "Key1";
+    private static final String KEY2 = "Key2";
+    private static final String KEY3 = "Key3";
+    private static final String KEY4 = "Key4";
+    private static final String VALUE1 = "Value1";
+    private static final String VALUE2 = "Value2";
+    private InMemoryCache<String, String> inMemoryCache;
+    private CountDownLatch flushStarted;
+    private CountDownLatch flushAllowed;
+
+    /**
+     * Setup method.
+     *
+     * @throws CacheException if an error occurs when trying to cache
+     */
+    @BeforeEach
+    void setup() throws CacheException {
+        inMemoryCache = spy(new InMemoryCache<>());
+        flushStarted = new CountDownLatch(1);
+        flushAllowed = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            flushStarted.countDown();
+            flushAllowed.await();
+            return invocation.callRealMethod();
+        }).when(inMemoryCache).putAll(anyMapOf(String.class, String.class));
+    }
+
+    /**
+     * Test to verify that queued writes are read before they are flushed, and that the writes to a key which is still
+     * queued are coalesced into one write.
+     *
+     * @throws Exception if an error occurs when trying to cache
+     */
+    @Test
+    void should_read_the_queued_writes_and_flush_the_last_write_of_each_key() throws Exception {
+        WriteBehindCache<String, String> cache = new WriteBehindCache<>(inMemoryCache, 10, 10);
+        cache.put(KEY1, VALUE1);
+        assertThat(flushStarted.await(5, TimeUnit.SECONDS), is(equalTo(true)));
+        cache.put(KEY2, VALUE1);
+        cache.put(KEY2, VALUE2);
+        cache.put(KEY3, VALUE1);
+        cache.delete(KEY3);
+
+        assertThat(cache.get(KEY2), is(equalTo(VALUE2)));
+        assertThat(cache.get(KEY3), is(equalTo(null)));
+        assertThat(cache.containsKey(KEY1), is(equalTo(true)));
+        assertThat(cache.getAll(Arrays.asList(KEY1, KEY2, KEY3)).size(), is(equalTo(2)));
+
+        flushAllowed.countDown();
+        cache.flush();
+
+        assertThat(inMemoryCache.get(KEY1), is(equalTo(VALUE1)));
+        assertThat(inMemoryCache.get(KEY2), is(equalTo(VALUE2)));
+        assertThat(inMemoryCache.containsKey(KEY3), is(equalTo(false)));
+        verify(inMemoryCache, never()).put(KEY2, VALUE1);
+        verify(inMemoryCache, never()).put(KEY3, VALUE1);
+        cache.close();
+    }
+
+    /**
+     * Test to verify that a write of a new key waits while the queue is full, and that a write of a queued key does
+     * not.
+     *
+     * @throws Exception if an error occurs when trying to cache
+     */
+    @Test
+    void should_wait_for_room_in_the_queue_when_it_is_full() throws Exception {
+        WriteBehindCache<String, String> cache = new WriteBehindCache<>(inMemoryCache, 2, 1);
+        cache.put(KEY1, VALUE1);
+        assertThat(flushStarted.await(5, TimeUnit.SECONDS), is(equalTo(true)));
+        cache.put(KEY2, VALUE1);
+        cache.put(KEY3, VALUE1);
+        cache.put(KEY3, VALUE2);
+
+        Thread writer = new Thread(() -> {
+            try {
+                cache.put(KEY4, VALUE1);
+            } catch (CacheException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        writer.start();
+        writer.join(200);
+
+        assertThat(writer.isAlive(), is(equalTo(true)));
+
+        flushAllowed.countDown();
+        writer.join(5000);
+        cache.flush();
+
+        assertThat(writer.isAlive(), is(equalTo(false)));
+        assertThat(cache.getSize(), is(equalTo(4)));
+        assertThat(inMemoryCache.get(KEY3), is(equalTo(VALUE2)));
+        cache.close();
+    }
+}
@@ -0,0 +1,152 @@
+package com.leondesilva.jlcache.serialization;
+
+import com.leondesilva.jlcache.exceptions.SerializationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Class to test the serializer registry.
+ */
+class SerializerRegistryTest {
+    private SerializerRegistry registry;
+
+    /**
+     * Setup method.
+     *
+     */
+    @BeforeEach
+    void setup() {
+        registry = new SerializerRegistry();
+    }
+
+    /**
+     * Test to verify that the built-in types are serialized compactly and deserialized correctly.
+     *
+     * @throws SerializationException if an error occurs when serializing
+     */
+    @Test
+    void should_serialize_and_deserialize_built_in_types_correctly() throws SerializationException {
+        List<Object> objects = Arrays.asList("Value1", true, (byte) 1, (short) 2, 'c', 3, 4L, 5.5f, 6.5d, null);
+
+        for (Object object : objects) {
+            assertThat(registry.deserialize(registry.serialize(object)), is(equalTo(object)));
+        }
+
+        assertThat(registry.serialize(4L).length, is(equalTo(9)));
+        assertThat(registry.serialize("Value1").length, is(equalTo(7)));
+        assertThat((byte[]) registry.deserialize(registry.serialize(new byte[]{1, 2, 3})), is(equalTo(new byte[]{1, 2, 3})));
+    }
+
+    /**
+     * Test to verify that a registered serializer is used for its type and unregistered types fall back to java
+     * serialization.
+     *
+     * @throws SerializationException if an error occurs when serializing
+     */
+    @Test
+    void should_use_registered_serializers_and_fall_back_to_java_serialization() throws SerializationException {
+        ArrayList<String> unregistered = new ArrayList<>(Arrays.asList("Value1", "Value2"));
+        byte[] javaBytes = registry.serialize(new Point(1, 2));
+
+        registry.register(SerializerRegistry.MIN_USER_ID, Point.class, new PointSerializer());
+        byte[] registeredBytes = registry.serialize(new Point(1, 2));
+
+        assertThat(registeredBytes.length, is(equalTo(9)));
+        assertThat(registeredBytes.length, is(lessThan(javaBytes.length)));
+        assertThat(registry.deserialize(registeredBytes), is(equalTo(new Point(1, 2))));
+        assertThat(registry.deserialize(javaBytes), is(equalTo(new Point(1, 2))));
+        assertThat(registry.deserialize(registry.serialize(unregistered)), is(equalTo(unregistered)));
+    }
+
+    /**
+     * Test to verify that ids which are reserved or already registered are rejected.
+     */
+    @Test
+    void should_reject_reserved_and_duplicate_ids() {
+        registry.register(SerializerRegistry.MIN_USER_ID, Point.class, new PointSerializer());
+
+        assertThrows(IllegalArgumentException.class, () -> registry.register(2, Point.class, new PointSerializer()));
+        assertThrows(IllegalArgumentException.class, () -> registry.register(SerializerRegistry.MIN_USER_ID, String.class, new StringSerializer()));
+        assertThrows(SerializationException.class, () -> registry.deserialize(new byte[]{(byte) (SerializerRegistry.MIN_USER_ID + 1)}));
+    }
+
+    /**
+     * Inner class to represent a point.
+     */
+    static class Point implements Serializable {
+        private final int x;
+        private final int y;
+
+        /**
+         * Constructor to instantiate the point.
+         *
+         * @param x the x coordinate
+         * @param y the y coordinate
+         */
+        Point(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+
+        /**
+         * Method to check whether an object is equal to the point.
+         *
+         * @param object the object
+         * @return true if equal and false if not
+         */
+        @Override
+        public boolean equals(Object object) {
+            return object instanceof Point && ((Point) object).x == x && ((Point) object).y == y;
+        }
+
+        /**
+         * Method to get the hash code of the point.
+         *
+         * @return the hash code
+         */
+        @Override
+        public int hashCode() {
+            return 31 * x + y;
+        }
+    }
+
+    /**
+     * Inner class to represent the serializer of a point.
+     */
+    static class PointSerializer implements Serializer<Point> {
+        /**
+         * Method to serialize a point.
+         *
+         * @param object the point
+         * @return the serialized bytes
+         */
+        @Override
+        public byte[] serialize(Point object) {
+            return ByteBuffer.allocate(8).putInt(object.x).putInt(object.y).array();
+        }
+
+        /**
+         * Method to deserialize a point.
+         *
+         * @param bytes the serialized bytes
+         * @return the point
+         */
+        @Override
+        public Point deserialize(byte[] bytes) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            return new Point(buffer.getInt(), buffer.getInt());
+        }
+    }
+}
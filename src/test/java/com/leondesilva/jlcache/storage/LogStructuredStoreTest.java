@@ -0,0 +1,223 @@
+package com.leondesilva.jlcache.storage;
+
+import com.leondesilva.jlcache.exceptions.CacheException;
+import com.leondesilva.jlcache.util.SerializationUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.core.Is.is;
+
+/**
+ * Class to test the log structured store.
+ */
+class LogStructuredStoreTest {
+    private static final long MAX_SEGMENT_SIZE = 1024;
+    private LogStructuredStore<String, String> store;
+    private Path folderPath;
+
+    /**
+     * Setup method.
+     *
+     */
+    @BeforeEach
+    void setup(@TempDir Path temporaryDirectoryPath) throws CacheException {
+        folderPath = temporaryDirectoryPath;
+        store = new LogStructuredStore<>(folderPath.toString(), MAX_SEGMENT_SIZE);
+    }
+
+    /**
+     * Tear down method.
+     */
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    /**
+     * Test to verify that the latest value of a key is returned after it is overwritten.
+     *
+     * @throws CacheException if an error occurs when dealing with the store
+     */
+    @Test
+    void should_return_the_latest_value_of_an_overwritten_key() throws CacheException {
+        store.put("Key1", "Value1");
+        store.put("Key2", "Value2");
+        store.put("Key1", "Value3");
+
+        assertThat(store.get("Key1"), is(equalTo("Value3")));
+        assertThat(store.get("Key2"), is(equalTo("Value2")));
+        assertThat(store.size(), is(equalTo(2)));
+    }
+
+    /**
+     * Test to verify that new segments are started when the active segment is full.
+     *
+     * @throws CacheException if an error occurs when dealing with the store
+     */
+    @Test
+    void should_start_new_segments_when_the_active_segment_is_full() throws CacheException {
+        for (int i = 0; i < 100; i++) {
+            store.put("Key" + i, "Value" + i);
+        }
+
+        assertThat(store.getSegmentCount(), is(greaterThan(1)));
+        assertThat(countSegmentFiles(), is(equalTo(store.getSegmentCount())));
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(store.get("Key" + i), is(equalTo("Value" + i)));
+        }
+    }
+
+    /**
+     * Test to verify that compaction reclaims segments that are mostly garbage and keeps the live values.
+     *
+     * @throws CacheException if an error occurs when dealing with the store
+     */
+    @Test
+    void should_reclaim_garbage_segments_when_compacted() throws CacheException {
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 10; i++) {
+                store.put("Key" + i, "Value" + round);
+            }
+        }
+
+        store.put("OtherKey", "OtherValue");
+        store.delete("Key9");
+
+        store.compact();
+
+        // The live records need less than one segment, so at most the active segment and one other are left.
+        assertThat(store.getSegmentCount(), is(lessThanOrEqualTo(2)));
+        assertThat(countSegmentFiles(), is(equalTo(store.getSegmentCount())));
+        assertThat(store.get("Key0"), is(equalTo("Value9")));
+        assertThat(store.get("Key8"), is(equalTo("Value9")));
+        assertThat(store.get("Key9"), is(equalTo(null)));
+        assertThat(store.get("OtherKey"), is(equalTo("OtherValue")));
+        assertThat(store.size(), is(equalTo(10)));
+    }
+
+    /**
+     * Test to verify that keys put with a duration expire, also after their records are copied by compaction.
+     *
+     * @throws CacheException if an error occurs when dealing with the store
+     */
+    @Test
+    void should_expire_keys_put_with_a_duration() throws CacheException {
+        long[] time = new long[1];
+        store.close();
+        store = new LogStructuredStore<>(folderPath.toString(), MAX_SEGMENT_SIZE, false,
+                SerializationUtils.getDefaultSerializer(), () -> time[0]);
+
+        store.put("Key1", "Value1", 10, TimeUnit.SECONDS);
+        store.put("Key2", "Value2", 30, TimeUnit.SECONDS);
+
+        for (int i = 0; i < 100; i++) {
+            store.put("OtherKey", "OtherValue" + i);
+        }
+
+        store.compact();
+        time[0] = TimeUnit.SECONDS.toNanos(20);
+
+        assertThat(store.get("Key1"), is(equalTo(null)));
+        assertThat(store.containsKey("Key2"), is(equalTo(true)));
+        assertThat(store.size(), is(equalTo(2)));
+
+        time[0] = TimeUnit.SECONDS.toNanos(40);
+        assertThat(store.get("Key2"), is(equalTo(null)));
+        assertThat(store.get("OtherKey"), is(equalTo("OtherValue99")));
+    }
+
+    /**
+     * Test to verify that all keys and segment files are deleted when the store is cleared.
+     *
+     * @throws CacheException if an error occurs when dealing with the store
+     */
+    @Test
+    void should_delete_all_keys_and_segments_when_cleared() throws CacheException {
+        for (int i = 0; i < 50; i++) {
+            store.put("Key" + i, "Value" + i);
+        }
+
+        store.clear();
+
+        assertThat(store.size(), is(equalTo(0)));
+        assertThat(store.containsKey("Key1"), is(equalTo(false)));
+        assertThat(store.getSegmentCount(), is(equalTo(1)));
+        assertThat(countSegmentFiles(), is(equalTo(1)));
+    }
+
+    /**
+     * Test to verify that a new store discards the segments of a previous store.
+     *
+     * @throws CacheException if an error occurs when dealing with the store
+     */
+    @Test
+    void should_start_empty_when_segments_already_exist() throws CacheException {
+        store.put("Key1", "Value1");
+        store.close();
+
+        store = new LogStructuredStore<>(folderPath.toString(), MAX_SEGMENT_SIZE);
+
+        assertThat(store.size(), is(equalTo(0)));
+        assertThat(countSegmentFiles(), is(equalTo(1)));
+        assertThat(Files.exists(folderPath.resolve("segment-0.log")), is(equalTo(true)));
+    }
+
+    /**
+     * Test to verify that a batch of puts spanning many segments is read back by a batch of gets in the order of the
+     * given keys, and that a batch of deletes only deletes the given keys.
+     *
+     * @throws CacheException if an error occurs when dealing with the store
+     */
+    @Test
+    void should_put_get_and_delete_many_keys_in_batches() throws CacheException {
+        Map<String, String> entries = new LinkedHashMap<>();
+
+        for (int i = 0; i < 100; i++) {
+            entries.put("Key" + i, "Value" + i);
+        }
+
+        store.put("Key5", "OldValue");
+        store.putAll(entries);
+
+        assertThat(store.getSegmentCount(), is(greaterThan(1)));
+        assertThat(store.size(), is(equalTo(100)));
+        assertThat(store.getAll(entries.keySet()), is(equalTo(entries)));
+
+        Map<String, String> values = store.getAll(Arrays.asList("Key99", "NonExistingKey", "Key5", "Key0"));
+
+        assertThat(values.keySet(), contains("Key99", "Key5", "Key0"));
+        assertThat(values.get("Key5"), is(equalTo("Value5")));
+
+        store.deleteAll(Arrays.asList("Key0", "Key5", "NonExistingKey"));
+
+        assertThat(store.size(), is(equalTo(98)));
+        assertThat(store.containsKey("Key5"), is(equalTo(false)));
+        assertThat(store.getAll(Arrays.asList("Key0", "Key1")).keySet(), contains("Key1"));
+    }
+
+    /**
+     * Method to count the segment files in the folder.
+     *
+     * @return the number of segment files
+     */
+    private int countSegmentFiles() {
+        File[] files = folderPath.toFile().listFiles((dir, name) -> name.endsWith(".log"));
+        return files == null ? 0 : files.length;
+    }
+}
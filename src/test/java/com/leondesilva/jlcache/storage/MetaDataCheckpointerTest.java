@@ -0,0 +1,155 @@
+package com.leondesilva.jlcache.storage;
+
+import com.leondesilva.jlcache.exceptions.SerializationException;
+import com.leondesilva.jlcache.pojo.LFUEvictionMetaData;
+import com.leondesilva.jlcache.pojo.MetaData;
+import com.leondesilva.jlcache.pojo.LRUEvictionMetaData;
+import com.leondesilva.jlcache.pojo.SieveEvictionMetaData;
+import com.leondesilva.jlcache.pojo.TinyLFUEvictionMetaData;
+import com.leondesilva.jlcache.util.SerializationUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.core.Is.is;
+
+/**
+ * Class to test the meta data checkpointer.
+ */
+class MetaDataCheckpointerTest {
+    private static final String KEY1 = "Key1";
+    private static final String KEY2 = "Key2";
+    private static final String KEY3 = "Key3";
+    private File file;
+    private AtomicLong time;
+    private LRUEvictionMetaData<String> metaData;
+
+    /**
+     * Setup method.
+     *
+     */
+    @BeforeEach
+    void setup(@TempDir Path temporaryDirectoryPath) {
+        file = temporaryDirectoryPath.resolve("meta").toFile();
+        time = new AtomicLong();
+        metaData = new LRUEvictionMetaData<>();
+    }
+
+    /**
+     * Test to verify that a checkpoint is only written once the number of changes is reached, and that it holds the
+     * meta data as it was when the checkpoint was taken.
+     *
+     * @throws Exception if an error occurs when trying to write or read the meta data
+     */
+    @Test
+    void should_write_a_checkpoint_after_the_number_of_changes() throws Exception {
+        MetaDataCheckpointer checkpointer = new MetaDataCheckpointer(file, 3, 1, TimeUnit.HOURS, time::get);
+        metaData.getNodeIndex().addFirst(KEY1);
+        checkpointer.recordMutation(metaData);
+        metaData.getNodeIndex().addFirst(KEY2);
+        checkpointer.recordMutation(metaData);
+        checkpointer.flush();
+
+        assertThat(readCheckpoint(), is(equalTo(null)));
+
+        metaData.getNodeIndex().addFirst(KEY3);
+        checkpointer.recordMutation(metaData);
+        metaData.getNodeIndex().remove(KEY1);
+        checkpointer.flush();
+        LRUEvictionMetaData<String> checkpoint = (LRUEvictionMetaData<String>) readCheckpoint();
+
+        assertThat(checkpoint.getNodeList(), contains(KEY3, KEY2, KEY1));
+    }
+
+    /**
+     * Test to verify that a change writes a checkpoint once the interval has passed, and that an explicit checkpoint
+     * writes the latest meta data.
+     *
+     * @throws Exception if an error occurs when trying to write or read the meta data
+     */
+    @Test
+    void should_write_a_checkpoint_after_the_interval_or_when_asked() throws Exception {
+        MetaDataCheckpointer checkpointer = new MetaDataCheckpointer(file, 100, 10, TimeUnit.SECONDS, time::get);
+        metaData.getNodeIndex().addFirst(KEY1);
+        checkpointer.recordMutation(metaData);
+        time.addAndGet(TimeUnit.SECONDS.toNanos(11));
+        metaData.getNodeIndex().addFirst(KEY2);
+        checkpointer.recordMutation(metaData);
+        checkpointer.flush();
+
+        assertThat(readCheckpoint(), is(equalTo(metaData)));
+
+        metaData.getNodeIndex().addFirst(KEY3);
+        checkpointer.recordMutation(metaData);
+        checkpointer.checkpoint(metaData);
+
+        assertThat(readCheckpoint(), is(equalTo(metaData)));
+    }
+
+    /**
+     * Test to verify that the snapshots of the frequency based meta data keep the frequencies, visited bits and
+     * sketch counts, and that later changes do not reach the checkpoint.
+     *
+     * @throws Exception if an error occurs when trying to write or read the meta data
+     */
+    @Test
+    void should_write_snapshots_of_the_frequency_based_meta_data() throws Exception {
+        MetaDataCheckpointer checkpointer = new MetaDataCheckpointer(file, 1, 1, TimeUnit.HOURS, time::get);
+        LFUEvictionMetaData<String> lfuMetaData = new LFUEvictionMetaData<>();
+        lfuMetaData.getFrequencyIndex().add(KEY1);
+        lfuMetaData.getFrequencyIndex().add(KEY2);
+        lfuMetaData.getFrequencyIndex().increment(KEY2);
+        checkpointer.recordMutation(lfuMetaData);
+        lfuMetaData.getFrequencyIndex().increment(KEY2);
+        checkpointer.flush();
+        LFUEvictionMetaData<String> lfuCheckpoint = (LFUEvictionMetaData<String>) readCheckpoint();
+
+        assertThat(lfuCheckpoint.getFrequencyIndex().getFrequency(KEY1), is(equalTo(1)));
+        assertThat(lfuCheckpoint.getFrequencyIndex().getFrequency(KEY2), is(equalTo(2)));
+
+        SieveEvictionMetaData<String> sieveMetaData = new SieveEvictionMetaData<>();
+        sieveMetaData.getKeyQueue().insert(KEY1);
+        sieveMetaData.getKeyQueue().insert(KEY2);
+        sieveMetaData.getKeyQueue().markVisited(KEY1);
+        checkpointer.recordMutation(sieveMetaData);
+        sieveMetaData.getKeyQueue().markVisited(KEY2);
+        checkpointer.flush();
+        SieveEvictionMetaData<String> sieveCheckpoint = (SieveEvictionMetaData<String>) readCheckpoint();
+
+        assertThat(sieveCheckpoint.getKeyQueue().isVisited(KEY1), is(equalTo(true)));
+        assertThat(sieveCheckpoint.getKeyQueue().isVisited(KEY2), is(equalTo(false)));
+
+        TinyLFUEvictionMetaData<String> tinyLfuMetaData = new TinyLFUEvictionMetaData<>(16);
+        tinyLfuMetaData.getWindowIndex().addFirst(KEY1);
+        tinyLfuMetaData.getFrequencySketch().increment(KEY1);
+        checkpointer.recordMutation(tinyLfuMetaData);
+        tinyLfuMetaData.getFrequencySketch().increment(KEY1);
+        checkpointer.flush();
+        TinyLFUEvictionMetaData<String> tinyLfuCheckpoint = (TinyLFUEvictionMetaData<String>) readCheckpoint();
+
+        assertThat(tinyLfuCheckpoint.getWindowIndex().contains(KEY1), is(equalTo(true)));
+        assertThat(tinyLfuCheckpoint.getFrequencySketch().frequency(KEY1), is(equalTo(1)));
+    }
+
+    /**
+     * Method to read the last checkpoint of the meta data from the meta data file.
+     *
+     * @return the meta data or null if no checkpoint has been written
+     * @throws SerializationException if an error occurs when trying to read the meta data file
+     */
+    private MetaData readCheckpoint() throws SerializationException {
+        if (!file.exists() || file.length() == 0) {
+            return null;
+        }
+
+        return SerializationUtils.readFileAndDeserialize(file);
+    }
+}
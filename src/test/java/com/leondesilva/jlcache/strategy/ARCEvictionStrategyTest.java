@@ -0,0 +1,124 @@
+package com.leondesilva.jlcache.strategy;
+
+import com.leondesilva.jlcache.InMemoryCache;
+import com.leondesilva.jlcache.exceptions.CacheException;
+import com.leondesilva.jlcache.pojo.ARCEvictionMetaData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.core.Is.is;
+
+/**
+ * Class to test ARC eviction strategy.
+ */
+class ARCEvictionStrategyTest {
+    private ARCEvictionStrategy<String, String> strategy;
+    private InMemoryCache<String, String> cache;
+    private static final String KEY1 = "Key1";
+    private static final String KEY2 = "Key2";
+    private static final String KEY3 = "Key3";
+
+    private static final String VALUE1 = "Value1";
+    private static final String VALUE2 = "Value2";
+    private static final String VALUE3 = "Value3";
+
+    /**
+     * Setup method.
+     *
+     */
+    @BeforeEach
+    void setup() throws CacheException {
+        cache = new InMemoryCache<>();
+        strategy = new ARCEvictionStrategy<>(cache, 2);
+    }
+
+    /**
+     * Test to verify that the cache and the ghost lists stay within their bounds even extra insertions happen.
+     *
+     * @throws CacheException if an error occurs when trying to cache
+     */
+    @Test
+    void should_maintain_max_entry_count_even_extra_insertions_happen() throws CacheException {
+        for (int i = 0; i < 50; i++) {
+            strategy.put("Key" + i, "Value" + i);
+
+            if (i % 3 == 0) {
+                strategy.get("Key" + (i / 2));
+            }
+
+            ARCEvictionMetaData<String> metaData = (ARCEvictionMetaData<String>) cache.getMetaData();
+            int cachedKeyCount = metaData.getRecencyIndex().size() + metaData.getFrequencyIndex().size();
+            int ghostKeyCount = metaData.getRecencyGhostIndex().size() + metaData.getFrequencyGhostIndex().size();
+
+            assertThat(strategy.getSize(), is(lessThanOrEqualTo(2)));
+            assertThat(cachedKeyCount, is(equalTo(strategy.getSize())));
+            assertThat(cachedKeyCount + ghostKeyCount, is(lessThanOrEqualTo(4)));
+        }
+    }
+
+    /**
+     * Test to verify that a key that is used twice is moved to the frequency list.
+     *
+     * @throws CacheException if an error occurs when trying to cache
+     */
+    @Test
+    void should_move_a_key_to_the_frequency_list_when_it_is_used_twice() throws CacheException {
+        strategy.put(KEY1, VALUE1);
+        strategy.put(KEY2, VALUE2);
+        assertThat(strategy.get(KEY1), is(equalTo(VALUE1)));
+
+        ARCEvictionMetaData<String> metaData = (ARCEvictionMetaData<String>) cache.getMetaData();
+        assertThat(metaData.getRecencyIndex(), contains(KEY2));
+        assertThat(metaData.getFrequencyIndex(), contains(KEY1));
+    }
+
+    /**
+     * Test to verify that a put of a key in the recency ghost list grows the target size of the recency list.
+     *
+     * @throws CacheException if an error occurs when trying to cache
+     */
+    @Test
+    void should_adapt_towards_recency_when_a_recency_ghost_key_is_put() throws CacheException {
+        strategy.put(KEY1, VALUE1);
+        strategy.get(KEY1);
+        strategy.put(KEY2, VALUE2);
+        strategy.put(KEY3, VALUE3);
+
+        ARCEvictionMetaData<String> metaData = (ARCEvictionMetaData<String>) cache.getMetaData();
+        assertThat(metaData.getRecencyGhostIndex(), contains(KEY2));
+        assertThat(strategy.containsKey(KEY2), is(equalTo(false)));
+
+        strategy.put(KEY2, VALUE2);
+
+        assertThat(metaData.getTargetRecencySize(), is(equalTo(1)));
+        assertThat(metaData.getFrequencyIndex(), contains(KEY2));
+        assertThat(metaData.getRecencyIndex(), contains(KEY3));
+        assertThat(metaData.getFrequencyGhostIndex(), contains(KEY1));
+        assertThat(strategy.containsKey(KEY1), is(equalTo(false)));
+        assertThat(strategy.get(KEY2), is(equalTo(VALUE2)));
+    }
+
+    /**
+     * Test to verify that keys are deleted from the cache and the meta data.
+     *
+     * @throws CacheException if an error occurs when trying to cache
+     */
+    @Test
+    void should_successfully_delete_keys_from_cache_and_meta_data() throws CacheException {
+        strategy.put(KEY1, VALUE1);
+        strategy.put(KEY2, VALUE2);
+        strategy.delete(KEY1);
+
+        ARCEvictionMetaData<String> metaData = (ARCEvictionMetaData<String>) cache.getMetaData();
+        assertThat(metaData.getRecencyIndex(), contains(KEY2));
+        assertThat(strategy.containsKey(KEY1), is(equalTo(false)));
+
+        strategy.deleteAll();
+        assertThat(strategy.getSize(), is(equalTo(0)));
+        assertThat(metaData.getRecencyIndex().size(), is(equalTo(0)));
+    }
+}
@@ -47,6 +47,36 @@ class EvictionStrategyFactoryTest {
         assertThat(strategy.getClass(), is(equalTo(LFUEvictionStrategy.class)));
     }
 
+    /**
+     * Test to verify that W-TinyLFU strategy is correctly created by the factory when type is passed as TINY_LFU.
+     * @throws CacheException if an error occurs
+     */
+    @Test
+    void should_create_the_TinyLFU_strategy_correctly() throws CacheException {
+        EvictionStrategy<String, String> strategy = EvictionStrategyFactory.create(cache, 10, CacheEvictionType.TINY_LFU);
+        assertThat(strategy.getClass(), is(equalTo(TinyLFUEvictionStrategy.class)));
+    }
+
+    /**
+     * Test to verify that ARC strategy is correctly created by the factory when type is passed as ARC.
+     * @throws CacheException if an error occurs
+     */
+    @Test
+    void should_create_the_ARC_strategy_correctly() throws CacheException {
+        EvictionStrategy<String, String> strategy = EvictionStrategyFactory.create(cache, 10, CacheEvictionType.ARC);
+        assertThat(strategy.getClass(), is(equalTo(ARCEvictionStrategy.class)));
+    }
+
+    /**
+     * Test to verify that SIEVE strategy is correctly created by the factory when type is passed as SIEVE.
+     * @throws CacheException if an error occurs
+     */
+    @Test
+    void should_create_the_SIEVE_strategy_correctly() throws CacheException {
+        EvictionStrategy<String, String> strategy = EvictionStrategyFactory.create(cache, 10, CacheEvictionType.SIEVE);
+        assertThat(strategy.getClass(), is(equalTo(SieveEvictionStrategy.class)));
+    }
+
     /**
      * Test to verify that cache exception is thrown if the type is passe as null.
      */
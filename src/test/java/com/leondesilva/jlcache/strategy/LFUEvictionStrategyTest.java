@@ -0,0 +1,178 @@
+package com.leondesilva.jlcache.strategy;
+
+import com.leondesilva.jlcache.FileSystemCache;
+import com.leondesilva.jlcache.InMemoryCache;
+import com.leondesilva.jlcache.exceptions.CacheException;
+import com.leondesilva.jlcache.pojo.LFUEvictionMetaData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.core.Is.is;
+
+/**
+ * Class to test LFU eviction strategy.
+ */
+class LFUEvictionStrategyTest {
+    private LFUEvictionStrategy<String, String> strategy;
+    private InMemoryCache<String, String> cache;
+    private static final String KEY1 = "Key1";
+    private static final String KEY2 = "Key2";
+    private static final String KEY3 = "Key3";
+    private static final String KEY4 = "Key4";
+
+    private static final String VALUE1 = "Value1";
+    private static final String VALUE2 = "Value2";
+    private static final String VALUE3 = "Value3";
+    private static final String VALUE4 = "Value4";
+
+    /**
+     * Setup method.
+     *
+     */
+    @BeforeEach
+    void setup() throws CacheException {
+        cache = new InMemoryCache<>();
+        strategy = new LFUEvictionStrategy<>(cache, 3);
+    }
+
+    /**
+     * Test to verify that the data is inserted and retrieved correctly up to the max size.
+     *
+     * @throws CacheException if an error occurs when trying to cache
+     */
+    @Test
+    void should_insert_and_get_the_data_when_insertion_count_is_equal_to_max_size() throws CacheException {
+        strategy.put(KEY1, VALUE1);
+        strategy.put(KEY2, VALUE2);
+        strategy.put(KEY3, VALUE3);
+
+        assertThat(strategy.getSize(), is(equalTo(3)));
+        assertThat(strategy.get(KEY1), is(equalTo(VALUE1)));
+        assertThat(strategy.get(KEY2), is(equalTo(VALUE2)));
+        assertThat(strategy.get(KEY3), is(equalTo(VALUE3)));
+    }
+
+    /**
+     * Test to verify that the least frequently used key is evicted when the max size is exceeded.
+     *
+     * @throws CacheException if an error occurs when trying to cache
+     */
+    @Test
+    void should_evict_the_least_frequently_used_key() throws CacheException {
+        strategy.put(KEY1, VALUE1);
+        strategy.put(KEY2, VALUE2);
+        strategy.put(KEY3, VALUE3);
+        strategy.get(KEY1);
+        strategy.get(KEY1);
+        strategy.get(KEY3);
+
+        strategy.put(KEY4, VALUE4);
+
+        assertThat(strategy.getSize(), is(equalTo(3)));
+        assertThat(strategy.containsKey(KEY1), is(equalTo(true)));
+        assertThat(strategy.containsKey(KEY2), is(equalTo(false)));
+        assertThat(strategy.containsKey(KEY3), is(equalTo(true)));
+        assertThat(strategy.containsKey(KEY4), is(equalTo(true)));
+    }
+
+    /**
+     * Test to verify that the least recently used key is evicted when frequencies are equal.
+     *
+     * @throws CacheException if an error occurs when trying to cache
+     */
+    @Test
+    void should_evict_the_least_recently_used_key_when_frequencies_are_equal() throws CacheException {
+        strategy.put(KEY1, VALUE1);
+        strategy.put(KEY2, VALUE2);
+        strategy.put(KEY3, VALUE3);
+
+        strategy.put(KEY4, VALUE4);
+
+        assertThat(strategy.containsKey(KEY1), is(equalTo(false)));
+        assertThat(strategy.containsKey(KEY2), is(equalTo(true)));
+    }
+
+    /**
+     * Test to verify that updating a key counts as a use of the key.
+     *
+     * @throws CacheException if an error occurs when trying to cache
+     */
+    @Test
+    void should_increment_the_frequency_when_a_key_is_updated() throws CacheException {
+        strategy.put(KEY1, VALUE1);
+        strategy.put(KEY2, VALUE2);
+        strategy.put(KEY1, VALUE3);
+
+        LFUEvictionMetaData<String> metaData = (LFUEvictionMetaData<String>) cache.getMetaData();
+        assertThat(metaData.getFrequencyIndex().getFrequency(KEY1), is(equalTo(2)));
+        assertThat(metaData.getFrequencyIndex().getFrequency(KEY2), is(equalTo(1)));
+        assertThat(strategy.get(KEY1), is(equalTo(VALUE3)));
+    }
+
+    /**
+     * Test to verify that the frequencies are halved when the aging period is reached.
+     *
+     * @throws CacheException if an error occurs when trying to cache
+     */
+    @Test
+    void should_age_the_frequencies_when_the_aging_period_is_reached() throws CacheException {
+        strategy = new LFUEvictionStrategy<>(cache, 3, 6);
+        strategy.put(KEY1, VALUE1);
+        strategy.get(KEY1);
+        strategy.get(KEY1);
+        strategy.get(KEY1);
+        strategy.put(KEY2, VALUE2);
+        strategy.get(KEY2);
+
+        LFUEvictionMetaData<String> metaData = (LFUEvictionMetaData<String>) cache.getMetaData();
+        assertThat(metaData.getFrequencyIndex().getFrequency(KEY1), is(equalTo(2)));
+        assertThat(metaData.getFrequencyIndex().getFrequency(KEY2), is(equalTo(1)));
+        assertThat(metaData.getOperationCount(), is(equalTo(0)));
+    }
+
+    /**
+     * Test to verify that the key is deleted successfully from the cache and the frequency index.
+     *
+     * @throws CacheException if an error occurs when trying to cache
+     */
+    @Test
+    void should_successfully_delete_key_from_cache_and_frequency_index() throws CacheException {
+        strategy.put(KEY1, VALUE1);
+        strategy.put(KEY2, VALUE2);
+        strategy.delete(KEY1);
+
+        LFUEvictionMetaData<String> metaData = (LFUEvictionMetaData<String>) cache.getMetaData();
+        assertThat(metaData.getFrequencyIndex().contains(KEY1), is(equalTo(false)));
+        assertThat(strategy.containsKey(KEY1), is(equalTo(false)));
+        assertThat(strategy.getSize(), is(equalTo(1)));
+
+        strategy.deleteAll();
+        assertThat(metaData.getFrequencyIndex().size(), is(equalTo(0)));
+        assertThat(strategy.getSize(), is(equalTo(0)));
+    }
+
+    /**
+     * Test to verify that the LFU order is kept when the strategy is used with a file system cache.
+     *
+     * @throws CacheException if an error occurs when trying to cache
+     */
+    @Test
+    void should_evict_the_least_frequently_used_key_with_a_file_system_cache(@TempDir Path tempDirPath) throws CacheException {
+        FileSystemCache<String, String> fileSystemCache = new FileSystemCache<>(tempDirPath.toString());
+        LFUEvictionStrategy<String, String> fileSystemStrategy = new LFUEvictionStrategy<>(fileSystemCache, 2);
+
+        fileSystemStrategy.put(KEY1, VALUE1);
+        fileSystemStrategy.put(KEY2, VALUE2);
+        fileSystemStrategy.get(KEY1);
+        fileSystemStrategy.put(KEY3, VALUE3);
+
+        assertThat(fileSystemCache.containsKey(KEY1), is(equalTo(true)));
+        assertThat(fileSystemCache.containsKey(KEY2), is(equalTo(false)));
+        assertThat(fileSystemStrategy.get(KEY3), is(equalTo(VALUE3)));
+    }
+}
@@ -1,17 +1,29 @@
 package com.leondesilva.jlcache.strategy;
 
+import com.leondesilva.jlcache.FileSystemCache;
 import com.leondesilva.jlcache.InMemoryCache;
 import com.leondesilva.jlcache.exceptions.CacheException;
 import com.leondesilva.jlcache.pojo.LRUEvictionMetaData;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
+import java.util.Map;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.core.Is.is;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyCollectionOf;
+import static org.mockito.Matchers.anyMapOf;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 /**
  * Class to test LRU eviction strategy.
@@ -318,4 +330,57 @@ class LRUEvictionStrategyTest {
         assertThat(strategy.get(KEY4), is(equalTo(null)));
         assertThat(strategy.get(KEY5), is(equalTo(null)));
     }
-}
\ No newline at end of file
+
+    /**
+     * Test to verify that a batch of puts evicts in LRU order, writes to the cache as one batch and stores the meta
+     * data once.
+     *
+     * @throws CacheException if an error occurs when trying to cache
+     */
+    @Test
+    void should_evict_and_store_the_meta_data_once_for_a_batch_of_puts() throws CacheException {
+        InMemoryCache<String, String> spyCache = spy(new InMemoryCache<>());
+        LRUEvictionStrategy<String, String> batchStrategy = new LRUEvictionStrategy<>(spyCache, 3);
+        batchStrategy.put(KEY1, VALUE1);
+        batchStrategy.put(KEY2, VALUE2);
+
+        Map<String, String> entries = new LinkedHashMap<>();
+        entries.put(KEY3, VALUE3);
+        entries.put(KEY1, VALUE4);
+        entries.put(KEY4, VALUE4);
+        entries.put(KEY5, VALUE5);
+        batchStrategy.putAll(entries);
+
+        LRUEvictionMetaData<String> metaData = (LRUEvictionMetaData<String>) spyCache.getMetaData();
+        assertThat(metaData.getNodeList(), contains(KEY5, KEY4, KEY1));
+        assertThat(batchStrategy.getAll(Arrays.asList(KEY1, KEY2, KEY3, KEY4, KEY5)).keySet(), contains(KEY1, KEY4, KEY5));
+        assertThat(spyCache.get(KEY1), is(equalTo(VALUE4)));
+        verify(spyCache, times(1)).putAll(anyMapOf(String.class, String.class));
+        verify(spyCache, times(1)).deleteAll(anyCollectionOf(String.class));
+        // Once when the strategy is created, once for each single put, once for the batch and once for the gets.
+        verify(spyCache, times(5)).storeMetaData(any());
+    }
+
+    /**
+     * Test to verify that the LRU order is kept when the strategy is used with a file system cache.
+     *
+     * @throws CacheException if an error occurs when trying to cache
+     */
+    @Test
+    void should_maintain_the_LRU_order_with_a_file_system_cache(@TempDir Path tempDirPath) throws CacheException {
+        FileSystemCache<String, String> fileSystemCache = new FileSystemCache<>(tempDirPath.toString());
+        LRUEvictionStrategy<String, String> fileSystemStrategy = new LRUEvictionStrategy<>(fileSystemCache, 3);
+
+        fileSystemStrategy.put(KEY1, VALUE1);
+        fileSystemStrategy.put(KEY2, VALUE2);
+        fileSystemStrategy.put(KEY3, VALUE3);
+        // Retrieving Key 1 so that Key 2 becomes the least recently used key
+        fileSystemStrategy.get(KEY1);
+        fileSystemStrategy.put(KEY4, VALUE4);
+
+        LRUEvictionMetaData<String> metaData = (LRUEvictionMetaData<String>) fileSystemCache.getMetaData();
+        assertThat(metaData.getNodeList(), contains(KEY4, KEY1, KEY3));
+        assertThat(fileSystemCache.containsKey(KEY2), is(equalTo(false)));
+        assertThat(fileSystemStrategy.get(KEY1), is(equalTo(VALUE1)));
+    }
+}
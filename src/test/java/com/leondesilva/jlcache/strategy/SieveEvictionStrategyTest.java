@@ -0,0 +1,113 @@
+package com.leondesilva.jlcache.strategy;
+
+import com.leondesilva.jlcache.Cache;
+import com.leondesilva.jlcache.InMemoryCache;
+import com.leondesilva.jlcache.exceptions.CacheException;
+import com.leondesilva.jlcache.pojo.MetaData;
+import com.leondesilva.jlcache.pojo.SieveEvictionMetaData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Class to test SIEVE eviction strategy.
+ */
+class SieveEvictionStrategyTest {
+    private SieveEvictionStrategy<String, String> strategy;
+    private InMemoryCache<String, String> cache;
+    private static final String KEY1 = "Key1";
+    private static final String KEY2 = "Key2";
+    private static final String KEY3 = "Key3";
+    private static final String KEY4 = "Key4";
+    private static final String KEY5 = "Key5";
+
+    private static final String VALUE1 = "Value1";
+    private static final String VALUE2 = "Value2";
+    private static final String VALUE3 = "Value3";
+    private static final String VALUE4 = "Value4";
+    private static final String VALUE5 = "Value5";
+
+    /**
+     * Setup method.
+     *
+     */
+    @BeforeEach
+    void setup() throws CacheException {
+        cache = new InMemoryCache<>();
+        strategy = new SieveEvictionStrategy<>(cache, 3);
+    }
+
+    /**
+     * Test to verify that the hand skips visited keys and evicts the first key that was not visited.
+     *
+     * @throws CacheException if an error occurs when trying to cache
+     */
+    @Test
+    void should_evict_the_first_key_that_was_not_visited() throws CacheException {
+        strategy.put(KEY1, VALUE1);
+        strategy.put(KEY2, VALUE2);
+        strategy.put(KEY3, VALUE3);
+        assertThat(strategy.get(KEY1), is(equalTo(VALUE1)));
+
+        strategy.put(KEY4, VALUE4);
+
+        assertThat(strategy.getSize(), is(equalTo(3)));
+        assertThat(strategy.containsKey(KEY1), is(equalTo(true)));
+        assertThat(strategy.containsKey(KEY2), is(equalTo(false)));
+
+        SieveEvictionMetaData<String> metaData = (SieveEvictionMetaData<String>) cache.getMetaData();
+        assertThat(metaData.getKeyQueue().isVisited(KEY1), is(equalTo(false)));
+
+        // The hand continues from where it stopped instead of starting from the tail again.
+        strategy.put(KEY5, VALUE5);
+        assertThat(strategy.containsKey(KEY1), is(equalTo(true)));
+        assertThat(strategy.containsKey(KEY3), is(equalTo(false)));
+        assertThat(strategy.containsKey(KEY4), is(equalTo(true)));
+        assertThat(strategy.containsKey(KEY5), is(equalTo(true)));
+    }
+
+    /**
+     * Test to verify that a get does not store the meta data.
+     *
+     * @throws CacheException if an error occurs when trying to cache
+     */
+    @Test
+    void should_not_store_meta_data_when_a_key_is_retrieved() throws CacheException {
+        Cache<String, String> mockCache = mock(Cache.class);
+        SieveEvictionStrategy<String, String> mockCacheStrategy = new SieveEvictionStrategy<>(mockCache, 3);
+        mockCacheStrategy.put(KEY1, VALUE1);
+
+        mockCacheStrategy.get(KEY1);
+        mockCacheStrategy.get(KEY2);
+
+        verify(mockCache, times(2)).storeMetaData(any(MetaData.class));
+        verify(mockCache, times(1)).get(KEY1);
+    }
+
+    /**
+     * Test to verify that keys are deleted from the cache and the meta data.
+     *
+     * @throws CacheException if an error occurs when trying to cache
+     */
+    @Test
+    void should_successfully_delete_keys_from_cache_and_meta_data() throws CacheException {
+        strategy.put(KEY1, VALUE1);
+        strategy.put(KEY2, VALUE2);
+        strategy.delete(KEY1);
+
+        SieveEvictionMetaData<String> metaData = (SieveEvictionMetaData<String>) cache.getMetaData();
+        assertThat(metaData.getKeyQueue().contains(KEY1), is(equalTo(false)));
+        assertThat(strategy.get(KEY1), is(equalTo(null)));
+
+        strategy.deleteAll();
+        assertThat(strategy.getSize(), is(equalTo(0)));
+        assertThat(metaData.getKeyQueue().size(), is(equalTo(0)));
+    }
+}
@@ -0,0 +1,119 @@
+package com.leondesilva.jlcache.strategy;
+
+import com.leondesilva.jlcache.InMemoryCache;
+import com.leondesilva.jlcache.exceptions.CacheException;
+import com.leondesilva.jlcache.pojo.TinyLFUEvictionMetaData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.core.Is.is;
+
+/**
+ * Class to test W-TinyLFU eviction strategy.
+ */
+class TinyLFUEvictionStrategyTest {
+    private TinyLFUEvictionStrategy<String, String> strategy;
+    private InMemoryCache<String, String> cache;
+    private static final int MAX_ENTRY_SIZE = 100;
+    private static final String HOT_KEY_PREFIX = "HotKey";
+    private static final String SCAN_KEY_PREFIX = "ScanKey";
+    private static final String VALUE = "Value";
+
+    /**
+     * Setup method.
+     *
+     */
+    @BeforeEach
+    void setup() throws CacheException {
+        cache = new InMemoryCache<>();
+        strategy = new TinyLFUEvictionStrategy<>(cache, MAX_ENTRY_SIZE);
+    }
+
+    /**
+     * Test to verify that the cache never grows beyond the max entry size.
+     *
+     * @throws CacheException if an error occurs when trying to cache
+     */
+    @Test
+    void should_maintain_max_entry_count_even_extra_insertions_happen() throws CacheException {
+        for (int i = 0; i < MAX_ENTRY_SIZE * 3; i++) {
+            strategy.put(SCAN_KEY_PREFIX + i, VALUE);
+            assertThat(strategy.getSize(), is(lessThanOrEqualTo(MAX_ENTRY_SIZE)));
+        }
+
+        TinyLFUEvictionMetaData<String> metaData = (TinyLFUEvictionMetaData<String>) cache.getMetaData();
+        int trackedKeyCount = metaData.getWindowIndex().size() + metaData.getProbationIndex().size() + metaData.getProtectedIndex().size();
+        assertThat(trackedKeyCount, is(equalTo(cache.getSize())));
+    }
+
+    /**
+     * Test to verify that frequently used keys are not flushed out by a scan of keys that are used only once.
+     *
+     * @throws CacheException if an error occurs when trying to cache
+     */
+    @Test
+    void should_keep_frequently_used_keys_when_a_scan_happens() throws CacheException {
+        int hotKeyCount = MAX_ENTRY_SIZE / 2;
+
+        for (int i = 0; i < hotKeyCount; i++) {
+            strategy.put(HOT_KEY_PREFIX + i, VALUE);
+        }
+
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < hotKeyCount; i++) {
+                strategy.get(HOT_KEY_PREFIX + i);
+            }
+        }
+
+        for (int i = 0; i < MAX_ENTRY_SIZE * 5; i++) {
+            strategy.put(SCAN_KEY_PREFIX + i, VALUE);
+        }
+
+        for (int i = 0; i < hotKeyCount; i++) {
+            assertThat(strategy.containsKey(HOT_KEY_PREFIX + i), is(equalTo(true)));
+        }
+
+        assertThat(strategy.getSize(), is(equalTo(MAX_ENTRY_SIZE)));
+    }
+
+    /**
+     * Test to verify that a key hit in the probation segment is promoted to the protected segment.
+     *
+     * @throws CacheException if an error occurs when trying to cache
+     */
+    @Test
+    void should_promote_a_key_to_the_protected_segment_when_it_is_hit_in_the_probation_segment() throws CacheException {
+        strategy.put(HOT_KEY_PREFIX, VALUE);
+        strategy.put(SCAN_KEY_PREFIX, VALUE);
+
+        TinyLFUEvictionMetaData<String> metaData = (TinyLFUEvictionMetaData<String>) cache.getMetaData();
+        assertThat(metaData.getProbationIndex().contains(HOT_KEY_PREFIX), is(equalTo(true)));
+
+        assertThat(strategy.get(HOT_KEY_PREFIX), is(equalTo(VALUE)));
+        assertThat(metaData.getProbationIndex().contains(HOT_KEY_PREFIX), is(equalTo(false)));
+        assertThat(metaData.getProtectedIndex().contains(HOT_KEY_PREFIX), is(equalTo(true)));
+    }
+
+    /**
+     * Test to verify that keys are deleted from the cache and the meta data.
+     *
+     * @throws CacheException if an error occurs when trying to cache
+     */
+    @Test
+    void should_successfully_delete_keys_from_cache_and_meta_data() throws CacheException {
+        strategy.put(HOT_KEY_PREFIX, VALUE);
+        strategy.put(SCAN_KEY_PREFIX, VALUE);
+        strategy.delete(HOT_KEY_PREFIX);
+
+        TinyLFUEvictionMetaData<String> metaData = (TinyLFUEvictionMetaData<String>) cache.getMetaData();
+        assertThat(metaData.getProbationIndex().contains(HOT_KEY_PREFIX), is(equalTo(false)));
+        assertThat(strategy.get(HOT_KEY_PREFIX), is(equalTo(null)));
+
+        strategy.deleteAll();
+        assertThat(strategy.getSize(), is(equalTo(0)));
+        assertThat(metaData.getWindowIndex().size(), is(equalTo(0)));
+    }
+}
@@ -0,0 +1,108 @@
+package com.leondesilva.jlcache.strategy;
+
+import com.leondesilva.jlcache.InMemoryCache;
+import com.leondesilva.jlcache.WeighedCache;
+import com.leondesilva.jlcache.enumeration.CacheEvictionType;
+import com.leondesilva.jlcache.exceptions.CacheException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.core.Is.is;
+
+/**
+ * Class to test the weighted eviction strategy.
+ */
+class WeightedEvictionStrategyTest {
+    private static final long MAXIMUM_WEIGHT = 100;
+
+    /**
+     * Test to verify that the least recently used entries are evicted until the total weight fits.
+     *
+     * @throws CacheException if an error occurs when trying to cache
+     */
+    @Test
+    void should_evict_entries_until_the_total_weight_fits() throws CacheException {
+        InMemoryCache<String, String> cache = new InMemoryCache<>();
+        WeighedCache<String, String> weighedCache = new WeighedCache<>(cache, (key, value) -> value.length());
+        WeightedEvictionStrategy<String, String> strategy = new WeightedEvictionStrategy<>(
+                new LRUEvictionStrategy<>(weighedCache, 10), weighedCache, MAXIMUM_WEIGHT);
+
+        strategy.put("Key1", repeat(40));
+        strategy.put("Key2", repeat(40));
+        strategy.get("Key1");
+        strategy.put("Key3", repeat(30));
+
+        assertThat(cache.containsKey("Key1"), is(equalTo(true)));
+        assertThat(cache.containsKey("Key2"), is(equalTo(false)));
+        assertThat(cache.containsKey("Key3"), is(equalTo(true)));
+        assertThat(strategy.getTotalWeight(), is(equalTo(70L)));
+
+        strategy.put("Key3", repeat(90));
+
+        assertThat(cache.containsKey("Key1"), is(equalTo(false)));
+        assertThat(strategy.getTotalWeight(), is(equalTo(90L)));
+
+        strategy.put("Key4", repeat(101));
+
+        assertThat(cache.getSize(), is(equalTo(0)));
+        assertThat(strategy.getTotalWeight(), is(equalTo(0L)));
+    }
+
+    /**
+     * Test to verify that every eviction type keeps the total weight within the maximum weight
+     * and that the total weight matches the entries which are left.
+     *
+     * @throws CacheException if an error occurs when trying to cache
+     */
+    @Test
+    void should_keep_the_total_weight_within_the_maximum_for_every_eviction_type() throws CacheException {
+        for (CacheEvictionType cacheEvictionType : CacheEvictionType.values()) {
+            InMemoryCache<String, String> cache = new InMemoryCache<>();
+            WeighedCache<String, String> weighedCache = new WeighedCache<>(cache, (key, value) -> value.length());
+            WeightedEvictionStrategy<String, String> strategy = new WeightedEvictionStrategy<>(
+                    EvictionStrategyFactory.create(weighedCache, 50, cacheEvictionType), weighedCache, MAXIMUM_WEIGHT);
+            Random random = new Random(cacheEvictionType.ordinal());
+
+            for (int i = 0; i < 1000; i++) {
+                String key = "Key" + random.nextInt(40);
+
+                if (random.nextBoolean()) {
+                    strategy.put(key, repeat(1 + random.nextInt(30)));
+                } else {
+                    strategy.get(key);
+                }
+
+                assertThat(strategy.getTotalWeight(), is(lessThanOrEqualTo(MAXIMUM_WEIGHT)));
+            }
+
+            long totalWeight = 0;
+
+            for (int i = 0; i < 40; i++) {
+                String value = cache.get("Key" + i);
+                totalWeight += value == null ? 0 : value.length();
+            }
+
+            assertThat(strategy.getTotalWeight(), is(equalTo(totalWeight)));
+        }
+    }
+
+    /**
+     * Method to create a value of a given length.
+     *
+     * @param length the length
+     * @return the value
+     */
+    private static String repeat(int length) {
+        StringBuilder value = new StringBuilder();
+
+        for (int i = 0; i < length; i++) {
+            value.append('x');
+        }
+
+        return value.toString();
+    }
+}
@@ -0,0 +1,105 @@
+package com.leondesilva.jlcache.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.emptyIterable;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.core.Is.is;
+
+/**
+ * Class to test the linked key index.
+ */
+class LinkedKeyIndexTest {
+    private LinkedKeyIndex<String> index;
+    private static final String KEY1 = "Key1";
+    private static final String KEY2 = "Key2";
+    private static final String KEY3 = "Key3";
+
+    /**
+     * Setup method.
+     *
+     */
+    @BeforeEach
+    void setup() {
+        index = new LinkedKeyIndex<>();
+        index.addFirst(KEY1);
+        index.addFirst(KEY2);
+        index.addFirst(KEY3);
+    }
+
+    /**
+     * Test to verify that keys added to the front are iterated from the most recent to the oldest.
+     */
+    @Test
+    void should_keep_the_keys_in_the_order_they_were_added_to_the_front() {
+        assertThat(index.size(), is(equalTo(3)));
+        assertThat(index, contains(KEY3, KEY2, KEY1));
+        assertThat(index.peekFirst(), is(equalTo(KEY3)));
+        assertThat(index.peekLast(), is(equalTo(KEY1)));
+    }
+
+    /**
+     * Test to verify that an existing key is moved to the front without duplicating it.
+     */
+    @Test
+    void should_move_an_existing_key_to_the_front() {
+        assertThat(index.moveToFront(KEY1), is(equalTo(true)));
+        index.addFirst(KEY2);
+
+        assertThat(index.size(), is(equalTo(3)));
+        assertThat(index, contains(KEY2, KEY1, KEY3));
+    }
+
+    /**
+     * Test to verify that moving a key that does not exist does not add it.
+     */
+    @Test
+    void should_not_move_a_key_that_does_not_exist() {
+        assertThat(index.moveToFront("NonExistingKey"), is(equalTo(false)));
+        assertThat(index.contains("NonExistingKey"), is(equalTo(false)));
+    }
+
+    /**
+     * Test to verify that keys are removed from the middle and from the back correctly.
+     */
+    @Test
+    void should_remove_keys_from_the_middle_and_the_back() {
+        assertThat(index.remove(KEY2), is(equalTo(true)));
+        assertThat(index.removeLast(), is(equalTo(KEY1)));
+
+        assertThat(index, contains(KEY3));
+        assertThat(index.removeLast(), is(equalTo(KEY3)));
+        assertThat(index.removeLast(), is(equalTo(null)));
+        assertThat(index, is(emptyIterable()));
+    }
+
+    /**
+     * Test to verify that the order of the keys is kept after serialization.
+     *
+     * @throws IOException            if an error occurs when serializing
+     * @throws ClassNotFoundException if an error occurs when deserializing
+     */
+    @Test
+    void should_keep_the_order_of_the_keys_after_serialization() throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(index);
+        }
+
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            LinkedKeyIndex<String> deserializedIndex = (LinkedKeyIndex<String>) in.readObject();
+            assertThat(deserializedIndex, is(equalTo(index)));
+            assertThat(deserializedIndex, contains(KEY3, KEY2, KEY1));
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.leondesilva.jlcache.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.core.Is.is;
+
+/**
+ * Class to test the long key table.
+ */
+class LongKeyTableTest {
+    private LongKeyTable<String> table;
+
+    /**
+     * Setup method.
+     *
+     */
+    @BeforeEach
+    void setup() {
+        table = new LongKeyTable<>(4);
+    }
+
+    /**
+     * Test to verify that keys are found after the table grows and after other keys of the same probe sequence are
+     * removed.
+     */
+    @Test
+    void should_find_the_keys_after_growing_and_removing() {
+        for (long key = 0; key < 1000; key++) {
+            // Keys which only differ in their high bits must not collide.
+            table.insert(key << 40, "Value" + key);
+        }
+
+        for (long key = 0; key < 1000; key += 3) {
+            table.remove(table.find(key << 40));
+        }
+
+        assertThat(table.size(), is(equalTo(666)));
+
+        for (long key = 0; key < 1000; key++) {
+            int entry = table.find(key << 40);
+
+            if (key % 3 == 0) {
+                assertThat(entry, is(equalTo(LongKeyTable.NO_ENTRY)));
+            } else {
+                assertThat(table.getValue(entry), is(equalTo("Value" + key)));
+                assertThat(table.getKey(entry), is(equalTo(key << 40)));
+            }
+        }
+    }
+
+    /**
+     * Test to verify that the entry indexes of removed keys are reused, so the table does not grow.
+     */
+    @Test
+    void should_reuse_the_entry_indexes_of_removed_keys() {
+        for (long key = 0; key < 100; key++) {
+            table.insert(key, "Value");
+
+            if (table.size() == 4) {
+                table.remove(table.find(key - 3));
+            }
+        }
+
+        assertThat(table.getEntryCapacity(), is(equalTo(4)));
+        assertThat(table.find(99), is(lessThan(4)));
+
+        table.clear();
+
+        assertThat(table.size(), is(equalTo(0)));
+        assertThat(table.find(99), is(equalTo(LongKeyTable.NO_ENTRY)));
+    }
+}
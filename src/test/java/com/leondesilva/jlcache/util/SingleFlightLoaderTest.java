@@ -0,0 +1,100 @@
+package com.leondesilva.jlcache.util;
+
+import com.leondesilva.jlcache.Cache;
+import com.leondesilva.jlcache.ConcurrentInMemoryCache;
+import com.leondesilva.jlcache.TwoLevelCache;
+import com.leondesilva.jlcache.exceptions.CacheException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Class to test the single flight loader.
+ */
+class SingleFlightLoaderTest {
+    private static final int THREAD_COUNT = 8;
+    private static final String KEY = "Key";
+    private static final String VALUE = "Value";
+    private Cache<String, String> cache;
+
+    /**
+     * Setup method.
+     *
+     */
+    @BeforeEach
+    void setup() {
+        cache = new TwoLevelCache<>(new ConcurrentInMemoryCache<>(), new ConcurrentInMemoryCache<>());
+    }
+
+    /**
+     * Test to verify that the loader runs once when many threads miss the same key at the same time, and that every
+     * thread gets the loaded value.
+     *
+     * @throws Exception if an error occurs when running the threads
+     */
+    @Test
+    void should_run_the_loader_once_for_threads_which_miss_the_same_key() throws Exception {
+        AtomicInteger loadCount = new AtomicInteger();
+        CountDownLatch arrived = new CountDownLatch(THREAD_COUNT);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+        List<Future<String>> results = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < THREAD_COUNT; i++) {
+                results.add(executorService.submit(() -> {
+                    arrived.countDown();
+                    return cache.get(KEY, key -> {
+                        loadCount.incrementAndGet();
+                        release.await();
+                        return VALUE;
+                    });
+                }));
+            }
+
+            arrived.await();
+            // Gives the other threads time to find the running load before it finishes.
+            Thread.sleep(100);
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertThat(result.get(10, TimeUnit.SECONDS), is(equalTo(VALUE)));
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        assertThat(loadCount.get(), is(equalTo(1)));
+        assertThat(cache.get(KEY), is(equalTo(VALUE)));
+    }
+
+    /**
+     * Test to verify that a failed load is reported as a cache exception, nothing is cached and the next miss loads
+     * again.
+     *
+     * @throws CacheException if an error occurs when loading
+     */
+    @Test
+    void should_report_a_failed_load_and_load_again_on_the_next_miss() throws CacheException {
+        CacheException exception = assertThrows(CacheException.class, () -> cache.get(KEY, key -> {
+            throw new IllegalStateException("Unavailable");
+        }));
+
+        assertThat(exception.getCause().getMessage(), is(equalTo("Unavailable")));
+        assertThat(cache.containsKey(KEY), is(equalTo(false)));
+        assertThat(cache.get(KEY, key -> VALUE), is(equalTo(VALUE)));
+    }
+}
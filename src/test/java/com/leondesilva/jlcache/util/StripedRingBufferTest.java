@@ -0,0 +1,61 @@
+package com.leondesilva.jlcache.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.core.Is.is;
+
+/**
+ * Class to test the striped ring buffer.
+ */
+class StripedRingBufferTest {
+    /**
+     * Test to verify that the elements are drained in the order they were offered.
+     */
+    @Test
+    void should_drain_elements_in_offered_order() {
+        StripedRingBuffer<String> buffer = new StripedRingBuffer<>(1);
+        List<String> drained = new ArrayList<>();
+
+        buffer.offer("Key1");
+        buffer.offer("Key2");
+        buffer.offer("Key3");
+        buffer.drainTo(drained::add);
+
+        assertThat(drained, is(equalTo(Arrays.asList("Key1", "Key2", "Key3"))));
+
+        drained.clear();
+        buffer.drainTo(drained::add);
+        assertThat(drained.isEmpty(), is(equalTo(true)));
+    }
+
+    /**
+     * Test to verify that elements are dropped when the stripe is full and accepted again after a drain.
+     */
+    @Test
+    void should_drop_elements_when_full_until_drained() {
+        StripedRingBuffer<Integer> buffer = new StripedRingBuffer<>(1);
+        int accepted = 0;
+
+        for (int i = 0; i < 100; i++) {
+            if (buffer.offer(i)) {
+                accepted++;
+            }
+        }
+
+        assertThat(accepted, is(equalTo(16)));
+        assertThat(buffer.offer(100), is(equalTo(false)));
+
+        List<Integer> drained = new ArrayList<>();
+        buffer.drainTo(drained::add);
+
+        assertThat(drained.size(), is(equalTo(16)));
+        assertThat(drained.get(15), is(equalTo(15)));
+        assertThat(buffer.offer(100), is(equalTo(true)));
+    }
+}
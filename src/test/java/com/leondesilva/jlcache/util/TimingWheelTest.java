@@ -0,0 +1,97 @@
+package com.leondesilva.jlcache.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.core.Is.is;
+
+/**
+ * Class to test the timing wheel.
+ */
+class TimingWheelTest {
+    private TimingWheel<String> timingWheel;
+    private List<String> expiredKeys;
+
+    /**
+     * Setup method.
+     *
+     */
+    @BeforeEach
+    void setup() {
+        timingWheel = new TimingWheel<>(0);
+        expiredKeys = new ArrayList<>();
+    }
+
+    /**
+     * Test to verify that nodes in different levels expire only once their expiration time has passed.
+     */
+    @Test
+    void should_expire_nodes_of_all_levels_when_their_time_has_passed() {
+        timingWheel.schedule(new TimingWheel.Node<>("Seconds", TimeUnit.SECONDS.toNanos(5)));
+        timingWheel.schedule(new TimingWheel.Node<>("Minutes", TimeUnit.MINUTES.toNanos(5)));
+        timingWheel.schedule(new TimingWheel.Node<>("Hours", TimeUnit.HOURS.toNanos(5)));
+        timingWheel.schedule(new TimingWheel.Node<>("Days", TimeUnit.DAYS.toNanos(5)));
+
+        advance(TimeUnit.SECONDS.toNanos(4));
+        assertThat(expiredKeys.isEmpty(), is(equalTo(true)));
+
+        advance(TimeUnit.SECONDS.toNanos(7));
+        advance(TimeUnit.MINUTES.toNanos(4));
+        assertThat(expiredKeys, is(equalTo(Arrays.asList("Seconds"))));
+
+        advance(TimeUnit.MINUTES.toNanos(7));
+        advance(TimeUnit.HOURS.toNanos(7));
+        assertThat(expiredKeys, is(equalTo(Arrays.asList("Seconds", "Minutes", "Hours"))));
+        assertThat(timingWheel.size(), is(equalTo(1)));
+
+        advance(TimeUnit.DAYS.toNanos(7));
+        assertThat(expiredKeys, is(equalTo(Arrays.asList("Seconds", "Minutes", "Hours", "Days"))));
+        assertThat(timingWheel.size(), is(equalTo(0)));
+    }
+
+    /**
+     * Test to verify that a node whose expiration time was postponed is scheduled again instead of expiring.
+     */
+    @Test
+    void should_reschedule_a_node_whose_expiration_time_was_postponed() {
+        TimingWheel.Node<String> node = new TimingWheel.Node<>("Key1", TimeUnit.SECONDS.toNanos(5));
+        timingWheel.schedule(node);
+        node.setExpirationTime(TimeUnit.SECONDS.toNanos(20));
+
+        advance(TimeUnit.SECONDS.toNanos(10));
+        assertThat(expiredKeys.isEmpty(), is(equalTo(true)));
+
+        advance(TimeUnit.SECONDS.toNanos(25));
+        assertThat(expiredKeys, is(equalTo(Arrays.asList("Key1"))));
+    }
+
+    /**
+     * Test to verify that descheduled nodes do not expire.
+     */
+    @Test
+    void should_not_expire_descheduled_nodes() {
+        TimingWheel.Node<String> node = new TimingWheel.Node<>("Key1", TimeUnit.SECONDS.toNanos(5));
+        timingWheel.schedule(node);
+        timingWheel.schedule(new TimingWheel.Node<>("Key2", TimeUnit.SECONDS.toNanos(5)));
+        timingWheel.deschedule(node);
+
+        advance(TimeUnit.SECONDS.toNanos(10));
+        assertThat(expiredKeys, is(equalTo(Arrays.asList("Key2"))));
+    }
+
+    /**
+     * Method to advance the timing wheel and collect the expired keys.
+     *
+     * @param time the time to advance to
+     */
+    private void advance(long time) {
+        timingWheel.advance(time, node -> expiredKeys.add(node.getKey()));
+    }
+}